@@ -7,7 +7,9 @@ import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ArticleProvider {
@@ -25,4 +27,9 @@ public interface ArticleProvider {
     void delete(Article article);
 
     int countPublishedArticlesByDatesAndUser(LocalDateTime startDate, LocalDateTime endDate, long authorId);
+
+    /**
+     * @return the count of articles published between the dates by each of the authors, authors without any being left out
+     */
+    Map<Long, Integer> countPublishedArticlesByDatesPerUser(LocalDateTime startDate, LocalDateTime endDate, Collection<Long> authorIds);
 }
@@ -3,7 +3,9 @@ package tech.zerofiltre.blog.domain.article;
 import tech.zerofiltre.blog.domain.article.model.ArticleView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ArticleViewProvider {
 
@@ -11,9 +13,19 @@ public interface ArticleViewProvider {
 
     ArticleView save(ArticleView articleView);
 
+    /**
+     * Records a view and increments the views count of the viewed article. Both may be persisted later, in batch.
+     */
+    void recordView(ArticleView articleView);
+
     List<ArticleView> viewsOfUser(long viewerId);
 
     void delete(ArticleView articleView);
 
     int countArticlesReadByDatesAndUser(LocalDateTime startDate, LocalDateTime endDate, long viewerId);
+
+    /**
+     * @return the count of distinct articles read between the dates by each of the viewers, viewers without any being left out
+     */
+    Map<Long, Integer> countArticlesReadByDatesPerUser(LocalDateTime startDate, LocalDateTime endDate, Collection<Long> viewerIds);
 }
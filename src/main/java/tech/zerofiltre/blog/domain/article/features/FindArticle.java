@@ -38,14 +38,12 @@ public class FindArticle {
 
         CounterSpecs counterSpecs = new CounterSpecs();
         counterSpecs.setName(CounterSpecs.ZEROFILTRE_ARTICLE_VIEWS);
-        counterSpecs.setTags("status", result.getStatus().toString(), "title", result.getTitle(), "user", viewer != null ? viewer.getFullName() : "");
+        counterSpecs.setTags("status", result.getStatus().toString(), "authenticated", String.valueOf(viewer != null));
         metricsProvider.incrementCounter(counterSpecs);
 
         if (PUBLISHED.equals(result.getStatus()) && (viewer == null || !isAuthor(viewer, result))) {
+            articleViewProvider.recordView(new ArticleView(viewer, result));
             result.incrementViewsCount();
-            result = articleProvider.save(result);
-            ArticleView articleView = new ArticleView(viewer, result);
-            articleViewProvider.save(articleView);
         }
 
         if (viewer != null && (isAuthor(viewer, result) || viewer.isAdmin())) return result;
@@ -7,7 +7,6 @@ import tech.zerofiltre.blog.domain.company.CompanyCourseProvider;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyCourse;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
-import tech.zerofiltre.blog.domain.course.model.Enrollment;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
@@ -131,12 +130,8 @@ public class CompanyCourseService {
         suspendEnrollments(linkCompanyCourse.getId());
     }
 
-    void suspendEnrollments(long companyCourseId) throws ZerofiltreException {
-        for (Enrollment e : enrollmentProvider.findAll(companyCourseId, true)) {
-            e.setActive(false);
-            e.setSuspendedAt(LocalDateTime.now());
-            enrollmentProvider.save(e);
-        }
+    void suspendEnrollments(long companyCourseId) {
+        enrollmentProvider.suspendAllByCompanyCourseId(companyCourseId);
     }
 
 }
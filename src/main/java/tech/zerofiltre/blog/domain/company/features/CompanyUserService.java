@@ -5,7 +5,6 @@ import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.company.CompanyUserProvider;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyUser;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
-import tech.zerofiltre.blog.domain.course.model.Enrollment;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
@@ -125,11 +124,7 @@ public class CompanyUserService {
         suspendEnrollments(linkCompanyUser.getId());
     }
 
-    void suspendEnrollments(long companyUserId) throws ZerofiltreException {
-        for(Enrollment e : enrollmentProvider.findAllByCompanyUserId(companyUserId, true)) {
-            e.setActive(false);
-            e.setSuspendedAt(LocalDateTime.now());
-            enrollmentProvider.save(e);
-        }
+    void suspendEnrollments(long companyUserId) {
+        enrollmentProvider.suspendAllByCompanyUserId(companyUserId);
     }
 }
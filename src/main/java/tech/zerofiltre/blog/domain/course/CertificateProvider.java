@@ -2,9 +2,11 @@ package tech.zerofiltre.blog.domain.course;
 
 import tech.zerofiltre.blog.domain.course.model.Certificate;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
 import tech.zerofiltre.blog.domain.user.model.User;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 public interface CertificateProvider {
@@ -15,6 +17,25 @@ public interface CertificateProvider {
 
     Certificate generate(User user, long courseId) throws ZerofiltreException;
 
+    /**
+     * Describes the certificate of the user for the course, with its hash but without generating or reading its content.
+     */
+    Certificate describe(User user, long courseId) throws ZerofiltreException;
+
+    /**
+     * Gives the stored certificate as a local file to be streamed, empty if it has to be generated or read in memory.
+     * The file has to be closed once streamed.
+     */
+    Optional<StoredFile> file(Certificate certificate);
+
+    /**
+     * Starts generating the certificate in the background unless it is stored or being generated already.
+     * The certificate generated is handed to onGenerated before it is reported ready.
+     *
+     * @return whether the certificate is ready to be downloaded
+     */
+    boolean prepare(User user, long courseId, Consumer<Certificate> onGenerated) throws ZerofiltreException;
+
     Optional<Certificate> findByUuid(String uuid) throws ZerofiltreException;
 
 }
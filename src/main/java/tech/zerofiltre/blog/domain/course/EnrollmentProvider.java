@@ -3,6 +3,8 @@ package tech.zerofiltre.blog.domain.course;
 import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
+import tech.zerofiltre.blog.domain.course.model.SuspendedEnrollment;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 
 import java.util.List;
@@ -26,8 +28,39 @@ public interface EnrollmentProvider {
 
     Enrollment save(Enrollment enrollment) throws ZerofiltreException;
 
+    /**
+     * Gives the progress of the active enrollment of the user into the course, without loading the enrollment.
+     */
+    Optional<EnrollmentProgress> progressOf(long userId, long courseId);
+
+    /**
+     * Saves the progress with a single update of the enrollment conditioned on the progress version it was read with, then adds or removes
+     * the lesson from the completed lessons. Gives false when the progress changed in between and nothing was saved.
+     */
+    boolean saveProgress(EnrollmentProgress progress, long lessonId, boolean lessonCompleted, int readProgressVersion);
+
+    /**
+     * Suspends at once the active enrollments of the user that were not granted by a company and match the for life flag.
+     */
+    List<SuspendedEnrollment> suspendAll(long userId, boolean forLife);
+
+    /**
+     * Suspends at once the active enrollments granted through the link between a company and a course.
+     */
+    List<SuspendedEnrollment> suspendAllByCompanyCourseId(long companyCourseId);
+
+    /**
+     * Suspends at once the active enrollments granted through the link between a company and a user.
+     */
+    List<SuspendedEnrollment> suspendAllByCompanyUserId(long companyUserId);
+
     boolean isCompleted(long userId, long courseId);
 
+    /**
+     * Whether the user is enrolled into a course holding a resource that links to the given course.
+     */
+    boolean hasAnEnrollmentGrantingAccessTo(long userId, long courseId);
+
     void setCertificatePath(String path, long id, long courseId);
 
 }
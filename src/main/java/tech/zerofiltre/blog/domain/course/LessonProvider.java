@@ -6,9 +6,20 @@ import java.util.*;
 
 public interface LessonProvider {
     Optional<Lesson> lessonOfId(long id);
+
+    /**
+     * Gives the lesson along with its course status, author, owning company and whether the user is actively enrolled in its course,
+     * to authorize reading it without loading its chapter and course.
+     */
+    Optional<LessonAccess> accessOf(long lessonId, long userId);
+
+    /**
+     * Gives the course of the lesson and its index in the progress of that course, without loading the lesson and its chapter.
+     */
+    Optional<LessonPosition> positionOf(long lessonId);
+
     Lesson save(Lesson lesson);
     void delete(Lesson lesson);
-    List<Long> listNotCompletedLessons(long enrollmentId);
 
     default List<Lesson> saveAll(List<Lesson> lessons){
         return new ArrayList<>();
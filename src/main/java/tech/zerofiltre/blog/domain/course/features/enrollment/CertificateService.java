@@ -8,68 +8,137 @@ import tech.zerofiltre.blog.domain.course.CertificateProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Certificate;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.infra.entrypoints.rest.course.model.CertificateVerificationResponseVM;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CertificateService {
 
+    private static final int MAX_CACHED_LOCALES = 32;
+
     private final EnrollmentProvider enrollmentProvider;
     private final CertificateProvider certificateProvider;
     private final MessageSource messageSource;
+    /**
+     * The verification messages resolved once per locale: the verification page is public and scanned from the certificates.
+     * The locales come from the requests, only the first ones are kept.
+     */
+    private final Map<Locale, Map<Verification, String[]>> verificationMessages = new ConcurrentHashMap<>();
 
 
     public Certificate get(User user, long courseId) throws ZerofiltreException {
-        if (enrollmentProvider.isCompleted(user.getId(), courseId)) {
-            Certificate certificate = certificateProvider.generate(user, courseId);
-            enrollmentProvider.setCertificatePath(certificate.getPath(), user.getId(), courseId);
-            certificateProvider.save(certificate);
-            return certificate;
-        }
-        throw new ZerofiltreException("The certificate cannot be issued. The course of id " + courseId + " has not yet been completed.");
+        checkCompleted(user, courseId);
+        Certificate certificate = certificateProvider.generate(user, courseId);
+        record(certificate, user, courseId);
+        return certificate;
+    }
+
+    /**
+     * Describes the certificate to be downloaded, without generating or reading it: enough to answer a conditional request.
+     */
+    public Certificate describe(User user, long courseId) throws ZerofiltreException {
+        checkCompleted(user, courseId);
+        return certificateProvider.describe(user, courseId);
+    }
+
+    /**
+     * Gives the stored certificate as a local file to be streamed, empty if it has to be downloaded through {@link #get(User, long)}.
+     * The file has to be closed once streamed.
+     */
+    public Optional<StoredFile> file(Certificate certificate) {
+        return certificateProvider.file(certificate);
+    }
+
+    /**
+     * Starts generating the certificate in the background, to be downloaded through {@link #get(User, long)} once ready.
+     *
+     * @return whether the certificate is ready to be downloaded
+     */
+    public boolean request(User user, long courseId) throws ZerofiltreException {
+        checkCompleted(user, courseId);
+        return certificateProvider.prepare(user, courseId, certificate -> record(certificate, user, courseId));
+    }
+
+    private void checkCompleted(User user, long courseId) throws ZerofiltreException {
+        if (!enrollmentProvider.isCompleted(user.getId(), courseId))
+            throw new ZerofiltreException("The certificate cannot be issued. The course of id " + courseId + " has not yet been completed.");
+    }
+
+    private void record(Certificate certificate, User user, long courseId) {
+        enrollmentProvider.setCertificatePath(certificate.getPath(), user.getId(), courseId);
+        certificateProvider.save(certificate);
     }
 
     public CertificateVerificationResponseVM verify(String uuid, String fullname, String courseTitle, HttpServletRequest request) throws ZerofiltreException {
 
-        CertificateVerificationResponseVM response = new CertificateVerificationResponseVM();
+        Locale locale = request.getLocale();
         try {
             Optional<Certificate> dbCertificate = certificateProvider.findByUuid(uuid);
-            if (dbCertificate.isEmpty()) {
-                response.setResponse(messageSource.getMessage("message.certificate.verification.response.notfound", new Object[]{}, request.getLocale()));
-                response.setDescription(messageSource.getMessage("message.certificate.verification.description.notfound", new Object[]{}, request.getLocale()));
-                return response;
-            }
+            if (dbCertificate.isEmpty()) return response(Verification.NOT_FOUND, locale);
+
             String collectedHash = ZerofiltreUtils.generateHash(fullname, courseTitle);
             String dbHash = dbCertificate.get().getHash();
 
             if (collectedHash.equals(dbHash)) {
+                CertificateVerificationResponseVM response = response(Verification.VALID, locale);
                 response.setOwnerFullName(dbCertificate.get().getOwnerFullName());
                 response.setCourseTitle(dbCertificate.get().getCourseTitle());
-                response.setResponse(messageSource.getMessage("message.certificate.verification.response.valid", new Object[]{}, request.getLocale()));
-                response.setDescription(messageSource.getMessage("message.certificate.verification.description.valid", new Object[]{}, request.getLocale()));
                 return response;
             }
-            response.setResponse(messageSource.getMessage("message.certificate.verification.response.invalid", new Object[]{}, request.getLocale()));
-            response.setDescription(messageSource.getMessage("message.certificate.verification.description.invalid", new Object[]{}, request.getLocale()));
-            return response;
+            return response(Verification.INVALID, locale);
 
         } catch (NoSuchAlgorithmException e) {
             log.error("Hash generation failure !", e);
             throw new ZerofiltreException("Hash generation failure !", e);
         } catch (Exception e) {
             log.error("An error occurred when validating the certificate with uuid: {}", uuid, e);
-            response.setResponse(messageSource.getMessage("message.certificate.verification.response.error", new Object[]{}, request.getLocale()));
-            response.setDescription(messageSource.getMessage("message.certificate.verification.description.error", new Object[]{}, request.getLocale()));
-            return response;
+            return response(Verification.ERROR, locale);
         }
     }
 
+    private CertificateVerificationResponseVM response(Verification verification, Locale locale) {
+        Map<Verification, String[]> messages = verificationMessages.get(locale);
+        if (messages == null) {
+            messages = resolveVerificationMessages(locale);
+            if (verificationMessages.size() < MAX_CACHED_LOCALES) verificationMessages.putIfAbsent(locale, messages);
+        }
+        String[] message = messages.get(verification);
+        CertificateVerificationResponseVM response = new CertificateVerificationResponseVM();
+        response.setResponse(message[0]);
+        response.setDescription(message[1]);
+        return response;
+    }
+
+    private Map<Verification, String[]> resolveVerificationMessages(Locale locale) {
+        Map<Verification, String[]> messages = new EnumMap<>(Verification.class);
+        for (Verification verification : Verification.values()) {
+            messages.put(verification, new String[]{
+                    messageSource.getMessage("message.certificate.verification.response." + verification.code, new Object[]{}, locale),
+                    messageSource.getMessage("message.certificate.verification.description." + verification.code, new Object[]{}, locale)});
+        }
+        return messages;
+    }
+
+    private enum Verification {
+        NOT_FOUND("notfound"), VALID("valid"), INVALID("invalid"), ERROR("error");
+
+        private final String code;
+
+        Verification(String code) {
+            this.code = code;
+        }
+    }
 
 }
@@ -8,12 +8,10 @@ import tech.zerofiltre.blog.domain.company.CompanyUserProvider;
 import tech.zerofiltre.blog.domain.company.features.CompanyCourseService;
 import tech.zerofiltre.blog.domain.company.features.CompanyService;
 import tech.zerofiltre.blog.domain.company.features.CompanyUserService;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
-import tech.zerofiltre.blog.domain.course.model.Resource;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
@@ -27,8 +25,6 @@ import tech.zerofiltre.blog.util.ZerofiltreUtils;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static tech.zerofiltre.blog.domain.sandbox.model.Sandbox.Type.K8S;
 
@@ -38,18 +34,16 @@ public class Enroll {
     private final EnrollmentProvider enrollmentProvider;
     private final CourseProvider courseProvider;
     private final UserProvider userProvider;
-    private final ChapterProvider chapterProvider;
     private final SandboxProvider sandboxProvider;
     private final PurchaseProvider purchaseProvider;
     private final CompanyService companyService;
     private final CompanyCourseService companyCourseService;
     private final CompanyUserService companyUserService;
 
-    public Enroll(EnrollmentProvider enrollmentProvider, CourseProvider courseProvider, UserProvider userProvider, ChapterProvider chapterProvider, SandboxProvider sandboxProvider, PurchaseProvider purchaseProvider, CompanyProvider companyProvider, CompanyCourseProvider companyCourseProvider, CompanyUserProvider companyUserProvider, DataChecker checker) {
+    public Enroll(EnrollmentProvider enrollmentProvider, CourseProvider courseProvider, UserProvider userProvider, SandboxProvider sandboxProvider, PurchaseProvider purchaseProvider, CompanyProvider companyProvider, CompanyCourseProvider companyCourseProvider, CompanyUserProvider companyUserProvider, DataChecker checker) {
         this.enrollmentProvider = enrollmentProvider;
         this.courseProvider = courseProvider;
         this.userProvider = userProvider;
-        this.chapterProvider = chapterProvider;
         this.sandboxProvider = sandboxProvider;
         this.purchaseProvider = purchaseProvider;
         this.companyService = new CompanyService(companyProvider, companyUserProvider, companyCourseProvider, checker);
@@ -93,7 +87,7 @@ public class Enroll {
 
         Course resultCourse = enrollment.getCourse();
         resultCourse.setEnrolledCount(getEnrolledCount(resultCourse.getId()));
-        resultCourse.setLessonsCount(getLessonsCount(resultCourse.getId()));
+        resultCourse.setLessonsCount(courseProvider.getLessonsCount(resultCourse.getId()));
         initSandbox(resultCourse, user);
         log.info("User {} enrolled to course {}", userId, courseId);
         return enrollment;
@@ -125,29 +119,7 @@ public class Enroll {
     }
 
     private boolean hasARelatedEnrollment(User user, Course course) {
-        final int ALL_ENROLLMENTS = Integer.MAX_VALUE;
-        return enrollmentProvider.of(0, ALL_ENROLLMENTS, user.getId(), null, null)
-                .getContent().stream()
-                .map(Enrollment::getCourse)
-                .flatMap(enrollmentCourse -> chapterProvider.ofCourseId(enrollmentCourse.getId()).stream())
-                .flatMap(chapter -> chapter.getLessons().stream())
-                .flatMap(lesson -> lesson.getResources().stream())
-                .anyMatch(resource -> isRelatedToCourse(resource, course));
-    }
-
-    private boolean isRelatedToCourse(Resource resource, Course targetCourse) {
-        return "course".equals(resource.getType()) && targetCourse.getId() == extractCourseId(resource.getUrl());
-    }
-
-    private long extractCourseId(String url) {
-        String pattern = "/cours/(\\d+)";
-        Pattern r = Pattern.compile(pattern);
-        Matcher m = r.matcher(url);
-        if (m.find()) {
-            return Integer.parseInt(m.group(1));
-        } else {
-            return 0;
-        }
+        return enrollmentProvider.hasAnEnrollmentGrantingAccessTo(user.getId(), course.getId());
     }
 
     private void checkIfCourseIsPurchased(long userId, long courseId) throws ForbiddenActionException {
@@ -184,22 +156,14 @@ public class Enroll {
         return courseProvider.getEnrolledCount(courseId);
     }
 
-    private int getLessonsCount(long courseId) {
-        return chapterProvider.ofCourseId(courseId)
-                .stream().mapToInt(chapter -> chapter.getLessons() == null ? 0 : chapter.getLessons().size()).sum();
-    }
-
     private void initSandbox(Course resultCourse, User user) {
-        Thread sandboxProvisioner = new Thread(() -> {
-            if (sandboxProvider != null && K8S.equals(resultCourse.getSandboxType())) {
-                try {
-                    sandboxProvider.initialize(user.getFullName(), ZerofiltreUtils.getValidEmail(user));
-                } catch (ZerofiltreException e) {
-                    log.error("Failed to initialize sandbox", e);
-                }
+        if (sandboxProvider != null && K8S.equals(resultCourse.getSandboxType())) {
+            try {
+                sandboxProvider.initialize(user.getFullName(), ZerofiltreUtils.getValidEmail(user));
+            } catch (ZerofiltreException | RuntimeException e) {
+                log.error("Failed to initialize sandbox", e);
             }
-        }, "sandbox-provisioner");
-        sandboxProvisioner.start();
+        }
     }
 
 }
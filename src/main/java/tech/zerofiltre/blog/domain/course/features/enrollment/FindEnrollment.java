@@ -2,8 +2,6 @@ package tech.zerofiltre.blog.domain.course.features.enrollment;
 
 import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
-import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
@@ -16,13 +14,9 @@ import java.util.stream.Collectors;
 public class FindEnrollment {
 
     private final EnrollmentProvider enrollmentProvider;
-    private final CourseProvider courseProvider;
-    private final ChapterProvider chapterProvider;
 
-    public FindEnrollment(EnrollmentProvider enrollmentProvider, CourseProvider courseProvider, ChapterProvider chapterProvider) {
+    public FindEnrollment(EnrollmentProvider enrollmentProvider) {
         this.enrollmentProvider = enrollmentProvider;
-        this.courseProvider = courseProvider;
-        this.chapterProvider = chapterProvider;
     }
 
     public Page<Course> of(FinderRequest request) {
@@ -30,10 +24,6 @@ public class FindEnrollment {
         List<Course> courses = enrollments.getContent().stream().map(Enrollment::getCourse).collect(Collectors.toList());
         Page<Course> result = new Page<>();
         result.setPageSize(enrollments.getPageSize());
-        courses.forEach(course -> {
-            course.setEnrolledCount(getEnrolledCount(course.getId()));
-            course.setLessonsCount(getLessonsCount(course.getId()));
-        });
         result.setContent(courses);
         result.setHasNext(enrollments.getHasNext());
         result.setHasPrevious(enrollments.getHasPrevious());
@@ -51,28 +41,11 @@ public class FindEnrollment {
 
         if(!fromAdmin) {
             return enrollmentProvider.enrollmentOf(userId, courseId, true)
-                    .map(enrollment -> {
-                        enrollment.getCourse().setEnrolledCount(getEnrolledCount(courseId));
-                        enrollment.getCourse().setLessonsCount(getLessonsCount(courseId));
-                        return enrollment;
-                    }).orElseThrow(() -> new ResourceNotFoundException("Enrollment not found", courseId + "/" + userId));
+                    .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found", courseId + "/" + userId));
         } else {
             return enrollmentProvider.enrollmentOf(userId, courseId)
-                    .map(enrollment -> {
-                        enrollment.getCourse().setEnrolledCount(getEnrolledCount(courseId));
-                        enrollment.getCourse().setLessonsCount(getLessonsCount(courseId));
-                        return enrollment;
-                    }).orElseThrow(() -> new ResourceNotFoundException("Enrollment not found", courseId + "/" + userId));
+                    .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found", courseId + "/" + userId));
         }
     }
 
-    private int getLessonsCount(long courseId) {
-        return chapterProvider.ofCourseId(courseId)
-                .stream().mapToInt(chapter -> chapter.getLessons() == null ? 0 : chapter.getLessons().size()).sum();
-    }
-
-    private int getEnrolledCount(long courseId) {
-        return courseProvider.getEnrolledCount(courseId);
-    }
-
 }
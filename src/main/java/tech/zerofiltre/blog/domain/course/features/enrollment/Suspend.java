@@ -2,18 +2,20 @@ package tech.zerofiltre.blog.domain.course.features.enrollment;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
-import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.SuspendedEnrollment;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.purchase.PurchaseProvider;
 import tech.zerofiltre.blog.domain.sandbox.SandboxProvider;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static tech.zerofiltre.blog.domain.sandbox.model.Sandbox.Type.K8S;
 
@@ -21,17 +23,13 @@ import static tech.zerofiltre.blog.domain.sandbox.model.Sandbox.Type.K8S;
 @Component
 public class Suspend {
     private final EnrollmentProvider enrollmentProvider;
-    private final ChapterProvider chapterProvider;
     private final PurchaseProvider purchaseProvider;
     private final SandboxProvider sandboxProvider;
-    private final CourseProvider courseProvider;
 
-    public Suspend(EnrollmentProvider enrollmentProvider, ChapterProvider chapterProvider, PurchaseProvider purchaseProvider, SandboxProvider sandboxProvider, CourseProvider courseProvider) {
+    public Suspend(EnrollmentProvider enrollmentProvider, PurchaseProvider purchaseProvider, SandboxProvider sandboxProvider) {
         this.enrollmentProvider = enrollmentProvider;
-        this.chapterProvider = chapterProvider;
         this.purchaseProvider = purchaseProvider;
         this.sandboxProvider = sandboxProvider;
-        this.courseProvider = courseProvider;
     }
 
     public Enrollment execute(long userId, long courseId) throws ZerofiltreException {
@@ -41,39 +39,19 @@ public class Suspend {
     }
 
     public void all(long userId, boolean enrolledForLife) throws ZerofiltreException {
-        List<Enrollment> enrollments = enrollmentProvider.of(0, Integer.MAX_VALUE, userId, null, null).getContent();
-        for (Enrollment enrollment : enrollments) {
-            if (enrollment.isActive()
-                    && enrollment.isForLife() == enrolledForLife
-                    && enrollment.getCompanyUserId() == 0
-                    && enrollment.getCompanyCourseId() == 0) {
-                doSuspend(userId, enrollment);
-            }
-        }
-    }
+        List<SuspendedEnrollment> suspended = enrollmentProvider.suspendAll(userId, enrolledForLife);
+        if (suspended.isEmpty()) return;
 
-    public void byLinkId(long linkId) throws ZerofiltreException {
-        List<Enrollment> list = enrollmentProvider.findAll(linkId, true);
-
-        for(Enrollment enrollment : list) {
-            enrollment.setActive(false);
-            enrollment.setSuspendedAt(LocalDateTime.now());
-            Enrollment result = enrollmentProvider.save(enrollment);
-
-            if (K8S.equals(result.getCourse().getSandboxType())) {
-                sandboxProvider.destroy(result.getUser().getFullName(), result.getUser().getEmail());
-            }
-        }
-        if(!list.isEmpty()) {
-            Course course = list.get(0).getCourse();
-            course.setEnrolledCount(courseProvider.getEnrolledCount(course.getId()));
-            courseProvider.save(course);
-        }
+        List<Long> courseIds = suspended.stream().map(SuspendedEnrollment::getCourseId).collect(Collectors.toList());
+        purchaseProvider.deleteAll(userId, courseIds);
+        destroySandboxes(suspended);
+        log.info("User {} enrollments suspended for courses {}", userId, courseIds);
     }
 
-    private int getLessonsCount(long courseId) {
-        return chapterProvider.ofCourseId(courseId)
-                .stream().mapToInt(chapter -> chapter.getLessons() == null ? 0 : chapter.getLessons().size()).sum();
+    public void byLinkId(long linkId) throws ZerofiltreException {
+        List<SuspendedEnrollment> suspended = enrollmentProvider.suspendAllByCompanyCourseId(linkId);
+        destroySandboxes(suspended);
+        log.info("{} enrollments suspended for the company course link {}", suspended.size(), linkId);
     }
 
     private Enrollment doSuspend(long userId, Enrollment enrollment) throws ZerofiltreException {
@@ -83,7 +61,6 @@ public class Suspend {
 
         Course resultCourse = result.getCourse();
         purchaseProvider.delete(userId, resultCourse.getId());
-        resultCourse.setLessonsCount(getLessonsCount(resultCourse.getId()));
         log.info("User {} enrollment suspended for course {}", userId, enrollment.getCourse().getId());
 
 
@@ -93,4 +70,16 @@ public class Suspend {
         return result;
     }
 
+    private void destroySandboxes(List<SuspendedEnrollment> suspended) throws ZerofiltreException {
+        List<SuspendedEnrollment> withSandbox = suspended.stream()
+                .filter(enrollment -> K8S.equals(enrollment.getCourseSandboxType()))
+                .collect(Collectors.toList());
+        Set<Long> destroyedFor = new HashSet<>();
+        for (SuspendedEnrollment enrollment : withSandbox) {
+            if (destroyedFor.add(enrollment.getUserId())) {
+                sandboxProvider.destroy(enrollment.getUserFullName(), enrollment.getUserEmail());
+            }
+        }
+    }
+
 }
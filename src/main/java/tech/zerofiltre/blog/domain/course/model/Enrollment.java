@@ -1,5 +1,6 @@
 package tech.zerofiltre.blog.domain.course.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,6 +8,7 @@ import tech.zerofiltre.blog.domain.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 @Data
@@ -29,6 +31,9 @@ public class Enrollment {
     private String certificateHash;
     private String certificateUUID;
     private List<CompletedLesson> completedLessons = new ArrayList<>();
-
+    private int completedCount;
+    private int progressVersion;
+    @JsonIgnore
+    private BitSet completedLessonsBitmap = new BitSet();
 
 }
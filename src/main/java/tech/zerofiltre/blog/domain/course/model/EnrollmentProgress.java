@@ -0,0 +1,41 @@
+package tech.zerofiltre.blog.domain.course.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.BitSet;
+
+/**
+ * The progress of an enrollment, read and saved on its own when a lesson gets completed or not, without the enrollment
+ * and its completed lessons.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentProgress {
+
+    private long enrollmentId;
+    private long courseId;
+    @JsonIgnore
+    private BitSet completedLessonsBitmap = new BitSet();
+    private int completedCount;
+    private int lessonsCount;
+    private boolean completed;
+    @JsonIgnore
+    private int progressVersion;
+
+    public boolean hasCompletedLesson(LessonPosition lesson) {
+        return completedLessonsBitmap.get(lesson.getProgressIndex());
+    }
+
+    /**
+     * Marks the lesson as completed or not, the enrollment being completed once as many lessons as the course has are.
+     */
+    public void markLesson(LessonPosition lesson, boolean completed) {
+        completedLessonsBitmap.set(lesson.getProgressIndex(), completed);
+        completedCount = completedLessonsBitmap.cardinality();
+        this.completed = completed && completedCount >= lessonsCount;
+    }
+}
@@ -37,6 +37,7 @@ public class Lesson {
     private String type;
     private long chapterId;
     private int number;
+    private int progressIndex;
     private List<Resource> resources;
 
     private LessonProvider lessonProvider;
@@ -51,6 +52,8 @@ public class Lesson {
     private User currentUser;
     private Chapter chapter;
     private Course course;
+    private boolean owningCompanyResolved;
+    private Long owningCompanyId;
 
 
     private Lesson(LessonBuilder lessonBuilder) {
@@ -70,6 +73,7 @@ public class Lesson {
         this.enrollmentProvider = lessonBuilder.enrollmentProvider;
         this.checker = lessonBuilder.checker;
         this.number = lessonBuilder.number;
+        this.progressIndex = lessonBuilder.progressIndex;
         this.notEnrolledAccess = lessonBuilder.notEnrolledAccess;
     }
 
@@ -88,6 +92,7 @@ public class Lesson {
         this.chapterId = lesson.chapterId;
         this.resources = lesson.resources;
         this.number = lesson.number;
+        this.progressIndex = lesson.progressIndex;
     }
 
     public String getTitle() {
@@ -144,6 +149,13 @@ public class Lesson {
         this.number = number;
     }
 
+    /**
+     * Position of the lesson in the progress of the enrollments to its course, assigned once when it is created.
+     */
+    public int getProgressIndex() {
+        return progressIndex;
+    }
+
     public Lesson init(String title, long chapterId, long currentUserId) throws ResourceNotFoundException, ForbiddenActionException {
         checkLessonAccessConditions(currentUserId, chapterId, false, false);
         this.title = title;
@@ -194,43 +206,55 @@ public class Lesson {
     }
 
     public Lesson getAsUser(long currentUserId) throws ResourceNotFoundException, ForbiddenActionException {
-        Optional<Lesson> lesson = lessonProvider.lessonOfId(this.id);
+        return getAsUser(currentUserId, null);
+    }
 
-        if (lesson.isEmpty())
-            throw new ResourceNotFoundException(THE_LESSON_OF_ID + id + DOES_NOT_EXIST, String.valueOf(id));
+    /**
+     * Gives the lesson as the connected user, or a visitor when null, is allowed to read it.
+     * The lesson and what it takes to authorize it are resolved at once, see {@link LessonProvider#accessOf(long, long)}.
+     */
+    public Lesson getAsUser(User connectedUser) throws ResourceNotFoundException, ForbiddenActionException {
+        return connectedUser == null ? getAsUser(0, null) : getAsUser(connectedUser.getId(), connectedUser);
+    }
+
+    private Lesson getAsUser(long currentUserId, User connectedUser) throws ResourceNotFoundException, ForbiddenActionException {
+        LessonAccess access = lessonProvider.accessOf(this.id, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException(THE_LESSON_OF_ID + id + DOES_NOT_EXIST, String.valueOf(id)));
+        Lesson lesson = access.getLesson();
+        this.free = lesson.isFree();
+        owningCompanyId = access.getOwningCompanyId();
+        owningCompanyResolved = true;
 
         // THE USER IS CONNECTED
 
         if (currentUserId != 0) {
-            this.free = lesson.get().isFree();
-            checkLessonAccessConditions(currentUserId, lesson.get().getChapterId(), false, true);
-            if (notEnrolledAccess) lesson.get().content = return25PercentOfText(lesson.get().getContent());
-            return setProviders(lesson.get());
-        }
+            currentUser = connectedUser != null ? connectedUser : userProvider.userOfId(currentUserId)
+                    .orElseThrow(() -> new ResourceNotFoundException(USER_DOES_NOT_EXIST, String.valueOf(currentUserId)));
 
-        // THE USER IS NOT CONNECTED
+            if (!Status.PUBLISHED.equals(access.getCourseStatus()))
+                checkUserAuthorized(currentUser, access.getAuthorId(), YOU_ARE_NOT_ALLOWED_TO_READ_THIS_LESSON_AS_THE_COURSE_IS_NOT_YET_PUBLISHED);
+            checkConditionsWithConsideringEnrollments(access.isEnrolled(), access.getAuthorId());
 
-        chapter = chapterProvider.chapterOfId(lesson.get().getChapterId())
-                .orElseThrow(() -> new ResourceNotFoundException("The chapter with id: " + lesson.get().getChapterId() + DOES_NOT_EXIST, String.valueOf(lesson.get().getChapterId())));
+            if (notEnrolledAccess) lesson.content = return25PercentOfText(lesson.getContent());
+            return setProviders(lesson);
+        }
 
-        long courseId = chapter.getCourseId();
-        Course existingCourse = courseProvider.courseOfId(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("The course with id: " + courseId + DOES_NOT_EXIST, String.valueOf(courseId)));
+        // THE USER IS NOT CONNECTED
 
-        if(courseProvider.idOfCompanyOwningCourse(courseId).isPresent()) {
+        if (owningCompanyId != null) {
             throw new ForbiddenActionException("You are not allowed to do this action on this course");
         }
 
-        if (!Status.PUBLISHED.equals(existingCourse.getStatus())) {
+        if (!Status.PUBLISHED.equals(access.getCourseStatus())) {
             throw new ForbiddenActionException(YOU_ARE_NOT_ALLOWED_TO_READ_THIS_LESSON_AS_THE_COURSE_IS_NOT_YET_PUBLISHED);
         }
 
-        if (!lesson.get().isFree()) {
+        if (!lesson.isFree()) {
             notEnrolledAccess = true;
-            lesson.get().content = return25PercentOfText(lesson.get().getContent());
+            lesson.content = return25PercentOfText(lesson.getContent());
         }
 
-        return setProviders(lesson.get());
+        return setProviders(lesson);
     }
 
     public ChapterProvider getChapterProvider() {
@@ -260,33 +284,34 @@ public class Lesson {
         long courseId = chapter.getCourseId();
         course = courseProvider.courseOfId(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("The course with id: " + courseId + DOES_NOT_EXIST, String.valueOf(courseId)));
+        owningCompanyResolved = false;
+        long authorId = course.getAuthor() == null ? 0 : course.getAuthor().getId();
 
         if(!Status.PUBLISHED.equals(course.getStatus()))
-            checkUserAuthorized(currentUser, course, YOU_ARE_NOT_ALLOWED_TO_READ_THIS_LESSON_AS_THE_COURSE_IS_NOT_YET_PUBLISHED);
+            checkUserAuthorized(currentUser, authorId, YOU_ARE_NOT_ALLOWED_TO_READ_THIS_LESSON_AS_THE_COURSE_IS_NOT_YET_PUBLISHED);
 
         if(isDeletion) checkConditionsForDeletingLesson(currentUserId);
 
         if(!checkEnrollments)
-            checkUserAuthorized(currentUser, course, "You are not allowed to do this action on this course");
+            checkUserAuthorized(currentUser, authorId, "You are not allowed to do this action on this course");
 
         if(checkEnrollments)
-            checkConditionsWithConsideringEnrollments(currentUserId, courseId);
+            checkConditionsWithConsideringEnrollments(enrollmentProvider.enrollmentOf(currentUserId, courseId, true).isPresent(), authorId);
     }
 
     private void checkConditionsForDeletingLesson(long currentUserId) throws ForbiddenActionException {
         if (Status.PUBLISHED.equals(course.getStatus())
                 && !currentUser.isAdmin()) {
-            Optional<Long> companyId = courseProvider.idOfCompanyOwningCourse(course.getId());
+            Optional<Long> companyId = owningCompanyId();
 
             if (companyId.isEmpty() || !checker.isCompanyAdmin(currentUserId, companyId.get()))
                 throw new ForbiddenActionException("You can not delete a lesson that is already published");
         }
     }
 
-    private void checkConditionsWithConsideringEnrollments(long currentUserId, long courseId) throws ForbiddenActionException {
-        Optional<Enrollment> enrollment = enrollmentProvider.enrollmentOf(currentUserId, courseId, true);
-        if (enrollment.isEmpty() && !free) {
-            Optional<Long> companyId = courseProvider.idOfCompanyOwningCourse(course.getId());
+    private void checkConditionsWithConsideringEnrollments(boolean enrolled, long authorId) throws ForbiddenActionException {
+        if (!enrolled && !free) {
+            Optional<Long> companyId = owningCompanyId();
 
             if(companyId.isPresent()) {
                 checker.checkIfAdminOrCompanyUser(currentUser, companyId.get());
@@ -294,13 +319,13 @@ public class Lesson {
             }
 
             if(!currentUser.isAdmin()
-                    && course.getAuthor().getId() != currentUser.getId())
+                    && authorId != currentUser.getId())
                 notEnrolledAccess = true;
         }
     }
 
-    private void checkUserAuthorized(User existingUser, Course existingCourse, String message) throws ForbiddenActionException {
-        Optional<Long> companyId = courseProvider.idOfCompanyOwningCourse(existingCourse.getId());
+    private void checkUserAuthorized(User existingUser, long authorId, String message) throws ForbiddenActionException {
+        Optional<Long> companyId = owningCompanyId();
 
         if(companyId.isPresent()) {
             checker.checkIfAdminOrCompanyAdminOrEditor(existingUser, companyId.get());
@@ -308,11 +333,22 @@ public class Lesson {
         }
 
         if (!existingUser.isAdmin()
-                && existingCourse.getAuthor().getId() != existingUser.getId()) {
+                && authorId != existingUser.getId()) {
             throw new ForbiddenActionException(message);
         }
     }
 
+    /**
+     * The company owning the course, looked up once for all the checks of a request.
+     */
+    private Optional<Long> owningCompanyId() {
+        if (!owningCompanyResolved) {
+            owningCompanyId = courseProvider.idOfCompanyOwningCourse(course.getId()).orElse(null);
+            owningCompanyResolved = true;
+        }
+        return Optional.ofNullable(owningCompanyId);
+    }
+
     private String return25PercentOfText(String text) {
         int halfLength = text.length() / 4;
         return text.substring(0, halfLength) + DOTS;
@@ -332,6 +368,7 @@ public class Lesson {
 
     public static class LessonBuilder {
         private int number;
+        private int progressIndex;
         private long id;
         private String title;
         private String content;
@@ -395,6 +432,11 @@ public class Lesson {
             return this;
         }
 
+        public LessonBuilder progressIndex(int progressIndex) {
+            this.progressIndex = progressIndex;
+            return this;
+        }
+
         public LessonBuilder resources(List<Resource> resources) {
             this.resources = resources;
             return this;
@@ -0,0 +1,20 @@
+package tech.zerofiltre.blog.domain.course.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tech.zerofiltre.blog.domain.article.model.Status;
+
+/**
+ * A lesson with what it takes to decide whether a user can read it: the status and author of its course,
+ * the company owning the course if any, and whether the user is actively enrolled in it.
+ */
+@Getter
+@AllArgsConstructor
+public class LessonAccess {
+
+    private final Lesson lesson;
+    private final Status courseStatus;
+    private final long authorId;
+    private final Long owningCompanyId;
+    private final boolean enrolled;
+}
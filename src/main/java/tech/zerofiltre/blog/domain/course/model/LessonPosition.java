@@ -0,0 +1,15 @@
+package tech.zerofiltre.blog.domain.course.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Where a lesson stands in the progress of its course, enough to mark it as completed without loading it.
+ */
+@Getter
+@AllArgsConstructor
+public class LessonPosition {
+
+    private final long courseId;
+    private final int progressIndex;
+}
@@ -3,8 +3,13 @@ package tech.zerofiltre.blog.domain.course.model;
 import com.fasterxml.jackson.annotation.*;
 import tech.zerofiltre.blog.domain.course.*;
 
+import java.util.regex.*;
+
 @JsonIgnoreProperties(value = "resourceProvider")
 public class Resource {
+    public static final String COURSE_TYPE = "course";
+    private static final Pattern COURSE_URL = Pattern.compile("/cours/(\\d+)");
+
     private long id;
     private String type;
     private String url;
@@ -45,6 +50,15 @@ public class Resource {
         return resourceProvider;
     }
 
+    /**
+     * The id of the course a resource of type course links to, 0 for the other resources.
+     */
+    public long grantedCourseId() {
+        if (!COURSE_TYPE.equals(type) || url == null) return 0;
+        Matcher matcher = COURSE_URL.matcher(url);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
     public static ResourceBuilder builder() {
         return new ResourceBuilder();
     }
@@ -0,0 +1,20 @@
+package tech.zerofiltre.blog.domain.course.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tech.zerofiltre.blog.domain.sandbox.model.Sandbox;
+
+/**
+ * An enrollment suspended in bulk, with what it takes to tear down what came with it: the purchase of the course
+ * and the sandbox of the user.
+ */
+@Getter
+@AllArgsConstructor
+public class SuspendedEnrollment {
+
+    private final long userId;
+    private final String userFullName;
+    private final String userEmail;
+    private final long courseId;
+    private final Sandbox.Type courseSandboxType;
+}
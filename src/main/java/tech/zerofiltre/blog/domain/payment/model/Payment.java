@@ -17,6 +17,8 @@ public class Payment {
     public static final String INITIALIZED = "initialized";
     public static final String YEAR = "year";
     public static final String MONTH = "month";
+    public static final int DAYS_IN_MONTH = 30;
+    public static final int DAYS_IN_YEAR = 365;
 
     private User user;
     private String reference;
@@ -24,4 +26,8 @@ public class Payment {
     private LocalDateTime at = LocalDateTime.now();
     private String status = INITIALIZED;
     private String recurringInterval = MONTH;
+
+    public LocalDateTime renewalDate() {
+        return at.plusDays(YEAR.equals(recurringInterval) ? DAYS_IN_YEAR : DAYS_IN_MONTH);
+    }
 }
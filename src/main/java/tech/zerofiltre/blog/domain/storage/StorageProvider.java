@@ -1,6 +1,7 @@
 package tech.zerofiltre.blog.domain.storage;
 
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
 
 import java.util.Optional;
 
@@ -10,6 +11,20 @@ public interface StorageProvider {
 
     Optional<byte[]> get(String key);
 
+    /**
+     * Tells whether the object is stored, without reading it.
+     */
+    boolean exists(String key);
+
+    /**
+     * Gives the stored object as a file on the local disk, to be streamed instead of being read in memory.
+     * Empty when the object is not stored, or when the provider keeps no local copy of it.
+     * The file is kept on the disk until the {@link StoredFile} is closed.
+     */
+    default Optional<StoredFile> file(String key) {
+        return Optional.empty();
+    }
+
     void delete(String path) throws ZerofiltreException;
 
 }
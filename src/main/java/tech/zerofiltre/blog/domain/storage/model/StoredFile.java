@@ -0,0 +1,29 @@
+package tech.zerofiltre.blog.domain.storage.model;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A stored object kept as a file on the local disk. The file stays on the disk until it is closed,
+ * so it has to be closed once it has been streamed.
+ */
+public class StoredFile implements Closeable {
+
+    @Getter
+    private final Path path;
+    private final Runnable release;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public StoredFile(Path path, Runnable release) {
+        this.path = path;
+        this.release = release;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) release.run();
+    }
+}
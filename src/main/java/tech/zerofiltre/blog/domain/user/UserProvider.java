@@ -5,22 +5,43 @@ import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static tech.zerofiltre.blog.util.ZerofiltreUtils.streamByKeyset;
 
 public interface UserProvider {
 
     Optional<User> userOfId(long userId);
 
-    List<User> users();
-
     User save(User user);
 
     Optional<User> userOfEmail(String email);
 
-    List<User> nonActiveUsers();
-
     void deleteUser(User user);
 
     Optional<User> userOfSocialId(String userSocialId);
 
-    List<UserForBroadcast> allUsersForBroadcast();
+    /**
+     * @return up to limit users subscribed to the broadcasts whose id is greater than afterId, ordered by id
+     */
+    List<UserForBroadcast> usersForBroadcast(long afterId, int limit);
+
+    /**
+     * @return the contact details of up to limit users who did not confirm their account and whose id is greater than afterId, ordered by id
+     */
+    List<UserForBroadcast> nonActiveUsers(long afterId, int limit);
+
+    /**
+     * Streams the users subscribed to the broadcasts, reading them pageSize at a time.
+     */
+    default Stream<UserForBroadcast> streamUsersForBroadcast(int pageSize) {
+        return streamByKeyset(this::usersForBroadcast, UserForBroadcast::getId, pageSize);
+    }
+
+    /**
+     * Streams the contact details of the users who did not confirm their account, reading them pageSize at a time.
+     */
+    default Stream<UserForBroadcast> streamNonActiveUsers(int pageSize) {
+        return streamByKeyset(this::nonActiveUsers, UserForBroadcast::getId, pageSize);
+    }
 }
@@ -16,5 +16,11 @@ public interface VerificationTokenProvider {
 
     VerificationToken generate(User user);
 
+    /**
+     * Gives a token with the configured expiration to each user: the tokens still valid long enough are reused,
+     * the others are generated and saved together.
+     */
+    List<VerificationToken> generate(List<User> users);
+
     void delete(VerificationToken token);
 }
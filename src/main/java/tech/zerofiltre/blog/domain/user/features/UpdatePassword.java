@@ -30,7 +30,6 @@ public class UpdatePassword {
 
         CounterSpecs counterSpecs = new CounterSpecs();
         counterSpecs.setName(CounterSpecs.ZEROFILTRE_PASSWORD_RESETS);
-        counterSpecs.setTags("email", email);
         metricsProvider.incrementCounter(counterSpecs);
 
 
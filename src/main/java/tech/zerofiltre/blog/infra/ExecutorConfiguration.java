@@ -0,0 +1,100 @@
+package tech.zerofiltre.blog.infra;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * The thread pools of the background jobs, each one injected by its name. They are shut down with the context.
+ */
+@Configuration
+public class ExecutorConfiguration {
+
+    public static final String SEARCH_INDEX_BUILDER = "searchIndexBuilderExecutor";
+    public static final String SANDBOX_PROVISIONER = "sandboxProvisionerExecutor";
+    public static final String MAIL_SENDER = "mailSenderExecutor";
+    public static final String STATS_RENDERER = "statsRendererExecutor";
+    public static final String STATS_BROADCAST = "statsBroadcastExecutor";
+    public static final String REGISTRATION_REMINDER_RENDERER = "registrationReminderRendererExecutor";
+    public static final String PAYMENT_SESSION = "paymentSessionExecutor";
+    public static final String CERTIFICATE_RENDERER = "certificateRendererExecutor";
+
+    /**
+     * Declaring executors turns the auto-configured application executor off: it is declared here as Spring Boot does.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(SEARCH_INDEX_BUILDER)
+    public ThreadPoolTaskExecutor searchIndexBuilderExecutor() {
+        return fixedPool(1, "search-index-builder-");
+    }
+
+    @Bean(SANDBOX_PROVISIONER)
+    public ThreadPoolTaskExecutor sandboxProvisionerExecutor(InfraProperties infraProperties) {
+        return workersPool(infraProperties.getSandboxProvisioningWorkers(), "sandbox-provisioner-");
+    }
+
+    @Bean(MAIL_SENDER)
+    public ThreadPoolTaskExecutor mailSenderExecutor(InfraProperties infraProperties) {
+        return workersPool(infraProperties.getMailOutboxWorkers(), "mail-sender-");
+    }
+
+    @Bean(STATS_RENDERER)
+    public ThreadPoolTaskExecutor statsRendererExecutor(InfraProperties infraProperties) {
+        return fixedPool(infraProperties.getStatsReminderRenderThreads(), "stats-renderer-");
+    }
+
+    /**
+     * A single thread and no queue: a broadcast started while another one runs is rejected.
+     */
+    @Bean(STATS_BROADCAST)
+    public ThreadPoolTaskExecutor statsBroadcastExecutor() {
+        ThreadPoolTaskExecutor executor = fixedPool(1, "stats-broadcast-");
+        executor.setQueueCapacity(0);
+        return executor;
+    }
+
+    @Bean(REGISTRATION_REMINDER_RENDERER)
+    public ThreadPoolTaskExecutor registrationReminderRendererExecutor(InfraProperties infraProperties) {
+        return fixedPool(infraProperties.getReminderRenderThreads(), "registration-reminder-renderer-");
+    }
+
+    @Bean(PAYMENT_SESSION)
+    public ThreadPoolTaskExecutor paymentSessionExecutor(InfraProperties infraProperties) {
+        return fixedPool(infraProperties.getMobilePaymentReminderSessionThreads(), "payment-session-");
+    }
+
+    @Bean(CERTIFICATE_RENDERER)
+    public ThreadPoolTaskExecutor certificateRendererExecutor(InfraProperties infraProperties) {
+        ThreadPoolTaskExecutor executor = fixedPool(infraProperties.getCertificateRenderThreads(), "certificate-renderer-");
+        executor.setQueueCapacity(infraProperties.getCertificateRenderQueueCapacity());
+        return executor;
+    }
+
+    /**
+     * Queues no more tasks than there are workers, and lets the tasks started finish on shutdown.
+     */
+    private static ThreadPoolTaskExecutor workersPool(int workers, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = fixedPool(workers, threadNamePrefix);
+        executor.setQueueCapacity(workers);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    private static ThreadPoolTaskExecutor fixedPool(int threads, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
+}
@@ -1,37 +1,45 @@
 package tech.zerofiltre.blog.infra;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import tech.zerofiltre.blog.domain.course.model.Certificate;
+import tech.zerofiltre.blog.infra.cache.CacheConfiguration;
+import tech.zerofiltre.blog.infra.providers.certificate.PDFCertificateProvider;
+import tech.zerofiltre.blog.infra.providers.notification.user.RateGovernor;
 
-import java.time.Duration;
+import java.util.Optional;
 
 @Configuration
 public class InfraConfiguration {
 
 
+    /**
+     * Sets the time to live of the Redis entries of each cache from the configured ttls, e.g. {@code 30m} or {@code 1d}.
+     */
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
-        return builder -> builder
-                .withCacheConfiguration("search-results",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(60)))
-                .withCacheConfiguration("user-search-results",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(60)))
-                .withCacheConfiguration("courses-list",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofDays(1)))
-                .withCacheConfiguration("articles-list",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofDays(1)))
-                .withCacheConfiguration("connected-user",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(5)))
-                .withCacheConfiguration("github-token-validity",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)))
-                .withCacheConfiguration("so-token-validity",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)))
-                .withCacheConfiguration("github-user",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)))
-                .withCacheConfiguration("so-user",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)));
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(CacheProperties cacheProperties, InfraProperties infraProperties) {
+        RedisCacheConfiguration defaults = CacheConfiguration.redisCacheDefaults(cacheProperties);
+        return builder -> infraProperties.getCacheTtls().forEach((cacheName, ttl) -> builder.withCacheConfiguration(cacheName,
+                defaults.entryTtl(DurationStyle.detectAndParse(ttl))));
+    }
+
+    /**
+     * Paces the monthly stats emails, one at a time.
+     */
+    @Bean
+    public RateGovernor statsReminderRateGovernor(InfraProperties infraProperties) {
+        return new RateGovernor(infraProperties.getStatsReminderMessagesPerSecond(), 1);
+    }
+
+    @Bean(PDFCertificateProvider.VERIFICATIONS)
+    public Cache<String, Optional<Certificate>> certificateVerifications(InfraProperties infraProperties) {
+        return PDFCertificateProvider.newVerificationCache(infraProperties.getCertificateVerificationsMaxSize(),
+                infraProperties.getCertificateVerificationsTtlMs(), infraProperties.getCertificateVerificationsNotFoundTtlMs());
     }
 
 }
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Data
 @Component
 public class InfraProperties {
@@ -104,9 +106,6 @@ public class InfraProperties {
     @Value("${zerofiltre.infra.checkout-reminder-delay-ms:86400000}")
     private long checkoutReminderDelayMs;
 
-    @Value("${zerofiltre.infra.checkout-reminder-check-frequency-ms:3600000}")
-    private long checkoutReminderCheckFrequencyMs;
-
     @Value("${zerofiltre.infra.api.notchpay.url}")
     private String notchPayUrl;
 
@@ -119,5 +118,129 @@ public class InfraProperties {
     @Value("${zerofiltre.infra.api.notchpay.hash}")
     private String notchPayHash;
 
+    @Value("${zerofiltre.infra.search.max-results:20}")
+    private int searchMaxResults;
+
+    @Value("${zerofiltre.infra.search.indexing-page-size:200}")
+    private int searchIndexingPageSize;
+
+    @Value("${zerofiltre.infra.search.index-changes-channel:zerofiltre:search-index-changes}")
+    private String searchIndexChangesChannel;
+
+    @Value("#{${zerofiltre.infra.cache.near-cache-specs:{:}}}")
+    private Map<String, String> nearCacheSpecs;
+
+    @Value("#{${zerofiltre.infra.cache.ttls:{'articles-list': '1d', 'courses-list': '1d', 'search-results': '10m', 'user-search-results': '60m', 'connected-user': '5m', " +
+            "'github-token-validity': '30m', 'so-token-validity': '30m', 'github-user': '30m', 'so-user': '30m'}}}")
+    private Map<String, String> cacheTtls;
+
+    @Value("${zerofiltre.infra.cache.invalidation-channel:zerofiltre:cache-invalidation}")
+    private String cacheInvalidationChannel;
+
+    @Value("${zerofiltre.infra.sandbox.provisioning.workers:4}")
+    private int sandboxProvisioningWorkers;
+
+    @Value("${zerofiltre.infra.sandbox.provisioning.max-attempts:5}")
+    private int sandboxProvisioningMaxAttempts;
+
+    @Value("${zerofiltre.infra.sandbox.provisioning.retry-base-delay-ms:30000}")
+    private long sandboxProvisioningRetryBaseDelayMs;
+
+    @Value("${zerofiltre.infra.sandbox.provisioning.retry-max-delay-ms:1800000}")
+    private long sandboxProvisioningRetryMaxDelayMs;
+
+    @Value("${zerofiltre.infra.sandbox.provisioning.claim-timeout-ms:600000}")
+    private long sandboxProvisioningClaimTimeoutMs;
+
+    @Value("${zerofiltre.infra.mail.outbox.workers:2}")
+    private int mailOutboxWorkers;
+
+    @Value("${zerofiltre.infra.mail.outbox.max-attempts:6}")
+    private int mailOutboxMaxAttempts;
+
+    @Value("${zerofiltre.infra.mail.outbox.retry-base-delay-ms:60000}")
+    private long mailOutboxRetryBaseDelayMs;
+
+    @Value("${zerofiltre.infra.mail.outbox.retry-max-delay-ms:3600000}")
+    private long mailOutboxRetryMaxDelayMs;
+
+    @Value("${zerofiltre.infra.mail.outbox.claim-timeout-ms:300000}")
+    private long mailOutboxClaimTimeoutMs;
+
+    @Value("${zerofiltre.infra.mail.outbox.poll-delay-ms:1000}")
+    private long mailOutboxPollDelayMs;
+
+    @Value("${zerofiltre.infra.mail.outbox.sent-retention-days:7}")
+    private int mailOutboxSentRetentionDays;
+
+    @Value("${zerofiltre.infra.stats.reminder.render-threads:4}")
+    private int statsReminderRenderThreads;
+
+    @Value("${zerofiltre.infra.stats.reminder.messages-per-second:2}")
+    private double statsReminderMessagesPerSecond;
+
+    @Value("${zerofiltre.infra.stats.reminder.chunk-size:200}")
+    private int statsReminderChunkSize;
+
+    @Value("${zerofiltre.infra.stats.reminder.claim-timeout-ms:900000}")
+    private long statsReminderClaimTimeoutMs;
+
+    @Value("${zerofiltre.infra.reminder-render-threads:4}")
+    private int reminderRenderThreads;
+
+    @Value("${zerofiltre.infra.reminder-batch-size:200}")
+    private int reminderBatchSize;
+
+    @Value("${zerofiltre.infra.mobile.payments.reminder.session-threads:4}")
+    private int mobilePaymentReminderSessionThreads;
+
+    @Value("${zerofiltre.infra.certificates.render-threads:2}")
+    private int certificateRenderThreads;
+
+    @Value("${zerofiltre.infra.certificates.render-queue-capacity:100}")
+    private int certificateRenderQueueCapacity;
+
+    @Value("${zerofiltre.infra.certificates.render-timeout-ms:60000}")
+    private long certificateRenderTimeoutMs;
+
+    @Value("${zerofiltre.infra.certificates.verifications.max-size:10000}")
+    private long certificateVerificationsMaxSize;
+
+    @Value("${zerofiltre.infra.certificates.verifications.ttl-ms:3600000}")
+    private long certificateVerificationsTtlMs;
+
+    @Value("${zerofiltre.infra.certificates.verifications.not-found-ttl-ms:60000}")
+    private long certificateVerificationsNotFoundTtlMs;
+
+    @Value("${zerofiltre.infra.delayed-tasks.lookahead-ms:60000}")
+    private long delayedTasksLookaheadMs;
+
+    @Value("${zerofiltre.infra.delayed-tasks.claim-timeout-ms:300000}")
+    private long delayedTasksClaimTimeoutMs;
+
+    @Value("${zerofiltre.infra.delayed-tasks.retry-delay-ms:300000}")
+    private long delayedTasksRetryDelayMs;
+
+    @Value("${zerofiltre.infra.delayed-tasks.max-attempts:3}")
+    private int delayedTasksMaxAttempts;
+
+    @Value("${zerofiltre.infra.delayed-tasks.load-limit:1000}")
+    private int delayedTasksLoadLimit;
+
+    @Value("${zerofiltre.infra.article.views.buffer-capacity:10000}")
+    private int articleViewsBufferCapacity;
+
+    @Value("${zerofiltre.infra.metrics.max-series-per-counter:50}")
+    private int metricsMaxSeriesPerCounter;
+
+    @Value("${zerofiltre.infra.storage.cache.directory:${java.io.tmpdir}/zerofiltre-storage-cache}")
+    private String storageCacheDirectory;
+
+    @Value("${zerofiltre.infra.storage.cache.max-size-bytes:536870912}")
+    private long storageCacheMaxSizeBytes;
+
+    @Value("${zerofiltre.infra.storage.cache.revalidate-after-ms:3600000}")
+    private long storageCacheRevalidateAfterMs;
+
 
 }
@@ -0,0 +1,70 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import tech.zerofiltre.blog.infra.InfraProperties;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    // pattern evictions and clears walk the keys with SCAN in batches of this size rather than a blocking KEYS
+    static final int SCAN_BATCH_SIZE = 1000;
+
+    /**
+     * Builds the Redis cache manager as Spring Boot does, from the spring.cache properties and the
+     * {@link RedisCacheManagerBuilderCustomizer}s, and puts the near caches in front of it.
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheProperties cacheProperties,
+                                             ObjectProvider<RedisCacheManagerBuilderCustomizer> redisCacheManagerBuilderCustomizers,
+                                             RedisCacheInvalidationPublisher invalidationPublisher, InfraProperties infraProperties) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(SCAN_BATCH_SIZE)))
+                .cacheDefaults(redisCacheDefaults(cacheProperties));
+        List<String> cacheNames = cacheProperties.getCacheNames();
+        if (!cacheNames.isEmpty()) builder.initialCacheNames(new LinkedHashSet<>(cacheNames));
+        if (cacheProperties.getRedis().isEnableStatistics()) builder.enableStatistics();
+        redisCacheManagerBuilderCustomizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+        return new TwoLevelCacheManager(redisCacheManager, infraProperties.getNearCacheSpecs(), invalidationPublisher);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory, TwoLevelCacheManager cacheManager,
+                                                                            RedisCacheInvalidationPublisher invalidationPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> invalidationPublisher.read(message).ifPresent(cacheManager::invalidateLocally),
+                new ChannelTopic(invalidationPublisher.getChannel()));
+        return container;
+    }
+
+    /**
+     * The configuration Spring Boot gives the caches from the spring.cache.redis properties.
+     */
+    public static RedisCacheConfiguration redisCacheDefaults(CacheProperties cacheProperties) {
+        CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig();
+        if (redisProperties.getTimeToLive() != null) config = config.entryTtl(redisProperties.getTimeToLive());
+        if (redisProperties.getKeyPrefix() != null) config = config.prefixCacheNameWith(redisProperties.getKeyPrefix());
+        if (!redisProperties.isCacheNullValues()) config = config.disableCachingNullValues();
+        if (!redisProperties.isUseKeyPrefix()) config = config.disableKeyPrefix();
+        return config;
+    }
+}
@@ -0,0 +1,20 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Message broadcast to the other instances when near cached entries are evicted: the entry of the key,
+ * the entries matching the key pattern, or the whole cache when both are null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    private String origin;
+    private String cacheName;
+    private String key;
+    private String keyPattern;
+}
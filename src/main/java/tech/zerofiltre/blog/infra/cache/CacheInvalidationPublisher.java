@@ -0,0 +1,10 @@
+package tech.zerofiltre.blog.infra.cache;
+
+public interface CacheInvalidationPublisher {
+
+    void publishEviction(String cacheName, String key);
+
+    void publishPatternEviction(String cacheName, String keyPattern);
+
+    void publishClear(String cacheName);
+}
@@ -0,0 +1,88 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tech.zerofiltre.blog.domain.user.UserProvider;
+import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.providers.database.user.UserChangedEvent;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Caches the authenticated users by id. Every cached user is stamped with the version of the user current when it was loaded,
+ * and a change of the user replaces that version: a user loaded before the change and cached after it no longer matches
+ * and is reloaded on the next request.
+ * A version expires with the cache entries: it restarts from a fresh value, so that no user cached under an expired
+ * version is ever matched again.
+ */
+@Component
+public class ConnectedUserCache {
+
+    public static final String CONNECTED_USER = "connected-user";
+    static final String VERSION_KEY_PREFIX = "version:";
+
+    private final UserProvider userProvider;
+    private final CacheManager cacheManager;
+
+    public ConnectedUserCache(UserProvider userProvider, CacheManager cacheManager) {
+        this.userProvider = userProvider;
+        this.cacheManager = cacheManager;
+    }
+
+    public Optional<User> userOfId(long userId) {
+        Cache cache = cacheManager.getCache(CONNECTED_USER);
+        if (cache == null) return userProvider.userOfId(userId);
+
+        String version = version(cache, userId);
+        VersionedUser cached = cache.get(userId, VersionedUser.class);
+        if (cached != null && Objects.equals(version, cached.getVersion())) return Optional.of(cached.getUser());
+
+        Optional<User> user = userProvider.userOfId(userId);
+        user.ifPresent(found -> cache.put(userId, new VersionedUser(version, found)));
+        return user;
+    }
+
+    private String version(Cache cache, long userId) {
+        String version = cache.get(VERSION_KEY_PREFIX + userId, String.class);
+        if (version != null) return version;
+        String fresh = UUID.randomUUID().toString();
+        Cache.ValueWrapper existing = cache.putIfAbsent(VERSION_KEY_PREFIX + userId, fresh);
+        return existing != null && existing.get() != null ? (String) existing.get() : fresh;
+    }
+
+    public void invalidate(long userId) {
+        Cache cache = cacheManager.getCache(CONNECTED_USER);
+        if (cache == null) return;
+        cache.put(VERSION_KEY_PREFIX + userId, UUID.randomUUID().toString());
+        cache.evict(userId);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    /**
+     * Invalidates again once the change is visible to the other transactions: a request that read the version
+     * between the first invalidation and the commit may have cached the user as it was before the change.
+     */
+    @TransactionalEventListener
+    public void onUserChangeCommitted(UserChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class VersionedUser implements Serializable {
+        private final String version;
+        private final User user;
+    }
+}
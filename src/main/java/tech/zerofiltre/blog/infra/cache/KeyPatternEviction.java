@@ -0,0 +1,33 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Evicts the entries whose key starts with a prefix, given as a {@code prefix*} pattern.
+ * On Redis the matching keys are found by the cache writer's batch strategy, a SCAN in {@link CacheConfiguration}.
+ */
+public final class KeyPatternEviction {
+
+    private KeyPatternEviction() {
+    }
+
+    public static void evictMatching(Cache cache, String keyPattern) {
+        if (cache instanceof TwoLevelCache) {
+            ((TwoLevelCache) cache).evictMatching(keyPattern);
+        } else if (cache instanceof RedisCache) {
+            RedisCache redisCache = (RedisCache) cache;
+            String prefixedPattern = redisCache.getCacheConfiguration().getKeyPrefixFor(redisCache.getName()) + keyPattern;
+            byte[] pattern = ByteUtils.getBytes(redisCache.getCacheConfiguration().getKeySerializationPair().write(prefixedPattern));
+            redisCache.getNativeCache().clean(redisCache.getName(), pattern);
+        } else if (cache.getNativeCache() instanceof ConcurrentMap) {
+            ((ConcurrentMap<?, ?>) cache.getNativeCache()).keySet()
+                    .removeIf(key -> ListingCacheKeys.matches(keyPattern, String.valueOf(key)));
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tech.zerofiltre.blog.infra.providers.database.ListingChangedEvent;
+
+import java.util.List;
+
+import static tech.zerofiltre.blog.infra.cache.ListingCacheKeys.ARTICLES_LIST;
+import static tech.zerofiltre.blog.infra.cache.ListingCacheKeys.COURSES_LIST;
+
+/**
+ * Drops, once the change is committed, the listing pages a change can affect instead of the whole listing cache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ListingCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        String cacheName = cacheName(event);
+        if (cacheName == null) return;
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return;
+        List<String> keyPatterns = event.isRankingOnly()
+                ? ListingCacheKeys.patternsAffectedByRanking(event.getStatuses(), event.getAuthorIds())
+                : ListingCacheKeys.patternsAffectedBy(event.getStatuses(), event.getAuthorIds(), event.getTags());
+        keyPatterns.forEach(keyPattern -> KeyPatternEviction.evictMatching(cache, keyPattern));
+        log.debug("Evicted {} key patterns from {} after {}", keyPatterns.size(), cacheName, event);
+    }
+
+    private static String cacheName(ListingChangedEvent event) {
+        switch (event.getContentType()) {
+            case ARTICLE:
+                return ARTICLES_LIST;
+            case COURSE:
+                return COURSES_LIST;
+            default:
+                return null;
+        }
+    }
+}
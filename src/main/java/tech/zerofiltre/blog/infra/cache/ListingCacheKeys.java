@@ -0,0 +1,102 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import tech.zerofiltre.blog.domain.FinderRequest;
+import tech.zerofiltre.blog.domain.article.model.Status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Keys of the listing caches, laid out as {@code status:authorId:tag:filter:pageNumber:pageSize}
+ * so that every listing a change can affect is reachable through a key prefix.
+ */
+public final class ListingCacheKeys {
+
+    public static final String ARTICLES_LIST = "articles-list";
+    public static final String COURSES_LIST = "courses-list";
+
+    private static final String SEPARATOR = ":";
+    private static final String RESERVED = "%:*?[]\\";
+    private static final long ALL_AUTHORS = 0;
+    private static final List<FinderRequest.Filter> RANKING_FILTERS = List.of(FinderRequest.Filter.POPULAR, FinderRequest.Filter.MOST_VIEWED);
+
+    private ListingCacheKeys() {
+    }
+
+    public static String of(Status status, long authorId, String tag, FinderRequest.Filter filter, int pageNumber, int pageSize) {
+        return String.join(SEPARATOR, String.valueOf(status), String.valueOf(authorId), segment(tag),
+                filter == null ? "" : filter.name(), String.valueOf(pageNumber), String.valueOf(pageSize));
+    }
+
+    /**
+     * Key patterns of the listings showing content with one of the given statuses, authors and tags:
+     * the untagged and tagged listings of all authors and of each author.
+     */
+    public static List<String> patternsAffectedBy(Collection<Status> statuses, Collection<Long> authorIds, Collection<String> tags) {
+        Set<Long> authorScopes = new LinkedHashSet<>();
+        authorScopes.add(ALL_AUTHORS);
+        authorScopes.addAll(authorIds);
+        Set<String> tagScopes = new LinkedHashSet<>();
+        tagScopes.add("");
+        tags.forEach(tag -> tagScopes.add(segment(tag)));
+
+        List<String> patterns = new ArrayList<>();
+        for (Status status : statuses) {
+            for (long authorId : authorScopes) {
+                for (String tag : tagScopes) {
+                    patterns.add(String.join(SEPARATOR, String.valueOf(status), String.valueOf(authorId), tag, "*"));
+                }
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Key patterns of the untagged listings ranked by reactions or views, of all authors and of each author:
+     * the only pages whose order a change of reactions or views can alter.
+     */
+    public static List<String> patternsAffectedByRanking(Collection<Status> statuses, Collection<Long> authorIds) {
+        Set<Long> authorScopes = new LinkedHashSet<>();
+        authorScopes.add(ALL_AUTHORS);
+        authorScopes.addAll(authorIds);
+
+        List<String> patterns = new ArrayList<>();
+        for (Status status : statuses) {
+            for (long authorId : authorScopes) {
+                for (FinderRequest.Filter filter : RANKING_FILTERS) {
+                    patterns.add(String.join(SEPARATOR, String.valueOf(status), String.valueOf(authorId), "", filter.name(), "*"));
+                }
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Tags are matched case-insensitively by the database. The separator, the glob characters, the whitespaces and the escape character
+     * itself are percent-encoded, so that distinct tags keep distinct segments.
+     */
+    static String segment(String tag) {
+        if (tag == null) return "";
+        StringBuilder segment = new StringBuilder();
+        tag.toLowerCase(Locale.ROOT).codePoints().forEach(codePoint -> {
+            if (RESERVED.indexOf(codePoint) < 0 && !Character.isWhitespace(codePoint) && !Character.isSpaceChar(codePoint)) {
+                segment.appendCodePoint(codePoint);
+                return;
+            }
+            for (byte b : new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8)) {
+                segment.append('%').append(String.format("%02X", b & 0xFF));
+            }
+        });
+        return segment.toString();
+    }
+
+    static boolean matches(String keyPattern, String key) {
+        if (!keyPattern.endsWith("*")) return keyPattern.equals(key);
+        return key.startsWith(keyPattern.substring(0, keyPattern.length() - 1));
+    }
+}
@@ -0,0 +1,50 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import org.springframework.cache.Cache;
+import tech.zerofiltre.blog.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A near cached value kept on the heap. It is stored and handed out as a copy of its page or list shell, so that a caller changing
+ * the page or the list it got does not change what the next reader gets. The listed articles and courses themselves are shared.
+ */
+class NearCacheValue implements Cache.ValueWrapper {
+
+    private final Object value;
+    private final int weight;
+
+    NearCacheValue(Object value) {
+        this.value = copyOf(value);
+        this.weight = TwoLevelCacheManager.weight(value);
+    }
+
+    @Override
+    public Object get() {
+        return copyOf(value);
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    static Object copyOf(Object value) {
+        if (value instanceof Page) return copyOf((Page<?>) value);
+        if (value instanceof List) return new ArrayList<>((List<?>) value);
+        return value;
+    }
+
+    private static <T> Page<T> copyOf(Page<T> page) {
+        Page<T> copy = new Page<>();
+        copy.setPageSize(page.getPageSize());
+        copy.setPageNumber(page.getPageNumber());
+        copy.setNumberOfElements(page.getNumberOfElements());
+        copy.setTotalNumberOfElements(page.getTotalNumberOfElements());
+        copy.setTotalNumberOfPages(page.getTotalNumberOfPages());
+        copy.setContent(page.getContent() == null ? null : new ArrayList<>(page.getContent()));
+        copy.setHasNext(page.getHasNext());
+        copy.setHasPrevious(page.getHasPrevious());
+        return copy;
+    }
+}
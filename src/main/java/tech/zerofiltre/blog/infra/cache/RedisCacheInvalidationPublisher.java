@@ -0,0 +1,69 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.infra.InfraProperties;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class RedisCacheInvalidationPublisher implements CacheInvalidationPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String origin = UUID.randomUUID().toString();
+
+    public RedisCacheInvalidationPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, InfraProperties infraProperties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = infraProperties.getCacheInvalidationChannel();
+    }
+
+    @Override
+    public void publishEviction(String cacheName, String key) {
+        publish(new CacheInvalidation(origin, cacheName, key, null));
+    }
+
+    @Override
+    public void publishPatternEviction(String cacheName, String keyPattern) {
+        publish(new CacheInvalidation(origin, cacheName, null, keyPattern));
+    }
+
+    @Override
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidation(origin, cacheName, null, null));
+    }
+
+    /**
+     * Reads an invalidation received on the channel, ignoring the ones this instance sent itself.
+     */
+    public Optional<CacheInvalidation> read(Message message) {
+        try {
+            CacheInvalidation invalidation = objectMapper.readValue(message.getBody(), CacheInvalidation.class);
+            return origin.equals(invalidation.getOrigin()) ? Optional.empty() : Optional.of(invalidation);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache invalidation message", e);
+            return Optional.empty();
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(invalidation));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Could not broadcast the invalidation of {}, other instances will keep their near copy until it expires", invalidation, e);
+        }
+    }
+}
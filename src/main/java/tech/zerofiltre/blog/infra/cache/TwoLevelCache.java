@@ -0,0 +1,116 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Serves reads from a per-instance near cache and falls back to the shared remote cache.
+ * Evictions are applied to both levels and broadcast so that the other instances drop their near copy too.
+ * Near cached values are kept on the heap and read as copies of their page or list, see {@link NearCacheValue}.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, NearCacheValue> nearCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TwoLevelCache(com.github.benmanes.caffeine.cache.Cache<String, NearCacheValue> nearCache, Cache remoteCache, CacheInvalidationPublisher invalidationPublisher) {
+        this.nearCache = nearCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = nearKey(key);
+        ValueWrapper value = nearCache.getIfPresent(nearKey);
+        if (value != null) return value;
+        value = remoteCache.get(key);
+        if (value != null) nearCache.put(nearKey, new NearCacheValue(value.get()));
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value == null) return null;
+        if (type != null && !type.isInstance(value))
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) return (T) value.get();
+        T loaded = remoteCache.get(key, valueLoader);
+        nearCache.put(nearKey(key), new NearCacheValue(loaded));
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        nearCache.put(nearKey(key), new NearCacheValue(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        nearCache.put(nearKey(key), new NearCacheValue(existing != null ? existing.get() : value));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        String nearKey = nearKey(key);
+        nearCache.invalidate(nearKey);
+        invalidationPublisher.publishEviction(getName(), nearKey);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        nearCache.invalidateAll();
+        invalidationPublisher.publishClear(getName());
+    }
+
+    public void evictMatching(String keyPattern) {
+        KeyPatternEviction.evictMatching(remoteCache, keyPattern);
+        invalidateLocallyMatching(keyPattern);
+        invalidationPublisher.publishPatternEviction(getName(), keyPattern);
+    }
+
+    void invalidateLocally(String nearKey) {
+        if (nearKey == null) nearCache.invalidateAll();
+        else nearCache.invalidate(nearKey);
+    }
+
+    void invalidateLocallyMatching(String keyPattern) {
+        nearCache.asMap().keySet().removeIf(nearKey -> ListingCacheKeys.matches(keyPattern, nearKey));
+    }
+
+    long nearCacheSize() {
+        nearCache.cleanUp();
+        return nearCache.estimatedSize();
+    }
+
+    static String nearKey(Object key) {
+        return String.valueOf(key);
+    }
+}
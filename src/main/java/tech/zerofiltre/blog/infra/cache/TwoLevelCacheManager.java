@@ -0,0 +1,64 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import tech.zerofiltre.blog.domain.Page;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts an in-memory near cache in front of the remote caches that have a near cache spec, others are served as is.
+ * Specs use the Caffeine syntax, e.g. {@code maximumWeight=2000,expireAfterWrite=5m} where a page weighs its number of elements.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, String> nearCacheSpecs;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, Map<String, String> nearCacheSpecs, CacheInvalidationPublisher invalidationPublisher) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.nearCacheSpecs = nearCacheSpecs;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        String spec = nearCacheSpecs.get(name);
+        if (spec == null) return remoteCacheManager.getCache(name);
+        return twoLevelCaches.computeIfAbsent(name, cacheName -> {
+            Cache remoteCache = remoteCacheManager.getCache(cacheName);
+            return remoteCache == null ? null : new TwoLevelCache(nearCache(spec), remoteCache, invalidationPublisher);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    public void invalidateLocally(CacheInvalidation invalidation) {
+        TwoLevelCache cache = twoLevelCaches.get(invalidation.getCacheName());
+        if (cache == null) return;
+        if (invalidation.getKeyPattern() != null) cache.invalidateLocallyMatching(invalidation.getKeyPattern());
+        else cache.invalidateLocally(invalidation.getKey());
+    }
+
+    static com.github.benmanes.caffeine.cache.Cache<String, NearCacheValue> nearCache(String spec) {
+        Caffeine<Object, Object> builder = Caffeine.from(CaffeineSpec.parse(spec));
+        if (spec.contains("maximumWeight"))
+            return builder.<String, NearCacheValue>weigher((key, value) -> value.getWeight()).build();
+        return builder.build();
+    }
+
+    static int weight(Object value) {
+        if (value instanceof Page) return Math.max(1, ((Page<?>) value).getContent().size());
+        if (value instanceof Collection) return Math.max(1, ((Collection<?>) value).size());
+        return 1;
+    }
+}
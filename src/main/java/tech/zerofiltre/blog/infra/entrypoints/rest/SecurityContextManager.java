@@ -7,14 +7,20 @@ import org.springframework.stereotype.Component;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.features.UserNotFoundException;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.cache.ConnectedUserCache;
+import tech.zerofiltre.blog.infra.security.model.UserPrincipal;
+
+import java.util.Optional;
 
 @Component
 public class SecurityContextManager {
 
     private final UserProvider userProvider;
+    private final ConnectedUserCache connectedUserCache;
 
-    public SecurityContextManager(UserProvider userProvider) {
+    public SecurityContextManager(UserProvider userProvider, ConnectedUserCache connectedUserCache) {
         this.userProvider = userProvider;
+        this.connectedUserCache = connectedUserCache;
     }
 
     public User getAuthenticatedUser() throws UserNotFoundException {
@@ -24,9 +30,17 @@ public class SecurityContextManager {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
             ref.userEmail = authentication.getName();
-            return userProvider.userOfEmail(ref.userEmail)
+            return userOf(authentication)
                     .orElseThrow(() -> new UserNotFoundException("No authenticated user found", ref.userEmail));
         }
         throw new UserNotFoundException("No authenticated user found", ref.userEmail);
     }
+
+    private Optional<User> userOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal) {
+            long userId = ((UserPrincipal) authentication.getPrincipal()).getId();
+            if (userId != 0) return connectedUserCache.userOfId(userId);
+        }
+        return userProvider.userOfEmail(authentication.getName());
+    }
 }
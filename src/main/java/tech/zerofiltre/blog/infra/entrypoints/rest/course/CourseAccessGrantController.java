@@ -0,0 +1,19 @@
+package tech.zerofiltre.blog.infra.entrypoints.rest.course;
+
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.zerofiltre.blog.infra.providers.database.course.CourseAccessGrants;
+
+@RestController
+@AllArgsConstructor
+public class CourseAccessGrantController {
+
+    private final CourseAccessGrants courseAccessGrants;
+
+    @PostMapping("/admin/course-access-grants/rebuild")
+    public int rebuildCourseAccessGrants() {
+        return courseAccessGrants.rebuild();
+    }
+
+}
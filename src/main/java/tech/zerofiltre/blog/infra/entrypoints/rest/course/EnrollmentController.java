@@ -1,11 +1,16 @@
 package tech.zerofiltre.blog.infra.entrypoints.rest.course;
 
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.PathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
 import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.article.model.Status;
@@ -17,11 +22,13 @@ import tech.zerofiltre.blog.domain.course.features.enrollment.*;
 import tech.zerofiltre.blog.domain.course.model.Certificate;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.purchase.PurchaseProvider;
 import tech.zerofiltre.blog.domain.sandbox.SandboxProvider;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.features.UserNotFoundException;
 import tech.zerofiltre.blog.domain.user.model.User;
@@ -30,12 +37,14 @@ import tech.zerofiltre.blog.infra.entrypoints.rest.course.model.CertificateVerif
 import tech.zerofiltre.blog.util.DataChecker;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.ByteArrayInputStream;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/enrollment")
 public class EnrollmentController {
 
+    private static final String CERTIFICATE_FILE = "certificateFile";
+
     private final SecurityContextManager securityContextManager;
     private final Enroll enroll;
     private final Suspend suspend;
@@ -49,7 +58,6 @@ public class EnrollmentController {
             UserProvider userProvider,
             SecurityContextManager securityContextManager,
             LessonProvider lessonProvider,
-            ChapterProvider chapterProvider,
             SandboxProvider sandboxProvider,
             PurchaseProvider purchaseProvider,
             CertificateProvider certificateProvider,
@@ -59,10 +67,10 @@ public class EnrollmentController {
             CompanyUserProvider companyUserProvider,
             DataChecker dataChecker) {
         this.securityContextManager = securityContextManager;
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, dataChecker);
-        suspend = new Suspend(enrollmentProvider, chapterProvider, purchaseProvider, sandboxProvider, courseProvider);
-        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider, chapterProvider, courseProvider);
-        findEnrollment = new FindEnrollment(enrollmentProvider, courseProvider, chapterProvider);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, dataChecker);
+        suspend = new Suspend(enrollmentProvider, purchaseProvider, sandboxProvider);
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
+        findEnrollment = new FindEnrollment(enrollmentProvider);
         certificateService = new CertificateService(enrollmentProvider, certificateProvider, messageSource);
     }
 
@@ -77,12 +85,12 @@ public class EnrollmentController {
     }
 
     @PatchMapping("/complete")
-    public Enrollment completeLesson(@RequestParam long lessonId, @RequestParam long courseId) throws ZerofiltreException {
+    public EnrollmentProgress completeLesson(@RequestParam long lessonId, @RequestParam long courseId) throws ZerofiltreException {
         return completeLesson.execute(courseId, lessonId, securityContextManager.getAuthenticatedUser().getId(), true);
     }
 
     @PatchMapping("/uncomplete")
-    public Enrollment unCompleteLesson(@RequestParam long lessonId, @RequestParam long courseId) throws ZerofiltreException {
+    public EnrollmentProgress unCompleteLesson(@RequestParam long lessonId, @RequestParam long courseId) throws ZerofiltreException {
         return completeLesson.execute(courseId, lessonId, securityContextManager.getAuthenticatedUser().getId(), false);
     }
 
@@ -115,21 +123,40 @@ public class EnrollmentController {
         return findEnrollment.of(request);
     }
 
+    /**
+     * Streams the certificate from the storage. Its ETag is derived from its hash, so that a client holding it already
+     * gets a 304 without the certificate being read, and a Range request gets only the bytes asked.
+     * The stored file is released once the request completes, after the response has been written.
+     */
     @GetMapping("/certificate")
-    public ResponseEntity<InputStreamResource> giveCertificateByCourseId(@RequestParam long courseId) throws ZerofiltreException {
+    public ResponseEntity<Resource> giveCertificateByCourseId(@RequestParam long courseId, WebRequest request) throws ZerofiltreException {
         User user = securityContextManager.getAuthenticatedUser();
-        Certificate certificate = certificateService.get(user, courseId);
-        byte[] content = certificate.getContent();
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(content);
+        Certificate certificate = certificateService.describe(user, courseId);
+        String etag = "\"" + certificate.getHash() + "\"";
+        if (request.checkNotModified(etag)) return null;
+
+        Optional<StoredFile> file = certificateService.file(certificate);
+        file.ifPresent(stored -> RequestContextHolder.currentRequestAttributes()
+                .registerDestructionCallback(CERTIFICATE_FILE, stored::close, RequestAttributes.SCOPE_REQUEST));
+        Resource content = file.isPresent()
+                ? new PathResource(file.get().getPath())
+                : new ByteArrayResource(certificateService.get(user, courseId).getContent());
 
         HttpHeaders headers = new HttpHeaders();
         headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + certificate.getPath());
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .contentLength(content.length)
+                .eTag(etag)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(new InputStreamResource(byteArrayInputStream));
+                .body(content);
+    }
+
+    @PostMapping("/certificate")
+    public ResponseEntity<Void> requestCertificateByCourseId(@RequestParam long courseId) throws ZerofiltreException {
+        User user = securityContextManager.getAuthenticatedUser();
+        boolean ready = certificateService.request(user, courseId);
+        return ready ? ResponseEntity.ok().build() : ResponseEntity.accepted().build();
     }
 
     @GetMapping("/certificate/verification")
@@ -5,7 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.bind.annotation.*;
 import tech.zerofiltre.blog.domain.Product;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.features.enrollment.Suspend;
@@ -41,10 +40,10 @@ public class PaymentController {
                              @Qualifier("stripeProvider") PaymentProvider stripeProvider,
                              @Qualifier("notchPayProvider") PaymentProvider notchPayProvider,
                              UserProvider userProvider,
-                             EnrollmentProvider enrollmentProvider, ChapterProvider chapterProvider, PurchaseProvider purchaseProvider, SandboxProvider sandboxProvider) {
+                             EnrollmentProvider enrollmentProvider, PurchaseProvider purchaseProvider, SandboxProvider sandboxProvider) {
         this.securityContextManager = securityContextManager;
         this.courseProvider = courseProvider;
-        Suspend suspend = new Suspend(enrollmentProvider, chapterProvider, purchaseProvider, sandboxProvider, courseProvider);
+        Suspend suspend = new Suspend(enrollmentProvider, purchaseProvider, sandboxProvider);
         stripePaymentService = new PaymentService(stripeProvider, userProvider, suspend);
         notchPaymentService = new PaymentService(notchPayProvider, userProvider, suspend);
         Stripe.apiKey = infraProperties.getStripeSecretKey();
@@ -16,7 +16,7 @@ public class SimpleJwtTokenProvider implements JwtTokenProvider {
 
     @Override
     public JwtToken generate(User user) {
-        return jwtAuthenticationTokenProperties.buildToken(user.getEmail(), user.getRoles());
+        return jwtAuthenticationTokenProperties.buildToken(user.getId(), user.getEmail(), user.getRoles());
 
     }
 }
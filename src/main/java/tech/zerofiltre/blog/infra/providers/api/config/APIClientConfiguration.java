@@ -13,12 +13,24 @@ import tech.zerofiltre.blog.infra.*;
 public class APIClientConfiguration {
 
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         HttpComponentsClientHttpRequestFactory clientHttpRequestFactory = new HttpComponentsClientHttpRequestFactory(
                 HttpClientBuilder.create().build());
         return new RestTemplate(clientHttpRequestFactory);
     }
 
+    /**
+     * Writes the request bodies as they are produced instead of buffering them first, for the uploads of files.
+     */
+    @Bean
+    public RestTemplate streamingRestTemplate() {
+        HttpComponentsClientHttpRequestFactory clientHttpRequestFactory = new HttpComponentsClientHttpRequestFactory(
+                HttpClientBuilder.create().build());
+        clientHttpRequestFactory.setBufferRequestBody(false);
+        return new RestTemplate(clientHttpRequestFactory);
+    }
+
     @Bean
     public RetryTemplate retryTemplate(InfraProperties infraProperties) {
         RetryTemplate retryTemplate = new RetryTemplate();
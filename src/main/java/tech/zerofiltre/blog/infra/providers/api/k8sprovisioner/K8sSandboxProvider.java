@@ -38,6 +38,15 @@ public class K8sSandboxProvider implements SandboxProvider {
 
     @Override
     public Sandbox initialize(String fullName, String email) throws ZerofiltreException {
+        Sandbox result = provision(fullName, email);
+        notifyUser(email, result);
+        return result;
+    }
+
+    /**
+     * Creates the sandbox without sending its credentials to the user, see {@link #notifyUser(String, Sandbox)}.
+     */
+    public Sandbox provision(String fullName, String email) throws ZerofiltreException {
 
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.add("Authorization", infraProperties.getK8sProvisionerToken());
@@ -55,7 +64,6 @@ public class K8sSandboxProvider implements SandboxProvider {
             HttpEntity<String> requestEntity = new HttpEntity<>(bodyAsJson, headers);
             ResponseEntity<Sandbox> response = restTemplate.exchange(url, HttpMethod.POST, requestEntity, Sandbox.class);
             Sandbox result = response.getBody();
-            notifyUser(email, result);
             log.info("K8s sandbox for user {} initialized: {}", fullName, result);
             return result;
         } catch (Exception e) {
@@ -63,7 +71,7 @@ public class K8sSandboxProvider implements SandboxProvider {
         }
     }
 
-    private void notifyUser(String email, Sandbox result) {
+    public void notifyUser(String email, Sandbox result) {
         if (result != null) {
             //TODO API SHOULD RETURN SANDBOX TYPE IN BODY
             result.setType(Sandbox.Type.K8S);
@@ -0,0 +1,44 @@
+package tech.zerofiltre.blog.infra.providers.api.k8sprovisioner;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.domain.sandbox.SandboxProvider;
+import tech.zerofiltre.blog.domain.sandbox.model.Sandbox;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.SandboxRequestQueue;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Operation;
+
+/**
+ * Records sandbox creations and deletions in the provisioning queue instead of calling the provisioner on the request thread.
+ * The sandbox credentials reach the user by email once {@link SandboxProvisioningWorker} has created it.
+ */
+@Slf4j
+@Primary
+@Component
+@RequiredArgsConstructor
+public class QueuedSandboxProvider implements SandboxProvider {
+
+    private final SandboxRequestQueue queue;
+
+    @Override
+    public Sandbox initialize(String fullName, String email) {
+        enqueue(Operation.CREATE, fullName, email);
+        return null;
+    }
+
+    @Override
+    public void destroy(String fullName, String email) {
+        enqueue(Operation.DESTROY, fullName, email);
+    }
+
+    private void enqueue(Operation operation, String fullName, String email) {
+        try {
+            queue.enqueue(operation, fullName, email);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Sandbox request of {} queued concurrently, merging with it", email);
+            queue.enqueue(operation, fullName, email);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package tech.zerofiltre.blog.infra.providers.api.k8sprovisioner;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.sandbox.model.Sandbox;
+import tech.zerofiltre.blog.infra.ExecutorConfiguration;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.SandboxRequestQueue;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Operation;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the queued sandbox requests to the k8s provisioner with a fixed number of workers.
+ * Only as many requests as there are idle workers are claimed per poll, so a cohort launch waits in the queue
+ * instead of opening one connection per enrollment. Failed requests are retried with an exponential backoff.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SandboxProvisioningWorker {
+
+    static final String PENDING_GAUGE = "zerofiltre_sandbox_requests_pending";
+    static final String IN_FLIGHT_GAUGE = "zerofiltre_sandbox_requests_in_flight";
+    static final String LATENCY_TIMER = "zerofiltre_sandbox_requests_latency";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final SandboxRequestQueue queue;
+    private final K8sSandboxProvider k8sSandboxProvider;
+    private final MeterRegistry meterRegistry;
+    private final InfraProperties infraProperties;
+    @Qualifier(ExecutorConfiguration.SANDBOX_PROVISIONER)
+    private final Executor executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong pending = new AtomicLong();
+    private final Map<List<String>, Timer> latencyTimers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder(PENDING_GAUGE, pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${zerofiltre.infra.sandbox.provisioning.poll-delay-ms:2000}")
+    public void poll() {
+        try {
+            int idleWorkers = infraProperties.getSandboxProvisioningWorkers() - inFlight.get();
+            if (idleWorkers > 0) {
+                LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(infraProperties.getSandboxProvisioningClaimTimeoutMs()));
+                List<SandboxRequestJPA> claimed = queue.claimDue(idleWorkers, staleBefore);
+                for (SandboxRequestJPA request : claimed) {
+                    submit(request);
+                }
+            }
+            pending.set(queue.pendingCount());
+        } catch (RuntimeException e) {
+            log.error("Could not poll the sandbox provisioning queue", e);
+        }
+    }
+
+    private void submit(SandboxRequestJPA request) {
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(() -> process(request));
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            log.error("Could not start sandbox request {}, it will be claimed again once its claim times out", request.getId(), e);
+        }
+    }
+
+    void process(SandboxRequestJPA request) {
+        String outcome = "success";
+        try {
+            if (Operation.CREATE == request.getOperation()) {
+                Sandbox sandbox = k8sSandboxProvider.provision(request.getFullName(), request.getEmail());
+                if (completed(request)) k8sSandboxProvider.notifyUser(request.getEmail(), sandbox);
+            } else {
+                k8sSandboxProvider.destroy(request.getFullName(), request.getEmail());
+                completed(request);
+            }
+        } catch (ZerofiltreException | RuntimeException e) {
+            outcome = onFailure(request, e);
+        } finally {
+            inFlight.decrementAndGet();
+            latencyTimers.computeIfAbsent(List.of(request.getOperation().name().toLowerCase(), outcome), tags -> Timer.builder(LATENCY_TIMER)
+                            .tags("operation", tags.get(0), "outcome", tags.get(1))
+                            .register(meterRegistry))
+                    .record(Duration.between(request.getCreatedAt(), LocalDateTime.now()));
+        }
+    }
+
+    private boolean completed(SandboxRequestJPA request) {
+        if (queue.complete(request)) return true;
+        log.info("Sandbox request {} of {} was claimed again meanwhile, leaving its outcome to that claim", request.getId(), request.getEmail());
+        return false;
+    }
+
+    long retryDelayMs(int attempts) {
+        long delay = infraProperties.getSandboxProvisioningRetryBaseDelayMs() << Math.min(attempts - 1, 20);
+        return Math.min(delay, infraProperties.getSandboxProvisioningRetryMaxDelayMs());
+    }
+
+    private String onFailure(SandboxRequestJPA request, Exception e) {
+        int attempts = request.getAttempts() + 1;
+        String error = truncate(String.valueOf(e.getMessage()));
+        try {
+            if (attempts >= infraProperties.getSandboxProvisioningMaxAttempts()) {
+                log.error("Sandbox {} of {} failed {} times, giving up", request.getOperation(), request.getEmail(), attempts, e);
+                queue.fail(request.getId(), attempts, error);
+                return "failure";
+            }
+            long delayMs = retryDelayMs(attempts);
+            log.warn("Sandbox {} of {} failed, retrying in {} ms", request.getOperation(), request.getEmail(), delayMs, e);
+            queue.retry(request.getId(), attempts, LocalDateTime.now().plus(Duration.ofMillis(delayMs)), error);
+        } catch (RuntimeException queueError) {
+            log.error("Could not record the failure of sandbox request {}, it will be claimed again once its claim times out", request.getId(), queueError);
+        }
+        return "retry";
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -31,6 +31,7 @@ import tech.zerofiltre.blog.infra.providers.api.notchpay.model.WebhookPayload;
 import tech.zerofiltre.blog.infra.providers.database.payment.DBNotchPayProvider;
 import tech.zerofiltre.blog.infra.providers.notification.user.ZerofiltreEmailSender;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
+import tech.zerofiltre.blog.infra.scheduling.DelayedTaskScheduler;
 import tech.zerofiltre.blog.infra.security.config.EmailValidator;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
@@ -39,6 +40,7 @@ import java.util.*;
 
 import static tech.zerofiltre.blog.domain.payment.model.Payment.MONTH;
 import static tech.zerofiltre.blog.domain.payment.model.Payment.YEAR;
+import static tech.zerofiltre.blog.infra.providers.notification.user.CheckoutStartedEventListener.CHECKOUT_REMINDER;
 
 @Slf4j
 @Component
@@ -58,8 +60,9 @@ public class NotchPayProvider implements PaymentProvider {
     private final ZerofiltreEmailSender emailSender;
     private final MetricsProvider metricsProvider;
     private final UserNotificationProvider userNotificationProvider;
+    private final DelayedTaskScheduler scheduler;
 
-    public NotchPayProvider(RestTemplate restTemplate, InfraProperties infraProperties, RetryTemplate retryTemplate, UserProvider userProvider, DBNotchPayProvider dbNotchPayProvider, ZerofiltreEmailSender emailSender, MetricsProvider metricsProvider, UserNotificationProvider userNotificationProvider) {
+    public NotchPayProvider(RestTemplate restTemplate, InfraProperties infraProperties, RetryTemplate retryTemplate, UserProvider userProvider, DBNotchPayProvider dbNotchPayProvider, ZerofiltreEmailSender emailSender, MetricsProvider metricsProvider, UserNotificationProvider userNotificationProvider, DelayedTaskScheduler scheduler) {
         this.restTemplate = restTemplate;
         this.infraProperties = infraProperties;
         this.retryTemplate = retryTemplate;
@@ -68,6 +71,7 @@ public class NotchPayProvider implements PaymentProvider {
         this.emailSender = emailSender;
         this.metricsProvider = metricsProvider;
         this.userNotificationProvider = userNotificationProvider;
+        this.scheduler = scheduler;
     }
 
     @Override
@@ -150,6 +154,7 @@ public class NotchPayProvider implements PaymentProvider {
             User user = userProvider.userOfId(foundPayment.getUser().getId()).orElseThrow(() -> new PaymentException("Unable to find the user of the payment"));
             user.setPlan(User.Plan.PRO);
             userProvider.save(user);
+            scheduler.cancel(CHECKOUT_REMINDER, String.valueOf(user.getId()));
             String originURL = ZerofiltreUtils.getOriginUrl(infraProperties.getEnv());
 
             notifyUser(user,
@@ -177,8 +182,12 @@ public class NotchPayProvider implements PaymentProvider {
         return dbNotchPayProvider.save(payment);
     }
 
-    public List<Payment> payments() {
-        return dbNotchPayProvider.payments();
+    public List<Payment> dueRenewals(LocalDateTime renewingFrom, LocalDateTime renewingBefore) {
+        return dbNotchPayProvider.dueRenewals(renewingFrom, renewingBefore);
+    }
+
+    public List<Payment> overdueRenewals(LocalDateTime renewedBefore) {
+        return dbNotchPayProvider.overdueRenewals(renewedBefore);
     }
 
     void notifyUser(User user, String subject, String message) {
@@ -0,0 +1,287 @@
+package tech.zerofiltre.blog.infra.providers.api.ovh;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.storage.StorageProvider;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.api.ovh.model.OVHDownload;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a copy of the stored objects on the local disk, in front of the OVH object storage.
+ * The copies are evicted in least recently used order beyond the size cap, and revalidated against their ETag
+ * once they are older than the revalidation delay: an object that did not change is not downloaded again.
+ * Objects are downloaded and uploaded as streams through the cache files, never as whole buffers.
+ * The copies live in a dedicated subdirectory tagged with a marker file, and only the files named by this cache are
+ * ever deleted from it. A copy handed out as a file is pinned: evicting it deletes it only once it is released.
+ */
+@Slf4j
+@Primary
+@Component
+public class DiskCachedStorageProvider implements StorageProvider {
+
+    static final String SUBDIRECTORY = "objects";
+    static final String MARKER = ".zerofiltre-storage-cache";
+    private static final Pattern CACHE_FILE = Pattern.compile("[0-9a-f]{32}-\\d+|(upload|download)-.*\\.tmp");
+
+    private final OVHStorageProvider remote;
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final long revalidateAfterMs;
+    private final Clock clock;
+    private final Map<String, CachedObject> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong admissions = new AtomicLong();
+    private long sizeBytes;
+
+    @Autowired
+    public DiskCachedStorageProvider(OVHStorageProvider remote, InfraProperties infraProperties) {
+        this(remote, Paths.get(infraProperties.getStorageCacheDirectory()), infraProperties.getStorageCacheMaxSizeBytes(),
+                infraProperties.getStorageCacheRevalidateAfterMs(), Clock.systemUTC());
+    }
+
+    DiskCachedStorageProvider(OVHStorageProvider remote, Path directory, long maxSizeBytes, long revalidateAfterMs, Clock clock) {
+        this.remote = remote;
+        this.directory = directory.resolve(SUBDIRECTORY);
+        this.maxSizeBytes = maxSizeBytes;
+        this.revalidateAfterMs = revalidateAfterMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts without any copy: the ETags of the copies left by a previous run are not known.
+     * Refuses to start on a subdirectory it did not create rather than deleting files it does not own.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Path marker = directory.resolve(MARKER);
+        if (Files.isDirectory(directory) && !Files.exists(marker) && !isEmpty(directory))
+            throw new IllegalStateException(directory + " is not a storage cache directory, set zerofiltre.infra.storage.cache.directory to another directory");
+        Files.createDirectories(directory);
+        if (!Files.exists(marker)) Files.createFile(marker);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> CACHE_FILE.matcher(file.getFileName().toString()).matches())
+                    .forEach(this::deleteQuietly);
+        }
+    }
+
+    @Override
+    public void store(byte[] data, String path) throws ZerofiltreException {
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(directory, "upload-", ".tmp");
+            Files.write(temporaryFile, data);
+            String etag = remote.upload(temporaryFile, path);
+            admit(path, temporaryFile, etag);
+        } catch (IOException e) {
+            throw new ZerofiltreException("We couldn't store " + path, e);
+        } finally {
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> get(String path) {
+        Optional<CachedObject> cached = local(path);
+        if (cached.isEmpty()) return Optional.empty();
+        Optional<byte[]> content = read(path, cached.get());
+        if (content.isPresent()) return content;
+        return fetch(path, null).flatMap(fetched -> read(path, fetched));
+    }
+
+    /**
+     * Answers from a fresh copy, or asks the storage without downloading the object.
+     */
+    @Override
+    public boolean exists(String path) {
+        CachedObject cached = cached(path);
+        if (cached != null && !isStale(cached) && Files.exists(cached.file)) return true;
+        if (remote.exists(path)) return true;
+        evict(path);
+        return false;
+    }
+
+    /**
+     * Gives the cached copy of the object, pinned on the disk until the returned file is closed.
+     * Empty when the copy was evicted before it could be pinned: the object is then to be read through {@link #get(String)}.
+     */
+    @Override
+    public Optional<StoredFile> file(String path) {
+        Optional<CachedObject> cached = local(path);
+        if (cached.isEmpty()) return Optional.empty();
+        CachedObject pinned = cached.get();
+        synchronized (index) {
+            if (index.get(path) != pinned) return Optional.empty();
+            pinned.pins++;
+        }
+        return Optional.of(new StoredFile(pinned.file, () -> release(pinned)));
+    }
+
+    @Override
+    public void delete(String path) throws ZerofiltreException {
+        remote.delete(path);
+        evict(path);
+    }
+
+    long sizeBytes() {
+        synchronized (index) {
+            return sizeBytes;
+        }
+    }
+
+    private Optional<CachedObject> local(String path) {
+        CachedObject cached = cached(path);
+        if (cached != null && !Files.exists(cached.file)) {
+            evict(path);
+            cached = null;
+        }
+        if (cached != null && !isStale(cached)) return Optional.of(cached);
+        return fetch(path, cached);
+    }
+
+    private Optional<CachedObject> fetch(String path, CachedObject cached) {
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(directory, "download-", ".tmp");
+            OVHDownload download = remote.download(path, cached == null ? null : cached.etag, temporaryFile);
+            switch (download.getStatus()) {
+                case NOT_FOUND:
+                    evict(path);
+                    return Optional.empty();
+                case NOT_MODIFIED:
+                    cached.validatedAt = clock.millis();
+                    if (Files.exists(cached.file)) return Optional.of(cached);
+                    evict(path);
+                    return fetch(path, null);
+                default:
+                    return Optional.of(admit(path, temporaryFile, download.getEtag()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("We couldn't cache " + path, e);
+        } catch (RuntimeException e) {
+            if (cached == null) throw e;
+            log.warn("Could not revalidate {}, serving the cached copy", path, e);
+            return Optional.of(cached);
+        } finally {
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private CachedObject admit(String path, Path temporaryFile, String etag) throws IOException {
+        Path file = directory.resolve(DigestUtils.md5DigestAsHex(path.getBytes(StandardCharsets.UTF_8)) + "-" + admissions.incrementAndGet());
+        long size = Files.size(temporaryFile);
+        CachedObject admitted = new CachedObject(file, size, etag, clock.millis());
+        synchronized (index) {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CachedObject replaced = index.put(path, admitted);
+            if (replaced != null) drop(replaced);
+            sizeBytes += size;
+            evictLeastRecentlyUsed();
+        }
+        return admitted;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<Map.Entry<String, CachedObject>> entries = index.entrySet().iterator();
+        while (sizeBytes > maxSizeBytes && entries.hasNext()) {
+            CachedObject evicted = entries.next().getValue();
+            entries.remove();
+            drop(evicted);
+        }
+    }
+
+    /**
+     * Takes the copy out of the size accounting, deleting it unless it is pinned: its last release deletes it then.
+     */
+    private void drop(CachedObject evicted) {
+        sizeBytes -= evicted.size;
+        evicted.evicted = true;
+        if (evicted.pins == 0) deleteQuietly(evicted.file);
+    }
+
+    private void release(CachedObject pinned) {
+        synchronized (index) {
+            pinned.pins--;
+            if (pinned.pins == 0 && pinned.evicted) deleteQuietly(pinned.file);
+        }
+    }
+
+    private Optional<byte[]> read(String path, CachedObject cached) {
+        try {
+            return Optional.of(Files.readAllBytes(cached.file));
+        } catch (IOException e) {
+            log.warn("Could not read the cached copy of {}, dropping it", path, e);
+            evict(path);
+            return Optional.empty();
+        }
+    }
+
+    private CachedObject cached(String path) {
+        synchronized (index) {
+            return index.get(path);
+        }
+    }
+
+    private boolean isStale(CachedObject cached) {
+        return clock.millis() - cached.validatedAt >= revalidateAfterMs;
+    }
+
+    private void evict(String path) {
+        synchronized (index) {
+            CachedObject evicted = index.remove(path);
+            if (evicted != null) drop(evicted);
+        }
+    }
+
+    private boolean isEmpty(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findAny().isEmpty();
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private static class CachedObject {
+        private final Path file;
+        private final long size;
+        private final String etag;
+        private volatile long validatedAt;
+        // Both guarded by the index
+        private int pins;
+        private boolean evicted;
+
+        private CachedObject(Path file, long size, String etag, long validatedAt) {
+            this.file = file;
+            this.size = size;
+            this.etag = etag;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package tech.zerofiltre.blog.infra.providers.api.ovh;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
@@ -14,11 +15,15 @@ import org.springframework.web.client.RestTemplate;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.storage.StorageProvider;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.api.ovh.model.OVHDownload;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class OVHStorageProvider implements StorageProvider {
 
     private final OVHTokenProvider tokenProvider;
@@ -26,6 +31,14 @@ public class OVHStorageProvider implements StorageProvider {
     private final InfraProperties infraProperties;
     private final RetryTemplate retryTemplate;
 
+    public OVHStorageProvider(OVHTokenProvider tokenProvider, @Qualifier("streamingRestTemplate") RestTemplate restTemplate,
+                              InfraProperties infraProperties, RetryTemplate retryTemplate) {
+        this.tokenProvider = tokenProvider;
+        this.restTemplate = restTemplate;
+        this.infraProperties = infraProperties;
+        this.retryTemplate = retryTemplate;
+    }
+
 
     @Override
     public void store(byte[] data, String path) throws ZerofiltreException {
@@ -39,6 +52,28 @@ public class OVHStorageProvider implements StorageProvider {
 
     }
 
+    /**
+     * Uploads the file as it is read from the disk.
+     *
+     * @return the ETag of the stored object
+     */
+    public String upload(Path file, String path) throws ZerofiltreException {
+        String accessToken = tokenProvider.getToken().getAccessToken();
+        try {
+            long length = Files.size(file);
+            return retryTemplate.execute(retryContext -> restTemplate.execute(infraProperties.getOvhBucketUrl() + "/" + path, HttpMethod.PUT,
+                    request -> {
+                        request.getHeaders().add("X-Auth-Token", accessToken);
+                        request.getHeaders().setContentType(MediaType.APPLICATION_OCTET_STREAM);
+                        request.getHeaders().setContentLength(length);
+                        Files.copy(file, request.getBody());
+                    },
+                    response -> response.getHeaders().getETag()));
+        } catch (IOException e) {
+            throw new ZerofiltreException("We couldn't upload " + path, e);
+        }
+    }
+
     @Override
     public Optional<byte[]> get(String path) {
         return retryTemplate.execute(retryContext -> {
@@ -53,6 +88,43 @@ public class OVHStorageProvider implements StorageProvider {
         });
     }
 
+    @Override
+    public boolean exists(String path) {
+        return retryTemplate.execute(retryContext -> {
+            try {
+                HttpEntity<Object> requestEntity = new HttpEntity<>(null, new LinkedMultiValueMap<>());
+                restTemplate.exchange(infraProperties.getOvhBucketUrl() + "/" + path, HttpMethod.HEAD, requestEntity, Void.class);
+                return true;
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode() == HttpStatus.NOT_FOUND) return false;
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Downloads the object into the target file as it is received, unless its ETag still matches the given one.
+     */
+    public OVHDownload download(String path, String etag, Path target) {
+        return retryTemplate.execute(retryContext -> {
+            try {
+                return restTemplate.execute(infraProperties.getOvhBucketUrl() + "/" + path, HttpMethod.GET,
+                        request -> {
+                            if (etag != null) request.getHeaders().setIfNoneMatch(etag);
+                        },
+                        response -> {
+                            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED)
+                                return new OVHDownload(OVHDownload.Status.NOT_MODIFIED, etag);
+                            Files.copy(response.getBody(), target, StandardCopyOption.REPLACE_EXISTING);
+                            return new OVHDownload(OVHDownload.Status.DOWNLOADED, response.getHeaders().getETag());
+                        });
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode() == HttpStatus.NOT_FOUND) return new OVHDownload(OVHDownload.Status.NOT_FOUND, null);
+                throw e;
+            }
+        });
+    }
+
     @Override
     public void delete(String path) throws ZerofiltreException {
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
@@ -17,28 +17,54 @@ import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.infra.InfraProperties;
 import tech.zerofiltre.blog.infra.providers.api.ovh.model.*;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+/**
+ * Keeps the OVH token until shortly before it expires. The expiry is parsed once per token, and a single thread
+ * refreshes the token while the others wait for it.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OVHTokenProvider {
 
+    static final Duration REFRESH_MARGIN = Duration.ofMinutes(1);
+
     private final RestTemplate restTemplate;
     private final InfraProperties infraProperties;
     private final RetryTemplate retryTemplate;
 
-    private OVHToken token;
+    private volatile OVHToken token;
+    private volatile Instant refreshAt;
 
 
     public OVHToken getToken() throws ZerofiltreException {
+        OVHToken current = validToken();
+        if (current != null) return current;
+
+        synchronized (this) {
+            current = validToken();
+            if (current != null) return current;
 
-        if (token != null) {
-            ZonedDateTime expirationTime = ZonedDateTime.parse(token.getExpiresAt(), DateTimeFormatter.ISO_OFFSET_DATE_TIME);
-            if (ZonedDateTime.now().isBefore(expirationTime)) return token;
+            OVHToken refreshed = requestToken();
+            token = refreshed;
+            refreshAt = ZonedDateTime.parse(refreshed.getExpiresAt(), DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant().minus(REFRESH_MARGIN);
+            return refreshed;
         }
+    }
+
+    private OVHToken validToken() {
+        Instant currentRefreshAt = refreshAt;
+        OVHToken current = token;
+        if (current == null || currentRefreshAt == null || !Instant.now().isBefore(currentRefreshAt)) return null;
+        return current;
+    }
+
+    private OVHToken requestToken() throws ZerofiltreException {
 
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.add("Content-Type", "application/json");
@@ -80,8 +106,7 @@ public class OVHTokenProvider {
                 JsonNode root = rootNode.get("token");
                 result.setExpiresAt(root.get("expires_at").asText());
                 result.setAccessToken(responseHeaders.get("x-subject-token").get(0));
-                token = result;
-                return token;
+                return result;
             });
         } catch (Exception e) {
             throw new ZerofiltreException("We couldn't get the OVH token", e);
@@ -0,0 +1,13 @@
+package tech.zerofiltre.blog.infra.providers.api.ovh.model;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class OVHDownload {
+
+    public enum Status {DOWNLOADED, NOT_MODIFIED, NOT_FOUND}
+
+    private final Status status;
+    private final String etag;
+}
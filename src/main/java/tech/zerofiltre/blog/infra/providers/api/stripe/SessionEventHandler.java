@@ -9,12 +9,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.scheduling.DelayedTaskScheduler;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 
 import static tech.zerofiltre.blog.infra.providers.api.stripe.StripeCommons.*;
+import static tech.zerofiltre.blog.infra.providers.notification.user.CheckoutStartedEventListener.CHECKOUT_REMINDER;
 
 @Slf4j
 @Component
@@ -22,10 +24,12 @@ public class SessionEventHandler {
 
     private final StripeCommons stripeCommons;
     private final InfraProperties infraProperties;
+    private final DelayedTaskScheduler scheduler;
 
-    public SessionEventHandler(StripeCommons stripeCommons, InfraProperties infraProperties) {
+    public SessionEventHandler(StripeCommons stripeCommons, InfraProperties infraProperties, DelayedTaskScheduler scheduler) {
         this.stripeCommons = stripeCommons;
         this.infraProperties = infraProperties;
+        this.scheduler = scheduler;
     }
 
     public void handleSessionCompleted(Event event, Session stripeObject) throws StripeException, ZerofiltreException { //one shot payment
@@ -59,6 +63,7 @@ public class SessionEventHandler {
         com.stripe.model.Product productObject = price.getProductObject();
 
         stripeCommons.fulfillOrder(userId, productObject, true, event, customer);
+        if (userId != null && !userId.isBlank()) scheduler.cancel(CHECKOUT_REMINDER, userId);
         Map<String, String> metadata = productObject != null ? productObject.getMetadata() : new HashMap<>();
         notifyUser(event, customer, metadata);
 
@@ -9,7 +9,6 @@ import org.thymeleaf.context.Context;
 import tech.zerofiltre.blog.domain.company.CompanyCourseProvider;
 import tech.zerofiltre.blog.domain.company.CompanyProvider;
 import tech.zerofiltre.blog.domain.company.CompanyUserProvider;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.features.enrollment.Enroll;
@@ -62,7 +61,6 @@ public class StripeCommons {
             UserProvider userProvider,
             EnrollmentProvider enrollmentProvider,
             CourseProvider courseProvider,
-            ChapterProvider chapterProvider,
             ZerofiltreEmailSender emailSender,
             InfraProperties infraProperties,
             ITemplateEngine emailTemplateEngine,
@@ -79,8 +77,8 @@ public class StripeCommons {
         this.emailTemplateEngine = emailTemplateEngine;
         this.courseProvider = courseProvider;
         this.purchaseProvider = purchaseProvider;
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, checker);
-        suspend = new Suspend(enrollmentProvider, chapterProvider, purchaseProvider, sandboxProvider, courseProvider);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, checker);
+        suspend = new Suspend(enrollmentProvider, purchaseProvider, sandboxProvider);
     }
 
     public void fulfillOrder(String userId, com.stripe.model.Product productObject, boolean paymentSuccess, Event event, Customer customer) throws ZerofiltreException {
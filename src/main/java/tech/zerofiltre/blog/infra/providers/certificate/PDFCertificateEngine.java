@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 import org.xhtmlrenderer.layout.SharedContext;
+import org.xhtmlrenderer.pdf.ITextFontResolver;
 import org.xhtmlrenderer.pdf.ITextRenderer;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.infra.InfraProperties;
@@ -22,6 +23,8 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
@@ -32,25 +35,33 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Renders the course completion certificates to PDF.
+ * The header image is encoded once, and each rendering thread keeps its font resolver: the resolver caches the fonts
+ * it loads but is not thread safe.
+ */
 @Slf4j
 @Component
 public class PDFCertificateEngine {
 
+    private static final MultiFormatWriter BARCODE_WRITER = new MultiFormatWriter();
+
     private final ITemplateEngine templateEngine;
     private final InfraProperties infraProperties;
+    private final ThreadLocal<ITextFontResolver> fontResolvers = ThreadLocal.withInitial(ITextFontResolver::new);
+    private final String headerImage;
 
     public PDFCertificateEngine(ITemplateEngine templateEngine, InfraProperties infraProperties) {
         this.templateEngine = templateEngine;
         this.infraProperties = infraProperties;
+        this.headerImage = toDataUri(new ClassPathResource("mail_header_image.png"));
     }
 
     public byte[] process(Locale locale, String fullName, String courseTitle, String pdfFileName, String uuid) throws IOException, ZerofiltreException, WriterException, NoSuchAlgorithmException {
         LocalDateTime generationDateTime = LocalDateTime.now();
 
-        Resource attachment = new ClassPathResource("mail_header_image.png");
-
         Map<String, Object> templateModel = new HashMap<>();
-        templateModel.put("attachement", attachment.getURL().toString());
+        templateModel.put("attachement", headerImage);
         templateModel.put("fullName", fullName);
         templateModel.put("courseTitle", courseTitle);
         templateModel.put("today", generationDateTime.format(DateTimeFormatter.ISO_LOCAL_DATE) + "|" + generationDateTime.format(DateTimeFormatter.ISO_LOCAL_TIME));
@@ -78,7 +89,7 @@ public class PDFCertificateEngine {
         documentJsoup.outputSettings().syntax(org.jsoup.nodes.Document.OutputSettings.Syntax.xml);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         try {
-            ITextRenderer renderer = new ITextRenderer();
+            ITextRenderer renderer = new ITextRenderer(fontResolvers.get());
             SharedContext sharedContext = renderer.getSharedContext();
             sharedContext.setPrint(true);
             sharedContext.setInteractive(false);
@@ -113,10 +124,17 @@ public class PDFCertificateEngine {
         int width = 285;
         int height = 285;
 
-        MultiFormatWriter barcodeWriter = new MultiFormatWriter();
-        BitMatrix matrix = barcodeWriter.encode(encodedUrl, barcodeFormat, width, height);
+        BitMatrix matrix = BARCODE_WRITER.encode(encodedUrl, barcodeFormat, width, height);
 
         return MatrixToImageWriter.toBufferedImage(matrix);
     }
 
+    private static String toDataUri(Resource image) {
+        try (InputStream imageStream = image.getInputStream()) {
+            return "data:image/png;base64," + Base64.getEncoder().encodeToString(imageStream.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("The certificate header image can not be read", e);
+        }
+    }
+
 }
@@ -1,85 +1,222 @@
 package tech.zerofiltre.blog.infra.providers.certificate;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import tech.zerofiltre.blog.domain.course.CertificateProvider;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.model.Certificate;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.storage.StorageProvider;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.ExecutorConfiguration;
+import tech.zerofiltre.blog.infra.InfraProperties;
 import tech.zerofiltre.blog.infra.providers.database.course.CertificateJPARepository;
 import tech.zerofiltre.blog.infra.providers.database.course.mapper.CertificateJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.model.CertificateJPA;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
+import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
+/**
+ * Generates the certificates on a bounded pool of rendering threads, so that a burst of completions can not hold
+ * the request threads busy. A certificate requested while it is being rendered waits for that rendering instead of starting another one.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PDFCertificateProvider implements CertificateProvider {
 
+    public static final String VERIFICATIONS = "certificateVerifications";
+
     private final StorageProvider storageProvider;
     private final CourseProvider courseProvider;
     private final PDFCertificateEngine pdfCertificateEngine;
     private final CertificateJPARepository certificateJPARepository;
     private final CertificateJPAMapper certificateMapper = Mappers.getMapper(CertificateJPAMapper.class);
-
+    private final InfraProperties infraProperties;
+    @Qualifier(ExecutorConfiguration.CERTIFICATE_RENDERER)
+    private final Executor renderExecutor;
+    @Qualifier(VERIFICATIONS)
+    private final Cache<String, Optional<Certificate>> verifications;
+    private final Map<String, CompletableFuture<Certificate>> renderings = new ConcurrentHashMap<>();
 
     @Override
     public Certificate generate(User user, long courseId) throws ZerofiltreException {
 
         String fullName = user.getFullName();
         try {
-            Certificate certificate = new Certificate();
-            String courseTitle = courseProvider.getTitle(courseId);
-
-            String fileName = "certificates/" + ZerofiltreUtils.sanitizeString(fullName) + "_" + ZerofiltreUtils.sanitizeString(courseTitle) + ".pdf";
-            certificate.setPath(fileName);
-            certificate.setCourseTitle(courseTitle);
-            certificate.setOwnerFullName(fullName);
+            Certificate certificate = outline(user, courseId);
 
-            Optional<byte[]> storedCertificate = storageProvider.get(fileName);
+            Optional<byte[]> storedCertificate = storageProvider.get(certificate.getPath());
             if (storedCertificate.isPresent()) {
                 certificate.setContent(storedCertificate.get());
                 return certificate;
             }
 
-            String language = user.getLanguage() != null ? user.getLanguage() : Locale.FRANCE.getLanguage();
-            String uuid = UUID.randomUUID().toString();
-            byte[] content = pdfCertificateEngine.process(new Locale(language), fullName, courseTitle, fileName, uuid);
-            certificate.setContent(content);
-            storageProvider.store(content, fileName);
-            certificate.setUuid(uuid);
-            certificate.setHash(ZerofiltreUtils.generateHash(fullName, courseTitle));
-            return certificate;
+            return render(user, certificate, null).get(infraProperties.getCertificateRenderTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZerofiltreException("Interrupted while creating certificate for " + fullName + "on course " + courseId, e);
+        } catch (ExecutionException e) {
+            throw new ZerofiltreException("Error creating certificate for " + fullName + "on course " + courseId, e.getCause());
         } catch (Exception e) {
             throw new ZerofiltreException("Error creating certificate for " + fullName + "on course " + courseId, e);
         }
 
     }
 
+    @Override
+    public boolean prepare(User user, long courseId, Consumer<Certificate> onGenerated) throws ZerofiltreException {
+        try {
+            Certificate certificate = outline(user, courseId);
+            if (renderings.containsKey(certificate.getPath())) return false;
+            if (storageProvider.exists(certificate.getPath())) return true;
+
+            render(user, certificate, onGenerated);
+            return false;
+        } catch (Exception e) {
+            throw new ZerofiltreException("Error preparing certificate for " + user.getFullName() + "on course " + courseId, e);
+        }
+    }
+
+    @Override
+    public Certificate describe(User user, long courseId) throws ZerofiltreException {
+        Certificate certificate = outline(user, courseId);
+        try {
+            certificate.setHash(ZerofiltreUtils.generateHash(certificate.getOwnerFullName(), certificate.getCourseTitle()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new ZerofiltreException("Hash generation failure !", e);
+        }
+        return certificate;
+    }
+
+    @Override
+    public Optional<StoredFile> file(Certificate certificate) {
+        return storageProvider.file(certificate.getPath());
+    }
+
     @Override
     public Certificate save(Certificate certificate) {
         CertificateJPA certificateJPA = certificateMapper.toJPA(certificate);
-        return certificateMapper.fromJPA(certificateJPARepository.save(certificateJPA));
+        Certificate saved = certificateMapper.fromJPA(certificateJPARepository.save(certificateJPA));
+        if (saved.getUuid() != null) verifications.invalidate(saved.getUuid());
+        return saved;
     }
 
     @Override
     public void delete(Certificate certificate) {
         CertificateJPA certificateJPA = certificateMapper.toJPA(certificate);
         certificateJPARepository.delete(certificateJPA);
+        if (certificate.getUuid() != null) verifications.invalidate(certificate.getUuid());
     }
 
     @Override
     public Optional<Certificate> findByUuid(String uuid) throws ZerofiltreException {
-        return certificateJPARepository.findByUuid(uuid).map(certificateMapper::fromJPA);
+        return verifications.get(uuid, key -> certificateJPARepository.findByUuid(key).map(certificateMapper::fromJPA));
+    }
+
+    int renderingsCount() {
+        return renderings.size();
+    }
+
+    private Certificate outline(User user, long courseId) {
+        String fullName = user.getFullName();
+        String courseTitle = courseProvider.getTitle(courseId);
+
+        Certificate certificate = new Certificate();
+        certificate.setPath("certificates/" + ZerofiltreUtils.sanitizeString(fullName) + "_" + ZerofiltreUtils.sanitizeString(courseTitle) + ".pdf");
+        certificate.setCourseTitle(courseTitle);
+        certificate.setOwnerFullName(fullName);
+        return certificate;
+    }
+
+    /**
+     * Renders the certificate unless it is being rendered already. Only the caller starting the rendering gets the uuid and hash
+     * of the certificate to save them: the others get it as if it was stored already.
+     */
+    private CompletableFuture<Certificate> render(User user, Certificate certificate, Consumer<Certificate> onGenerated) {
+        String path = certificate.getPath();
+        CompletableFuture<Certificate> rendering = new CompletableFuture<>();
+        CompletableFuture<Certificate> inFlight = renderings.putIfAbsent(path, rendering);
+        if (inFlight != null) return inFlight.thenApply(PDFCertificateProvider::storedCopy);
+
+        try {
+            renderExecutor.execute(() -> {
+                try {
+                    Certificate rendered = renderAndStore(user, certificate);
+                    if (onGenerated != null) onGenerated.accept(rendered);
+                    rendering.complete(rendered);
+                } catch (Exception e) {
+                    log.error("Could not render the certificate {}", path, e);
+                    rendering.completeExceptionally(e);
+                } finally {
+                    renderings.remove(path, rendering);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            renderings.remove(path, rendering);
+            rendering.completeExceptionally(new ZerofiltreException("Too many certificates are being generated, please retry later", e));
+        }
+        return rendering;
+    }
+
+    private Certificate renderAndStore(User user, Certificate certificate) throws Exception {
+        String fullName = certificate.getOwnerFullName();
+        String courseTitle = certificate.getCourseTitle();
+        String language = user.getLanguage() != null ? user.getLanguage() : Locale.FRANCE.getLanguage();
+        String uuid = UUID.randomUUID().toString();
+        byte[] content = pdfCertificateEngine.process(new Locale(language), fullName, courseTitle, certificate.getPath(), uuid);
+        storageProvider.store(content, certificate.getPath());
+
+        Certificate rendered = storedCopy(certificate);
+        rendered.setContent(content);
+        rendered.setUuid(uuid);
+        rendered.setHash(ZerofiltreUtils.generateHash(fullName, courseTitle));
+        return rendered;
+    }
+
+    private static Certificate storedCopy(Certificate certificate) {
+        return new Certificate(certificate.getPath(), certificate.getCourseTitle(), certificate.getOwnerFullName(), certificate.getContent(), null, null);
+    }
+
+    /**
+     * Bounds the certificates looked up by the verification page, and keeps the unknown uuids for a shorter while:
+     * a scraped or widely shared link is answered from memory, and a certificate issued after its uuid was looked up shows up quickly.
+     */
+    public static Cache<String, Optional<Certificate>> newVerificationCache(long maxSize, long ttlMs, long notFoundTtlMs) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<Certificate>>() {
+                    @Override
+                    public long expireAfterCreate(String uuid, Optional<Certificate> certificate, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(certificate.isPresent() ? ttlMs : notFoundTtlMs);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String uuid, Optional<Certificate> certificate, long currentTime, long currentDuration) {
+                        return expireAfterCreate(uuid, certificate, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String uuid, Optional<Certificate> certificate, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
 }
@@ -0,0 +1,47 @@
+package tech.zerofiltre.blog.infra.providers.database;
+
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+@ToString
+public class ContentChangedEvent extends ApplicationEvent {
+
+    private final ContentType contentType;
+    private final long contentId;
+    private final Operation operation;
+
+    public ContentChangedEvent(Object source, ContentType contentType, long contentId, Operation operation) {
+        super(source);
+        this.contentType = contentType;
+        this.contentId = contentId;
+        this.operation = operation;
+    }
+
+    public static ContentChangedEvent upsert(Object source, ContentType contentType, long contentId) {
+        return new ContentChangedEvent(source, contentType, contentId, Operation.UPSERT);
+    }
+
+    public static ContentChangedEvent delete(Object source, ContentType contentType, long contentId) {
+        return new ContentChangedEvent(source, contentType, contentId, Operation.DELETE);
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    public long getContentId() {
+        return contentId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public enum ContentType {
+        ARTICLE, COURSE, LESSON
+    }
+
+    public enum Operation {
+        UPSERT, DELETE
+    }
+}
@@ -0,0 +1,55 @@
+package tech.zerofiltre.blog.infra.providers.database;
+
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+import tech.zerofiltre.blog.domain.article.model.Status;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.ContentType;
+
+import java.util.Set;
+
+/**
+ * Published when a change may alter listing pages: the statuses, authors and tags the content had before and after the change,
+ * and whether only its ranking changed, i.e. its reactions or views, everything the listings show otherwise being the same.
+ */
+@ToString
+public class ListingChangedEvent extends ApplicationEvent {
+
+    private final ContentType contentType;
+    private final Set<Status> statuses;
+    private final Set<Long> authorIds;
+    private final Set<String> tags;
+    private final boolean rankingOnly;
+
+    public ListingChangedEvent(Object source, ContentType contentType, Set<Status> statuses, Set<Long> authorIds, Set<String> tags) {
+        this(source, contentType, statuses, authorIds, tags, false);
+    }
+
+    public ListingChangedEvent(Object source, ContentType contentType, Set<Status> statuses, Set<Long> authorIds, Set<String> tags, boolean rankingOnly) {
+        super(source);
+        this.contentType = contentType;
+        this.statuses = statuses;
+        this.authorIds = authorIds;
+        this.tags = tags;
+        this.rankingOnly = rankingOnly;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    public Set<Status> getStatuses() {
+        return statuses;
+    }
+
+    public Set<Long> getAuthorIds() {
+        return authorIds;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public boolean isRankingOnly() {
+        return rankingOnly;
+    }
+}
@@ -2,12 +2,15 @@ package tech.zerofiltre.blog.infra.providers.database.article;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.infra.providers.database.article.model.ArticleJPA;
+import tech.zerofiltre.blog.infra.providers.database.article.model.CountByUser;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ArticleJPARepository extends JpaRepository<ArticleJPA, Long> {
@@ -39,10 +42,26 @@ public interface ArticleJPARepository extends JpaRepository<ArticleJPA, Long> {
             "LOWER(a.summary) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<ArticleJPA> findByKeyword(String keyword, Status status);
 
+    @Query("SELECT a FROM ArticleJPA a WHERE a.status = ?1")
+    Slice<ArticleJPA> findIndexableByStatus(Status status, Pageable pageable);
+
+    @Query("SELECT DISTINCT a FROM ArticleJPA a LEFT JOIN FETCH a.author u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.socialLinks WHERE a.id IN ?1")
+    List<ArticleJPA> fetchAuthors(Collection<Long> articleIds);
+
+    @Query("SELECT DISTINCT a FROM ArticleJPA a LEFT JOIN FETCH a.tags WHERE a.id IN ?1")
+    List<ArticleJPA> fetchTags(Collection<Long> articleIds);
+
+    @Query("SELECT DISTINCT a FROM ArticleJPA a LEFT JOIN FETCH a.reactions WHERE a.id IN ?1")
+    List<ArticleJPA> fetchReactions(Collection<Long> articleIds);
+
     @Query("SELECT a FROM ArticleJPA a WHERE a.lastPublishedAt >= ?1 AND a.lastPublishedAt < ?2")
     List<ArticleJPA> findNewArticlesBetween(LocalDateTime startDate, LocalDateTime endDate);
 
     @Query("SELECT count(a.id) FROM ArticleJPA a WHERE a.lastPublishedAt >= ?1 AND a.lastPublishedAt < ?2 AND a.author.id = ?3")
     int countPublishedArticlesByDatesAndUser(LocalDateTime startDate, LocalDateTime endDate, long authorId);
 
+    @Query("SELECT new tech.zerofiltre.blog.infra.providers.database.article.model.CountByUser(a.author.id, count(a.id)) " +
+            "FROM ArticleJPA a WHERE a.lastPublishedAt >= ?1 AND a.lastPublishedAt < ?2 AND a.author.id IN ?3 GROUP BY a.author.id")
+    List<CountByUser> countPublishedArticlesByDatesPerUser(LocalDateTime startDate, LocalDateTime endDate, Collection<Long> authorIds);
+
 }
@@ -0,0 +1,125 @@
+package tech.zerofiltre.blog.infra.providers.database.article;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.infra.InfraProperties;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates article views in memory and writes them to the database in batches.
+ * View counts are added to the stored counter rather than overwriting it, so article saves never race with them.
+ * A batch that fails is retried on the next flushes: the counts until they are written, the views up to {@value MAX_FLUSH_ATTEMPTS} times.
+ */
+@Slf4j
+@Component
+public class ArticleViewBuffer {
+
+    static final String INCREMENT_VIEWS_COUNT = "UPDATE article SET views_count = views_count + ? WHERE id = ?";
+    static final String INSERT_VIEW = "INSERT INTO article_view (viewer_id, viewed_id, viewed_at) SELECT ?, id, ? FROM article WHERE id = ?";
+    static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LongAdder> pendingViewsCounts = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingView> pendingViews;
+
+    public ArticleViewBuffer(JdbcTemplate jdbcTemplate, InfraProperties infraProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pendingViews = new ArrayBlockingQueue<>(infraProperties.getArticleViewsBufferCapacity());
+    }
+
+    public void record(long articleId, Long viewerId, LocalDateTime viewedAt) {
+        pendingViewsCounts.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+        if (!pendingViews.offer(new PendingView(viewerId, articleId, viewedAt, 0)))
+            log.warn("Article views buffer is full, the view of article {} is counted but not recorded", articleId);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${zerofiltre.infra.article.views.flush-delay-ms:5000}")
+    public synchronized void flush() {
+        flushViewsCounts();
+        flushViews();
+    }
+
+    long pendingViewsCount(long articleId) {
+        LongAdder viewsCount = pendingViewsCounts.get(articleId);
+        return viewsCount == null ? 0 : viewsCount.sum();
+    }
+
+    int pendingArticlesCount() {
+        return pendingViewsCounts.size();
+    }
+
+    /**
+     * Each counter is reset as it is read, so the articles viewed often keep theirs from one flush to the next. A counter still at zero
+     * has not been incremented since the previous flush and is removed, then read once more to flush a view that raced with the removal.
+     */
+    private void flushViewsCounts() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pendingViewsCounts.forEach((articleId, viewsCount) -> {
+            long delta = viewsCount.sumThenReset();
+            if (delta == 0 && pendingViewsCounts.remove(articleId, viewsCount)) delta = viewsCount.sumThenReset();
+            if (delta != 0) deltas.put(articleId, delta);
+        });
+        if (deltas.isEmpty()) return;
+
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((articleId, delta) -> batch.add(new Object[]{delta, articleId}));
+        try {
+            jdbcTemplate.batchUpdate(INCREMENT_VIEWS_COUNT, batch);
+            log.debug("Flushed the views counts of {} articles", batch.size());
+        } catch (RuntimeException e) {
+            deltas.forEach((articleId, delta) -> pendingViewsCounts.computeIfAbsent(articleId, id -> new LongAdder()).add(delta));
+            log.error("Could not flush the views counts of {} articles, they will be retried on the next flush", batch.size(), e);
+        }
+    }
+
+    private void flushViews() {
+        List<PendingView> views = new ArrayList<>(pendingViews.size());
+        pendingViews.drainTo(views);
+        if (views.isEmpty()) return;
+
+        List<Object[]> batch = new ArrayList<>(views.size());
+        views.forEach(view -> batch.add(new Object[]{view.getViewerId(), Timestamp.valueOf(view.getViewedAt()), view.getArticleId()}));
+        try {
+            jdbcTemplate.batchUpdate(INSERT_VIEW, batch);
+            log.debug("Flushed {} article views", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Could not flush {} article views, they will be retried on the next flush", batch.size(), e);
+            requeue(views);
+        }
+    }
+
+    private void requeue(List<PendingView> views) {
+        int lost = 0;
+        for (PendingView view : views) {
+            int attempts = view.getFlushAttempts() + 1;
+            if (attempts >= MAX_FLUSH_ATTEMPTS || !pendingViews.offer(new PendingView(view.getViewerId(), view.getArticleId(), view.getViewedAt(), attempts)))
+                lost++;
+        }
+        if (lost > 0) log.warn("{} article views failed {} flushes or no longer fit in the buffer, they are counted but not recorded", lost, MAX_FLUSH_ATTEMPTS);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class PendingView {
+        private final Long viewerId;
+        private final long articleId;
+        private final LocalDateTime viewedAt;
+        private final int flushAttempts;
+    }
+}
@@ -3,8 +3,10 @@ package tech.zerofiltre.blog.infra.providers.database.article;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.infra.providers.database.article.model.ArticleViewJPA;
+import tech.zerofiltre.blog.infra.providers.database.article.model.CountByUser;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ArticleViewJPARepository extends JpaRepository<ArticleViewJPA, Long> {
@@ -15,4 +17,8 @@ public interface ArticleViewJPARepository extends JpaRepository<ArticleViewJPA,
     @Query("SELECT count(distinct a.viewed.id) FROM ArticleViewJPA a WHERE a.viewedAt >= ?1 AND a.viewedAt < ?2 AND a.viewer.id = ?3")
     int countViewedIdByDatesAndViewerId(LocalDateTime startDate, LocalDateTime endDate, long viewerId);
 
+    @Query("SELECT new tech.zerofiltre.blog.infra.providers.database.article.model.CountByUser(a.viewer.id, count(distinct a.viewed.id)) " +
+            "FROM ArticleViewJPA a WHERE a.viewedAt >= ?1 AND a.viewedAt < ?2 AND a.viewer.id IN ?3 GROUP BY a.viewer.id")
+    List<CountByUser> countViewedIdByDatesPerViewerId(LocalDateTime startDate, LocalDateTime endDate, Collection<Long> viewerIds);
+
 }
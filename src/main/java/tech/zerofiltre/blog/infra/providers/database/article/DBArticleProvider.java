@@ -2,8 +2,8 @@ package tech.zerofiltre.blog.infra.providers.database.article;
 
 import lombok.RequiredArgsConstructor;
 import org.mapstruct.factory.Mappers;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -14,14 +14,17 @@ import tech.zerofiltre.blog.domain.article.ArticleProvider;
 import tech.zerofiltre.blog.domain.article.model.Article;
 import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.cache.ListingCacheKeys;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent;
+import tech.zerofiltre.blog.infra.providers.database.ListingChangedEvent;
 import tech.zerofiltre.blog.infra.providers.database.SpringPageMapper;
 import tech.zerofiltre.blog.infra.providers.database.article.mapper.ArticleJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.article.model.ArticleJPA;
+import tech.zerofiltre.blog.infra.providers.database.article.model.CountByUser;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
@@ -30,11 +33,13 @@ import java.util.stream.Collectors;
 public class DBArticleProvider implements ArticleProvider {
 
     private final ArticleJPARepository repository;
+    private final ApplicationEventPublisher eventPublisher;
     private final ArticleJPAMapper mapper = Mappers.getMapper(ArticleJPAMapper.class);
     private final SpringPageMapper<Article> pageMapper = new SpringPageMapper<>();
 
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Article> articleOfId(long articleId) {
         return repository.findById(articleId)
                 .map(mapper::fromJPA);
@@ -42,14 +47,28 @@ public class DBArticleProvider implements ArticleProvider {
 
 
     @Override
-    @CacheEvict(value = {"articles-list","search-results"}, allEntries = true)
     public Article save(Article article) {
+        Set<Status> statuses = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        List<Object> previousListing = null;
+        if (article.getId() != 0) {
+            Optional<ArticleJPA> previous = repository.findById(article.getId());
+            if (previous.isPresent()) {
+                collectListingScope(previous.get(), statuses, authorIds, tags);
+                previousListing = listingFields(previous.get());
+            }
+        }
         ArticleJPA save = repository.save(mapper.toJPA(article));
+        collectListingScope(save, statuses, authorIds, tags);
+        boolean rankingOnly = listingFields(save).equals(previousListing);
+        eventPublisher.publishEvent(ContentChangedEvent.upsert(this, ContentChangedEvent.ContentType.ARTICLE, save.getId()));
+        eventPublisher.publishEvent(new ListingChangedEvent(this, ContentChangedEvent.ContentType.ARTICLE, statuses, authorIds, tags, rankingOnly));
         return mapper.fromJPA(save);
     }
 
     @Override
-    @Cacheable("articles-list")
+    @Cacheable(value = ListingCacheKeys.ARTICLES_LIST, key = "T(tech.zerofiltre.blog.infra.cache.ListingCacheKeys).of(#status, #authorId, #tag, #filter, #pageNumber, #pageSize)")
     public tech.zerofiltre.blog.domain.Page<Article> articlesOf(int pageNumber, int pageSize, Status status, long authorId, FinderRequest.Filter filter, String tag) {
         Page<ArticleJPA> page;
 
@@ -73,9 +92,18 @@ public class DBArticleProvider implements ArticleProvider {
             else
                 page = repository.findByStatusAndAuthorId(PageRequest.of(pageNumber, pageSize, Sort.Direction.DESC, publishedAtPropertyName), status, authorId);
         }
+        fetchListingAssociations(page.getContent());
         return pageMapper.fromSpringPage(page.map(mapper::fromJPA));
     }
 
+    private void fetchListingAssociations(List<ArticleJPA> articles) {
+        if (articles.isEmpty()) return;
+        List<Long> articleIds = articles.stream().map(ArticleJPA::getId).collect(Collectors.toList());
+        repository.fetchAuthors(articleIds);
+        repository.fetchTags(articleIds);
+        repository.fetchReactions(articleIds);
+    }
+
     @Override
     public List<Article> articlesOf(User user) {
         return repository.findByAuthorId(user.getId())
@@ -90,14 +118,42 @@ public class DBArticleProvider implements ArticleProvider {
     }
 
     @Override
-    @CacheEvict(value = {"articles-list","search-results"}, allEntries = true)
     public void delete(Article article) {
         ArticleJPA entity = mapper.toJPA(article);
+        Set<Status> statuses = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        repository.findById(article.getId()).ifPresent(previous -> collectListingScope(previous, statuses, authorIds, tags));
         repository.delete(entity);
+        eventPublisher.publishEvent(ContentChangedEvent.delete(this, ContentChangedEvent.ContentType.ARTICLE, article.getId()));
+        eventPublisher.publishEvent(new ListingChangedEvent(this, ContentChangedEvent.ContentType.ARTICLE, statuses, authorIds, tags));
+    }
+
+    private static void collectListingScope(ArticleJPA article, Set<Status> statuses, Set<Long> authorIds, Set<String> tags) {
+        statuses.add(article.getStatus());
+        if (article.getAuthor() != null) authorIds.add(article.getAuthor().getId());
+        if (article.getTags() != null) article.getTags().forEach(tag -> tags.add(tag.getName()));
+    }
+
+    /**
+     * What the listings show of an article and filter it on, apart from its reactions and views.
+     */
+    private static List<Object> listingFields(ArticleJPA article) {
+        Set<String> tagNames = new HashSet<>();
+        if (article.getTags() != null) article.getTags().forEach(tag -> tagNames.add(tag.getName()));
+        return Arrays.asList(article.getStatus(), article.getAuthor() == null ? null : article.getAuthor().getId(), tagNames,
+                article.getTitle(), article.getSummary(), article.getThumbnail(), article.getPublishedAt(), article.isPremium());
     }
 
     @Override
     public int countPublishedArticlesByDatesAndUser(LocalDateTime startDate, LocalDateTime endDate, long authorId) {
         return repository.countPublishedArticlesByDatesAndUser(startDate, endDate, authorId);
     }
+
+    @Override
+    public Map<Long, Integer> countPublishedArticlesByDatesPerUser(LocalDateTime startDate, LocalDateTime endDate, Collection<Long> authorIds) {
+        if (authorIds.isEmpty()) return Collections.emptyMap();
+        return repository.countPublishedArticlesByDatesPerUser(startDate, endDate, authorIds).stream()
+                .collect(Collectors.toMap(CountByUser::getUserId, count -> (int) count.getCount()));
+    }
 }
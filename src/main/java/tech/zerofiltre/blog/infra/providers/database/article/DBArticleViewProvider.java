@@ -7,15 +7,22 @@ import org.springframework.transaction.annotation.Transactional;
 import tech.zerofiltre.blog.domain.article.ArticleViewProvider;
 import tech.zerofiltre.blog.domain.article.model.ArticleView;
 import tech.zerofiltre.blog.infra.providers.database.article.mapper.ArticleViewJPAMapper;
+import tech.zerofiltre.blog.infra.providers.database.article.model.CountByUser;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Component
 @Transactional
 @RequiredArgsConstructor
 public class DBArticleViewProvider implements ArticleViewProvider {
 
     private final ArticleViewJPARepository repository;
+    private final ArticleViewBuffer buffer;
     private final ArticleViewJPAMapper mapper = Mappers.getMapper(ArticleViewJPAMapper.class);
 
 
@@ -29,6 +36,12 @@ public class DBArticleViewProvider implements ArticleViewProvider {
         return mapper.fromJPA(repository.save(mapper.toJPA(articleView)));
     }
 
+    @Override
+    public void recordView(ArticleView articleView) {
+        Long viewerId = articleView.getViewer() != null ? articleView.getViewer().getId() : null;
+        buffer.record(articleView.getViewed().getId(), viewerId, articleView.getViewedAt());
+    }
+
     @Override
     public List<ArticleView> viewsOfUser(long viewerId) {
         return mapper.fromJPAs(repository.findByViewerId(viewerId));
@@ -43,4 +56,11 @@ public class DBArticleViewProvider implements ArticleViewProvider {
     public int countArticlesReadByDatesAndUser(LocalDateTime startDate, LocalDateTime endDate, long viewerId) {
         return repository.countViewedIdByDatesAndViewerId(startDate, endDate, viewerId);
     }
+
+    @Override
+    public Map<Long, Integer> countArticlesReadByDatesPerUser(LocalDateTime startDate, LocalDateTime endDate, Collection<Long> viewerIds) {
+        if (viewerIds.isEmpty()) return Collections.emptyMap();
+        return repository.countViewedIdByDatesPerViewerId(startDate, endDate, viewerIds).stream()
+                .collect(Collectors.toMap(CountByUser::getUserId, count -> (int) count.getCount()));
+    }
 }
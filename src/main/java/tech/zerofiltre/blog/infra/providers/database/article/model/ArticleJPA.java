@@ -47,6 +47,7 @@ public class ArticleJPA extends BaseEntityJPA {
     )
     private Set<TagJPA> tags;
     private String summary;
+    @Column(updatable = false)
     private long viewsCount;
     private boolean premium;
     private String video;
@@ -0,0 +1,13 @@
+package tech.zerofiltre.blog.infra.providers.database.article.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CountByUser {
+    private long userId;
+    private long count;
+}
@@ -0,0 +1,19 @@
+package tech.zerofiltre.blog.infra.providers.database.broadcast;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import tech.zerofiltre.blog.infra.providers.database.broadcast.model.BroadcastRunJPA;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BroadcastRunJPARepository extends JpaRepository<BroadcastRunJPA, Long> {
+
+    Optional<BroadcastRunJPA> findByName(String name);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BroadcastRunJPA r SET r.claimedAt = ?2 " +
+            "WHERE r.name = ?1 AND r.finishedAt IS NULL AND (r.claimedAt IS NULL OR r.claimedAt < ?3)")
+    int claim(String name, LocalDateTime now, LocalDateTime staleBefore);
+}
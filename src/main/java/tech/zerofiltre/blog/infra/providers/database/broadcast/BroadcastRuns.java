@@ -0,0 +1,58 @@
+package tech.zerofiltre.blog.infra.providers.database.broadcast;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.broadcast.model.BroadcastRunJPA;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Progress of the broadcasts, sent to the users in the order of their ids. A broadcast is run by the instance that claimed it
+ * and records the last user it went through after each chunk, so that another instance, or the same one after a restart,
+ * resumes it from there once the claim is stale instead of starting over.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class BroadcastRuns {
+
+    private final BroadcastRunJPARepository repository;
+
+    /**
+     * Creates the run unless it exists already.
+     *
+     * @throws DataIntegrityViolationException when another instance created it concurrently
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void open(String name) {
+        if (repository.findByName(name).isPresent()) return;
+        repository.saveAndFlush(new BroadcastRunJPA(name, LocalDateTime.now()));
+    }
+
+    /**
+     * @return the run if it is not finished and this call claimed it, which it can not while another instance holds a claim newer than staleBefore
+     */
+    public Optional<BroadcastRunJPA> claim(String name, LocalDateTime staleBefore) {
+        if (repository.claim(name, LocalDateTime.now(), staleBefore) != 1) return Optional.empty();
+        return repository.findByName(name);
+    }
+
+    /**
+     * Records the progress and renews the claim.
+     */
+    public void checkpoint(String name, long lastUserId, int sentCount) {
+        repository.findByName(name).ifPresent(run -> {
+            run.setLastUserId(lastUserId);
+            run.setSentCount(sentCount);
+            run.setClaimedAt(LocalDateTime.now());
+        });
+    }
+
+    public void finish(String name) {
+        repository.findByName(name).ifPresent(run -> run.setFinishedAt(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,30 @@
+package tech.zerofiltre.blog.infra.providers.database.broadcast.model;
+
+import lombok.*;
+import tech.zerofiltre.blog.infra.providers.database.BaseEntityJPA;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "broadcast_run", uniqueConstraints = @UniqueConstraint(name = "uk_broadcast_run_name", columnNames = "name"))
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class BroadcastRunJPA extends BaseEntityJPA {
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    private long lastUserId;
+    private int sentCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime claimedAt;
+    private LocalDateTime finishedAt;
+
+    public BroadcastRunJPA(String name, LocalDateTime now) {
+        this.name = name;
+        this.startedAt = now;
+    }
+}
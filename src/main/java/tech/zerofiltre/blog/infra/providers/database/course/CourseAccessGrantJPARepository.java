@@ -0,0 +1,14 @@
+package tech.zerofiltre.blog.infra.providers.database.course;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import tech.zerofiltre.blog.infra.providers.database.course.model.CourseAccessGrantJPA;
+
+public interface CourseAccessGrantJPARepository extends JpaRepository<CourseAccessGrantJPA, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from CourseAccessGrantJPA g where g.resourceId = ?1")
+    int deleteByResourceId(long resourceId);
+
+}
@@ -0,0 +1,62 @@
+package tech.zerofiltre.blog.infra.providers.database.course;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.domain.course.model.Resource;
+import tech.zerofiltre.blog.infra.providers.database.course.model.CourseAccessGrantJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.ResourceJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.ResourceWithCourseIdJPA;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the course access grants in step with the resources linking to a course, so that whether an enrollment
+ * grants access to another course is one indexed lookup instead of a walk through the chapters, lessons and resources.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseAccessGrants {
+
+    private final CourseAccessGrantJPARepository grantRepository;
+    private final LessonJPARepository lessonRepository;
+    private final ResourceJPARepository resourceRepository;
+
+    @Transactional
+    public void refresh(Resource resource) {
+        grantRepository.deleteByResourceId(resource.getId());
+        long grantedCourseId = resource.grantedCourseId();
+        if (grantedCourseId == 0) return;
+        lessonRepository.findCourseIdById(resource.getLessonId())
+                .ifPresent(grantingCourseId -> grantRepository.save(new CourseAccessGrantJPA(resource.getId(), grantingCourseId, grantedCourseId)));
+    }
+
+    @Transactional
+    public void revoke(long resourceId) {
+        grantRepository.deleteByResourceId(resourceId);
+    }
+
+    /**
+     * Recomputes all the grants from the resources, e.g. to repair them after the resources were changed outside the application.
+     */
+    @Transactional
+    public int rebuild() {
+        grantRepository.deleteAllInBatch();
+        List<CourseAccessGrantJPA> grants = resourceRepository.findAllWithCourseIdByType(Resource.COURSE_TYPE).stream()
+                .map(this::grantOf)
+                .filter(grant -> grant.getGrantedCourseId() != 0)
+                .collect(Collectors.toList());
+        grantRepository.saveAll(grants);
+        log.info("Rebuilt {} course access grants", grants.size());
+        return grants.size();
+    }
+
+    private CourseAccessGrantJPA grantOf(ResourceWithCourseIdJPA resourceWithCourseId) {
+        ResourceJPA resource = resourceWithCourseId.getResource();
+        long grantedCourseId = Resource.builder().type(resource.getType()).url(resource.getUrl()).build().grantedCourseId();
+        return new CourseAccessGrantJPA(resource.getId(), resourceWithCourseId.getCourseId(), grantedCourseId);
+    }
+}
@@ -0,0 +1,27 @@
+package tech.zerofiltre.blog.infra.providers.database.course;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes the lessons and enrolled counters stored on each course and repairs the ones that drifted
+ * from the lesson and enrollment tables, e.g. after a manual data fix or a cascade delete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseCountersReconciler {
+
+    private final CourseJPARepository courseJPARepository;
+
+    @Transactional
+    @Scheduled(cron = "${zerofiltre.infra.course.counters.reconciliation.cron:0 0 3 * * ?}")
+    public int reconcile() {
+        int repaired = courseJPARepository.reconcileCounts();
+        if (repaired > 0) log.warn("Repaired lessons and enrolled counters of {} courses", repaired);
+        return repaired;
+    }
+}
@@ -2,12 +2,15 @@ package tech.zerofiltre.blog.infra.providers.database.course;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.infra.providers.database.course.model.CourseJPA;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -89,8 +92,8 @@ public interface CourseJPARepository extends JpaRepository<CourseJPA, Long> {
             "ORDER BY a.enrolledCount DESC\n ")
     Page<CourseJPA> findByEnrolledAndAuthorIdDesc(Pageable pageable, Status status, long authorId);
 
-    @Query("select count(a) from CourseJPA a JOIN EnrollmentJPA s ON a.id=s.course.id WHERE a.id=?1")
-    int getEnrolledCount(long courseId);
+    @Query("select a.enrolledCount from CourseJPA a WHERE a.id=?1")
+    Optional<Long> getEnrolledCount(long courseId);
 
     @Query("SELECT a FROM CourseJPA a WHERE a.status = :status AND " +
             "(LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -98,12 +101,43 @@ public interface CourseJPARepository extends JpaRepository<CourseJPA, Long> {
             "LOWER(a.summary) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<CourseJPA> findByKeyword(String keyword, Status status);
 
+    @Query("SELECT a FROM CourseJPA a WHERE a.status = ?1")
+    Slice<CourseJPA> findIndexableByStatus(Status status, Pageable pageable);
 
-    @Query("SELECT count(l.id) from CourseJPA co " +
-            "join ChapterJPA ch on ch.course.id=co.id " +
-            "join LessonJPA l on l.chapter.id=ch.id " +
-            "where co.id=:courseId")
-    int getLessonsCount(long courseId);
+    @Query("SELECT DISTINCT a FROM CourseJPA a LEFT JOIN FETCH a.author LEFT JOIN FETCH a.tags WHERE a.id IN ?1")
+    List<CourseJPA> fetchAuthorAndTags(Collection<Long> courseIds);
+
+    @Query("SELECT DISTINCT a FROM CourseJPA a LEFT JOIN FETCH a.reactions WHERE a.id IN ?1")
+    List<CourseJPA> fetchReactions(Collection<Long> courseIds);
+
+
+    @Query("select a.lessonsCount from CourseJPA a WHERE a.id=?1")
+    Optional<Integer> getLessonsCount(long courseId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CourseJPA a SET a.enrolledCount = a.enrolledCount + ?2 WHERE a.id = ?1")
+    int addToEnrolledCount(long courseId, long delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE course SET lessons_count = (SELECT COUNT(l.id) FROM lesson l JOIN chapter ch ON ch.id = l.chapter_id WHERE ch.course_id = course.id) " +
+            "WHERE id = ?1", nativeQuery = true)
+    int refreshLessonsCount(long courseId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE course SET lessons_count = (SELECT COUNT(l.id) FROM lesson l JOIN chapter ch ON ch.id = l.chapter_id WHERE ch.course_id = course.id) " +
+            "WHERE id = (SELECT c.course_id FROM chapter c WHERE c.id = ?1)", nativeQuery = true)
+    int refreshLessonsCountByChapterId(long chapterId);
+
+    @Query(value = "SELECT id FROM course WHERE id = (SELECT c.course_id FROM chapter c WHERE c.id = ?1) FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockByChapterId(long chapterId);
+
+    @Modifying
+    @Query(value = "UPDATE course SET " +
+            "lessons_count = (SELECT COUNT(l.id) FROM lesson l JOIN chapter ch ON ch.id = l.chapter_id WHERE ch.course_id = course.id), " +
+            "enrolled_count = (SELECT COUNT(e.id) FROM enrollment e WHERE e.course_id = course.id) " +
+            "WHERE lessons_count <> (SELECT COUNT(l.id) FROM lesson l JOIN chapter ch ON ch.id = l.chapter_id WHERE ch.course_id = course.id) " +
+            "OR enrolled_count <> (SELECT COUNT(e.id) FROM enrollment e WHERE e.course_id = course.id)", nativeQuery = true)
+    int reconcileCounts();
 
     @Query("SELECT ch.course from ChapterJPA ch where ch.id=:chapterId")
     Optional<CourseJPA> findByChapterId(long chapterId);
@@ -17,6 +17,7 @@ import java.util.*;
 public class DBChapterProvider implements ChapterProvider {
 
     private final ChapterJPARepository chapterJPARepository;
+    private final CourseJPARepository courseJPARepository;
     private final ChapterJPAMapper chapterJPAMapper = Mappers.getMapper(ChapterJPAMapper.class);
 
 
@@ -34,6 +35,7 @@ public class DBChapterProvider implements ChapterProvider {
     @Override
     public void delete(Chapter chapter) {
         chapterJPARepository.delete(chapterJPAMapper.toChapterJPA(chapter));
+        courseJPARepository.refreshLessonsCount(chapter.getCourseId());
     }
 
     @Override
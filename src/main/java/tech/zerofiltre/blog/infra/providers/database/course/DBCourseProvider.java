@@ -2,8 +2,8 @@ package tech.zerofiltre.blog.infra.providers.database.course;
 
 import lombok.RequiredArgsConstructor;
 import org.mapstruct.factory.Mappers;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
@@ -14,15 +14,20 @@ import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.cache.ListingCacheKeys;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent;
+import tech.zerofiltre.blog.infra.providers.database.ListingChangedEvent;
 import tech.zerofiltre.blog.infra.providers.database.SpringPageMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.mapper.CourseJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.model.CourseJPA;
-import tech.zerofiltre.blog.infra.providers.database.user.UserJPARepository;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -30,7 +35,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DBCourseProvider implements CourseProvider {
     private final CourseJPARepository repository;
-    private final UserJPARepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final CourseJPAMapper mapper = Mappers.getMapper(CourseJPAMapper.class);
     private final SpringPageMapper<Course> pageMapper = new SpringPageMapper<>();
 
@@ -38,31 +43,63 @@ public class DBCourseProvider implements CourseProvider {
     @Override
     public Optional<Course> courseOfId(long id) {
         return repository.findById(id)
-                .map(mapper::fromJPA)
-                .map(course -> {
-                    course.setEnrolledCount(getEnrolledCount(course.getId()));
-                    course.setLessonsCount(getLessonsCount(course.getId()));
-                    return course;
-                });
+                .map(mapper::fromJPA);
     }
 
     @Override
-    @CacheEvict(value = {"courses-list", "search-results"}, allEntries = true)
     public Course save(Course course) {
-        course = mapper.fromJPA(repository.save(mapper.toJPA(course)));
+        Set<Status> statuses = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        List<Object> previousListing = null;
+        if (course.getId() != 0) {
+            Optional<CourseJPA> previous = repository.findById(course.getId());
+            if (previous.isPresent()) {
+                collectListingScope(previous.get(), statuses, authorIds, tags);
+                previousListing = listingFields(previous.get());
+            }
+        }
+        CourseJPA saved = repository.save(mapper.toJPA(course));
+        collectListingScope(saved, statuses, authorIds, tags);
+        boolean rankingOnly = listingFields(saved).equals(previousListing);
+        course = mapper.fromJPA(saved);
+        eventPublisher.publishEvent(ContentChangedEvent.upsert(this, ContentChangedEvent.ContentType.COURSE, course.getId()));
+        eventPublisher.publishEvent(new ListingChangedEvent(this, ContentChangedEvent.ContentType.COURSE, statuses, authorIds, tags, rankingOnly));
         course.setEnrolledCount(getEnrolledCount(course.getId()));
         course.setLessonsCount(getLessonsCount(course.getId()));
         return course;
     }
 
     @Override
-    @CacheEvict(value = {"courses-list", "search-results"}, allEntries = true)
     public void delete(Course existingCourse) {
+        Set<Status> statuses = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        repository.findById(existingCourse.getId()).ifPresent(previous -> collectListingScope(previous, statuses, authorIds, tags));
         repository.delete(mapper.toJPA(existingCourse));
+        eventPublisher.publishEvent(ContentChangedEvent.delete(this, ContentChangedEvent.ContentType.COURSE, existingCourse.getId()));
+        eventPublisher.publishEvent(new ListingChangedEvent(this, ContentChangedEvent.ContentType.COURSE, statuses, authorIds, tags));
+    }
+
+    /**
+     * What the listings show of a course and filter it on, apart from its reactions and enrollments.
+     */
+    private static List<Object> listingFields(CourseJPA course) {
+        Set<String> tagNames = new HashSet<>();
+        if (course.getTags() != null) course.getTags().forEach(tag -> tagNames.add(tag.getName()));
+        return Arrays.asList(course.getStatus(), course.getAuthor() == null ? null : course.getAuthor().getId(), tagNames,
+                course.getTitle(), course.getSubTitle(), course.getSummary(), course.getThumbnail(), course.getPublishedAt(),
+                course.getPrice(), course.isMentored());
+    }
+
+    private static void collectListingScope(CourseJPA course, Set<Status> statuses, Set<Long> authorIds, Set<String> tags) {
+        statuses.add(course.getStatus());
+        if (course.getAuthor() != null) authorIds.add(course.getAuthor().getId());
+        if (course.getTags() != null) course.getTags().forEach(tag -> tags.add(tag.getName()));
     }
 
     @Override
-    @Cacheable("courses-list")
+    @Cacheable(value = ListingCacheKeys.COURSES_LIST, key = "T(tech.zerofiltre.blog.infra.cache.ListingCacheKeys).of(#status, #authorId, #tag, #filter, #pageNumber, #pageSize)")
     public Page<Course> courseOf(int pageNumber, int pageSize, Status status, long authorId, FinderRequest.Filter filter, String tag) {
         org.springframework.data.domain.Page<CourseJPA> page;
 
@@ -86,19 +123,15 @@ public class DBCourseProvider implements CourseProvider {
             else
                 page = repository.findByStatusAndAuthorId(PageRequest.of(pageNumber, pageSize, Sort.Direction.DESC, publishedAtPropertyName), status, authorId);
         }
-        return pageMapper.fromSpringPage(page.map(courseJPA -> {
-            User author = new User();
-            Course course = mapper.fromJPALight(courseJPA);
-            String info = userRepository.findAuthorInfoByCourseId(courseJPA.getId());
-            String[] splitInfo = info.split(",");
-            author.setId(Long.parseLong(splitInfo[0]));
-            author.setFullName(splitInfo[1]);
-            author.setProfilePicture(splitInfo[2]);
-            course.setAuthor(author);
-            course.setLessonsCount(getLessonsCount(courseJPA.getId()));
-            course.setEnrolledCount(getEnrolledCount(courseJPA.getId()));
-            return course;
-        }));
+        fetchListingAssociations(page.getContent());
+        return pageMapper.fromSpringPage(page.map(mapper::fromJPALight));
+    }
+
+    private void fetchListingAssociations(List<CourseJPA> courses) {
+        if (courses.isEmpty()) return;
+        List<Long> courseIds = courses.stream().map(CourseJPA::getId).collect(Collectors.toList());
+        repository.fetchAuthorAndTags(courseIds);
+        repository.fetchReactions(courseIds);
     }
 
 
@@ -110,12 +143,12 @@ public class DBCourseProvider implements CourseProvider {
 
     @Override
     public int getEnrolledCount(long courseId) {
-        return repository.getEnrolledCount(courseId);
+        return repository.getEnrolledCount(courseId).map(Long::intValue).orElse(0);
     }
 
     @Override
     public int getLessonsCount(long courseId) {
-        return repository.getLessonsCount(courseId);
+        return repository.getLessonsCount(courseId).orElse(0);
     }
 
     @Override
@@ -11,11 +11,18 @@ import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
+import tech.zerofiltre.blog.domain.course.model.SuspendedEnrollment;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.sandbox.model.Sandbox;
 import tech.zerofiltre.blog.infra.providers.database.SpringPageMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.mapper.EnrollmentJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.model.EnrollmentJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.EnrollmentProgressJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.SuspendedEnrollmentJPA;
 
+import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -25,13 +32,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DBEnrollmentProvider implements EnrollmentProvider {
 
+    static final int SUSPEND_BATCH_SIZE = 500;
+
     private final EnrollmentJPARepository repository;
+    private final CourseJPARepository courseJPARepository;
     private final EnrollmentJPAMapper mapper = Mappers.getMapper(EnrollmentJPAMapper.class);
     private final SpringPageMapper<Enrollment> pageMapper = new SpringPageMapper<>();
 
     @Override
     public void delete(long userId, long courseId) {
-        repository.deleteByUserIdAndCourseId(userId, courseId);
+        long deleted = repository.deleteByUserIdAndCourseId(userId, courseId);
+        if (deleted > 0) courseJPARepository.addToEnrolledCount(courseId, -deleted);
     }
 
     @Override
@@ -77,18 +88,89 @@ public class DBEnrollmentProvider implements EnrollmentProvider {
     public Enrollment save(Enrollment enrollment) throws ZerofiltreException {
         try {
             EnrollmentJPA enrollmentJPA = mapper.toJPA(enrollment);
-            enrollmentJPA = repository.save(enrollmentJPA);
-            return mapper.fromJPA(enrollmentJPA);
+            boolean isNew = enrollmentJPA.getId() == 0;
+            Enrollment saved = mapper.fromJPA(repository.save(enrollmentJPA));
+            if (isNew) courseJPARepository.addToEnrolledCount(saved.getCourse().getId(), 1);
+            return saved;
         } catch (DataIntegrityViolationException e) {
             throw new ZerofiltreException("You are already enrolled", e);
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EnrollmentProgress> progressOf(long userId, long courseId) {
+        return repository.findActiveProgress(userId, courseId).map(this::toProgress);
+    }
+
+    @Override
+    public boolean saveProgress(EnrollmentProgress progress, long lessonId, boolean lessonCompleted, int readProgressVersion) {
+        int updated = repository.updateProgress(progress.getEnrollmentId(), mapper.toBytes(progress.getCompletedLessonsBitmap()),
+                progress.getCompletedCount(), progress.isCompleted(), readProgressVersion);
+        if (updated == 0) return false;
+        progress.setProgressVersion(readProgressVersion + 1);
+
+        if (lessonCompleted) repository.addCompletedLesson(progress.getEnrollmentId(), lessonId, LocalDateTime.now());
+        else repository.removeCompletedLesson(progress.getEnrollmentId(), lessonId);
+        return true;
+    }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAll(long userId, boolean forLife) {
+        return suspend(repository.findActiveToSuspendByUserId(userId, forLife));
+    }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyCourseId(long companyCourseId) {
+        return suspend(repository.findActiveToSuspendByCompanyCourseId(companyCourseId));
+    }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyUserId(long companyUserId) {
+        return suspend(repository.findActiveToSuspendByCompanyUserId(companyUserId));
+    }
+
+    private List<SuspendedEnrollment> suspend(List<SuspendedEnrollmentJPA> enrollments) {
+        LocalDateTime suspendedAt = LocalDateTime.now();
+        List<Long> ids = enrollments.stream().map(SuspendedEnrollmentJPA::getId).collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += SUSPEND_BATCH_SIZE) {
+            repository.suspendAll(ids.subList(from, Math.min(from + SUSPEND_BATCH_SIZE, ids.size())), suspendedAt);
+        }
+        return enrollments.stream()
+                .map(enrollment -> new SuspendedEnrollment(enrollment.getUserId(), enrollment.getUserFullName(), enrollment.getUserEmail(),
+                        enrollment.getCourseId(), sandboxType(enrollment.getCourseSandboxType())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Like the mapper does for a whole enrollment, a missing bitmap is rebuilt from the progress indexes of the completed lessons.
+     */
+    private EnrollmentProgress toProgress(EnrollmentProgressJPA progress) {
+        BitSet bitmap;
+        if (progress.getCompletedLessonsBitmap() != null) {
+            bitmap = mapper.toBitSet(progress.getCompletedLessonsBitmap());
+        } else {
+            bitmap = new BitSet();
+            repository.findCompletedProgressIndexes(progress.getId()).forEach(bitmap::set);
+        }
+        return new EnrollmentProgress(progress.getId(), progress.getCourseId(), bitmap, progress.getCompletedCount(), progress.getLessonsCount(),
+                progress.getCompleted(), progress.getProgressVersion());
+    }
+
+    private static Sandbox.Type sandboxType(String sandboxType) {
+        return sandboxType == null ? Sandbox.Type.NONE : Enum.valueOf(Sandbox.Type.class, sandboxType);
+    }
+
     @Override
     public boolean isCompleted(long userId, long courseId) {
         return repository.getCompletedByUserIdAndCourseId(userId, courseId);
     }
 
+    @Override
+    public boolean hasAnEnrollmentGrantingAccessTo(long userId, long courseId) {
+        return repository.countGrantingAccessTo(userId, courseId) > 0;
+    }
+
     @Override
     public void setCertificatePath(String certificatePath, long userId, long courseId) {
         repository.updateCertificatePathByUserIdAndCourseId(certificatePath, userId, courseId);
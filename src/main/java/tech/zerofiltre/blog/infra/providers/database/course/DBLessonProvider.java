@@ -2,16 +2,22 @@ package tech.zerofiltre.blog.infra.providers.database.course;
 
 import lombok.RequiredArgsConstructor;
 import org.mapstruct.factory.Mappers;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import tech.zerofiltre.blog.domain.course.LessonProvider;
 import tech.zerofiltre.blog.domain.course.model.Lesson;
+import tech.zerofiltre.blog.domain.course.model.LessonAccess;
+import tech.zerofiltre.blog.domain.course.model.LessonPosition;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent;
 import tech.zerofiltre.blog.infra.providers.database.course.mapper.LessonJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.model.LessonJPA;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @Transactional
@@ -20,6 +26,8 @@ public class DBLessonProvider implements LessonProvider {
 
     private final LessonJPARepository lessonJPARepository;
     private final EnrollmentJPARepository enrollmentJPARepository;
+    private final CourseJPARepository courseJPARepository;
+    private final ApplicationEventPublisher eventPublisher;
     LessonJPAMapper lessonJPAMapper = Mappers.getMapper(LessonJPAMapper.class);
 
     @Override
@@ -28,35 +36,81 @@ public class DBLessonProvider implements LessonProvider {
     }
 
     @Override
-    @CacheEvict(value = {"search-results"}, allEntries = true)
+    @Transactional(readOnly = true)
+    public Optional<LessonAccess> accessOf(long lessonId, long userId) {
+        return lessonJPARepository.findAccessOf(lessonId, userId)
+                .map(access -> new LessonAccess(lessonJPAMapper.fromJPA(access.getLesson()), access.getCourseStatus(),
+                        access.getAuthorId() == null ? 0 : access.getAuthorId(), access.getOwningCompanyId(), access.getActiveEnrollmentsCount() > 0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LessonPosition> positionOf(long lessonId) {
+        return lessonJPARepository.findPositionOf(lessonId)
+                .map(position -> new LessonPosition(position.getCourseId(), position.getProgressIndex()));
+    }
+
+    @Override
     public Lesson save(Lesson lesson) {
         LessonJPA lessonJPA = lessonJPAMapper.toJPA(lesson);
-        LessonJPA saved = lessonJPARepository.save(lessonJPA);
-        return lessonJPAMapper.fromJPA(saved);
+        Optional<Long> previousCourseId = courseIdOf(lesson);
+        Lesson saved = lessonJPAMapper.fromJPA(saveJPA(lessonJPA));
+        countedCourseIds(previousCourseId, courseIdOf(saved)).forEach(courseJPARepository::refreshLessonsCount);
+        eventPublisher.publishEvent(ContentChangedEvent.upsert(this, ContentChangedEvent.ContentType.LESSON, saved.getId()));
+        return saved;
     }
 
     @Override
-    @CacheEvict(value = {"search-results"}, allEntries = true)
     public void delete(Lesson lesson) {
-        enrollmentJPARepository.getAllByCompletedLessonsLesson(lessonJPAMapper.toJPA(lesson)).forEach(enrollmentJPA -> {
-            enrollmentJPA.getCompletedLessons().removeIf(completedLessonJPA -> completedLessonJPA.getLesson().getId() == lesson.getId());
-            enrollmentJPARepository.save(enrollmentJPA);
-        });
+        enrollmentJPARepository.forgetCompletedLesson(lesson.getId());
+        enrollmentJPARepository.removeCompletedLessons(lesson.getId());
         lessonJPARepository.delete(lessonJPAMapper.toJPA(lesson));
+        courseJPARepository.refreshLessonsCountByChapterId(lesson.getChapterId());
+        eventPublisher.publishEvent(ContentChangedEvent.delete(this, ContentChangedEvent.ContentType.LESSON, lesson.getId()));
     }
 
     @Override
-    public List<Long> listNotCompletedLessons(long enrollmentId) {
-        return lessonJPARepository.findAllLessonIdNotCompletedByCourseIdAndEnrollmentId(enrollmentId);
-    }
-
-    @Override
-    @CacheEvict(value = {"search-results"}, allEntries = true)
     public List<Lesson> saveAll(List<Lesson> lessons) {
         List<LessonJPA> lessonsJPA = lessonJPAMapper.toJPAs(lessons);
-        List<LessonJPA> savedLessonsJPA = lessonJPARepository.saveAll(lessonsJPA);
-        return lessonJPAMapper.fromJPAs(savedLessonsJPA);
+        List<Optional<Long>> previousCourseIds = lessons.stream().map(this::courseIdOf).collect(Collectors.toList());
+        List<Lesson> savedLessons = lessonJPAMapper.fromJPAs(lessonsJPA.stream().map(this::saveJPA).collect(Collectors.toList()));
+        Set<Long> countedCourseIds = new HashSet<>();
+        for (int i = 0; i < savedLessons.size(); i++) {
+            countedCourseIds.addAll(countedCourseIds(previousCourseIds.get(i), courseIdOf(savedLessons.get(i))));
+        }
+        countedCourseIds.forEach(courseJPARepository::refreshLessonsCount);
+        savedLessons.forEach(saved -> eventPublisher.publishEvent(ContentChangedEvent.upsert(this, ContentChangedEvent.ContentType.LESSON, saved.getId())));
+        return savedLessons;
+
+    }
+
+    /**
+     * A new lesson takes the next position in the progress of its course and keeps it when it is edited or moved, so the completed
+     * lessons bitmaps of the enrollments stay valid. A position is only given again once its lesson is deleted, which clears it from the bitmaps.
+     * The course row is locked until the lesson is saved, so that two lessons created at the same time do not take the same position.
+     */
+    private LessonJPA saveJPA(LessonJPA lessonJPA) {
+        if (lessonJPA.getId() == 0) {
+            long chapterId = lessonJPA.getChapter().getId();
+            courseJPARepository.lockByChapterId(chapterId);
+            lessonJPA.setProgressIndex(lessonJPARepository.nextProgressIndex(chapterId));
+        }
+        return lessonJPARepository.save(lessonJPA);
+    }
+
+    private Optional<Long> courseIdOf(Lesson lesson) {
+        return lesson.getId() == 0 ? Optional.empty() : lessonJPARepository.findCourseIdById(lesson.getId());
+    }
 
+    /**
+     * The courses whose lessons count changed with a save: the course of a new lesson, or both courses of a lesson moved to a chapter of another course.
+     */
+    private static Set<Long> countedCourseIds(Optional<Long> previousCourseId, Optional<Long> courseId) {
+        Set<Long> courseIds = new HashSet<>();
+        if (courseId.equals(previousCourseId)) return courseIds;
+        previousCourseId.ifPresent(courseIds::add);
+        courseId.ifPresent(courseIds::add);
+        return courseIds;
     }
 
 }
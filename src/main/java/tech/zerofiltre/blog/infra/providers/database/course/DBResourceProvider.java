@@ -2,6 +2,7 @@ package tech.zerofiltre.blog.infra.providers.database.course;
 
 import org.mapstruct.factory.*;
 import org.springframework.stereotype.*;
+import org.springframework.transaction.annotation.*;
 import tech.zerofiltre.blog.domain.course.*;
 import tech.zerofiltre.blog.domain.course.model.*;
 import tech.zerofiltre.blog.infra.providers.database.course.mapper.*;
@@ -12,10 +13,12 @@ import java.util.*;
 public class DBResourceProvider implements ResourceProvider {
 
     private final ResourceJPARepository resourceRepository;
+    private final CourseAccessGrants courseAccessGrants;
     private final ResourceJPAMapper resourceJPAMapper = Mappers.getMapper(ResourceJPAMapper.class);
 
-    public DBResourceProvider(ResourceJPARepository resourceRepository) {
+    public DBResourceProvider(ResourceJPARepository resourceRepository, CourseAccessGrants courseAccessGrants) {
         this.resourceRepository = resourceRepository;
+        this.courseAccessGrants = courseAccessGrants;
     }
 
     @Override
@@ -24,12 +27,17 @@ public class DBResourceProvider implements ResourceProvider {
     }
 
     @Override
+    @Transactional
     public Resource save(Resource resource) {
-        return resourceJPAMapper.fromJPA(resourceRepository.save(resourceJPAMapper.toJPA(resource)));
+        Resource saved = resourceJPAMapper.fromJPA(resourceRepository.save(resourceJPAMapper.toJPA(resource)));
+        courseAccessGrants.refresh(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public void delete(long resourceId) {
+        courseAccessGrants.revoke(resourceId);
         resourceRepository.deleteById(resourceId);
 
     }
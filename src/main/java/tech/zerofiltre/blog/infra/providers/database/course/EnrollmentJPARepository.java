@@ -6,24 +6,77 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.infra.providers.database.course.model.EnrollmentJPA;
-import tech.zerofiltre.blog.infra.providers.database.course.model.LessonJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.EnrollmentProgressJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.SuspendedEnrollmentJPA;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EnrollmentJPARepository extends JpaRepository<EnrollmentJPA, Long> {
 
+    String SELECT_ACTIVE_TO_SUSPEND = "select new tech.zerofiltre.blog.infra.providers.database.course.model.SuspendedEnrollmentJPA(" +
+            "e.id, u.id, u.fullName, u.email, c.id, c.sandboxType) from EnrollmentJPA e join e.user u join e.course c where e.active = true ";
+
     Optional<EnrollmentJPA> findByUserIdAndCourseIdAndActive(long userId, long courseId, boolean isActive);
 
     Page<EnrollmentJPA> findByUserIdAndActiveAndCompleted(Pageable pageable, long userId, boolean isActive, boolean isCompleted);
 
-    void deleteByUserIdAndCourseId(long userId, long courseId);
-
-    List<EnrollmentJPA> getAllByCompletedLessonsLesson(LessonJPA lessonJPA);
+    long deleteByUserIdAndCourseId(long userId, long courseId);
 
     @Query(value = "select completed from enrollment where user_id = ?1 and course_id = ?2", nativeQuery = true)
     boolean getCompletedByUserIdAndCourseId(long userId, long courseId);
 
+    @Query("select count(e) from EnrollmentJPA e, CourseAccessGrantJPA g " +
+            "where e.user.id = ?1 and e.active = true and e.completed = false " +
+            "and g.grantingCourseId = e.course.id and g.grantedCourseId = ?2")
+    long countGrantingAccessTo(long userId, long courseId);
+
+    @Query(SELECT_ACTIVE_TO_SUSPEND + "and e.completed = false and u.id = ?1 and e.forLife = ?2 and e.companyUserId = 0 and e.companyCourseId = 0")
+    List<SuspendedEnrollmentJPA> findActiveToSuspendByUserId(long userId, boolean forLife);
+
+    @Query(SELECT_ACTIVE_TO_SUSPEND + "and e.companyCourseId = ?1")
+    List<SuspendedEnrollmentJPA> findActiveToSuspendByCompanyCourseId(long companyCourseId);
+
+    @Query(SELECT_ACTIVE_TO_SUSPEND + "and e.companyUserId = ?1")
+    List<SuspendedEnrollmentJPA> findActiveToSuspendByCompanyUserId(long companyUserId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update EnrollmentJPA e set e.active = false, e.suspendedAt = ?2 where e.id in ?1 and e.active = true")
+    int suspendAll(Collection<Long> enrollmentIds, LocalDateTime suspendedAt);
+
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.course.model.EnrollmentProgressJPA(" +
+            "e.id, c.id, e.completedLessonsBitmap, e.completedCount, e.completed, e.progressVersion, c.lessonsCount) " +
+            "from EnrollmentJPA e join e.course c where e.user.id = ?1 and c.id = ?2 and e.active = true")
+    Optional<EnrollmentProgressJPA> findActiveProgress(long userId, long courseId);
+
+    @Query("select l.progressIndex from CompletedLessonJPA cl join cl.lesson l where cl.id.enrollmentId = ?1")
+    List<Integer> findCompletedProgressIndexes(long enrollmentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update EnrollmentJPA e set e.completedLessonsBitmap = ?2, e.completedCount = ?3, e.completed = ?4, e.progressVersion = e.progressVersion + 1 " +
+            "where e.id = ?1 and e.progressVersion = ?5")
+    int updateProgress(long enrollmentId, byte[] completedLessonsBitmap, int completedCount, boolean completed, int readProgressVersion);
+
+    @Modifying
+    @Query(value = "INSERT INTO enrollment_completed_lessons (enrollment_id, lesson_id, completed_at) VALUES (?1, ?2, ?3)", nativeQuery = true)
+    void addCompletedLesson(long enrollmentId, long lessonId, LocalDateTime completedAt);
+
+    @Modifying
+    @Query("delete from CompletedLessonJPA cl where cl.id.enrollmentId = ?1 and cl.id.lessonId = ?2")
+    void removeCompletedLesson(long enrollmentId, long lessonId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update EnrollmentJPA e set e.completedLessonsBitmap = null, e.completedCount = e.completedCount - 1, " +
+            "e.progressVersion = e.progressVersion + 1 " +
+            "where e.id in (select cl.id.enrollmentId from CompletedLessonJPA cl where cl.id.lessonId = ?1)")
+    int forgetCompletedLesson(long lessonId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CompletedLessonJPA cl where cl.id.lessonId = ?1")
+    int removeCompletedLessons(long lessonId);
+
     @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("update EnrollmentJPA set certificatePath=?1 where user.id=?2 and course.id=?3")
     void updateCertificatePathByUserIdAndCourseId(String certificatePath, long userId, long courseId);
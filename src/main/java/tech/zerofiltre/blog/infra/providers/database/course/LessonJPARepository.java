@@ -1,12 +1,18 @@
 package tech.zerofiltre.blog.infra.providers.database.course;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.domain.article.model.Status;
+import tech.zerofiltre.blog.infra.providers.database.course.model.LessonAccessJPA;
 import tech.zerofiltre.blog.infra.providers.database.course.model.LessonJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.LessonPositionJPA;
 import tech.zerofiltre.blog.infra.providers.database.course.model.LessonWithCourseIdJPA;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface LessonJPARepository extends JpaRepository<LessonJPA, Long> {
 
@@ -19,9 +25,41 @@ public interface LessonJPARepository extends JpaRepository<LessonJPA, Long> {
             "LOWER(l.summary) LIKE LOWER(CONCAT('%', :keyword, '%'))) ")
     List<LessonWithCourseIdJPA> findByKeyword(String keyword, Status status);
 
-    @Query(value = "SELECT l.id FROM lesson l " +
-            "JOIN chapter c ON c.id = l.chapter_id AND c.course_id = (SELECT erl.course_id FROM enrollment erl WHERE erl.id = ?1) " +
-            "LEFT JOIN enrollment_completed_lessons ecl ON ecl.enrollment_id = ?1 AND ecl.lesson_id = l.id " +
-            "WHERE ecl.lesson_id IS NULL", nativeQuery = true)
-    List<Long> findAllLessonIdNotCompletedByCourseIdAndEnrollmentId(long enrollmentId);
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.course.model.LessonWithCourseIdJPA(l, co.id) from LessonJPA l " +
+            "join ChapterJPA c on c.id=l.chapter.id " +
+            "join CourseJPA co on co.id = c.course.id " +
+            "where co.status= :status")
+    Slice<LessonWithCourseIdJPA> findIndexableByStatus(Status status, Pageable pageable);
+
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.course.model.LessonWithCourseIdJPA(l, co.id) from LessonJPA l " +
+            "join ChapterJPA c on c.id=l.chapter.id " +
+            "join CourseJPA co on co.id = c.course.id " +
+            "where co.status= :status and l.id in :lessonIds")
+    List<LessonWithCourseIdJPA> findIndexableByIds(Collection<Long> lessonIds, Status status);
+
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.course.model.LessonWithCourseIdJPA(l, co.id) from LessonJPA l " +
+            "join ChapterJPA c on c.id=l.chapter.id " +
+            "join CourseJPA co on co.id = c.course.id " +
+            "where co.status= :status and co.id in :courseIds")
+    List<LessonWithCourseIdJPA> findIndexableByCourseIds(Collection<Long> courseIds, Status status);
+
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.course.model.LessonAccessJPA(l, co.status, co.author.id, " +
+            "(select max(lc.companyId) from tech.zerofiltre.blog.infra.providers.database.company.model.LinkCompanyCourseJPA lc where lc.courseId = co.id and lc.exclusive = true), " +
+            "(select count(e) from EnrollmentJPA e where e.user.id = ?2 and e.course.id = co.id and e.active = true)) " +
+            "from LessonJPA l " +
+            "join ChapterJPA c on c.id = l.chapter.id " +
+            "join CourseJPA co on co.id = c.course.id " +
+            "where l.id = ?1")
+    Optional<LessonAccessJPA> findAccessOf(long lessonId, long userId);
+
+    @Query("select c.course.id from LessonJPA l join l.chapter c where l.id = ?1")
+    Optional<Long> findCourseIdById(long lessonId);
+
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.course.model.LessonPositionJPA(c.course.id, l.progressIndex) " +
+            "from LessonJPA l join l.chapter c where l.id = ?1")
+    Optional<LessonPositionJPA> findPositionOf(long lessonId);
+
+    @Query("select coalesce(max(l.progressIndex) + 1, 0) from LessonJPA l where l.chapter.course.id = " +
+            "(select c.course.id from ChapterJPA c where c.id = ?1)")
+    int nextProgressIndex(long chapterId);
 }
\ No newline at end of file
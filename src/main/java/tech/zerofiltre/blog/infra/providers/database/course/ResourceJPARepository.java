@@ -3,5 +3,11 @@ package tech.zerofiltre.blog.infra.providers.database.course;
 import org.springframework.data.jpa.repository.*;
 import tech.zerofiltre.blog.infra.providers.database.course.model.*;
 
+import java.util.*;
+
 public interface ResourceJPARepository extends JpaRepository<ResourceJPA, Long> {
+
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.course.model.ResourceWithCourseIdJPA(r, c.course.id) from ResourceJPA r " +
+            "join r.lesson l join l.chapter c where r.type = ?1")
+    List<ResourceWithCourseIdJPA> findAllWithCourseIdByType(String type);
 }
@@ -2,11 +2,13 @@ package tech.zerofiltre.blog.infra.providers.database.course.mapper;
 
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.sandbox.model.Sandbox;
+import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.infra.providers.database.article.mapper.ReactionCourseJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.article.mapper.TagJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.model.CourseJPA;
@@ -19,6 +21,8 @@ public abstract class CourseJPAMapper {
     private final TagJPAMapper tagJPAMapper = Mappers.getMapper(TagJPAMapper.class);
     private final ReactionCourseJPAMapper reactionMapper = Mappers.getMapper(ReactionCourseJPAMapper.class);
 
+    @Mapping(target = "enrolledCount", ignore = true)
+    @Mapping(target = "lessonsCount", ignore = true)
     public abstract CourseJPA toJPA(Course course);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -47,11 +51,19 @@ public abstract class CourseJPAMapper {
         }
         course.setTags(tagJPAMapper.fromJPA(courseJPA.getTags()));
         course.setEnrolledCount(courseJPA.getEnrolledCount());
+        course.setLessonsCount(courseJPA.getLessonsCount());
         course.setStatus(courseJPA.getStatus());
         course.setVideo(courseJPA.getVideo());
 
         course.setReactions(reactionMapper.fromJPAListLight(courseJPA.getReactions()));
         course.setMentored(courseJPA.isMentored());
+        if (courseJPA.getAuthor() != null) {
+            User author = new User();
+            author.setId(courseJPA.getAuthor().getId());
+            author.setFullName(courseJPA.getAuthor().getFullName());
+            author.setProfilePicture(courseJPA.getAuthor().getProfilePicture());
+            course.setAuthor(author);
+        }
 
         return course;
     }
@@ -5,6 +5,8 @@ import tech.zerofiltre.blog.domain.course.model.*;
 import tech.zerofiltre.blog.infra.providers.database.course.model.*;
 import tech.zerofiltre.blog.infra.providers.database.user.mapper.*;
 
+import java.util.BitSet;
+
 @Mapper(uses = {CourseJPAMapper.class, UserJPAMapper.class, LessonJPAMapper.class, CompletedLessonJPAMapper.class})
 public interface EnrollmentJPAMapper {
 
@@ -12,4 +14,23 @@ public interface EnrollmentJPAMapper {
 
     Enrollment fromJPA(EnrollmentJPA enrollmentJPA);
 
+    default byte[] toBytes(BitSet bitmap) {
+        return bitmap == null ? null : bitmap.toByteArray();
+    }
+
+    default BitSet toBitSet(byte[] bitmap) {
+        return bitmap == null ? new BitSet() : BitSet.valueOf(bitmap);
+    }
+
+    /**
+     * The enrollments without a stored progress bitmap, not saved since it exists or reset by a lesson deletion, get it from their completed lessons.
+     */
+    @AfterMapping
+    default void deriveCompletedLessonsBitmap(EnrollmentJPA enrollmentJPA, @MappingTarget Enrollment enrollment) {
+        if (enrollmentJPA.getCompletedLessonsBitmap() != null || enrollmentJPA.getCompletedLessons() == null) return;
+        BitSet bitmap = new BitSet();
+        enrollmentJPA.getCompletedLessons().forEach(completedLesson -> bitmap.set(completedLesson.getLesson().getProgressIndex()));
+        enrollment.setCompletedLessonsBitmap(bitmap);
+    }
+
 }
@@ -0,0 +1,25 @@
+package tech.zerofiltre.blog.infra.providers.database.course.model;
+
+import lombok.*;
+import tech.zerofiltre.blog.infra.providers.database.BaseEntityJPA;
+
+import javax.persistence.*;
+
+/**
+ * A course that grants access to another one because one of its lessons holds a resource linking to it.
+ */
+@Entity
+@Table(name = "course_access_grant",
+        uniqueConstraints = @UniqueConstraint(name = "uk_course_access_grant_resource", columnNames = "resourceId"),
+        indexes = @Index(name = "idx_course_access_grant_granted_granting", columnList = "grantedCourseId, grantingCourseId"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class CourseAccessGrantJPA extends BaseEntityJPA {
+
+    private long resourceId;
+    private long grantingCourseId;
+    private long grantedCourseId;
+}
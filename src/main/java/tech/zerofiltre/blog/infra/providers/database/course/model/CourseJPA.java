@@ -32,7 +32,10 @@ public class CourseJPA extends BaseEntityJPA {
             inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
     private Set<TagJPA> tags;
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
     private long enrolledCount;
+    @Column(insertable = false, updatable = false, columnDefinition = "int default 0 not null")
+    private int lessonsCount;
     private String title;
     private Status status;
     private LocalDateTime createdAt;
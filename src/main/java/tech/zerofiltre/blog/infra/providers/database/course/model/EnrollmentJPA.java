@@ -39,5 +39,12 @@ public class EnrollmentJPA extends BaseEntityJPA {
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "enrollment", orphanRemoval = true)
     private Set<CompletedLessonJPA> completedLessons;
 
+    @Column(updatable = false)
+    private int completedCount;
+    @Column(updatable = false)
+    private int progressVersion;
+    @Column(length = 512, updatable = false)
+    private byte[] completedLessonsBitmap;
+
 
 }
@@ -0,0 +1,21 @@
+package tech.zerofiltre.blog.infra.providers.database.course.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnrollmentProgressJPA {
+    private Long id;
+    private Long courseId;
+    private byte[] completedLessonsBitmap;
+    private Integer completedCount;
+    private Boolean completed;
+    private Integer progressVersion;
+    private Integer lessonsCount;
+}
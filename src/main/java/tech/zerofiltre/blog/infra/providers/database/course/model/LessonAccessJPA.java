@@ -0,0 +1,20 @@
+package tech.zerofiltre.blog.infra.providers.database.course.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import tech.zerofiltre.blog.domain.article.model.Status;
+
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LessonAccessJPA {
+    private LessonJPA lesson;
+    private Status courseStatus;
+    private Long authorId;
+    private Long owningCompanyId;
+    private Long activeEnrollmentsCount;
+}
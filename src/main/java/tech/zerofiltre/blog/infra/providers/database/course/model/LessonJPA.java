@@ -32,6 +32,9 @@ public class LessonJPA extends BaseEntityJPA {
 
     private int number;
 
+    @Column(updatable = false)
+    private int progressIndex;
+
     @OrderBy("name ASC")
     @OneToMany(mappedBy = "lesson")
     private Set<ResourceJPA> resources;
@@ -0,0 +1,20 @@
+package tech.zerofiltre.blog.infra.providers.database.course.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuspendedEnrollmentJPA {
+    private Long id;
+    private Long userId;
+    private String userFullName;
+    private String userEmail;
+    private Long courseId;
+    private String courseSandboxType;
+}
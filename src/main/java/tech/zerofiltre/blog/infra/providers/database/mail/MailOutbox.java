@@ -0,0 +1,102 @@
+package tech.zerofiltre.blog.infra.providers.database.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emails waiting to be sent. They are written in the transaction of the caller, so an email is sent if and only if
+ * the change that triggered it is committed, and the caller does not wait for the SMTP server.
+ * Several instances may drain the outbox: an email is only sent by the instance whose claim updated it.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class MailOutbox {
+
+    private final MailOutboxJPARepository repository;
+
+    /**
+     * @return false when an email with the same idempotency key was already queued, in which case nothing is queued
+     */
+    public boolean enqueue(MailOutboxJPA mail) {
+        if (repository.existsByIdempotencyKey(mail.getIdempotencyKey())) return false;
+        LocalDateTime now = LocalDateTime.now();
+        mail.setStatus(Status.PENDING);
+        mail.setCreatedAt(now);
+        mail.setNextAttemptAt(now);
+        repository.save(mail);
+        return true;
+    }
+
+    /**
+     * Queues an email keyed by the event it is about in a transaction of its own: when the same event is handled concurrently,
+     * the duplicate is rejected by the unique idempotency key with a DataIntegrityViolationException that does not roll back the caller.
+     * Such an email is queued even if the caller rolls back afterwards.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean enqueueOnce(MailOutboxJPA mail) {
+        return enqueue(mail);
+    }
+
+    /**
+     * Claims up to limit emails that are due, or whose previous claim is older than staleBefore because its instance died.
+     */
+    public List<MailOutboxJPA> claimDue(int limit, LocalDateTime staleBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxJPA> claimed = new ArrayList<>();
+        for (MailOutboxJPA mail : repository.findDue(now, staleBefore, Status.PENDING, Status.SENDING, PageRequest.of(0, limit))) {
+            if (repository.claim(mail.getId(), now, staleBefore, Status.PENDING, Status.SENDING) == 1) {
+                mail.setStatus(Status.SENDING);
+                mail.setClaimedAt(now);
+                claimed.add(mail);
+            }
+        }
+        return claimed;
+    }
+
+    public void markSent(long mailId) {
+        repository.findById(mailId).ifPresent(mail -> {
+            mail.setStatus(Status.SENT);
+            mail.setSentAt(LocalDateTime.now());
+            mail.setLastError(null);
+        });
+    }
+
+    public void retry(long mailId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        repository.findById(mailId).ifPresent(mail -> {
+            mail.setStatus(Status.PENDING);
+            mail.setAttempts(attempts);
+            mail.setNextAttemptAt(nextAttemptAt);
+            mail.setLastError(error);
+        });
+    }
+
+    public void markDead(long mailId, int attempts, String error) {
+        repository.findById(mailId).ifPresent(mail -> {
+            mail.setStatus(Status.DEAD);
+            mail.setAttempts(attempts);
+            mail.setLastError(error);
+        });
+    }
+
+    /**
+     * Sent emails are only kept to recognize a duplicate, the dead ones are kept until they are looked at.
+     */
+    public int purgeSentBefore(LocalDateTime sentBefore) {
+        return repository.deleteSentBefore(Status.SENT, sentBefore);
+    }
+
+    @Transactional(readOnly = true)
+    public long pendingCount() {
+        return repository.countByStatus(Status.PENDING);
+    }
+}
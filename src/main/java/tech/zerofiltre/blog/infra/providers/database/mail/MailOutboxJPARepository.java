@@ -0,0 +1,32 @@
+package tech.zerofiltre.blog.infra.providers.database.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MailOutboxJPARepository extends JpaRepository<MailOutboxJPA, Long> {
+
+    boolean existsByIdempotencyKey(String idempotencyKey);
+
+    @Query("SELECT m FROM MailOutboxJPA m " +
+            "WHERE (m.status = ?3 AND m.nextAttemptAt <= ?1) OR (m.status = ?4 AND m.claimedAt < ?2) " +
+            "ORDER BY m.nextAttemptAt ASC")
+    List<MailOutboxJPA> findDue(LocalDateTime now, LocalDateTime staleBefore, Status pending, Status sending, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MailOutboxJPA m SET m.status = ?5, m.claimedAt = ?2 " +
+            "WHERE m.id = ?1 AND ((m.status = ?4 AND m.nextAttemptAt <= ?2) OR (m.status = ?5 AND m.claimedAt < ?3))")
+    int claim(long id, LocalDateTime now, LocalDateTime staleBefore, Status pending, Status sending);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MailOutboxJPA m WHERE m.status = ?1 AND m.sentAt < ?2")
+    int deleteSentBefore(Status sent, LocalDateTime sentBefore);
+
+    long countByStatus(Status status);
+}
@@ -0,0 +1,58 @@
+package tech.zerofiltre.blog.infra.providers.database.mail.model;
+
+import lombok.*;
+import tech.zerofiltre.blog.infra.providers.database.BaseEntityJPA;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_mail_outbox_status_sent_at", columnList = "status, sentAt")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_mail_outbox_idempotency_key", columnNames = "idempotencyKey"))
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class MailOutboxJPA extends BaseEntityJPA {
+
+    public static final String ADDRESS_SEPARATOR = ",";
+
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(length = 4000)
+    private String recipients;
+
+    @Column(length = 4000)
+    private String ccs;
+
+    @Column(length = 4000)
+    private String bccs;
+
+    @Column(length = 1000)
+    private String subject;
+
+    @Lob
+    private String content;
+
+    private String replyTo;
+
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime claimedAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING, SENDING, SENT, DEAD
+    }
+}
@@ -4,12 +4,14 @@ import org.mapstruct.factory.Mappers;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import tech.zerofiltre.blog.domain.payment.model.Payment;
+import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.infra.providers.database.payment.mapper.PaymentJPAMapper;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-import static tech.zerofiltre.blog.domain.payment.model.Payment.COMPLETED;
+import static tech.zerofiltre.blog.domain.payment.model.Payment.*;
 
 @Component
 @Transactional
@@ -32,8 +34,22 @@ public class DBNotchPayProvider {
         return mapper.fromJPA(paymentJPARepository.save(mapper.toJPA(payment)));
     }
 
-    public List<Payment> payments() {
-        return mapper.fromJPA(paymentJPARepository.findByStatus(COMPLETED));
+    /**
+     * The completed payments of the PRO users whose subscription is due to renew between the given dates,
+     * none of their payments renewing after the end date. The start date bounds the payments read to the recent ones.
+     */
+    public List<Payment> dueRenewals(LocalDateTime renewingFrom, LocalDateTime renewingBefore) {
+        return mapper.fromJPA(paymentJPARepository.findDueRenewals(COMPLETED, User.Plan.PRO.name(),
+                renewingBefore.minusDays(DAYS_IN_MONTH), renewingBefore.minusDays(DAYS_IN_YEAR),
+                renewingFrom.minusDays(DAYS_IN_MONTH), renewingFrom.minusDays(DAYS_IN_YEAR)));
+    }
+
+    /**
+     * The completed payments of the PRO users whose subscription came due before the given date, none of their payments renewing after it.
+     */
+    public List<Payment> overdueRenewals(LocalDateTime renewedBefore) {
+        return mapper.fromJPA(paymentJPARepository.findOverdueRenewals(COMPLETED, User.Plan.PRO.name(),
+                renewedBefore.minusDays(DAYS_IN_MONTH), renewedBefore.minusDays(DAYS_IN_YEAR)));
     }
 
     public void delete(String status, long userId) {
@@ -1,15 +1,28 @@
 package tech.zerofiltre.blog.infra.providers.database.payment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.infra.providers.database.payment.model.PaymentJPA;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface PaymentJPARepository extends JpaRepository<PaymentJPA, Long> {
     Optional<PaymentJPA> findByReference(String reference);
 
-    List<PaymentJPA> findByStatus(String status);
-
     void deleteByStatusAndUserId(String status, long userId);
+
+    @Query("select p from PaymentJPA p join fetch p.user u where p.status = ?1 and u.plan = ?2 " +
+            "and ((p.recurringInterval = 'month' and p.at >= ?5 and p.at < ?3) or (p.recurringInterval = 'year' and p.at >= ?6 and p.at < ?4)) " +
+            "and not exists (select v.id from PaymentJPA v where v.user = u and v.status = ?1 " +
+            "and ((v.recurringInterval = 'month' and v.at >= ?3) or (v.recurringInterval = 'year' and v.at >= ?4)))")
+    List<PaymentJPA> findDueRenewals(String status, String plan, LocalDateTime monthlyPaidBefore, LocalDateTime yearlyPaidBefore,
+                                     LocalDateTime monthlyPaidAfter, LocalDateTime yearlyPaidAfter);
+
+    @Query("select p from PaymentJPA p join fetch p.user u where p.status = ?1 and u.plan = ?2 " +
+            "and ((p.recurringInterval = 'month' and p.at < ?3) or (p.recurringInterval = 'year' and p.at < ?4)) " +
+            "and not exists (select v.id from PaymentJPA v where v.user = u and v.status = ?1 " +
+            "and ((v.recurringInterval = 'month' and v.at >= ?3) or (v.recurringInterval = 'year' and v.at >= ?4)))")
+    List<PaymentJPA> findOverdueRenewals(String status, String plan, LocalDateTime monthlyPaidBefore, LocalDateTime yearlyPaidBefore);
 }
@@ -0,0 +1,13 @@
+package tech.zerofiltre.blog.infra.providers.database.payment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import tech.zerofiltre.blog.infra.providers.database.payment.model.RenewalReminderJPA;
+
+import java.time.LocalDateTime;
+
+public interface RenewalReminderJPARepository extends JpaRepository<RenewalReminderJPA, Long> {
+
+    boolean existsByUserIdAndRenewAtAndDaysBeforeRenewal(long userId, LocalDateTime renewAt, long daysBeforeRenewal);
+
+    long deleteByUserIdAndRenewAtAndDaysBeforeRenewal(long userId, LocalDateTime renewAt, long daysBeforeRenewal);
+}
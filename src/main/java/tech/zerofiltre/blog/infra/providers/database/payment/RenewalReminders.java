@@ -0,0 +1,43 @@
+package tech.zerofiltre.blog.infra.providers.database.payment;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.payment.model.RenewalReminderJPA;
+
+import java.time.LocalDateTime;
+
+/**
+ * The renewal reminders sent to the users, one per renewal date and number of days before it,
+ * so that the reminder runs, on any instance, never send the same one twice.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class RenewalReminders {
+
+    private final RenewalReminderJPARepository repository;
+
+    /**
+     * Records the reminder before it is sent.
+     *
+     * @return false when it was recorded already
+     * @throws DataIntegrityViolationException when another instance recorded it concurrently
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean record(long userId, LocalDateTime renewAt, long daysBeforeRenewal) {
+        if (repository.existsByUserIdAndRenewAtAndDaysBeforeRenewal(userId, renewAt, daysBeforeRenewal)) return false;
+        repository.saveAndFlush(new RenewalReminderJPA(userId, renewAt, daysBeforeRenewal, LocalDateTime.now()));
+        return true;
+    }
+
+    /**
+     * Forgets the reminder that could not be sent, for the next run to send it.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(long userId, LocalDateTime renewAt, long daysBeforeRenewal) {
+        repository.deleteByUserIdAndRenewAtAndDaysBeforeRenewal(userId, renewAt, daysBeforeRenewal);
+    }
+}
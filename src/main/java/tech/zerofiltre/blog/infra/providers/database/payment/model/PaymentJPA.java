@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "payment", uniqueConstraints = {@UniqueConstraint(name = "UniquePaymentPerReference", columnNames = {"reference"})})
+@Table(name = "payment", uniqueConstraints = {@UniqueConstraint(name = "UniquePaymentPerReference", columnNames = {"reference"})},
+        indexes = @Index(name = "idx_payment_status_at_interval", columnList = "status, at, recurringInterval"))
 @EqualsAndHashCode(callSuper = true)
 public class PaymentJPA extends BaseEntityJPA {
     @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.REFRESH)
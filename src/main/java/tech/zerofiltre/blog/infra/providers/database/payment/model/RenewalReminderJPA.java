@@ -0,0 +1,32 @@
+package tech.zerofiltre.blog.infra.providers.database.payment.model;
+
+import lombok.*;
+import tech.zerofiltre.blog.infra.providers.database.BaseEntityJPA;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "renewal_reminder", uniqueConstraints = @UniqueConstraint(name = "uk_renewal_reminder_user_renew_at_days",
+        columnNames = {"userId", "renewAt", "daysBeforeRenewal"}))
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class RenewalReminderJPA extends BaseEntityJPA {
+
+    private long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime renewAt;
+
+    private long daysBeforeRenewal;
+    private LocalDateTime sentAt;
+
+    public RenewalReminderJPA(long userId, LocalDateTime renewAt, long daysBeforeRenewal, LocalDateTime sentAt) {
+        this.userId = userId;
+        this.renewAt = renewAt;
+        this.daysBeforeRenewal = daysBeforeRenewal;
+        this.sentAt = sentAt;
+    }
+}
@@ -9,6 +9,7 @@ import tech.zerofiltre.blog.domain.purchase.PurchaseProvider;
 import tech.zerofiltre.blog.domain.purchase.model.Purchase;
 import tech.zerofiltre.blog.infra.providers.database.purchase.mapper.PurchaseJPAMapper;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Component
@@ -25,6 +26,11 @@ public class DBPurchaseProvider implements PurchaseProvider {
         repository.deleteByUserIdAndCourseId(userId, courseId);
     }
 
+    @Override
+    public void deleteAll(long userId, Collection<Long> courseIds) {
+        if (!courseIds.isEmpty()) repository.deleteAllByUserIdAndCourseIds(userId, courseIds);
+    }
+
 
     @Override
     public Optional<Purchase> purchaseOf(long userId, long courseId) {
@@ -1,12 +1,19 @@
 package tech.zerofiltre.blog.infra.providers.database.purchase;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.infra.providers.database.purchase.model.PurchaseJPA;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface PurchaseJPARepository extends JpaRepository<PurchaseJPA, Long> {
     Optional<PurchaseJPA> findByUserIdAndCourseId(long userId, long courseId);
 
     void deleteByUserIdAndCourseId(long userId, long courseId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from PurchaseJPA p where p.user.id = ?1 and p.course.id in ?2")
+    int deleteAllByUserIdAndCourseIds(long userId, Collection<Long> courseIds);
 }
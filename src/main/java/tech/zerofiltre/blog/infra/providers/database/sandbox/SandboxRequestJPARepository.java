@@ -0,0 +1,37 @@
+package tech.zerofiltre.blog.infra.providers.database.sandbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Status;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SandboxRequestJPARepository extends JpaRepository<SandboxRequestJPA, Long> {
+
+    List<SandboxRequestJPA> findByEmailAndStatusInOrderByIdAsc(String email, Collection<Status> statuses);
+
+    @Query("SELECT r FROM SandboxRequestJPA r " +
+            "WHERE (r.status = ?3 AND r.nextAttemptAt <= ?1 " +
+            "AND NOT EXISTS (SELECT o.id FROM SandboxRequestJPA o WHERE o.email = r.email AND o.status = ?4)) " +
+            "OR (r.status = ?4 AND r.claimedAt < ?2) " +
+            "ORDER BY r.nextAttemptAt ASC")
+    List<SandboxRequestJPA> findDue(LocalDateTime now, LocalDateTime staleBefore, Status pending, Status inProgress, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SandboxRequestJPA r SET r.status = ?5, r.claimedAt = ?2, r.pendingEmail = null, r.claimCount = r.claimCount + 1 " +
+            "WHERE r.id = ?1 AND r.claimCount = ?6 AND ((r.status = ?4 AND r.nextAttemptAt <= ?2) OR (r.status = ?5 AND r.claimedAt < ?3))")
+    int claim(long id, LocalDateTime now, LocalDateTime staleBefore, Status pending, Status inProgress, int claimCount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SandboxRequestJPA r WHERE r.id = ?1 AND r.status = ?2 AND r.claimCount = ?3")
+    int deleteClaimed(long id, Status inProgress, int claimCount);
+
+    boolean existsByPendingEmail(String email);
+
+    long countByStatus(Status status);
+}
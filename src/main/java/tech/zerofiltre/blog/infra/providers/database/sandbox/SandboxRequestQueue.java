@@ -0,0 +1,115 @@
+package tech.zerofiltre.blog.infra.providers.database.sandbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Operation;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable queue of the sandbox creations and deletions to send to the provisioner.
+ * Requests stay in the table until they succeed, so they survive restarts, and several instances may poll it:
+ * a request is only processed by the instance whose claim updated it, and only once no other request of the same user is running.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class SandboxRequestQueue {
+
+    private final SandboxRequestJPARepository repository;
+
+    /**
+     * Only the latest intent per email is kept: a request equal to the one pending or running is dropped,
+     * a request reversing the pending one replaces it.
+     * Runs in its own transaction, so that a concurrent request of the same user, rejected by the unique pending email,
+     * does not roll back the caller: enqueueing again then merges with the request that won.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueue(Operation operation, String fullName, String email) {
+        List<SandboxRequestJPA> open = repository.findByEmailAndStatusInOrderByIdAsc(email, EnumSet.of(Status.PENDING, Status.IN_PROGRESS));
+        Optional<SandboxRequestJPA> running = open.stream().filter(request -> Status.IN_PROGRESS == request.getStatus()).reduce((first, last) -> last);
+        Optional<SandboxRequestJPA> pending = open.stream().filter(request -> Status.PENDING == request.getStatus()).reduce((first, last) -> last);
+
+        if (pending.isPresent()) {
+            SandboxRequestJPA request = pending.get();
+            if (operation == request.getOperation()) return;
+            if (running.isPresent() && operation == running.get().getOperation()) {
+                repository.delete(request);
+                return;
+            }
+            request.setOperation(operation);
+            request.setFullName(fullName);
+            request.setAttempts(0);
+            request.setNextAttemptAt(LocalDateTime.now());
+            request.setLastError(null);
+            return;
+        }
+        if (running.isPresent() && operation == running.get().getOperation()) return;
+        repository.save(new SandboxRequestJPA(operation, fullName, email, LocalDateTime.now()));
+    }
+
+    /**
+     * Claims up to limit requests that are due, or whose previous claim is older than staleBefore because its instance died.
+     */
+    public List<SandboxRequestJPA> claimDue(int limit, LocalDateTime staleBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SandboxRequestJPA> claimed = new ArrayList<>();
+        for (SandboxRequestJPA request : repository.findDue(now, staleBefore, Status.PENDING, Status.IN_PROGRESS, PageRequest.of(0, limit))) {
+            if (repository.claim(request.getId(), now, staleBefore, Status.PENDING, Status.IN_PROGRESS, request.getClaimCount()) == 1) {
+                request.setStatus(Status.IN_PROGRESS);
+                request.setClaimedAt(now);
+                request.setClaimCount(request.getClaimCount() + 1);
+                claimed.add(request);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Removes the request if it is still held by this claim.
+     * Returns false when the claim went stale and another instance claimed the request again, or already completed it:
+     * that instance then reports the outcome.
+     */
+    public boolean complete(SandboxRequestJPA request) {
+        return repository.deleteClaimed(request.getId(), Status.IN_PROGRESS, request.getClaimCount()) == 1;
+    }
+
+    /**
+     * A request of the same user queued while this one was running is a later intent, which supersedes the retry.
+     */
+    public void retry(long requestId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        repository.findById(requestId).ifPresent(request -> {
+            if (repository.existsByPendingEmail(request.getEmail())) {
+                repository.delete(request);
+                return;
+            }
+            request.setStatus(Status.PENDING);
+            request.setPendingEmail(request.getEmail());
+            request.setAttempts(attempts);
+            request.setNextAttemptAt(nextAttemptAt);
+            request.setLastError(error);
+        });
+    }
+
+    public void fail(long requestId, int attempts, String error) {
+        repository.findById(requestId).ifPresent(request -> {
+            request.setStatus(Status.FAILED);
+            request.setAttempts(attempts);
+            request.setLastError(error);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public long pendingCount() {
+        return repository.countByStatus(Status.PENDING);
+    }
+}
@@ -0,0 +1,68 @@
+package tech.zerofiltre.blog.infra.providers.database.sandbox.model;
+
+import lombok.*;
+import tech.zerofiltre.blog.infra.providers.database.BaseEntityJPA;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sandbox_request", uniqueConstraints = @UniqueConstraint(name = "uk_sandbox_request_pending_email", columnNames = "pendingEmail"), indexes = {
+        @Index(name = "idx_sandbox_request_status_next_attempt", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_sandbox_request_email", columnList = "email")
+})
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class SandboxRequestJPA extends BaseEntityJPA {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Operation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private String fullName;
+
+    @Column(nullable = false)
+    private String email;
+
+    /**
+     * The email while the request is pending, null otherwise, so that a user has at most one pending request.
+     */
+    private String pendingEmail;
+
+    private int attempts;
+
+    /**
+     * Incremented by each claim, so that only the instance holding the latest claim completes the request.
+     */
+    private int claimCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime claimedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public SandboxRequestJPA(Operation operation, String fullName, String email, LocalDateTime now) {
+        this.operation = operation;
+        this.status = Status.PENDING;
+        this.fullName = fullName;
+        this.email = email;
+        this.pendingEmail = email;
+        this.createdAt = now;
+        this.nextAttemptAt = now;
+    }
+
+    public enum Operation {
+        CREATE, DESTROY
+    }
+
+    public enum Status {
+        PENDING, IN_PROGRESS, FAILED
+    }
+}
@@ -30,6 +30,9 @@ public class DBSearchProvider implements SearchProvider {
     private final SearchResultJpaMapper mapper;
 
 
+    /**
+     * Scans the contents, so the results are cached: nothing evicts them, they expire after a short ttl instead.
+     */
     @Override
     @Cacheable(value = "search-results", key = "#keyword")
     public SearchResult search(String keyword) {
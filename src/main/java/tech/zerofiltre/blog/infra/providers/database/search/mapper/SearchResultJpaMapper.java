@@ -31,30 +31,39 @@ public class SearchResultJpaMapper {
         SearchResult result = new SearchResult();
         for (ArticleJPA articleJPA : foundArticles) {
             if (result.getArticles() == null) result.setArticles(new ArrayList<>());
-            SearchResult.ArticleSearchResult articleSearchResult = new SearchResult.ArticleSearchResult();
-            articleSearchResult.setId(articleJPA.getId());
-            articleSearchResult.setTitle(articleJPA.getTitle());
-            articleSearchResult.setSummary(articleJPA.getSummary());
-            result.getArticles().add(articleSearchResult);
+            result.getArticles().add(fromJPA(articleJPA));
         }
         for (CourseJPA courseJPA : foundCourses) {
             if (result.getCourses() == null) result.setCourses(new ArrayList<>());
-            SearchResult.CourseSearchResult courseSearchResult = new SearchResult.CourseSearchResult();
-            courseSearchResult.setId(courseJPA.getId());
-            courseSearchResult.setTitle(courseJPA.getTitle());
-            courseSearchResult.setSummary(courseJPA.getSummary());
-            result.getCourses().add(courseSearchResult);
+            result.getCourses().add(fromJPA(courseJPA));
         }
         for (LessonWithCourseIdJPA lessonWithCourseIdJPA : foundLessons) {
-            long courseId = lessonWithCourseIdJPA.getCourseId();
-            LessonJPA lessonJPA = lessonWithCourseIdJPA.getLesson();
             if (result.getLessons() == null) result.setLessons(new ArrayList<>());
-            SearchResult.LessonSearchResult lessonSearchResult = getLessonSearchResult(lessonJPA, courseId);
-            result.getLessons().add(lessonSearchResult);
+            result.getLessons().add(fromJPA(lessonWithCourseIdJPA));
         }
         return result;
     }
 
+    public SearchResult.ArticleSearchResult fromJPA(ArticleJPA articleJPA) {
+        SearchResult.ArticleSearchResult articleSearchResult = new SearchResult.ArticleSearchResult();
+        articleSearchResult.setId(articleJPA.getId());
+        articleSearchResult.setTitle(articleJPA.getTitle());
+        articleSearchResult.setSummary(articleJPA.getSummary());
+        return articleSearchResult;
+    }
+
+    public SearchResult.CourseSearchResult fromJPA(CourseJPA courseJPA) {
+        SearchResult.CourseSearchResult courseSearchResult = new SearchResult.CourseSearchResult();
+        courseSearchResult.setId(courseJPA.getId());
+        courseSearchResult.setTitle(courseJPA.getTitle());
+        courseSearchResult.setSummary(courseJPA.getSummary());
+        return courseSearchResult;
+    }
+
+    public SearchResult.LessonSearchResult fromJPA(LessonWithCourseIdJPA lessonWithCourseIdJPA) {
+        return getLessonSearchResult(lessonWithCourseIdJPA.getLesson(), lessonWithCourseIdJPA.getCourseId());
+    }
+
     public List<UserSearchResult> fromJPAs(List<UserSearchResultJPA> userSearchResult) {
         return userSearchResult.stream().map(userSearchResultJPA -> {
             UserSearchResult result = new UserSearchResult();
@@ -0,0 +1,36 @@
+package tech.zerofiltre.blog.infra.providers.database.task;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import tech.zerofiltre.blog.infra.providers.database.task.model.DelayedTaskJPA;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface DelayedTaskJPARepository extends JpaRepository<DelayedTaskJPA, Long> {
+
+    Optional<DelayedTaskJPA> findByTypeAndTaskKey(String type, String taskKey);
+
+    @Query("SELECT t FROM DelayedTaskJPA t WHERE t.dueAt <= ?1 AND (t.claimedAt IS NULL OR t.claimedAt < ?2) ORDER BY t.dueAt ASC")
+    List<DelayedTaskJPA> findDueBefore(LocalDateTime dueBefore, LocalDateTime staleBefore, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DelayedTaskJPA t SET t.claimedAt = ?2, t.attempts = t.attempts + 1 " +
+            "WHERE t.id = ?1 AND t.dueAt <= ?2 AND (t.claimedAt IS NULL OR t.claimedAt < ?3)")
+    int claim(long id, LocalDateTime now, LocalDateTime staleBefore);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DelayedTaskJPA t SET t.claimedAt = NULL, t.dueAt = ?3 WHERE t.id = ?1 AND t.claimedAt = ?2")
+    int release(long id, LocalDateTime claimedAt, LocalDateTime dueAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DelayedTaskJPA t WHERE t.id = ?1 AND t.claimedAt = ?2")
+    int deleteClaimed(long id, LocalDateTime claimedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DelayedTaskJPA t WHERE t.type = ?1 AND t.taskKey = ?2")
+    int deleteByTypeAndTaskKey(String type, String taskKey);
+}
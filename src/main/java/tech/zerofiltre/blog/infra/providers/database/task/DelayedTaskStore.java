@@ -0,0 +1,55 @@
+package tech.zerofiltre.blog.infra.providers.database.task;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.task.model.DelayedTaskJPA;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable storage of the delayed tasks. There is at most one task per type and key: scheduling it again moves it.
+ * A task is run by whoever claims it, and only removed by that claim, so a task moved while it runs is kept.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class DelayedTaskStore {
+
+    private final DelayedTaskJPARepository repository;
+
+    public DelayedTaskJPA schedule(String type, String key, String payload, LocalDateTime dueAt) {
+        DelayedTaskJPA task = repository.findByTypeAndTaskKey(type, key)
+                .orElseGet(() -> new DelayedTaskJPA(type, key, payload, dueAt));
+        task.setPayload(payload);
+        task.setDueAt(dueAt);
+        task.setClaimedAt(null);
+        task.setAttempts(0);
+        return repository.save(task);
+    }
+
+    public boolean cancel(String type, String key) {
+        return repository.deleteByTypeAndTaskKey(type, key) > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DelayedTaskJPA> dueBefore(LocalDateTime dueBefore, LocalDateTime staleBefore, int limit) {
+        return repository.findDueBefore(dueBefore, staleBefore, PageRequest.of(0, limit));
+    }
+
+    public Optional<DelayedTaskJPA> claim(long id, LocalDateTime now, LocalDateTime staleBefore) {
+        if (repository.claim(id, now, staleBefore) == 0) return Optional.empty();
+        return repository.findById(id);
+    }
+
+    public void complete(DelayedTaskJPA claimed) {
+        repository.deleteClaimed(claimed.getId(), claimed.getClaimedAt());
+    }
+
+    public void retry(DelayedTaskJPA claimed, LocalDateTime dueAt) {
+        repository.release(claimed.getId(), claimed.getClaimedAt(), dueAt);
+    }
+}
@@ -0,0 +1,40 @@
+package tech.zerofiltre.blog.infra.providers.database.task.model;
+
+import lombok.*;
+import tech.zerofiltre.blog.infra.providers.database.BaseEntityJPA;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "delayed_task",
+        uniqueConstraints = @UniqueConstraint(name = "uk_delayed_task_type_key", columnNames = {"type", "taskKey"}),
+        indexes = @Index(name = "idx_delayed_task_due_at", columnList = "dueAt"))
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class DelayedTaskJPA extends BaseEntityJPA {
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(nullable = false)
+    private String taskKey;
+
+    @Column(length = 2000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime dueAt;
+
+    private LocalDateTime claimedAt;
+    private int attempts;
+
+    public DelayedTaskJPA(String type, String taskKey, String payload, LocalDateTime dueAt) {
+        this.type = type;
+        this.taskKey = taskKey;
+        this.payload = payload;
+        this.dueAt = dueAt;
+    }
+}
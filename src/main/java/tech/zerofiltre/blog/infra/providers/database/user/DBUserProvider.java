@@ -3,6 +3,8 @@ package tech.zerofiltre.blog.infra.providers.database.user;
 import lombok.RequiredArgsConstructor;
 import org.mapstruct.factory.Mappers;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import tech.zerofiltre.blog.domain.user.UserProvider;
@@ -13,13 +15,13 @@ import tech.zerofiltre.blog.infra.providers.database.user.model.UserJPA;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Component
 @Transactional
 @RequiredArgsConstructor
 public class DBUserProvider implements UserProvider {
     private final UserJPARepository repository;
+    private final ApplicationEventPublisher eventPublisher;
     private final UserJPAMapper mapper = Mappers.getMapper(UserJPAMapper.class);
 
     @Override
@@ -28,41 +30,27 @@ public class DBUserProvider implements UserProvider {
                 .map(mapper::fromJPA);
     }
 
-    @Override
-    public List<User> users() {
-        return repository.findAll()
-                .stream().map(mapper::fromJPA)
-                .collect(Collectors.toList());
-    }
-
-
     @Override
     @CacheEvict(value = "user-search-results", allEntries = true)
     public User save(User user) {
-        return mapper.fromJPA(repository.save(mapper.toJPA(user)));
+        User saved = mapper.fromJPA(repository.save(mapper.toJPA(user)));
+        eventPublisher.publishEvent(new UserChangedEvent(this, saved.getId()));
+        return saved;
     }
 
     @Override
-    //@Cacheable(value = "connected-user", key = "#email") - Buggy
     public Optional<User> userOfEmail(String email) {
         Optional<UserJPA> result = repository.findByEmail(email);
         if (result.isEmpty()) result = repository.findByPaymentEmail(email);
         return result.map(mapper::fromJPA);
     }
 
-    @Override
-    public List<User> nonActiveUsers() {
-        return repository.findByIsActiveIsFalse()
-                .stream().map(mapper::fromJPA)
-                .collect(Collectors.toList());
-
-    }
-
     @Override
     public void deleteUser(User user) {
         UserJPA userJPA = mapper.toJPA(user);
         userJPA.setSocialLinks(null);
         repository.delete(userJPA);
+        eventPublisher.publishEvent(new UserChangedEvent(this, user.getId()));
     }
 
     @Override
@@ -72,7 +60,12 @@ public class DBUserProvider implements UserProvider {
     }
 
     @Override
-    public List<UserForBroadcast> allUsersForBroadcast() {
-        return repository.findAllUsersForBroadcast();
+    public List<UserForBroadcast> usersForBroadcast(long afterId, int limit) {
+        return repository.findUsersForBroadcastAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<UserForBroadcast> nonActiveUsers(long afterId, int limit) {
+        return repository.findNonActiveUsersAfter(afterId, PageRequest.of(0, limit));
     }
 }
@@ -2,28 +2,41 @@ package tech.zerofiltre.blog.infra.providers.database.user;
 
 import org.mapstruct.factory.*;
 import org.springframework.beans.factory.annotation.*;
+import org.springframework.jdbc.core.*;
 import org.springframework.stereotype.*;
 import org.springframework.transaction.annotation.*;
 import tech.zerofiltre.blog.domain.user.*;
 import tech.zerofiltre.blog.domain.user.model.*;
 import tech.zerofiltre.blog.infra.providers.database.user.mapper.*;
+import tech.zerofiltre.blog.infra.providers.database.user.model.*;
 
+import java.sql.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 
 @Component
 @Transactional
 public class DBVerificationTokenProvider implements VerificationTokenProvider {
 
+    static final String INSERT_TOKEN = "INSERT INTO verification_token (token, user_id, expiry_date) VALUES (?, ?, ?)";
+    static final String UPDATE_TOKEN = "UPDATE verification_token SET token = ?, expiry_date = ? WHERE id = ?";
+
     private final VerificationTokenJPARepository repository;
+    private final JdbcTemplate jdbcTemplate;
     private final VerificationTokenJPAMapper mapper = Mappers.getMapper(VerificationTokenJPAMapper.class);
     private final UserJPAMapper userJPAMapper = Mappers.getMapper(UserJPAMapper.class);
 
     @Value("${zerofiltre.infra.security.verification-token.expiration-seconds:604800}")
     private long expiration;
 
-    public DBVerificationTokenProvider(VerificationTokenJPARepository repository) {
+    @Value("${zerofiltre.infra.security.verification-token.reuse-min-validity-seconds:86400}")
+    private long reuseMinValidity;
+
+    public DBVerificationTokenProvider(VerificationTokenJPARepository repository, JdbcTemplate jdbcTemplate) {
         this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -63,6 +76,40 @@ public class DBVerificationTokenProvider implements VerificationTokenProvider {
         return getVerificationToken(user, expiration);
     }
 
+    @Override
+    public List<VerificationToken> generate(List<User> users) {
+        if (users.isEmpty()) return Collections.emptyList();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reusableAfter = now.plusSeconds(reuseMinValidity);
+        LocalDateTime expiryDate = now.plusSeconds(expiration);
+        Map<Long, VerificationTokenJPA> existingTokens = repository.findByUserIds(users.stream().map(User::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(token -> token.getUser().getId(), Function.identity(), (first, second) -> first));
+
+        List<VerificationToken> tokens = new ArrayList<>(users.size());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (User user : users) {
+            VerificationTokenJPA existingToken = existingTokens.get(user.getId());
+            if (existingToken != null && existingToken.getExpiryDate() != null && existingToken.getExpiryDate().isAfter(reusableAfter)) {
+                VerificationToken reused = new VerificationToken(user, existingToken.getToken(), existingToken.getExpiryDate());
+                reused.setId(existingToken.getId());
+                tokens.add(reused);
+                continue;
+            }
+            String token = UUID.randomUUID().toString();
+            if (existingToken == null)
+                inserts.add(new Object[]{token, user.getId(), Timestamp.valueOf(expiryDate)});
+            else
+                updates.add(new Object[]{token, Timestamp.valueOf(expiryDate), existingToken.getId()});
+            tokens.add(new VerificationToken(user, token, expiryDate));
+        }
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_TOKEN, inserts);
+        if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_TOKEN, updates);
+        return tokens;
+    }
+
     private VerificationToken getVerificationToken(User user, long durationInSeconds) {
         String token = UUID.randomUUID().toString();
         LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(durationInSeconds);
@@ -0,0 +1,22 @@
+package tech.zerofiltre.blog.infra.providers.database.user;
+
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a user row is saved or deleted, so that copies of the user held outside the database can be dropped.
+ */
+@ToString
+public class UserChangedEvent extends ApplicationEvent {
+
+    private final long userId;
+
+    public UserChangedEvent(Object source, long userId) {
+        super(source);
+        this.userId = userId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+}
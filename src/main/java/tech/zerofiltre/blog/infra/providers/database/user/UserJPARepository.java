@@ -1,5 +1,6 @@
 package tech.zerofiltre.blog.infra.providers.database.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
@@ -15,19 +16,17 @@ public interface UserJPARepository extends JpaRepository<UserJPA, Long> {
     Optional<UserJPA> findByPaymentEmail(String email);
 
 
-    List<UserJPA> findByIsActiveIsFalse();
+    @Query("select new tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast" +
+            "(u.id, u.email, u.paymentEmail, u.language, u.fullName) from UserJPA u " +
+            "where u.isActive = false and u.id > ?1 order by u.id")
+    List<UserForBroadcast> findNonActiveUsersAfter(long afterId, Pageable pageable);
 
     Optional<UserJPA> findBySocialId(String userSocialId);
 
-    @Query("select u.id, u.fullName, u.profilePicture from UserJPA u " +
-            "join CourseJPA co on co.author.id=u.id " +
-            "where co.id=:courseId")
-    String findAuthorInfoByCourseId(long courseId);
-
     @Query("select new tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast" +
             "(u.id, u.email, u.paymentEmail, u.language, u.fullName) from UserJPA u " +
-            "where u.subscribedToBroadcast = true")
-    List<UserForBroadcast> findAllUsersForBroadcast();
+            "where u.subscribedToBroadcast = true and u.id > ?1 order by u.id")
+    List<UserForBroadcast> findUsersForBroadcastAfter(long afterId, Pageable pageable);
 
     @Query("select new tech.zerofiltre.blog.infra.providers.database.user.model.UserSearchResultJPA" +
             "(user.id,user.fullName,user.profilePicture) from UserJPA user " +
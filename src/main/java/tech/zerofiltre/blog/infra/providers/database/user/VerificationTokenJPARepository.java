@@ -12,4 +12,7 @@ public interface VerificationTokenJPARepository extends JpaRepository<Verificati
     Optional<VerificationTokenJPA> findByUser(UserJPA user);
 
     Optional<VerificationTokenJPA> findByUserEmail(String email);
+
+    @Query("select t from VerificationTokenJPA t where t.user.id in ?1")
+    List<VerificationTokenJPA> findByUserIds(Collection<Long> userIds);
 }
@@ -1,21 +1,77 @@
 package tech.zerofiltre.blog.infra.providers.metrics;
 
 import io.micrometer.core.instrument.*;
-import org.springframework.beans.factory.annotation.*;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.*;
 import tech.zerofiltre.blog.domain.metrics.*;
 import tech.zerofiltre.blog.domain.metrics.model.*;
+import tech.zerofiltre.blog.infra.*;
 
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Increments the counters through handles registered once per name and tags.
+ * A counter gets at most the max series per counter: beyond it, the values of its tags are collapsed into {@link #OTHER_VALUE},
+ * so that a tag fed with unbounded values can not flood the scrape.
+ */
+@Slf4j
 @Component
 public class SimpleMetricsProvider implements MetricsProvider {
-    @Autowired
-    MeterRegistry meterRegistry;
 
+    static final String OTHER_VALUE = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxSeriesPerCounter;
+    private final Map<List<String>, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> seriesCounts = new ConcurrentHashMap<>();
+
+    public SimpleMetricsProvider(MeterRegistry meterRegistry, InfraProperties infraProperties) {
+        this.meterRegistry = meterRegistry;
+        this.maxSeriesPerCounter = infraProperties.getMetricsMaxSeriesPerCounter();
+    }
 
     @Override
     public void incrementCounter(CounterSpecs specs) {
-        Counter.builder(specs.getName())
-                .tags(specs.getTags())
-                .register(meterRegistry).increment();
+        counter(specs.getName(), specs.getTags() == null ? new String[0] : specs.getTags()).increment();
+    }
+
+    private Counter counter(String name, String[] tags) {
+        List<String> key = key(name, tags);
+        Counter counter = counters.get(key);
+        if (counter != null) return counter;
+
+        AtomicInteger seriesCount = seriesCounts.computeIfAbsent(name, counterName -> new AtomicInteger());
+        if (seriesCount.get() >= maxSeriesPerCounter) {
+            String[] collapsedTags = collapsed(tags);
+            return counters.computeIfAbsent(key(name, collapsedTags), collapsedKey -> {
+                log.warn("Counter {} reached {} series, collapsing its new tag values into {}", name, maxSeriesPerCounter, OTHER_VALUE);
+                return register(name, collapsedTags);
+            });
+        }
+        return counters.computeIfAbsent(key, newKey -> {
+            seriesCount.incrementAndGet();
+            return register(name, tags);
+        });
+    }
+
+    private Counter register(String name, String[] tags) {
+        return Counter.builder(name)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private static String[] collapsed(String[] tags) {
+        String[] collapsedTags = tags.clone();
+        for (int i = 1; i < collapsedTags.length; i += 2) collapsedTags[i] = OTHER_VALUE;
+        return collapsedTags;
+    }
+
+    private static List<String> key(String name, String[] tags) {
+        List<String> key = new ArrayList<>(tags.length + 1);
+        key.add(name);
+        key.addAll(Arrays.asList(tags));
+        return key;
     }
 }
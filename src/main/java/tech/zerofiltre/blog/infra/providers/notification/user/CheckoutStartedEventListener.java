@@ -6,64 +6,73 @@ import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Component;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
+import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.infra.InfraProperties;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.CheckoutStartedEvent;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
+import tech.zerofiltre.blog.infra.scheduling.DelayedTask;
+import tech.zerofiltre.blog.infra.scheduling.DelayedTaskHandler;
+import tech.zerofiltre.blog.infra.scheduling.DelayedTaskScheduler;
 import tech.zerofiltre.blog.infra.security.config.EmailValidator;
-import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
+import java.time.Duration;
 import java.util.*;
 
+/**
+ * Reminds the users who started a checkout to complete it, once the reminder delay has elapsed.
+ * The reminder is a delayed task keyed by user: a new checkout moves it and a completed one cancels it.
+ */
 @Slf4j
 @Component
-public class CheckoutStartedEventListener implements ApplicationListener<CheckoutStartedEvent> {
+public class CheckoutStartedEventListener implements ApplicationListener<CheckoutStartedEvent>, DelayedTaskHandler {
+
+    public static final String CHECKOUT_REMINDER = "checkout-reminder";
+    static final String LANGUAGE = "language";
+    static final String APP_URL = "appUrl";
 
     private final MessageSource messages;
     private final ZerofiltreEmailSender emailSender;
     private final ITemplateEngine emailTemplateEngine;
-    private final List<CheckoutStartedEvent> events = new ArrayList<>();
+    private final DelayedTaskScheduler scheduler;
+    private final UserProvider userProvider;
     private final long checkoutReminderDelayMs;
-    private final long checkoutReminderCheckFrequencyMs;
 
-    public CheckoutStartedEventListener(MessageSource messages, ZerofiltreEmailSender emailSender, ITemplateEngine emailTemplateEngine, InfraProperties infraProperties) {
+    public CheckoutStartedEventListener(MessageSource messages, ZerofiltreEmailSender emailSender, ITemplateEngine emailTemplateEngine, DelayedTaskScheduler scheduler, UserProvider userProvider, InfraProperties infraProperties) {
         this.messages = messages;
         this.emailSender = emailSender;
         this.emailTemplateEngine = emailTemplateEngine;
+        this.scheduler = scheduler;
+        this.userProvider = userProvider;
         checkoutReminderDelayMs = infraProperties.getCheckoutReminderDelayMs();
-        checkoutReminderCheckFrequencyMs = infraProperties.getCheckoutReminderCheckFrequencyMs();
-        new Thread(() -> {
-            for (; ; ) {
-                handleEventIfNeeded();
-                try {
-                    Thread.sleep(checkoutReminderCheckFrequencyMs);
-                } catch (InterruptedException e) {
-                    log.error("CheckoutStartedEventListener got interrupted", e);
-                    Thread.currentThread().interrupt();
-                }
-            }
-
-        }, "checkout-reminder").start();
     }
 
-    void handleEventIfNeeded() {
-        Iterator<CheckoutStartedEvent> iterator = events.iterator();
-        while (iterator.hasNext()) {
-            CheckoutStartedEvent event = iterator.next();
-            long now = System.currentTimeMillis();
-            if (now - event.getTimestamp() >= checkoutReminderDelayMs) {
-                log.debug("Event {} was received on {}, current time {}, reminding checkout", event, ZerofiltreUtils.toHumanReadable(event.getTimestamp()), ZerofiltreUtils.toHumanReadable(now));
-                handleEvent(event);
-                iterator.remove();
-            } else {
-                log.debug("Event {} was received on {}, current time {}, do not remind checkout yet", event, ZerofiltreUtils.toHumanReadable(event.getTimestamp()), ZerofiltreUtils.toHumanReadable(now));
-            }
+    @Override
+    public void onApplicationEvent(CheckoutStartedEvent event) {
+        Map<String, String> payload = new HashMap<>();
+        payload.put(LANGUAGE, event.getLocale().toLanguageTag());
+        payload.put(APP_URL, event.getAppUrl());
+        try {
+            scheduler.schedule(CHECKOUT_REMINDER, String.valueOf(event.getUser().getId()), Duration.ofMillis(checkoutReminderDelayMs), payload);
+        } catch (RuntimeException e) {
+            log.error("Could not schedule the checkout reminder of user {}", event.getUser().getId(), e);
         }
     }
 
     @Override
-    public void onApplicationEvent(CheckoutStartedEvent event) {
-        events.add(event);
+    public String type() {
+        return CHECKOUT_REMINDER;
+    }
+
+    @Override
+    public void handle(DelayedTask task) {
+        Optional<User> user = userProvider.userOfId(Long.parseLong(task.getKey()));
+        if (user.isEmpty()) {
+            log.debug("User {} no longer exists, not reminding checkout", task.getKey());
+            return;
+        }
+        Locale locale = Locale.forLanguageTag(task.getPayload().getOrDefault(LANGUAGE, Locale.FRANCE.toLanguageTag()));
+        handleEvent(new CheckoutStartedEvent(user.get(), locale, task.getPayload().get(APP_URL)));
     }
 
     void handleEvent(CheckoutStartedEvent event) {
@@ -84,7 +93,6 @@ public class CheckoutStartedEventListener implements ApplicationListener<Checkou
             templateModel.put("fullName", user.getFullName());
             templateModel.put("backToCheckoutLink", event.getAppUrl() + pageUri);
 
-            String recipientAddress = user.getEmail();
             String subject = messages.getMessage(subjectCode, null, event.getLocale());
             Context thymeleafContext = new Context();
             thymeleafContext.setVariables(templateModel);
@@ -94,12 +102,8 @@ public class CheckoutStartedEventListener implements ApplicationListener<Checkou
             Email email = new Email();
             email.setSubject(subject);
             email.setContent(emailContent);
-            email.setRecipients(Collections.singletonList(recipientAddress));
+            email.setRecipients(Collections.singletonList(emailAddress));
             emailSender.send(email, true);
         }
     }
-
-    public List<CheckoutStartedEvent> getEvents() {
-        return events;
-    }
 }
@@ -2,6 +2,7 @@ package tech.zerofiltre.blog.infra.providers.notification.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.MessageSource;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -10,66 +11,100 @@ import org.thymeleaf.context.Context;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.VerificationTokenProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.domain.user.model.VerificationToken;
+import tech.zerofiltre.blog.infra.ExecutorConfiguration;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 import tech.zerofiltre.blog.infra.security.config.EmailValidator;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import static tech.zerofiltre.blog.util.ZerofiltreUtils.getOriginUrl;
 
+/**
+ * Reminds the inactive users to confirm their E-mail addresses, batch by batch: the tokens of a batch are generated together,
+ * then its emails are rendered in parallel and sent in order as soon as they are rendered.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ConfirmRegistrationReminder {
 
+    private static final int PAGE_SIZE = 500;
+
     private final UserProvider userProvider;
     private final ZerofiltreEmailSender emailSender;
     private final MessageSource messages;
     private final VerificationTokenProvider tokenProvider;
     private final InfraProperties infraProperties;
     private final ITemplateEngine emailTemplateEngine;
-
+    @Qualifier(ExecutorConfiguration.REGISTRATION_REMINDER_RENDERER)
+    private final Executor renderExecutor;
 
     @Scheduled(fixedRateString = "${zerofiltre.infra.reminder-rate}", initialDelayString = "${zerofiltre.infra.reminder-initial-delay}")
     public void remindConfirmRegistration() {
 
-        List<User> nonActiveUsers = userProvider.nonActiveUsers();
-        log.info("Trying to remind {} inactive users to confirm their E-mail addresses", nonActiveUsers.size());
+        log.info("Trying to remind the inactive users to confirm their E-mail addresses");
         var ref = new Object() {
             long count = 0;
         };
-        nonActiveUsers
-                .forEach(user -> {
-                    if (user.getEmail() != null && EmailValidator.validateEmail(user.getEmail())) {
-                        ref.count++;
-
-                        String language = user.getLanguage() != null ? user.getLanguage() : Locale.FRANCE.getLanguage();
-                        Locale locale = new Locale(language);
+        int batchSize = infraProperties.getReminderBatchSize();
+        List<User> batch = new ArrayList<>(batchSize);
+        userProvider.streamNonActiveUsers(PAGE_SIZE)
+                .filter(nonActiveUser -> nonActiveUser.getEmail() != null && EmailValidator.validateEmail(nonActiveUser.getEmail()))
+                .forEach(nonActiveUser -> {
+                    batch.add(toUser(nonActiveUser));
+                    if (batch.size() == batchSize) {
+                        ref.count += remind(List.copyOf(batch));
+                        batch.clear();
+                    }
+                });
+        if (!batch.isEmpty()) ref.count += remind(List.copyOf(batch));
+        log.info("Triggered {} E-mail addresses confirmation reminders", ref.count);
+    }
 
-                        String subject = messages.getMessage("message.registration.subject.remind", null, locale);
+    private int remind(List<User> users) {
+        List<CompletableFuture<Email>> renderedEmails = tokenProvider.generate(users).stream()
+                .map(token -> CompletableFuture.supplyAsync(() -> reminderEmail(token), renderExecutor))
+                .collect(Collectors.toList());
+        renderedEmails.forEach(email -> emailSender.send(email.join(), true));
+        return renderedEmails.size();
+    }
 
-                        String token = tokenProvider.generate(user).getToken();
+    private Email reminderEmail(VerificationToken token) {
+        User user = token.getUser();
+        String language = user.getLanguage() != null ? user.getLanguage() : Locale.FRANCE.getLanguage();
+        Locale locale = new Locale(language);
 
-                        String pageUri = "/user/accountConfirmation?token=";
+        String subject = messages.getMessage("message.registration.subject.remind", null, locale);
 
-                        Map<String, Object> templateModel = new HashMap<>();
-                        templateModel.put("fullName", user.getFullName());
-                        templateModel.put("validationLink", getOriginUrl(infraProperties.getEnv()) + pageUri + token);
-                        templateModel.put("originUrl", getOriginUrl(infraProperties.getEnv()));
-                        Context thymeleafContext = new Context();
-                        thymeleafContext.setVariables(templateModel);
-                        thymeleafContext.setLocale(locale);
-                        String emailContent = emailTemplateEngine.process("account_confirmation_reminder.html", thymeleafContext);
-                        Email email = new Email();
-                        email.setSubject(subject);
-                        email.setContent(emailContent);
-                        email.setRecipients(Collections.singletonList(user.getEmail()));
-                        emailSender.send(email, true);
-                    }
-                });
-        log.info("Triggered {} E-mail addresses confirmation reminders", ref.count);
+        String pageUri = "/user/accountConfirmation?token=";
 
+        Map<String, Object> templateModel = new HashMap<>();
+        templateModel.put("fullName", user.getFullName());
+        templateModel.put("validationLink", getOriginUrl(infraProperties.getEnv()) + pageUri + token.getToken());
+        templateModel.put("originUrl", getOriginUrl(infraProperties.getEnv()));
+        Context thymeleafContext = new Context();
+        thymeleafContext.setVariables(templateModel);
+        thymeleafContext.setLocale(locale);
+        String emailContent = emailTemplateEngine.process("account_confirmation_reminder.html", thymeleafContext);
+        Email email = new Email();
+        email.setSubject(subject);
+        email.setContent(emailContent);
+        email.setRecipients(Collections.singletonList(user.getEmail()));
+        return email;
+    }
 
+    private User toUser(UserForBroadcast nonActiveUser) {
+        User user = new User();
+        user.setId(nonActiveUser.getId());
+        user.setEmail(nonActiveUser.getEmail());
+        user.setFullName(nonActiveUser.getFullName());
+        user.setLanguage(nonActiveUser.getLanguage());
+        return user;
     }
 }
@@ -0,0 +1,215 @@
+package tech.zerofiltre.blog.infra.providers.notification.user;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import tech.zerofiltre.blog.infra.ExecutorConfiguration;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.mail.MailOutbox;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA.ADDRESS_SEPARATOR;
+
+/**
+ * Sends the emails of the outbox with a fixed number of workers over the pooled SMTP transports.
+ * Failed emails are retried with an exponential backoff and end up dead after the last attempt, or at once when an address is malformed.
+ * The outbox is polled by a thread of its own, so that the long scheduled jobs do not hold back the registration and password emails.
+ * An email accepted by the SMTP server is not retried when its row cannot be updated: marking it sent is attempted again at the next polls.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailOutboxWorker {
+
+    static final String PENDING_GAUGE = "zerofiltre_mail_outbox_pending";
+    static final String IN_FLIGHT_GAUGE = "zerofiltre_mail_outbox_in_flight";
+    static final String LATENCY_TIMER = "zerofiltre_mail_outbox_latency";
+    static final String HEADER_IMAGE_ID = "attachement.png";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutbox outbox;
+    private final SmtpTransportPool transportPool;
+    private final MeterRegistry meterRegistry;
+    private final InfraProperties infraProperties;
+    @Qualifier(ExecutorConfiguration.MAIL_SENDER)
+    private final Executor executor;
+    private final ByteArrayResource headerImage = loadHeaderImage();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong pending = new AtomicLong();
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final Set<Long> sentNotMarked = ConcurrentHashMap.newKeySet();
+    private ThreadPoolTaskScheduler poller;
+
+    @PostConstruct
+    public void start() {
+        registerGauges();
+        poller = new ThreadPoolTaskScheduler();
+        poller.setThreadNamePrefix("mail-outbox-poller-");
+        poller.initialize();
+        poller.scheduleWithFixedDelay(this::poll, Duration.ofMillis(infraProperties.getMailOutboxPollDelayMs()));
+    }
+
+    void registerGauges() {
+        Gauge.builder(PENDING_GAUGE, pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public void poll() {
+        try {
+            markSentAgain();
+            int idleWorkers = infraProperties.getMailOutboxWorkers() - inFlight.get();
+            if (idleWorkers > 0) {
+                LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(infraProperties.getMailOutboxClaimTimeoutMs()));
+                List<MailOutboxJPA> claimed = outbox.claimDue(idleWorkers, staleBefore);
+                for (MailOutboxJPA mail : claimed) {
+                    submit(mail);
+                }
+            }
+            pending.set(outbox.pendingCount());
+        } catch (RuntimeException e) {
+            log.error("Could not poll the mail outbox", e);
+        }
+    }
+
+    @Scheduled(cron = "${zerofiltre.infra.mail.outbox.purge-cron:0 30 3 * * ?}")
+    public void purge() {
+        try {
+            int purged = outbox.purgeSentBefore(LocalDateTime.now().minusDays(infraProperties.getMailOutboxSentRetentionDays()));
+            log.info("Purged {} sent emails from the outbox", purged);
+        } catch (RuntimeException e) {
+            log.error("Could not purge the mail outbox", e);
+        }
+    }
+
+    private void submit(MailOutboxJPA mail) {
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(() -> process(mail));
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            log.error("Could not start sending email {}, it will be claimed again once its claim times out", mail.getId(), e);
+        }
+    }
+
+    void process(MailOutboxJPA mail) {
+        String outcome = "success";
+        try {
+            transportPool.send(toMimeMessage(mail));
+            markSent(mail.getId());
+        } catch (MessagingException | RuntimeException e) {
+            outcome = onFailure(mail, e);
+        } finally {
+            inFlight.decrementAndGet();
+            latencyTimers.computeIfAbsent(outcome, timerOutcome -> Timer.builder(LATENCY_TIMER)
+                            .tag("outcome", timerOutcome)
+                            .register(meterRegistry))
+                    .record(Duration.between(mail.getCreatedAt(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * The email is sent by then, so a failure to record it must not schedule a retry.
+     */
+    private void markSent(long mailId) {
+        try {
+            outbox.markSent(mailId);
+        } catch (RuntimeException e) {
+            sentNotMarked.add(mailId);
+            log.error("Email {} was sent but could not be marked sent, it will be marked at the next poll", mailId, e);
+        }
+    }
+
+    private void markSentAgain() {
+        for (Long mailId : sentNotMarked) {
+            outbox.markSent(mailId);
+            sentNotMarked.remove(mailId);
+        }
+    }
+
+    MimeMessage toMimeMessage(MailOutboxJPA mail) throws MessagingException {
+        MimeMessage mimeMessage = transportPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(mail.getReplyTo());
+        helper.setTo(addresses(mail.getRecipients()));
+        helper.setBcc(addresses(mail.getBccs()));
+        helper.setCc(addresses(mail.getCcs()));
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getContent(), true);
+        helper.setReplyTo(mail.getReplyTo());
+        helper.addInline(HEADER_IMAGE_ID, headerImage, "image/png");
+        return mimeMessage;
+    }
+
+    long retryDelayMs(int attempts) {
+        long delay = infraProperties.getMailOutboxRetryBaseDelayMs() << Math.min(attempts - 1, 20);
+        return Math.min(delay, infraProperties.getMailOutboxRetryMaxDelayMs());
+    }
+
+    private String onFailure(MailOutboxJPA mail, Exception e) {
+        int attempts = mail.getAttempts() + 1;
+        String error = truncate(String.valueOf(e.getMessage()));
+        try {
+            if (e instanceof AddressException || attempts >= infraProperties.getMailOutboxMaxAttempts()) {
+                log.error("Email {} failed {} times, moving it to the dead letters", mail.getId(), attempts, e);
+                outbox.markDead(mail.getId(), attempts, error);
+                return "dead";
+            }
+            long delayMs = retryDelayMs(attempts);
+            log.warn("Email {} failed, retrying in {} ms", mail.getId(), delayMs, e);
+            outbox.retry(mail.getId(), attempts, LocalDateTime.now().plus(Duration.ofMillis(delayMs)), error);
+        } catch (RuntimeException outboxError) {
+            log.error("Could not record the failure of email {}, it will be claimed again once its claim times out", mail.getId(), outboxError);
+        }
+        return "retry";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) poller.shutdown();
+    }
+
+    private static String[] addresses(String joined) {
+        if (joined == null || joined.isEmpty()) return new String[0];
+        return joined.split(ADDRESS_SEPARATOR);
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static ByteArrayResource loadHeaderImage() {
+        try (InputStream image = new ClassPathResource("mail_header_image.png").getInputStream()) {
+            return new ByteArrayResource(StreamUtils.copyToByteArray(image));
+        } catch (IOException e) {
+            throw new UncheckedIOException("The mail header image can not be read", e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package tech.zerofiltre.blog.infra.providers.notification.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import tech.zerofiltre.blog.domain.course.features.enrollment.Suspend;
@@ -10,66 +12,81 @@ import tech.zerofiltre.blog.domain.payment.model.ChargeRequest;
 import tech.zerofiltre.blog.domain.payment.model.Payment;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.ExecutorConfiguration;
 import tech.zerofiltre.blog.infra.providers.api.notchpay.NotchPayProvider;
+import tech.zerofiltre.blog.infra.providers.database.payment.RenewalReminders;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 import tech.zerofiltre.blog.infra.security.config.EmailValidator;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
-import static tech.zerofiltre.blog.domain.payment.model.Payment.*;
-import static tech.zerofiltre.blog.util.ZerofiltreUtils.sleep;
+import static tech.zerofiltre.blog.domain.payment.model.Payment.INITIALIZED;
 
+/**
+ * Reminds the PRO users paying by mobile money that their subscription is about to end, and downgrades them once it has.
+ * Only the users due to renew are loaded, each one with the payment renewing the latest, and the payment sessions of a run
+ * are created in parallel. A reminder is recorded before it is sent, so that no run sends it again.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class MobilePaymentReminder {
 
+    static final int REMINDER_DAYS = 5;
+    // the reminder runs read the renewals overdue for up to this long, the older ones are left to the daily reconciliation
+    static final int OVERDUE_DAYS = 7;
+
     private final UserProvider userProvider;
     private final ZerofiltreEmailSender emailSender;
     private final NotchPayProvider notchPayProvider;
     private final Suspend suspend;
-    private List<Payment> payments;
+    private final RenewalReminders renewalReminders;
+    @Qualifier(ExecutorConfiguration.PAYMENT_SESSION)
+    private final Executor sessionExecutor;
 
     @Scheduled(cron = "${zerofiltre.infra.mobile.payments.reminder.cron}")
-    public void sendStats() throws ZerofiltreException {
-
-        payments = notchPayProvider.payments();
+    public void sendStats() {
+        LocalDateTime now = LocalDateTime.now();
+        remind(notchPayProvider.dueRenewals(now.minusDays(OVERDUE_DAYS), now.plusDays(REMINDER_DAYS)), now);
+    }
 
-        for (Payment payment : payments) {
-            User user = payment.getUser();
-            if (!user.isPro() || userHasAValidPayment(user)) continue;
+    /**
+     * Downgrades the PRO users whose renewal is overdue for longer than the reminder runs look back, e.g. when these runs failed meanwhile.
+     */
+    @Scheduled(cron = "${zerofiltre.infra.mobile.payments.overdue-reconciliation.cron:0 15 4 * * ?}")
+    public void downgradeOverdue() {
+        LocalDateTime now = LocalDateTime.now();
+        remind(notchPayProvider.overdueRenewals(now.minusDays(OVERDUE_DAYS)), now);
+    }
 
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime monthlyRenewDate = payment.getAt().plusDays(30);
-            LocalDateTime yearlyRenewDate = payment.getAt().plusDays(365);
+    private void remind(List<Payment> payments, LocalDateTime now) {
+        List<Reminder> reminders = new ArrayList<>();
+        for (Payment payment : latestPaymentPerUser(payments)) {
+            long daysBeforeRenewal = Duration.between(now, payment.renewalDate()).toDays();
+            Reminder reminder = new Reminder(payment, Math.max(daysBeforeRenewal, 0));
+            if (!record(reminder)) continue;
+            reminder.paymentLink = CompletableFuture.supplyAsync(() -> paymentLink(reminder), sessionExecutor);
+            reminders.add(reminder);
+        }
 
-            if (MONTH.equals(payment.getRecurringInterval())) {
-                Duration between = Duration.between(now, monthlyRenewDate);
-                long daysBeforeRenewal = between.toDays();
-                notify(payment, daysBeforeRenewal);
+        for (Reminder reminder : reminders) {
+            try {
+                notify(reminder.payment, reminder.daysBeforeRenewal, reminder.paymentLink.join());
+            } catch (ZerofiltreException | RuntimeException e) {
+                log.error("Could not remind the user {} of the renewal of the payment {}", reminder.userId(), reminder.payment.getReference(), e);
+                release(reminder);
             }
-            if (YEAR.equals(payment.getRecurringInterval())) {
-                Duration between = Duration.between(now, yearlyRenewDate);
-                long daysBeforeRenewal = between.toDays();
-                notify(payment, daysBeforeRenewal);
-            }
-            sleep(1000);
         }
     }
 
-    protected void notify(Payment payment, long daysBeforeRenewal) throws ZerofiltreException {
-        if (daysBeforeRenewal >= 5) return;
+    protected void notify(Payment payment, long daysBeforeRenewal, String paymentLink) throws ZerofiltreException {
         User user = payment.getUser();
-        ChargeRequest chargeRequest = new ChargeRequest();
-        chargeRequest.setPaymentEmail(user.getPaymentEmail());
-        chargeRequest.setCurrency(ChargeRequest.Currency.XAF);
-        chargeRequest.setRecurringInterval(payment.getRecurringInterval());
-        String paymentLink = notchPayProvider.createSession(user, null, chargeRequest);
         if (daysBeforeRenewal > 0) {
-            notchPayProvider.delete(INITIALIZED, user.getId());
             String message = "Votre abonnement prendra fin dans " + daysBeforeRenewal + " jour(s). " +
                     "Afin de continuer à bénéficier de nos parcours et articles premium, cliquez sur le lien suivant: "
                     + paymentLink;
@@ -80,31 +97,13 @@ public class MobilePaymentReminder {
                     "Afin de continuer à bénéficier de nos parcours et articles premium, cliquez sur le lien suivant: "
                     + paymentLink;
             String subject = "[Urgent] Votre accès a été suspendu ";
+            notifyUser(user, subject, message);
             user.setPlan(User.Plan.BASIC);
             userProvider.save(user);
             suspend.all(user.getId(), false);
-            notifyUser(user, subject, message);
         }
     }
 
-    private boolean userHasAValidPayment(User user) {
-        return payments.stream().anyMatch(payment -> {
-            if (payment.getUser() != null && payment.getUser().getId() != user.getId()) return false;
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime monthlyRenewDate = payment.getAt().plusDays(30);
-            LocalDateTime yearlyRenewDate = payment.getAt().plusDays(365);
-            Duration between = Duration.ZERO;
-            if (MONTH.equals(payment.getRecurringInterval())) {
-                between = Duration.between(now, monthlyRenewDate);
-
-            }
-            if (YEAR.equals(payment.getRecurringInterval())) {
-                between = Duration.between(now, yearlyRenewDate);
-            }
-            return between.toDays() > 5;
-        });
-    }
-
     void notifyUser(User user, String subject, String message) {
         boolean validEmail = user.getEmail() != null && EmailValidator.validateEmail(user.getEmail());
         String emailAddress = validEmail ? user.getEmail() : user.getPaymentEmail();
@@ -117,4 +116,66 @@ public class MobilePaymentReminder {
             emailSender.send(email, false);
         }
     }
-}
\ No newline at end of file
+
+    private String paymentLink(Reminder reminder) {
+        User user = reminder.payment.getUser();
+        if (reminder.daysBeforeRenewal > 0) notchPayProvider.delete(INITIALIZED, user.getId());
+        ChargeRequest chargeRequest = new ChargeRequest();
+        chargeRequest.setPaymentEmail(user.getPaymentEmail());
+        chargeRequest.setCurrency(ChargeRequest.Currency.XAF);
+        chargeRequest.setRecurringInterval(reminder.payment.getRecurringInterval());
+        try {
+            return notchPayProvider.createSession(user, null, chargeRequest);
+        } catch (ZerofiltreException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private boolean record(Reminder reminder) {
+        try {
+            return renewalReminders.record(reminder.userId(), reminder.renewAt(), reminder.daysBeforeRenewal);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Renewal reminder of the user {} recorded by another instance", reminder.userId());
+            return false;
+        } catch (RuntimeException e) {
+            log.error("Could not record the renewal reminder of the user {}", reminder.userId(), e);
+            return false;
+        }
+    }
+
+    private void release(Reminder reminder) {
+        try {
+            renewalReminders.release(reminder.userId(), reminder.renewAt(), reminder.daysBeforeRenewal);
+        } catch (RuntimeException e) {
+            log.error("Could not release the renewal reminder of the user {}", reminder.userId(), e);
+        }
+    }
+
+    private static Collection<Payment> latestPaymentPerUser(List<Payment> payments) {
+        Map<Long, Payment> latestPayments = new HashMap<>();
+        for (Payment payment : payments) {
+            latestPayments.merge(payment.getUser().getId(), payment,
+                    (latest, other) -> other.renewalDate().isAfter(latest.renewalDate()) ? other : latest);
+        }
+        return latestPayments.values();
+    }
+
+    private static class Reminder {
+        private final Payment payment;
+        private final long daysBeforeRenewal;
+        private CompletableFuture<String> paymentLink;
+
+        Reminder(Payment payment, long daysBeforeRenewal) {
+            this.payment = payment;
+            this.daysBeforeRenewal = daysBeforeRenewal;
+        }
+
+        long userId() {
+            return payment.getUser().getId();
+        }
+
+        LocalDateTime renewAt() {
+            return payment.renewalDate();
+        }
+    }
+}
@@ -18,15 +18,24 @@ import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
+import java.time.YearMonth;
 import java.util.*;
 
+import static tech.zerofiltre.blog.util.ZerofiltreUtils.getBeginningAndEndOfMonthDates;
 import static tech.zerofiltre.blog.util.ZerofiltreUtils.getOriginUrl;
 
+/**
+ * Sends the new articles and courses of the last month to the subscribers. The newsletter is the same for all the users
+ * speaking the same language: it is rendered once per language and sent to them in BCC batches.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class MonthlyNewsletterReminder {
 
+    static final String NEWSLETTER_PREFIX = "newsletter:";
+    private static final int PAGE_SIZE = 500;
+
     private final ZerofiltreEmailSender emailSender;
     private final InfraProperties infraProperties;
     private final ITemplateEngine emailTemplateEngine;
@@ -49,38 +58,65 @@ public class MonthlyNewsletterReminder {
         templateModel.put("newArticles", newArticlesList);
         templateModel.put("newCourses", newCoursesList);
         templateModel.put("originUrl", getOriginUrl(infraProperties.getEnv()));
-        Context thymeleafContext = new Context();
-        thymeleafContext.setVariables(templateModel);
-
-        List<UserForBroadcast> listAllUsers = new ArrayList<>();
+        Map<Locale, Email> renderedNewsletters = new HashMap<>();
 
         if(emailTest != null) {
             for(String recipient : emailTest.getRecipients()) {
-                listAllUsers.add(new UserForBroadcast(0, recipient, null, "fr", null));
+                Optional<String> mail = ZerofiltreUtils.getValidEmailForBroadcast(new UserForBroadcast(0, recipient, null, "fr", null));
+                if(mail.isEmpty()) continue;
+
+                Email newsletter = renderedNewsletters.computeIfAbsent(Locale.FRENCH, locale -> render(templateModel, locale));
+                send(newsletter, Collections.singletonList(mail.get()), Collections.emptyList(), null);
             }
-        } else {
-            listAllUsers = userProvider.allUsersForBroadcast();
+            return;
         }
 
-        for(UserForBroadcast u : listAllUsers) {
+        String idempotencyKey = NEWSLETTER_PREFIX + YearMonth.from(getBeginningAndEndOfMonthDates().get(0));
+        Map<Locale, List<String>> pendingBccs = new HashMap<>();
+        userProvider.streamUsersForBroadcast(PAGE_SIZE).forEach(u -> {
             Optional<String> mail = ZerofiltreUtils.getValidEmailForBroadcast(u);
-            if(mail.isEmpty()) continue;
-
-            String language = (u.getLanguage() != null && !u.getLanguage().isBlank()) ? u.getLanguage() : Locale.FRANCE.getLanguage();
-            Locale locale = new Locale(language);
-            String subject = messages.getMessage("remind_newsletter_message", null, locale);
-            thymeleafContext.setLocale(locale);
-
-            String emailContent = emailTemplateEngine.process("newsletter.html", thymeleafContext);
-            log.info("email content {}", emailContent);
-
-            Email email = new Email();
-            email.setReplyTo(infraProperties.getContactEmail());
-            email.setRecipients(Collections.singletonList(mail.get()));
-            email.setSubject(subject);
-            email.setContent(emailContent);
-            emailSender.send(email, true);
-        }
+            if(mail.isEmpty()) return;
+
+            Locale locale = localeOf(u);
+            List<String> bccs = pendingBccs.computeIfAbsent(locale, key -> new ArrayList<>());
+            bccs.add(mail.get());
+            if(bccs.size() == ZerofiltreEmailSender.NUMBER_MAX_EMAILS) {
+                sendToBccs(renderedNewsletters.computeIfAbsent(locale, key -> render(templateModel, key)), bccs, idempotencyKey);
+                pendingBccs.remove(locale);
+            }
+        });
+        pendingBccs.forEach((locale, bccs) -> sendToBccs(renderedNewsletters.computeIfAbsent(locale, key -> render(templateModel, key)), bccs, idempotencyKey));
+    }
+
+    private Email render(Map<String, Object> templateModel, Locale locale) {
+        Context thymeleafContext = new Context(locale, templateModel);
+        String emailContent = emailTemplateEngine.process("newsletter.html", thymeleafContext);
+        log.debug("Newsletter content for {}: {}", locale, emailContent);
+
+        Email newsletter = new Email();
+        newsletter.setReplyTo(infraProperties.getContactEmail());
+        newsletter.setSubject(messages.getMessage("remind_newsletter_message", null, locale));
+        newsletter.setContent(emailContent);
+        return newsletter;
+    }
+
+    private void sendToBccs(Email newsletter, List<String> bccs, String idempotencyKey) {
+        send(newsletter, Collections.singletonList(infraProperties.getContactEmail()), bccs, idempotencyKey);
+    }
+
+    private void send(Email newsletter, List<String> recipients, List<String> bccs, String idempotencyKey) {
+        Email email = new Email();
+        email.setReplyTo(newsletter.getReplyTo());
+        email.setSubject(newsletter.getSubject());
+        email.setContent(newsletter.getContent());
+        email.setRecipients(recipients);
+        email.setBccs(new ArrayList<>(bccs));
+        emailSender.send(email, true, idempotencyKey);
+    }
+
+    private static Locale localeOf(UserForBroadcast user) {
+        String language = (user.getLanguage() != null && !user.getLanguage().isBlank()) ? user.getLanguage() : Locale.FRANCE.getLanguage();
+        return new Locale(language);
     }
 
     List<Article> findNewArticles() {
@@ -2,7 +2,10 @@ package tech.zerofiltre.blog.infra.providers.notification.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.thymeleaf.ITemplateEngine;
@@ -10,23 +13,37 @@ import org.thymeleaf.context.Context;
 import tech.zerofiltre.blog.domain.article.ArticleProvider;
 import tech.zerofiltre.blog.domain.article.ArticleViewProvider;
 import tech.zerofiltre.blog.domain.user.UserProvider;
+import tech.zerofiltre.blog.infra.ExecutorConfiguration;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.broadcast.BroadcastRuns;
+import tech.zerofiltre.blog.infra.providers.database.broadcast.model.BroadcastRunJPA;
 import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import static tech.zerofiltre.blog.util.ZerofiltreUtils.getBeginningAndEndOfMonthDates;
 import static tech.zerofiltre.blog.util.ZerofiltreUtils.getOriginUrl;
 
+/**
+ * Sends their stats of the last month to the users, chunk by chunk in the order of their ids.
+ * The stats of a chunk are counted with one query per stat, the emails are rendered in parallel and queued at a governed rate.
+ * The progress is checkpointed after each chunk: an interrupted broadcast is resumed by the next resume poll of any instance.
+ * The broadcast runs on a thread of its own, which may take hours at the governed rate, so it never holds the shared scheduler thread.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class MonthlyStatsReminder {
 
+    static final String RUN_PREFIX = "monthly-stats:";
     private static final int START_DATE = 0;
     private static final int END_DATE = 1;
 
@@ -37,56 +54,125 @@ public class MonthlyStatsReminder {
     private final ITemplateEngine emailTemplateEngine;
     private final ArticleViewProvider articleViewProvider;
     private final ArticleProvider articleProvider;
-
+    private final BroadcastRuns broadcastRuns;
+    @Qualifier(ExecutorConfiguration.STATS_RENDERER)
+    private final Executor renderExecutor;
+    @Qualifier(ExecutorConfiguration.STATS_BROADCAST)
+    private final Executor broadcastExecutor;
+    private final RateGovernor rateGovernor;
 
     @Scheduled(cron = "${zerofiltre.infra.stats.reminder.cron}")
-    public void sendStats() throws InterruptedException {
+    public void sendStats() {
+        String runName = runName(getBeginningAndEndOfMonthDates());
+        try {
+            broadcastRuns.open(runName);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Broadcast {} opened by another instance", runName);
+        }
+        resumeStats();
+    }
 
-        List<UserForBroadcast> users = userProvider.allUsersForBroadcast();
-        //TODO: Get only users having views/enrollments ... only active users actually
+    /**
+     * Starts the broadcast on its own thread, unless it is already running on this instance.
+     */
+    @Scheduled(fixedDelayString = "${zerofiltre.infra.stats.reminder.resume-delay-ms:300000}",
+            initialDelayString = "${zerofiltre.infra.stats.reminder.resume-delay-ms:300000}")
+    public void resumeStats() {
+        try {
+            broadcastExecutor.execute(this::broadcast);
+        } catch (TaskRejectedException e) {
+            log.debug("Stats broadcast already running on this instance");
+        }
+    }
 
+    private void broadcast() {
+        try {
+            broadcastChunks();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Stats broadcast interrupted, it will be resumed once its claim times out", e);
+        }
+    }
+
+    private void broadcastChunks() throws InterruptedException {
         List<LocalDateTime> listDates = getBeginningAndEndOfMonthDates();
-        Optional<String> userEmail;
-
-        for(UserForBroadcast user : users) {
-            userEmail = ZerofiltreUtils.getValidEmailForBroadcast(user);
-
-            if(userEmail.isPresent()) {
-                int articlesViewsCount = articleViewProvider.countArticlesReadByDatesAndUser(listDates.get(START_DATE), listDates.get(END_DATE), user.getId());
-                int publishedArticlesCount = articleProvider.countPublishedArticlesByDatesAndUser(listDates.get(START_DATE), listDates.get(END_DATE), user.getId());
-
-                if(articlesViewsCount == 0 && publishedArticlesCount == 0) continue;
-
-                String language = user.getLanguage() != null ? user.getLanguage() : Locale.FRANCE.getLanguage();
-                Locale locale = new Locale(language);
-
-                String subject = messages.getMessage("message.stats.subject.remind", null, locale);
-
-                String pageUri = "/articles";
-
-                Map<String, Object> templateModel = new HashMap<>();
-                templateModel.put("fullName", user.getFullName());
-                templateModel.put("articlesViewsCount", articlesViewsCount);
-                templateModel.put("publishedArticlesCount", publishedArticlesCount);
-                templateModel.put("startNewArticleLink", getOriginUrl(infraProperties.getEnv()) + pageUri);
-                templateModel.put("readLatestArticlesLink", getOriginUrl(infraProperties.getEnv()) + pageUri);
-                templateModel.put("originUrl", getOriginUrl(infraProperties.getEnv()));
-                Context thymeleafContext = new Context();
-                thymeleafContext.setVariables(templateModel);
-                thymeleafContext.setLocale(locale);
-                String emailContent = emailTemplateEngine.process("stats_reminder.html", thymeleafContext);
-                Email email = new Email();
-                email.setSubject(subject);
-                email.setContent(emailContent);
-                email.setRecipients(Collections.singletonList(userEmail.get()));
-                emailSender.send(email, true);
+        String runName = runName(listDates);
+        Optional<BroadcastRunJPA> claimed = broadcastRuns.claim(runName, LocalDateTime.now().minus(Duration.ofMillis(infraProperties.getStatsReminderClaimTimeoutMs())));
+        if (claimed.isEmpty()) return;
+
+        BroadcastRunJPA run = claimed.get();
+        int chunkSize = infraProperties.getStatsReminderChunkSize();
+        long lastUserId = run.getLastUserId();
+        int sentCount = run.getSentCount();
+        List<UserForBroadcast> users = userProvider.usersForBroadcast(lastUserId, chunkSize);
+        while (!users.isEmpty()) {
+            sentCount += sendChunk(runName, users, listDates);
+            lastUserId = users.get(users.size() - 1).getId();
+            broadcastRuns.checkpoint(runName, lastUserId, sentCount);
+            users = userProvider.usersForBroadcast(lastUserId, chunkSize);
+        }
+        broadcastRuns.finish(runName);
+        log.info("Broadcast of {} stats mail succeeded", sentCount);
+    }
+
+    private int sendChunk(String runName, List<UserForBroadcast> users, List<LocalDateTime> listDates) throws InterruptedException {
+        List<Long> userIds = users.stream().map(UserForBroadcast::getId).collect(Collectors.toList());
+        Map<Long, Integer> articlesViewsCounts = articleViewProvider.countArticlesReadByDatesPerUser(listDates.get(START_DATE), listDates.get(END_DATE), userIds);
+        Map<Long, Integer> publishedArticlesCounts = articleProvider.countPublishedArticlesByDatesPerUser(listDates.get(START_DATE), listDates.get(END_DATE), userIds);
+
+        List<CompletableFuture<Optional<Email>>> renderedEmails = users.stream()
+                .map(user -> CompletableFuture.supplyAsync(() -> statsEmail(user,
+                                articlesViewsCounts.getOrDefault(user.getId(), 0),
+                                publishedArticlesCounts.getOrDefault(user.getId(), 0)), renderExecutor)
+                        .exceptionally(e -> {
+                            log.error("Could not render the stats email of user {}, skipping it", user.getId(), e);
+                            return Optional.empty();
+                        }))
+                .collect(Collectors.toList());
+
+        int sent = 0;
+        for (int i = 0; i < users.size(); i++) {
+            Optional<Email> email = renderedEmails.get(i).join();
+            if (email.isPresent()) {
+                rateGovernor.acquire();
+                emailSender.send(email.get(), true, runName + ":" + users.get(i).getId());
+                sent++;
             }
-            sleep();
         }
-        log.info("Broadcast of {} stats mail succeeded", users.size());
+        return sent;
+    }
+
+    private Optional<Email> statsEmail(UserForBroadcast user, int articlesViewsCount, int publishedArticlesCount) {
+        Optional<String> userEmail = ZerofiltreUtils.getValidEmailForBroadcast(user);
+        if (userEmail.isEmpty() || (articlesViewsCount == 0 && publishedArticlesCount == 0)) return Optional.empty();
+
+        String language = user.getLanguage() != null ? user.getLanguage() : Locale.FRANCE.getLanguage();
+        Locale locale = new Locale(language);
+
+        String subject = messages.getMessage("message.stats.subject.remind", null, locale);
+
+        String pageUri = "/articles";
+
+        Map<String, Object> templateModel = new HashMap<>();
+        templateModel.put("fullName", user.getFullName());
+        templateModel.put("articlesViewsCount", articlesViewsCount);
+        templateModel.put("publishedArticlesCount", publishedArticlesCount);
+        templateModel.put("startNewArticleLink", getOriginUrl(infraProperties.getEnv()) + pageUri);
+        templateModel.put("readLatestArticlesLink", getOriginUrl(infraProperties.getEnv()) + pageUri);
+        templateModel.put("originUrl", getOriginUrl(infraProperties.getEnv()));
+        Context thymeleafContext = new Context();
+        thymeleafContext.setVariables(templateModel);
+        thymeleafContext.setLocale(locale);
+        String emailContent = emailTemplateEngine.process("stats_reminder.html", thymeleafContext);
+        Email email = new Email();
+        email.setSubject(subject);
+        email.setContent(emailContent);
+        email.setRecipients(Collections.singletonList(userEmail.get()));
+        return Optional.of(email);
     }
 
-    void sleep() throws InterruptedException {
-        TimeUnit.SECONDS.sleep(10);
+    static String runName(List<LocalDateTime> listDates) {
+        return RUN_PREFIX + YearMonth.from(listDates.get(START_DATE));
     }
 }
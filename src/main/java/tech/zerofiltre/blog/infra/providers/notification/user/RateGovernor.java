@@ -0,0 +1,48 @@
+package tech.zerofiltre.blog.infra.providers.notification.user;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket letting through permitsPerSecond calls per second on average, with bursts of up to burst calls.
+ * A caller that finds the bucket empty reserves the next token and waits until it is refilled.
+ */
+public class RateGovernor {
+
+    private final double nanosPerPermit;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private double tokens;
+    private long refilledAt;
+
+    public RateGovernor(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    RateGovernor(double permitsPerSecond, int burst, LongSupplier nanoClock, Sleeper sleeper) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("The rate must be positive");
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burst = Math.max(burst, 1);
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+        this.tokens = this.burst;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(burst, tokens + (now - refilledAt) / nanosPerPermit);
+            refilledAt = now;
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens * nanosPerPermit);
+        }
+        if (waitNanos > 0) sleeper.sleep(waitNanos);
+    }
+
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+}
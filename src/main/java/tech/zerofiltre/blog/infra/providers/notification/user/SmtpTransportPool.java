@@ -0,0 +1,89 @@
+package tech.zerofiltre.blog.infra.providers.notification.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.infra.InfraProperties;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps a few connected and authenticated SMTP transports and sends every message over one of them,
+ * instead of opening, negotiating TLS and authenticating a new connection per message as {@link JavaMailSender#send} does.
+ * A transport that fails or that the server closed while idle is dropped and replaced by a new one.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool {
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<Transport> idleTransports = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+
+    public SmtpTransportPool(JavaMailSender mailSender, InfraProperties infraProperties) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(infraProperties.getMailOutboxWorkers());
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            mailSender.send(message);
+            return;
+        }
+        permits.acquireUninterruptibly();
+        Transport transport = null;
+        try {
+            transport = borrow((JavaMailSenderImpl) mailSender);
+            if (message.getSentDate() == null) message.setSentDate(new Date());
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            idleTransports.offer(transport);
+            transport = null;
+        } finally {
+            if (transport != null) close(transport);
+            permits.release();
+        }
+    }
+
+    int idleCount() {
+        return idleTransports.size();
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        Transport transport;
+        while ((transport = idleTransports.poll()) != null) close(transport);
+    }
+
+    private Transport borrow(JavaMailSenderImpl sender) throws MessagingException {
+        Transport transport;
+        while ((transport = idleTransports.poll()) != null) {
+            if (transport.isConnected()) return transport;
+            close(transport);
+        }
+        String protocol = sender.getProtocol() == null ? JavaMailSenderImpl.DEFAULT_PROTOCOL : sender.getProtocol();
+        transport = sender.getSession().getTransport(protocol);
+        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        return transport;
+    }
+
+    private void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Could not close the SMTP transport", e);
+        }
+    }
+}
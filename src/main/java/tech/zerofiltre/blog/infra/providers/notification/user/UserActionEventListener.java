@@ -70,7 +70,7 @@ public class UserActionEventListener implements ApplicationListener<UserActionAp
             email.setSubject(subject);
             email.setContent(emailContent);
             email.setRecipients(Collections.singletonList(recipientAddress));
-            emailSender.send(email, true);
+            emailSender.send(email, true, event.getAction() + ":" + token);
         }
     }
 
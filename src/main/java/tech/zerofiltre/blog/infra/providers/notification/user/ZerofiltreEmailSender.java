@@ -2,32 +2,36 @@ package tech.zerofiltre.blog.infra.providers.notification.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.infra.InfraProperties;
-import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
+import tech.zerofiltre.blog.infra.providers.database.mail.MailOutbox;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Stream;
 
+import static tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA.ADDRESS_SEPARATOR;
 import static tech.zerofiltre.blog.util.ZerofiltreUtils.getOriginUrl;
 
+/**
+ * Renders the emails and queues them in the {@link MailOutbox}, from which the {@link MailOutboxWorker} sends them.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ZerofiltreEmailSender {
 
-    private static final int NUMBER_MAX_EMAILS = 20;
-    private final JavaMailSender mailSender;
+    static final int NUMBER_MAX_EMAILS = 20;
+    static final int USERS_PAGE_SIZE = 500;
+    private final MailOutbox outbox;
     private final InfraProperties infraProperties;
     private final ITemplateEngine emailTemplateEngine;
     private final UserProvider userProvider;
@@ -37,14 +41,35 @@ public class ZerofiltreEmailSender {
         email.setCcs(new ArrayList<>());
         email.setReplyTo(infraProperties.getContactEmail());
 
-        Collection<List<String>> listAllEmails = listAllEmails();
-        for (List<String> li : listAllEmails) {
-            email.setBccs(li);
-            send(email, false);
+        String processedTemplateContent = processedContent(email, false);
+        List<String> bccs = new ArrayList<>();
+        broadcastEmails().forEach(address -> {
+            bccs.add(address);
+            if (bccs.size() == NUMBER_MAX_EMAILS) {
+                email.setBccs(new ArrayList<>(bccs));
+                enqueue(email, processedTemplateContent, null);
+                bccs.clear();
+            }
+        });
+        if (!bccs.isEmpty()) {
+            email.setBccs(bccs);
+            enqueue(email, processedTemplateContent, null);
         }
     }
 
     public void send(Email email, boolean templateReady) {
+        send(email, templateReady, null);
+    }
+
+    /**
+     * @param idempotencyKey identifies the event the email is about: the email is queued only once per key and addressees,
+     *                       however many times the event is handled. Without a key, the email is always queued.
+     */
+    public void send(Email email, boolean templateReady, String idempotencyKey) {
+        enqueue(email, processedContent(email, templateReady), idempotencyKey);
+    }
+
+    private String processedContent(Email email, boolean templateReady) {
         String processedTemplateContent = email.getContent();
         if (!templateReady) {
             Map<String, Object> templateModel = new HashMap<>();
@@ -57,40 +82,46 @@ public class ZerofiltreEmailSender {
             thymeleafContext.setLocale(Locale.FRENCH);
             processedTemplateContent = emailTemplateEngine.process("general_message.html", thymeleafContext);
         }
-        send(email, processedTemplateContent);
+        return processedTemplateContent;
     }
 
-    private void send(Email email, String processedTemplateContent) {
-        try {
-            Resource resourceFile = new ClassPathResource("mail_header_image.png");
-            String replyTo = email.getReplyTo() == null || email.getReplyTo().isEmpty() ? infraProperties.getContactEmail() : email.getReplyTo();
+    private void enqueue(Email email, String processedTemplateContent, String idempotencyKey) {
+        String replyTo = email.getReplyTo() == null || email.getReplyTo().isEmpty() ? infraProperties.getContactEmail() : email.getReplyTo();
+        log.debug("Processed email content {}", processedTemplateContent);
 
-            final MimeMessage mimeMessage = this.mailSender.createMimeMessage();
-            final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-            helper.setFrom(replyTo);
-            helper.setTo(email.getRecipients().toArray(new String[0]));
-            helper.setBcc(email.getBccs().toArray(new String[0]));
-            helper.setCc(email.getCcs().toArray(new String[0]));
-            helper.setSubject(email.getSubject());
-            helper.setText(processedTemplateContent, true);
-            log.debug("Processed email content {}", processedTemplateContent);
-            helper.setReplyTo(replyTo);
-            helper.addInline("attachement.png", resourceFile);
-            this.mailSender.send(mimeMessage);
-        } catch (MessagingException e) {
-            log.error("An error occurred when sending email", e);
+        MailOutboxJPA mail = new MailOutboxJPA();
+        mail.setIdempotencyKey(idempotencyKeyOf(idempotencyKey, email));
+        mail.setRecipients(String.join(ADDRESS_SEPARATOR, email.getRecipients()));
+        mail.setCcs(String.join(ADDRESS_SEPARATOR, email.getCcs()));
+        mail.setBccs(String.join(ADDRESS_SEPARATOR, email.getBccs()));
+        mail.setSubject(email.getSubject());
+        mail.setContent(processedTemplateContent);
+        mail.setReplyTo(replyTo);
+        boolean queued = idempotencyKey == null ? outbox.enqueue(mail) : enqueueOnce(mail);
+        if (!queued) log.info("Email {} already queued, skipping it", idempotencyKey);
+    }
+
+    private boolean enqueueOnce(MailOutboxJPA mail) {
+        try {
+            return outbox.enqueueOnce(mail);
+        } catch (DataIntegrityViolationException e) {
+            return false;
         }
     }
 
-    Collection<List<String>> listAllEmails() {
-        List<UserForBroadcast> userEmailList = userProvider.allUsersForBroadcast();
-        List<String> list = new ArrayList<>();
-        Optional<String> email;
+    static String idempotencyKeyOf(String idempotencyKey, Email email) {
+        if (idempotencyKey == null) return UUID.randomUUID().toString();
+        List<String> sortedRecipients = new ArrayList<>(email.getRecipients());
+        sortedRecipients.addAll(email.getCcs());
+        sortedRecipients.addAll(email.getBccs());
+        Collections.sort(sortedRecipients);
+        String key = idempotencyKey + "|" + String.join(ADDRESS_SEPARATOR, sortedRecipients);
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
 
-        for (UserForBroadcast u : userEmailList) {
-            email = ZerofiltreUtils.getValidEmailForBroadcast(u);
-            email.ifPresent(list::add);
-        }
-        return ZerofiltreUtils.partitionList(list, NUMBER_MAX_EMAILS);
+    Stream<String> broadcastEmails() {
+        return userProvider.streamUsersForBroadcast(USERS_PAGE_SIZE)
+                .map(ZerofiltreUtils::getValidEmailForBroadcast)
+                .flatMap(Optional::stream);
     }
 }
@@ -0,0 +1,254 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.domain.article.model.Status;
+import tech.zerofiltre.blog.domain.search.SearchProvider;
+import tech.zerofiltre.blog.domain.search.model.SearchResult;
+import tech.zerofiltre.blog.domain.search.model.UserSearchResult;
+import tech.zerofiltre.blog.infra.ExecutorConfiguration;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.article.ArticleJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.article.model.ArticleJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.CourseJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.course.LessonJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.course.model.CourseJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.LessonJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.LessonWithCourseIdJPA;
+import tech.zerofiltre.blog.infra.providers.database.search.DBSearchProvider;
+import tech.zerofiltre.blog.infra.providers.database.search.mapper.SearchResultJpaMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Slf4j
+@Primary
+@Component
+@RequiredArgsConstructor
+public class IndexedSearchProvider implements SearchProvider {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int SUMMARY_WEIGHT = 2;
+    static final int CONTENT_WEIGHT = 1;
+
+    private final ArticleJPARepository articleJPARepository;
+    private final CourseJPARepository courseJPARepository;
+    private final LessonJPARepository lessonJPARepository;
+    private final DBSearchProvider dbSearchProvider;
+    private final SearchResultJpaMapper mapper;
+    private final InfraProperties infraProperties;
+    @Qualifier(ExecutorConfiguration.SEARCH_INDEX_BUILDER)
+    private final Executor initialBuildExecutor;
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    private final Object rebuildLock = new Object();
+    private volatile SearchIndex index;
+    // updates received while a rebuild is running, replayed on the new index before it is swapped in
+    private List<Consumer<SearchIndex>> changesDuringRebuild;
+
+    @Override
+    public SearchResult search(String keyword) {
+        SearchIndex current = index;
+        if (current == null) {
+            log.debug("Search index is not built yet, falling back to database search for {}", keyword);
+            return dbSearchProvider.search(keyword);
+        }
+        List<String> terms = analyzer.analyzeQuery(keyword);
+        if (terms.isEmpty()) {
+            log.debug("{} has no indexed term, falling back to database search", keyword);
+            return dbSearchProvider.search(keyword);
+        }
+        int maxResults = infraProperties.getSearchMaxResults();
+        SearchResult result = new SearchResult();
+        result.setArticles(nullIfEmpty(current.articles.search(terms, maxResults)));
+        result.setCourses(nullIfEmpty(current.courses.search(terms, maxResults)));
+        result.setLessons(nullIfEmpty(current.lessons.search(terms, maxResults)));
+        return result;
+    }
+
+    @Override
+    public List<UserSearchResult> searchUsers(String keyword) {
+        return dbSearchProvider.searchUsers(keyword);
+    }
+
+    /**
+     * Builds the first index off the startup thread, searches are served from the database until it is built.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInitialIndex() {
+        initialBuildExecutor.execute(this::rebuildIndex);
+    }
+
+    /**
+     * The change events keep the index current: the nightly rebuild only reconciles it with the database, e.g. after a missed event.
+     */
+    @Scheduled(cron = "${zerofiltre.infra.search.index-reconciliation.cron:0 30 4 * * ?}")
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            if (changesDuringRebuild != null) {
+                log.debug("Search index is already being built");
+                return;
+            }
+            changesDuringRebuild = new ArrayList<>();
+        }
+        SearchIndex built = new SearchIndex();
+        try {
+            forEachSlice(pageable -> articleJPARepository.findIndexableByStatus(Status.PUBLISHED, pageable), this::indexArticle, built);
+            forEachSlice(pageable -> courseJPARepository.findIndexableByStatus(Status.PUBLISHED, pageable), this::indexCourse, built);
+            forEachSlice(pageable -> lessonJPARepository.findIndexableByStatus(Status.PUBLISHED, pageable), this::indexLesson, built);
+            swapIn(built);
+            log.info("Search index built in {} ms with {} articles, {} courses and {} lessons", System.currentTimeMillis() - start,
+                    built.articles.size(), built.courses.size(), built.lessons.size());
+        } catch (RuntimeException e) {
+            log.error("Search index could not be built, the previous one is kept until the next build", e);
+        } finally {
+            synchronized (rebuildLock) {
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    private void swapIn(SearchIndex built) {
+        while (true) {
+            List<Consumer<SearchIndex>> missed;
+            synchronized (rebuildLock) {
+                missed = changesDuringRebuild;
+                if (missed.isEmpty()) {
+                    index = built;
+                    return;
+                }
+                changesDuringRebuild = new ArrayList<>();
+            }
+            missed.forEach(change -> change.accept(built));
+        }
+    }
+
+    private void apply(Consumer<SearchIndex> change) {
+        SearchIndex current;
+        synchronized (rebuildLock) {
+            if (changesDuringRebuild != null) changesDuringRebuild.add(change);
+            current = index;
+        }
+        if (current != null) change.accept(current);
+    }
+
+    public void updateArticles(Collection<Long> changedIds, Collection<Long> deletedIds) {
+        apply(target -> updateArticles(target, changedIds, deletedIds));
+    }
+
+    private void updateArticles(SearchIndex current, Collection<Long> changedIds, Collection<Long> deletedIds) {
+        deletedIds.forEach(current.articles::remove);
+        if (changedIds.isEmpty()) return;
+        Set<Long> notPublished = new HashSet<>(changedIds);
+        for (ArticleJPA articleJPA : articleJPARepository.findAllById(changedIds)) {
+            if (Status.PUBLISHED == articleJPA.getStatus()) {
+                indexArticle(current, articleJPA);
+                notPublished.remove(articleJPA.getId());
+            }
+        }
+        notPublished.forEach(current.articles::remove);
+    }
+
+    public void updateCourses(Collection<Long> changedIds, Collection<Long> deletedIds) {
+        apply(target -> updateCourses(target, changedIds, deletedIds));
+    }
+
+    private void updateCourses(SearchIndex current, Collection<Long> changedIds, Collection<Long> deletedIds) {
+        Set<Long> notPublished = new HashSet<>(changedIds);
+        notPublished.addAll(deletedIds);
+        Set<Long> newlyPublished = new HashSet<>();
+        if (!changedIds.isEmpty()) {
+            for (CourseJPA courseJPA : courseJPARepository.findAllById(changedIds)) {
+                if (Status.PUBLISHED == courseJPA.getStatus()) {
+                    if (!current.courses.contains(courseJPA.getId())) newlyPublished.add(courseJPA.getId());
+                    indexCourse(current, courseJPA);
+                    notPublished.remove(courseJPA.getId());
+                }
+            }
+        }
+        notPublished.forEach(current.courses::remove);
+        if (!notPublished.isEmpty())
+            current.lessons.removeIf(lesson -> notPublished.contains(lesson.getCourseId()));
+        if (!newlyPublished.isEmpty())
+            lessonJPARepository.findIndexableByCourseIds(newlyPublished, Status.PUBLISHED).forEach(lesson -> indexLesson(current, lesson));
+    }
+
+    public void updateLessons(Collection<Long> changedIds, Collection<Long> deletedIds) {
+        apply(target -> updateLessons(target, changedIds, deletedIds));
+    }
+
+    private void updateLessons(SearchIndex current, Collection<Long> changedIds, Collection<Long> deletedIds) {
+        deletedIds.forEach(current.lessons::remove);
+        if (changedIds.isEmpty()) return;
+        Set<Long> notPublished = new HashSet<>(changedIds);
+        for (LessonWithCourseIdJPA lesson : lessonJPARepository.findIndexableByIds(changedIds, Status.PUBLISHED)) {
+            indexLesson(current, lesson);
+            notPublished.remove(lesson.getLesson().getId());
+        }
+        notPublished.forEach(current.lessons::remove);
+    }
+
+    void indexArticle(SearchIndex target, ArticleJPA articleJPA) {
+        Map<String, Integer> terms = new HashMap<>();
+        analyzer.accumulate(terms, articleJPA.getTitle(), TITLE_WEIGHT);
+        analyzer.accumulate(terms, articleJPA.getSummary(), SUMMARY_WEIGHT);
+        analyzer.accumulate(terms, articleJPA.getContent(), CONTENT_WEIGHT);
+        target.articles.index(articleJPA.getId(), terms, mapper.fromJPA(articleJPA));
+    }
+
+    void indexCourse(SearchIndex target, CourseJPA courseJPA) {
+        Map<String, Integer> terms = new HashMap<>();
+        analyzer.accumulate(terms, courseJPA.getTitle(), TITLE_WEIGHT);
+        analyzer.accumulate(terms, courseJPA.getSubTitle(), SUMMARY_WEIGHT);
+        analyzer.accumulate(terms, courseJPA.getSummary(), SUMMARY_WEIGHT);
+        target.courses.index(courseJPA.getId(), terms, mapper.fromJPA(courseJPA));
+    }
+
+    void indexLesson(SearchIndex target, LessonWithCourseIdJPA lessonWithCourseIdJPA) {
+        LessonJPA lessonJPA = lessonWithCourseIdJPA.getLesson();
+        Map<String, Integer> terms = new HashMap<>();
+        analyzer.accumulate(terms, lessonJPA.getTitle(), TITLE_WEIGHT);
+        analyzer.accumulate(terms, lessonJPA.getSummary(), SUMMARY_WEIGHT);
+        analyzer.accumulate(terms, lessonJPA.getContent(), CONTENT_WEIGHT);
+        target.lessons.index(lessonJPA.getId(), terms, mapper.fromJPA(lessonWithCourseIdJPA));
+    }
+
+    private <T> void forEachSlice(Function<Pageable, Slice<T>> finder, BiConsumer<SearchIndex, T> step, SearchIndex target) {
+        Slice<T> slice = finder.apply(PageRequest.of(0, infraProperties.getSearchIndexingPageSize(), Sort.by("id")));
+        slice.forEach(entity -> step.accept(target, entity));
+        while (slice.hasNext()) {
+            slice = finder.apply(slice.nextPageable());
+            slice.forEach(entity -> step.accept(target, entity));
+        }
+    }
+
+    private static <T> List<T> nullIfEmpty(List<T> results) {
+        return results.isEmpty() ? null : new ArrayList<>(results);
+    }
+
+    static class SearchIndex {
+        final InvertedIndex<SearchResult.ArticleSearchResult> articles = new InvertedIndex<>();
+        final InvertedIndex<SearchResult.CourseSearchResult> courses = new InvertedIndex<>();
+        final InvertedIndex<SearchResult.LessonSearchResult> lessons = new InvertedIndex<>();
+    }
+}
@@ -0,0 +1,171 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe in-memory inverted index ranking documents with BM25.
+ * Every query term also matches indexed terms it is a prefix of, with a lower weight than an exact match.
+ * A query term expands to its exact match and to the indexed terms found in the most documents, up to MAX_PREFIX_EXPANSIONS.
+ */
+public class InvertedIndex<T> {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final double PREFIX_MATCH_WEIGHT = 0.5;
+    static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documentTerms = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private final Map<Long, T> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public void index(long id, Map<String, Integer> termFrequencies, T document) {
+        lock.writeLock().lock();
+        try {
+            doRemove(id);
+            if (termFrequencies.isEmpty()) return;
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(id, entry.getValue());
+                length += entry.getValue();
+            }
+            documentTerms.put(id, new HashMap<>(termFrequencies));
+            documentLengths.put(id, length);
+            documents.put(id, document);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            doRemove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeIf(Predicate<T> filter) {
+        lock.writeLock().lock();
+        try {
+            documents.entrySet().stream()
+                    .filter(entry -> filter.test(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(this::doRemove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> search(List<String> queryTerms, int limit) {
+        if (queryTerms.isEmpty() || limit <= 0) return Collections.emptyList();
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) return Collections.emptyList();
+            double averageLength = (double) totalLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> posting : expansions(queryTerm)) {
+                    double weight = posting.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                    double idf = idf(posting.getValue().size());
+                    posting.getValue().forEach((id, frequency) ->
+                            termScores.merge(id, weight * idf * saturation(frequency, documentLengths.get(id), averageLength), Math::max));
+                }
+                termScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Map.Entry<String, Map<Long, Integer>>> expansions(String queryTerm) {
+        List<Map.Entry<String, Map<Long, Integer>>> expansions = new ArrayList<>();
+        PriorityQueue<Map.Entry<String, Map<Long, Integer>>> mostFrequent = new PriorityQueue<>(
+                Comparator.<Map.Entry<String, Map<Long, Integer>>>comparingInt(posting -> posting.getValue().size())
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        for (Map.Entry<String, Map<Long, Integer>> posting : postings.tailMap(queryTerm, true).entrySet()) {
+            String term = posting.getKey();
+            if (!term.startsWith(queryTerm)) break;
+            if (term.equals(queryTerm)) {
+                expansions.add(posting);
+                continue;
+            }
+            mostFrequent.offer(posting);
+            if (expansions.size() + mostFrequent.size() > MAX_PREFIX_EXPANSIONS) mostFrequent.poll();
+        }
+        expansions.addAll(mostFrequent);
+        return expansions;
+    }
+
+    private List<T> topK(Map<Long, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(
+                Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) heap.poll();
+        }
+        List<T> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(documents.get(heap.poll().getKey()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double saturation(int frequency, int documentLength, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * documentLength / averageLength));
+    }
+
+    private void doRemove(long id) {
+        Map<String, Integer> terms = documentTerms.remove(id);
+        if (terms == null) return;
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+        totalLength -= documentLengths.remove(id);
+        documents.remove(id);
+    }
+}
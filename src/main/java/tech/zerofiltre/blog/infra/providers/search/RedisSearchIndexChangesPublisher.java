@@ -0,0 +1,58 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.ContentType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class RedisSearchIndexChangesPublisher implements SearchIndexChangesPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String origin = UUID.randomUUID().toString();
+
+    public RedisSearchIndexChangesPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, InfraProperties infraProperties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = infraProperties.getSearchIndexChangesChannel();
+    }
+
+    @Override
+    public void publishChanges(ContentType contentType, List<Long> changedIds, List<Long> deletedIds) {
+        SearchIndexChanges changes = new SearchIndexChanges(origin, contentType, changedIds, deletedIds);
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(changes));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Could not broadcast the search index changes {}, other instances will pick them up at their next rebuild", changes, e);
+        }
+    }
+
+    /**
+     * Reads changes received on the channel, ignoring the ones this instance sent itself.
+     */
+    public Optional<SearchIndexChanges> read(Message message) {
+        try {
+            SearchIndexChanges changes = objectMapper.readValue(message.getBody(), SearchIndexChanges.class);
+            return origin.equals(changes.getOrigin()) ? Optional.empty() : Optional.of(changes);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable search index changes message", e);
+            return Optional.empty();
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+}
@@ -0,0 +1,22 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.ContentType;
+
+import java.util.List;
+
+/**
+ * Message broadcast to the other instances when a batch of content changes was applied to the local search index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexChanges {
+
+    private String origin;
+    private ContentType contentType;
+    private List<Long> changedIds;
+    private List<Long> deletedIds;
+}
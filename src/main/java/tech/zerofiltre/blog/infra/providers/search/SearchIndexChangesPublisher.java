@@ -0,0 +1,10 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.ContentType;
+
+import java.util.List;
+
+public interface SearchIndexChangesPublisher {
+
+    void publishChanges(ContentType contentType, List<Long> changedIds, List<Long> deletedIds);
+}
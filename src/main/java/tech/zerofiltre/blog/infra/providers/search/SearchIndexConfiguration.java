@@ -0,0 +1,21 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class SearchIndexConfiguration {
+
+    @Bean
+    public RedisMessageListenerContainer searchIndexChangesListenerContainer(RedisConnectionFactory connectionFactory, SearchIndexUpdater searchIndexUpdater,
+                                                                             RedisSearchIndexChangesPublisher changesPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> changesPublisher.read(message).ifPresent(searchIndexUpdater::onRemoteChanges),
+                new ChannelTopic(changesPublisher.getChannel()));
+        return container;
+    }
+}
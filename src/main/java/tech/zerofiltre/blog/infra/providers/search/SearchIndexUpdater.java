@@ -0,0 +1,97 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.ContentType;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.Operation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers committed content changes and applies them to the search index in batches.
+ * Repeated changes of the same document between two flushes collapse into the latest one.
+ * Local batches are broadcast to the other instances, which apply them at their own next flush.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexUpdater {
+
+    private final IndexedSearchProvider searchProvider;
+    private final SearchIndexChangesPublisher changesPublisher;
+    private final Map<ContentType, Map<Long, Operation>> pendingChanges = newPendingChanges();
+    private final Map<ContentType, Map<Long, Operation>> pendingRemoteChanges = newPendingChanges();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        pendingChanges.get(event.getContentType()).put(event.getContentId(), event.getOperation());
+    }
+
+    public void onRemoteChanges(SearchIndexChanges changes) {
+        Map<Long, Operation> remoteChanges = pendingRemoteChanges.get(changes.getContentType());
+        if (changes.getChangedIds() != null) changes.getChangedIds().forEach(id -> remoteChanges.put(id, Operation.UPSERT));
+        if (changes.getDeletedIds() != null) changes.getDeletedIds().forEach(id -> remoteChanges.put(id, Operation.DELETE));
+    }
+
+    @Scheduled(fixedDelayString = "${zerofiltre.infra.search.index-update-delay-ms:2000}")
+    public void flush() {
+        flush(pendingChanges, true);
+        flush(pendingRemoteChanges, false);
+    }
+
+    private void flush(Map<ContentType, Map<Long, Operation>> pending, boolean broadcast) {
+        for (Map.Entry<ContentType, Map<Long, Operation>> entry : pending.entrySet()) {
+            List<Long> changedIds = new ArrayList<>();
+            List<Long> deletedIds = new ArrayList<>();
+            Map<Long, Operation> changes = entry.getValue();
+            for (Long id : changes.keySet()) {
+                Operation operation = changes.remove(id);
+                if (Operation.DELETE == operation) deletedIds.add(id);
+                else if (operation != null) changedIds.add(id);
+            }
+            if (changedIds.isEmpty() && deletedIds.isEmpty()) continue;
+            if (broadcast) changesPublisher.publishChanges(entry.getKey(), changedIds, deletedIds);
+            try {
+                apply(entry.getKey(), changedIds, deletedIds);
+                log.debug("Applied {} {} changes and {} deletions to the search index", changedIds.size(), entry.getKey(), deletedIds.size());
+            } catch (RuntimeException e) {
+                log.error("Could not apply {} changes to the search index, they will be picked up by the next rebuild", entry.getKey(), e);
+            }
+        }
+    }
+
+    int pendingChangesCount() {
+        return pendingChanges.values().stream().mapToInt(Map::size).sum()
+                + pendingRemoteChanges.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private void apply(ContentType contentType, List<Long> changedIds, List<Long> deletedIds) {
+        switch (contentType) {
+            case ARTICLE:
+                searchProvider.updateArticles(changedIds, deletedIds);
+                break;
+            case COURSE:
+                searchProvider.updateCourses(changedIds, deletedIds);
+                break;
+            case LESSON:
+                searchProvider.updateLessons(changedIds, deletedIds);
+                break;
+        }
+    }
+
+    private static Map<ContentType, Map<Long, Operation>> newPendingChanges() {
+        Map<ContentType, Map<Long, Operation>> changes = new EnumMap<>(ContentType.class);
+        for (ContentType contentType : ContentType.values()) {
+            changes.put(contentType, new ConcurrentHashMap<>());
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,70 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            // French
+            "au", "aux", "avec", "ce", "ces", "cet", "cette", "dans", "de", "des", "du", "elle", "en", "et", "il", "ils",
+            "je", "la", "le", "les", "leur", "lui", "ma", "mais", "me", "mes", "moi", "mon", "ne", "nos", "notre", "nous",
+            "on", "ou", "par", "pas", "pour", "qu", "que", "qui", "sa", "se", "ses", "son", "sur", "ta", "te", "tes",
+            "toi", "ton", "tu", "un", "une", "vos", "votre", "vous", "est", "sont",
+            // English
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it", "its", "of",
+            "or", "that", "the", "this", "to", "was", "were", "will", "with");
+
+    public String fold(String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public List<String> analyze(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * Analyzes a search query, keeping its stop words when the query is made of nothing else.
+     */
+    public List<String> analyzeQuery(String text) {
+        List<String> tokens = tokenize(text, true);
+        return tokens.isEmpty() ? tokenize(text, false) : tokens;
+    }
+
+    public void accumulate(Map<String, Integer> termFrequencies, String text, int weight) {
+        for (String token : analyze(text)) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private List<String> tokenize(String text, boolean dropStopWords) {
+        List<String> tokens = new ArrayList<>();
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean tokenChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                addToken(tokens, folded.substring(start, i), dropStopWords);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void addToken(List<String> tokens, String token, boolean dropStopWords) {
+        if (token.length() >= MIN_TOKEN_LENGTH && !(dropStopWords && STOP_WORDS.contains(token)))
+            tokens.add(token);
+    }
+}
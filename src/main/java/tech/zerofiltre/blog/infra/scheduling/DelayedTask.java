@@ -0,0 +1,18 @@
+package tech.zerofiltre.blog.infra.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class DelayedTask {
+
+    private final String type;
+    private final String key;
+    private final Map<String, String> payload;
+    private final int attempt;
+}
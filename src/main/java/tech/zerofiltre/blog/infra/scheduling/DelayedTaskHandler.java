@@ -0,0 +1,11 @@
+package tech.zerofiltre.blog.infra.scheduling;
+
+/**
+ * Runs the delayed tasks of one type. A task may run more than once if its instance dies before it is recorded as done.
+ */
+public interface DelayedTaskHandler {
+
+    String type();
+
+    void handle(DelayedTask task) throws Exception;
+}
@@ -0,0 +1,191 @@
+package tech.zerofiltre.blog.infra.scheduling;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.task.DelayedTaskStore;
+import tech.zerofiltre.blog.infra.providers.database.task.model.DelayedTaskJPA;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs tasks at a given time, across restarts and instances.
+ * Tasks are stored in the database; the ones due within the lookahead window are held in a {@link DelayQueue}
+ * and run by a single dispatcher thread at their due time. The database is read once per load delay instead of
+ * being polled until the tasks are due, and several instances may load the same task: only the one that claims it runs it.
+ */
+@Slf4j
+@Component
+public class DelayedTaskScheduler {
+
+    private final DelayedTaskStore store;
+    private final ObjectProvider<DelayedTaskHandler> handlerProvider;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DelayQueue<DueTask> dueTasks = new DelayQueue<>();
+    private final Set<DueTask> queuedTasks = ConcurrentHashMap.newKeySet();
+    private final long lookaheadMs;
+    private final long claimTimeoutMs;
+    private final long retryDelayMs;
+    private final int maxAttempts;
+    private final int loadLimit;
+    private volatile Map<String, DelayedTaskHandler> handlers;
+    private Thread dispatcher;
+
+    public DelayedTaskScheduler(DelayedTaskStore store, ObjectProvider<DelayedTaskHandler> handlerProvider, InfraProperties infraProperties) {
+        this.store = store;
+        this.handlerProvider = handlerProvider;
+        this.lookaheadMs = infraProperties.getDelayedTasksLookaheadMs();
+        this.claimTimeoutMs = infraProperties.getDelayedTasksClaimTimeoutMs();
+        this.retryDelayMs = infraProperties.getDelayedTasksRetryDelayMs();
+        this.maxAttempts = infraProperties.getDelayedTasksMaxAttempts();
+        this.loadLimit = infraProperties.getDelayedTasksLoadLimit();
+    }
+
+    /**
+     * Schedules the task of this type and key, or moves it if it is already scheduled.
+     */
+    public void schedule(String type, String key, Duration delay, Map<String, String> payload) {
+        LocalDateTime dueAt = LocalDateTime.now().plus(delay);
+        DelayedTaskJPA task = store.schedule(type, key, toJson(payload), dueAt);
+        if (delay.toMillis() <= lookaheadMs) queueLocally(task.getId(), task.getDueAt());
+    }
+
+    public boolean cancel(String type, String key) {
+        return store.cancel(type, key);
+    }
+
+    @Scheduled(fixedDelayString = "${zerofiltre.infra.delayed-tasks.load-delay-ms:30000}")
+    public void load() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            store.dueBefore(now.plus(Duration.ofMillis(lookaheadMs)), staleBefore(now), loadLimit)
+                    .forEach(task -> queueLocally(task.getId(), task.getDueAt()));
+        } catch (RuntimeException e) {
+            log.error("Could not load the delayed tasks", e);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new Thread(this::dispatchUntilInterrupted, "delayed-task-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) dispatcher.interrupt();
+    }
+
+    void dispatch(long taskId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<DelayedTaskJPA> claimed = store.claim(taskId, now, staleBefore(now));
+        if (claimed.isEmpty()) return;
+
+        DelayedTaskJPA task = claimed.get();
+        DelayedTaskHandler handler = handlers().get(task.getType());
+        if (handler == null) {
+            log.error("No handler for the delayed task {} of type {}, dropping it", task.getTaskKey(), task.getType());
+            store.complete(task);
+            return;
+        }
+        try {
+            handler.handle(new DelayedTask(task.getType(), task.getTaskKey(), fromJson(task.getPayload()), task.getAttempts()));
+            store.complete(task);
+        } catch (Exception e) {
+            if (task.getAttempts() >= maxAttempts) {
+                log.error("Delayed task {} of type {} failed {} times, dropping it", task.getTaskKey(), task.getType(), task.getAttempts(), e);
+                store.complete(task);
+            } else {
+                log.warn("Delayed task {} of type {} failed, retrying in {} ms", task.getTaskKey(), task.getType(), retryDelayMs, e);
+                store.retry(task, LocalDateTime.now().plus(Duration.ofMillis(retryDelayMs)));
+            }
+        }
+    }
+
+    int queuedCount() {
+        return queuedTasks.size();
+    }
+
+    private void dispatchUntilInterrupted() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                DueTask dueTask = dueTasks.take();
+                queuedTasks.remove(dueTask);
+                dispatch(dueTask.taskId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Could not dispatch a delayed task, it will be loaded again once its claim times out", e);
+            }
+        }
+    }
+
+    private void queueLocally(long taskId, LocalDateTime dueAt) {
+        DueTask dueTask = new DueTask(taskId, dueAt);
+        if (queuedTasks.add(dueTask)) dueTasks.offer(dueTask);
+    }
+
+    private LocalDateTime staleBefore(LocalDateTime now) {
+        return now.minus(Duration.ofMillis(claimTimeoutMs));
+    }
+
+    private Map<String, DelayedTaskHandler> handlers() {
+        if (handlers == null)
+            handlers = handlerProvider.orderedStream().collect(Collectors.toMap(DelayedTaskHandler::type, Function.identity()));
+        return handlers;
+    }
+
+    private String toJson(Map<String, String> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("The delayed task payload can not be serialized", e);
+        }
+    }
+
+    private Map<String, String> fromJson(String payload) throws JsonProcessingException {
+        if (payload == null) return Collections.emptyMap();
+        return objectMapper.readValue(payload, new TypeReference<>() {
+        });
+    }
+
+    @EqualsAndHashCode
+    static class DueTask implements Delayed {
+        private final long taskId;
+        private final LocalDateTime dueAt;
+
+        DueTask(long taskId, LocalDateTime dueAt) {
+            this.taskId = taskId;
+            this.dueAt = dueAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            long dueAtMs = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return unit.convert(dueAtMs - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import tech.zerofiltre.blog.domain.user.SocialLoginProvider;
 import tech.zerofiltre.blog.infra.security.model.JwtAuthenticationTokenProperties;
+import tech.zerofiltre.blog.infra.security.model.UserPrincipal;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -57,12 +58,13 @@ public class JwtTokenAuthenticationCheckerFilter extends AuthenticationCheckerFi
             String username = claims.getSubject();
             if (username != null) {
                 List<String> authorities = (List<String>) claims.get("authorities");
+                Number userId = claims.get(JwtAuthenticationTokenProperties.USER_ID_CLAIM, Number.class);
 
                 // 5. Create auth object
                 // UsernamePasswordAuthenticationToken: A built-in object, used by spring to represent the current authenticated / being authenticated user.
                 // It needs a list of authorities, which has type of GrantedAuthority interface, where SimpleGrantedAuthority is an implementation of that interface
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        username, null, authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+                        principalOf(userId, username), null, authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
                 // 6. Authenticate the user
                 // Now, user is authenticated
                 SecurityContextHolder.getContext().setAuthentication(auth);
@@ -78,5 +80,9 @@ public class JwtTokenAuthenticationCheckerFilter extends AuthenticationCheckerFi
         chain.doFilter(request, response);
     }
 
+    // Tokens issued before the user id claim existed keep being resolved by email until they expire
+    private Object principalOf(Number userId, String username) {
+        return userId == null ? username : new UserPrincipal(userId.longValue(), username);
+    }
 
 }
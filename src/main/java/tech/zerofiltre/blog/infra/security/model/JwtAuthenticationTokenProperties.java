@@ -13,6 +13,8 @@ import java.util.*;
 @Component
 @EqualsAndHashCode(callSuper = true)
 public class JwtAuthenticationTokenProperties extends AuthenticationTokenProperties {
+    public static final String USER_ID_CLAIM = "userId";
+
     @Value("${zerofiltre.infra.security.jwt.uri}")
     private String uri;
 
@@ -28,13 +30,14 @@ public class JwtAuthenticationTokenProperties extends AuthenticationTokenPropert
     @Value("${zerofiltre.infra.security.jwt.secret}")
     private String secret;
 
-    public JwtToken buildToken(String email, Set<String> roles) {
+    public JwtToken buildToken(long userId, String email, Set<String> roles) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime expiration = now.plusSeconds(expirationInSeconds);
         String accessToken = Jwts.builder()
                 .setSubject(email)
                 // Convert to list of strings.
                 .claim("authorities", roles)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(Date.from(now.toInstant(ZoneOffset.UTC)))
                 .setExpiration(Date.from(expiration.toInstant(ZoneOffset.UTC)))
                 .signWith(SignatureAlgorithm.HS512, secret.getBytes())
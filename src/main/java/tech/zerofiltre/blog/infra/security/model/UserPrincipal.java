@@ -0,0 +1,34 @@
+package tech.zerofiltre.blog.infra.security.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+
+/**
+ * Principal of a token authenticated request. The name stays the email so that existing callers of
+ * {@code Authentication.getName()} are unchanged, the id lets the user be resolved without an email lookup.
+ */
+@Getter
+@EqualsAndHashCode
+public class UserPrincipal implements AuthenticatedPrincipal, Serializable {
+
+    private final long id;
+    private final String email;
+
+    public UserPrincipal(long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -16,17 +16,29 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 public class ZerofiltreUtils {
 
     public static final String ROOT_URL = "https://zerofiltre.tech";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    /**
+     * One digest per thread: getting a digest instance goes through the security providers lookup, and a digest is not thread safe.
+     */
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    });
 
     private ZerofiltreUtils() {
     }
@@ -87,6 +99,39 @@ public class ZerofiltreUtils {
         return Arrays.asList(startDate, endDate);
     }
 
+    /**
+     * Streams the items loaded page by page by pageLoader, which is given the key of the last item of the previous page
+     * (0 for the first page) and the page size, and must return the items with a greater key, ordered by key.
+     * A page is only loaded once the previous one is consumed, so that no more than one page is held at a time.
+     */
+    public static <T> Stream<T> streamByKeyset(BiFunction<Long, Integer, List<T>> pageLoader, ToLongFunction<T> keyOf, int pageSize) {
+        Iterator<T> iterator = new Iterator<>() {
+            private List<T> page = Collections.emptyList();
+            private int index;
+            private long lastKey;
+            private boolean lastPage;
+
+            @Override
+            public boolean hasNext() {
+                if (index < page.size()) return true;
+                if (lastPage) return false;
+                page = pageLoader.apply(lastKey, pageSize);
+                index = 0;
+                lastPage = page.size() < pageSize;
+                if (page.isEmpty()) return false;
+                lastKey = keyOf.applyAsLong(page.get(page.size() - 1));
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return page.get(index++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
     public static <T> Collection<List<T>> partitionList(List<T> list, int n) {
         return IntStream.range(0, list.size()).boxed()
                 .collect(Collectors.groupingBy(i -> i / n,
@@ -99,17 +144,19 @@ public class ZerofiltreUtils {
     }
 
     public static String convertToHash(String data) throws NoSuchAlgorithmException {
-
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        MessageDigest digest = SHA_256.get();
+        if (digest == null) {
+            SHA_256.remove();
+            throw new NoSuchAlgorithmException("SHA-256 is not available");
+        }
         byte[] encodedHash = digest.digest(data.getBytes(StandardCharsets.UTF_8));
 
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : encodedHash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) hexString.append('0');
-            hexString.append(hex);
+        char[] hexString = new char[encodedHash.length * 2];
+        for (int i = 0; i < encodedHash.length; i++) {
+            hexString[2 * i] = HEX_DIGITS[(encodedHash[i] >> 4) & 0xf];
+            hexString[2 * i + 1] = HEX_DIGITS[encodedHash[i] & 0xf];
         }
-        return hexString.toString();
+        return new String(hexString);
     }
 
 
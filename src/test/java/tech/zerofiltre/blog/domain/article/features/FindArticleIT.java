@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
@@ -20,6 +21,7 @@ import tech.zerofiltre.blog.domain.metrics.MetricsProvider;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.doubles.DummyMetricsProvider;
+import tech.zerofiltre.blog.infra.providers.database.article.ArticleViewBuffer;
 import tech.zerofiltre.blog.infra.providers.database.article.DBArticleProvider;
 import tech.zerofiltre.blog.infra.providers.database.article.DBArticleViewProvider;
 import tech.zerofiltre.blog.infra.providers.database.article.DBReactionProvider;
@@ -34,7 +36,7 @@ import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 @DataJpaTest
 @Import({DBArticleProvider.class, DBTagProvider.class, DBUserProvider.class,
-        DBReactionProvider.class, DBArticleViewProvider.class
+        DBReactionProvider.class, DBArticleViewProvider.class, ArticleViewBuffer.class
 })
 class FindArticleIT {
 
@@ -53,6 +55,12 @@ class FindArticleIT {
     @Autowired
     private ArticleViewProvider articleViewProvider;
 
+    @Autowired
+    private ArticleViewBuffer articleViewBuffer;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     private MetricsProvider metricsProvider;
 
     private FindArticle findArticle;
@@ -89,6 +97,7 @@ class FindArticleIT {
 
         //act
         findArticle.byId(articleId, viewer);
+        articleViewBuffer.flush();
 
         //assert
         LocalDateTime afterViewing = LocalDateTime.now();
@@ -103,6 +112,32 @@ class FindArticleIT {
         assertThat(only.getId()).isNotZero();
     }
 
+    @Test
+    void mustAddBufferedViews_toTheStoredViewsCount() throws ResourceNotFoundException {
+        //arrange
+        User author = userProvider.save(new User());
+
+        Article ddd = new Article();
+        ddd.setTitle(DDD);
+        ddd.setStatus(Status.PUBLISHED);
+        ddd.setAuthor(author);
+        ddd = articleProvider.save(ddd);
+        long articleId = ddd.getId();
+
+        //act
+        findArticle.byId(articleId, null);
+        findArticle.byId(articleId, null);
+        articleViewBuffer.flush();
+        findArticle.byId(articleId, null);
+        articleViewBuffer.flush();
+        testEntityManager.clear();
+
+        //assert
+        Article viewed = articleProvider.articleOfId(articleId).orElseThrow();
+        assertThat(viewed.getViewsCount()).isEqualTo(3);
+        assertThat(articleViewProvider.viewsOfArticle(articleId)).hasSize(3);
+    }
+
     @Test
     @DisplayName("Must properly return articles from the requested page")
     void mustReturnArticlesFromTheRequestedPage() throws ForbiddenActionException, UnAuthenticatedActionException {
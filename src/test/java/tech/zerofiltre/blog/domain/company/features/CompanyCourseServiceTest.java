@@ -15,7 +15,6 @@ import tech.zerofiltre.blog.domain.company.CompanyCourseProvider;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyCourse;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
-import tech.zerofiltre.blog.domain.course.model.Enrollment;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
@@ -432,14 +431,7 @@ class CompanyCourseServiceTest {
 
         LinkCompanyCourse linkCompanyCourse = new LinkCompanyCourse(1L, 1L, 1L, false, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyCourseId(linkCompanyCourse.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyCourseId(linkCompanyCourse.getId());
-
         when(companyCourseProvider.findByCompanyIdAndCourseId(anyLong(), anyLong())).thenReturn(Optional.of(linkCompanyCourse));
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2));
 
         //WHEN
         companyCourseService.unlink(adminUser, 1L, 1L, true);
@@ -459,18 +451,7 @@ class CompanyCourseServiceTest {
         assertThat(linkCaptured.getLinkedAt()).isEqualTo(linkCompanyCourse.getLinkedAt());
         assertThat(linkCaptured.getSuspendedAt()).isEqualTo(linkCompanyCourse.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(2)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyCourseId()).isEqualTo(linkCompanyCourse.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyCourseId()).isEqualTo(linkCompanyCourse.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -485,7 +466,7 @@ class CompanyCourseServiceTest {
         //THEN
         verify(companyCourseProvider).findByCompanyIdAndCourseId(anyLong(), anyLong());
         verify(companyCourseProvider, never()).delete(any(LinkCompanyCourse.class));
-        verify(enrollmentProvider, never()).save(any(Enrollment.class));
+        verify(enrollmentProvider, never()).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -496,14 +477,7 @@ class CompanyCourseServiceTest {
 
         LinkCompanyCourse linkCompanyCourse = new LinkCompanyCourse(1L, 1L, 1L, false, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyCourseId(linkCompanyCourse.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyCourseId(linkCompanyCourse.getId());
-
         when(companyCourseProvider.findByCompanyIdAndCourseId(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.of(linkCompanyCourse));
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2));
 
         //WHEN
         companyCourseService.unlink(adminUser, linkCompanyCourse.getCompanyId(), linkCompanyCourse.getCourseId(), false);
@@ -518,18 +492,7 @@ class CompanyCourseServiceTest {
         assertThat(linkCompanyCourseCaptured.isActive()).isFalse();
         assertThat(linkCompanyCourseCaptured.getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(2)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyCourseId()).isEqualTo(linkCompanyCourse.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyCourseId()).isEqualTo(linkCompanyCourse.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -545,7 +508,7 @@ class CompanyCourseServiceTest {
         verify(checker).checkIfAdminOrCompanyAdmin(any(User.class), anyLong());
         verify(companyCourseProvider).findByCompanyIdAndCourseId(anyLong(), anyLong(), anyBoolean());
         verify(companyCourseProvider, never()).save(any(LinkCompanyCourse.class));
-        verify(enrollmentProvider, never()).save(any(Enrollment.class));
+        verify(enrollmentProvider, never()).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -595,20 +558,7 @@ class CompanyCourseServiceTest {
 
         LinkCompanyCourse linkCompanyCourse2 = new LinkCompanyCourse(2L, 1L, 2L, false, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyCourseId(linkCompanyCourse2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyCourseId(linkCompanyCourse2.getId());
-
         when(companyCourseProvider.findAllByCompanyId(anyLong())).thenReturn(List.of(linkCompanyCourse1, linkCompanyCourse2));
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyCourseService.unlinkAllByCompanyId(adminUser, 1L, true);
@@ -636,26 +586,7 @@ class CompanyCourseServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyCourse2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyCourse2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -669,20 +600,7 @@ class CompanyCourseServiceTest {
 
         LinkCompanyCourse linkCompanyCourse2 = new LinkCompanyCourse(2L, 2L, 1L, false, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyCourseId(linkCompanyCourse2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyCourseId(linkCompanyCourse2.getId());
-
         when(companyCourseProvider.findAllByCompanyId(anyLong())).thenReturn(List.of(linkCompanyCourse1, linkCompanyCourse2));
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyCourseService.unlinkAllByCompanyId(adminUser, 1L, false);
@@ -691,7 +609,7 @@ class CompanyCourseServiceTest {
         verify(checker).checkIfAdminOrCompanyAdmin(any(User.class), anyLong());
         verify(checker).checkCompanyExistence(anyLong());
         verify(companyCourseProvider).findAllByCompanyId(anyLong());
-        verify(enrollmentProvider, times(2)).findAll(anyLong(), anyBoolean());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyCourseId(anyLong());
 
         ArgumentCaptor<LinkCompanyCourse> captorLink = ArgumentCaptor.forClass(LinkCompanyCourse.class);
         verify(companyCourseProvider, times(2)).save(captorLink.capture());
@@ -711,26 +629,6 @@ class CompanyCourseServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyCourse2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyCourse2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
     }
 
     @Test
@@ -774,20 +672,7 @@ class CompanyCourseServiceTest {
 
         LinkCompanyCourse linkCompanyCourse2 = new LinkCompanyCourse(2L, 2L, 3L, false, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyCourseId(linkCompanyCourse2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyCourseId(linkCompanyCourse2.getId());
-
         when(companyCourseProvider.findAllByCourseId(anyLong())).thenReturn(List.of(linkCompanyCourse1, linkCompanyCourse2));
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyCourseService.unlinkAllByCourseId(adminUser, 1L, true);
@@ -815,26 +700,7 @@ class CompanyCourseServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyCourse2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyCourse2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -848,20 +714,7 @@ class CompanyCourseServiceTest {
 
         LinkCompanyCourse linkCompanyCourse2 = new LinkCompanyCourse(2L, 2L, 3L, false, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyCourseId(linkCompanyCourse1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyCourseId(linkCompanyCourse2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyCourseId(linkCompanyCourse2.getId());
-
         when(companyCourseProvider.findAllByCourseId(anyLong())).thenReturn(List.of(linkCompanyCourse1, linkCompanyCourse2));
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyCourseService.unlinkAllByCourseId(adminUser, 1L, false);
@@ -870,7 +723,7 @@ class CompanyCourseServiceTest {
         verify(checker).checkIfAdminUser(any(User.class));
         verify(checker).checkCourseExistence(anyLong());
         verify(companyCourseProvider).findAllByCourseId(anyLong());
-        verify(enrollmentProvider, times(2)).findAll(anyLong(), anyBoolean());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyCourseId(anyLong());
 
         ArgumentCaptor<LinkCompanyCourse> captorLink = ArgumentCaptor.forClass(LinkCompanyCourse.class);
         verify(companyCourseProvider, times(2)).save(captorLink.capture());
@@ -890,26 +743,6 @@ class CompanyCourseServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyCourse2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyCourse2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyCourseId()).isEqualTo(linkCompanyCourse1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyCourseId()).isEqualTo(linkCompanyCourse2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
     }
 
     @Test
@@ -946,11 +779,6 @@ class CompanyCourseServiceTest {
         //GIVEN
         LinkCompanyCourse linkCompanyCourse = new LinkCompanyCourse(1L, 1L, 1L, false, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment = new Enrollment();
-        enrollment.setCompanyCourseId(linkCompanyCourse.getId());
-
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment));
-
         //WHEN
         companyCourseService.suspendLink(linkCompanyCourse);
 
@@ -961,11 +789,7 @@ class CompanyCourseServiceTest {
         assertThat(linkCompanyCourseCaptured.isActive()).isFalse();
         assertThat(linkCompanyCourseCaptured.getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider).save(captorEnrollment.capture());
-        Enrollment enrollmentCaptured = captorEnrollment.getValue();
-        assertThat(enrollmentCaptured.isActive()).isFalse();
-        assertThat(enrollmentCaptured.getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -974,16 +798,12 @@ class CompanyCourseServiceTest {
         //GIVEN
         LinkCompanyCourse linkCompanyCourse = new LinkCompanyCourse(1L, 1L, 1L, false, false, LocalDateTime.now(), LocalDateTime.now());
 
-        Enrollment enrollment = new Enrollment();
-
-        when(enrollmentProvider.findAll(anyLong(), anyBoolean())).thenReturn(List.of(enrollment));
-
         //WHEN
         companyCourseService.suspendLink(linkCompanyCourse);
 
         //THEN
         verify(companyCourseProvider, never()).save(any(LinkCompanyCourse.class));
-        verify(enrollmentProvider).save(any(Enrollment.class));
+        verify(enrollmentProvider).suspendAllByCompanyCourseId(anyLong());
     }
 
     @Test
@@ -992,28 +812,11 @@ class CompanyCourseServiceTest {
         //GIVEN
         long companyCourseId = 1;
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyCourseId(companyCourseId);
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyCourseId(companyCourseId);
-
-        List<Enrollment> enrollmentList = List.of(enrollment1, enrollment2);
-
-        when(enrollmentProvider.findAll(companyCourseId, true)).thenReturn(enrollmentList);
-
         //WHEN
-        companyCourseService.suspendEnrollments(1L);
+        companyCourseService.suspendEnrollments(companyCourseId);
 
         //THEN
-        ArgumentCaptor<Enrollment> captor = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(2)).save(captor.capture());
-        List<Enrollment> enrollmentsCaptured = captor.getAllValues();
-        assertThat(enrollmentsCaptured).hasSize(2);
-        assertThat(enrollmentsCaptured.get(0).isActive()).isFalse();
-        assertThat(enrollmentsCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(enrollmentsCaptured.get(1).isActive()).isFalse();
-        assertThat(enrollmentsCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider).suspendAllByCompanyCourseId(companyCourseId);
     }
 
 }
\ No newline at end of file
@@ -11,7 +11,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import tech.zerofiltre.blog.domain.company.CompanyUserProvider;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyUser;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
-import tech.zerofiltre.blog.domain.course.model.Enrollment;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
@@ -389,14 +388,7 @@ class CompanyUserServiceTest {
 
         LinkCompanyUser linkCompanyUser = new LinkCompanyUser(1, 2L, 3L, LinkCompanyUser.Role.VIEWER, true, LocalDateTime.now(), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyUserId(linkCompanyUser.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyUserId(linkCompanyUser.getId());
-
         when(companyUserProvider.findByCompanyIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(linkCompanyUser));
-        when(enrollmentProvider.findAllByCompanyUserId(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2));
 
         //WHEN
         spy.unlink(adminUser, 1L, 1L, false);
@@ -444,20 +436,7 @@ class CompanyUserServiceTest {
 
         LinkCompanyUser linkCompanyUser2 = new LinkCompanyUser(2L, 1L, 2L, LinkCompanyUser.Role.EDITOR, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyUserId(linkCompanyUser2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyUserId(linkCompanyUser2.getId());
-
         when(companyUserProvider.findAllByCompanyId(anyLong())).thenReturn(List.of(linkCompanyUser1, linkCompanyUser2));
-        when(enrollmentProvider.findAllByCompanyUserId(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyUserService.unlinkAllByCompanyId(adminUser, 1L, true);
@@ -485,26 +464,7 @@ class CompanyUserServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyUser2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyUser2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyUserId(anyLong());
     }
 
     @Test
@@ -515,20 +475,7 @@ class CompanyUserServiceTest {
 
         LinkCompanyUser linkCompanyUser2 = new LinkCompanyUser(2L, 1L, 5L, LinkCompanyUser.Role.EDITOR, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyUserId(linkCompanyUser2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyUserId(linkCompanyUser2.getId());
-
         when(companyUserProvider.findAllByCompanyIdExceptAdminRole(anyLong())).thenReturn(List.of(linkCompanyUser1, linkCompanyUser2));
-        when(enrollmentProvider.findAllByCompanyUserId(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyUserService.unlinkAllByCompanyId(userWithUserRole, 1L, true);
@@ -556,26 +503,7 @@ class CompanyUserServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyUser2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyUser2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyUserId(anyLong());
     }
 
     @Test
@@ -586,20 +514,7 @@ class CompanyUserServiceTest {
 
         LinkCompanyUser linkCompanyUser2 = new LinkCompanyUser(2L, 1L, 2L, LinkCompanyUser.Role.EDITOR, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyUserId(linkCompanyUser2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyUserId(linkCompanyUser2.getId());
-
         when(companyUserProvider.findAllByCompanyId(anyLong())).thenReturn(List.of(linkCompanyUser1, linkCompanyUser2));
-        when(enrollmentProvider.findAllByCompanyUserId(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyUserService.unlinkAllByCompanyId(adminUser, 1L, false);
@@ -627,26 +542,7 @@ class CompanyUserServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyUser2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyUser2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyUserId(anyLong());
     }
 
     @Test
@@ -657,20 +553,7 @@ class CompanyUserServiceTest {
 
         LinkCompanyUser linkCompanyUser2 = new LinkCompanyUser(2L, 1L, 5L, LinkCompanyUser.Role.EDITOR, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyUserId(linkCompanyUser1.getId());
-
-        Enrollment enrollment3 = new Enrollment();
-        enrollment3.setCompanyUserId(linkCompanyUser2.getId());
-
-        Enrollment enrollment4 = new Enrollment();
-        enrollment4.setCompanyUserId(linkCompanyUser2.getId());
-
         when(companyUserProvider.findAllByCompanyIdExceptAdminRole(anyLong())).thenReturn(List.of(linkCompanyUser1, linkCompanyUser2));
-        when(enrollmentProvider.findAllByCompanyUserId(anyLong(), anyBoolean())).thenReturn(List.of(enrollment1, enrollment2)).thenReturn(List.of(enrollment3, enrollment4));
 
         //WHEN
         companyUserService.unlinkAllByCompanyId(userWithUserRole, 1L, false);
@@ -698,26 +581,7 @@ class CompanyUserServiceTest {
         assertThat(listLinkCaptured.get(1).getLinkedAt()).isEqualTo(linkCompanyUser2.getLinkedAt());
         assertThat(listLinkCaptured.get(1).getSuspendedAt()).isEqualTo(linkCompanyUser2.getSuspendedAt());
 
-        ArgumentCaptor<Enrollment> captorEnrollment = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(4)).save(captorEnrollment.capture());
-        List<Enrollment> listEnrollmentCaptured = captorEnrollment.getAllValues();
-        assertThat(listEnrollmentCaptured.size()).isNotZero();
-
-        assertThat(listEnrollmentCaptured.get(0).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(0).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(1).getCompanyUserId()).isEqualTo(linkCompanyUser1.getId());
-        assertThat(listEnrollmentCaptured.get(1).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(2).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(2).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(2).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(listEnrollmentCaptured.get(3).getCompanyUserId()).isEqualTo(linkCompanyUser2.getId());
-        assertThat(listEnrollmentCaptured.get(3).isActive()).isFalse();
-        assertThat(listEnrollmentCaptured.get(3).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider, times(2)).suspendAllByCompanyUserId(anyLong());
     }
 
     @Test
@@ -827,9 +691,6 @@ class CompanyUserServiceTest {
 
         LinkCompanyUser linkCompanyUser = new LinkCompanyUser(1L, 1L, 1L, LinkCompanyUser.Role.VIEWER, true, LocalDateTime.now().minusMonths(1), null);
 
-        Enrollment enrollment = new Enrollment();
-        enrollment.setCompanyUserId(linkCompanyUser.getId());
-
         //WHEN
         spy.suspendLink(linkCompanyUser);
 
@@ -862,28 +723,11 @@ class CompanyUserServiceTest {
         //GIVEN
         long companyUserId = 1;
 
-        Enrollment enrollment1 = new Enrollment();
-        enrollment1.setCompanyUserId(companyUserId);
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCompanyUserId(companyUserId);
-
-        List<Enrollment> enrollmentList = List.of(enrollment1, enrollment2);
-
-        when(enrollmentProvider.findAllByCompanyUserId(companyUserId, true)).thenReturn(enrollmentList);
-
         //WHEN
         companyUserService.suspendEnrollments(companyUserId);
 
         //THEN
-        ArgumentCaptor<Enrollment> captor = ArgumentCaptor.forClass(Enrollment.class);
-        verify(enrollmentProvider, times(2)).save(captor.capture());
-        List<Enrollment> enrollmentsCaptured = captor.getAllValues();
-        assertThat(enrollmentsCaptured).hasSize(2);
-        assertThat(enrollmentsCaptured.get(0).isActive()).isFalse();
-        assertThat(enrollmentsCaptured.get(0).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
-
-        assertThat(enrollmentsCaptured.get(1).isActive()).isFalse();
-        assertThat(enrollmentsCaptured.get(1).getSuspendedAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(enrollmentProvider).suspendAllByCompanyUserId(companyUserId);
     }
 
 }
\ No newline at end of file
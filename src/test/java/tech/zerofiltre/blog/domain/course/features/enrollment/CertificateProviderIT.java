@@ -8,11 +8,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.course.model.Certificate;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.storage.StorageProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.InfraProperties;
 import tech.zerofiltre.blog.infra.providers.certificate.PDFCertificateEngine;
 import tech.zerofiltre.blog.infra.providers.certificate.PDFCertificateProvider;
 import tech.zerofiltre.blog.infra.providers.database.course.CertificateJPARepository;
@@ -35,6 +37,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class CertificateProviderIT {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     PDFCertificateProvider pdfCertificateProvider;
     DBUserProvider dbUserProvider;
     DBCourseProvider dbCourseProvider;
@@ -57,10 +62,12 @@ class CertificateProviderIT {
 
     @BeforeEach
     void init() {
-        dbUserProvider = new DBUserProvider(userJPARepository);
-        dbCourseProvider = new DBCourseProvider(courseJPARepository, userJPARepository);
+        dbUserProvider = new DBUserProvider(userJPARepository, eventPublisher);
+        dbCourseProvider = new DBCourseProvider(courseJPARepository, eventPublisher);
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setCertificateRenderTimeoutMs(10000);
         pdfCertificateProvider = new PDFCertificateProvider(storageProvider, dbCourseProvider, certificateEngine,
-                certificateJPARepository);
+                certificateJPARepository, infraProperties, Runnable::run, PDFCertificateProvider.newVerificationCache(100, 60000, 1000));
     }
 
     @Test
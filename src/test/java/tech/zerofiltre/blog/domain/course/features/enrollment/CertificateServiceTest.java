@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.springframework.context.MessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import tech.zerofiltre.blog.domain.course.CertificateProvider;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
@@ -13,9 +14,16 @@ import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Certificate;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.entrypoints.rest.course.model.CertificateVerificationResponseVM;
+import tech.zerofiltre.blog.util.ZerofiltreUtils;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
@@ -81,4 +89,96 @@ class CertificateServiceTest {
                 .isThrownBy(() -> certificateService.get(user, 2L));
     }
 
-}
\ No newline at end of file
+    @Test
+    void requestCertificate_recordsTheCertificate_onceGenerated() throws ZerofiltreException {
+        //given
+        Certificate certificate = new Certificate("path", "title course 3", user.getFullName(), new byte[]{1, 2}, "uuid", "hash");
+        when(enrollmentProvider.isCompleted(anyLong(), anyLong())).thenReturn(true);
+        when(certificateProvider.prepare(any(), anyLong(), any())).thenAnswer(invocation -> {
+            Consumer<Certificate> onGenerated = invocation.getArgument(2);
+            onGenerated.accept(certificate);
+            return false;
+        });
+
+        //when
+        boolean ready = certificateService.request(user, 2L);
+
+        //then
+        assertThat(ready).isFalse();
+        verify(enrollmentProvider, times(1)).setCertificatePath("path", 1L, 2L);
+        verify(certificateProvider, times(1)).save(certificate);
+        verify(certificateProvider, never()).generate(any(), anyLong());
+    }
+
+    @Test
+    void requestCertificate_throwsZerofiltreException_whenCompletedEnrollmentIsFalse() throws ZerofiltreException {
+        //given
+        when(enrollmentProvider.isCompleted(anyLong(), anyLong())).thenReturn(false);
+
+        //then
+        Assertions.assertThatExceptionOfType(ZerofiltreException.class)
+                .isThrownBy(() -> certificateService.request(user, 2L));
+        verify(certificateProvider, never()).prepare(any(), anyLong(), any());
+    }
+
+    @Test
+    void describeCertificate_throwsZerofiltreException_whenCompletedEnrollmentIsFalse() throws ZerofiltreException {
+        //given
+        when(enrollmentProvider.isCompleted(anyLong(), anyLong())).thenReturn(false);
+
+        //then
+        Assertions.assertThatExceptionOfType(ZerofiltreException.class)
+                .isThrownBy(() -> certificateService.describe(user, 2L));
+        verify(certificateProvider, never()).describe(any(), anyLong());
+    }
+
+    @Test
+    void describeCertificate_doesNotGenerateIt() throws ZerofiltreException {
+        //given
+        when(enrollmentProvider.isCompleted(anyLong(), anyLong())).thenReturn(true);
+        Certificate certificate = new Certificate("path", "title course 3", user.getFullName(), null, null, "hash");
+        when(certificateProvider.describe(user, 2L)).thenReturn(certificate);
+
+        //when
+        Certificate response = certificateService.describe(user, 2L);
+
+        //then
+        assertThat(response.getHash()).isEqualTo("hash");
+        verify(certificateProvider, never()).generate(any(), anyLong());
+        verify(enrollmentProvider, never()).setCertificatePath(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void verifyCertificate_isValid_whenTheHashMatches() throws Exception {
+        //given
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String hash = ZerofiltreUtils.generateHash("FirstName LastName", "title course 3");
+        when(certificateProvider.findByUuid("uuid")).thenReturn(Optional.of(new Certificate("path", "title course 3", "FirstName LastName", null, "uuid", hash)));
+
+        //when
+        CertificateVerificationResponseVM response = certificateService.verify("uuid", "FirstName LastName", "title course 3", new MockHttpServletRequest());
+
+        //then
+        assertThat(response.getResponse()).isEqualTo("message.certificate.verification.response.valid");
+        assertThat(response.getDescription()).isEqualTo("message.certificate.verification.description.valid");
+        assertThat(response.getOwnerFullName()).isEqualTo("FirstName LastName");
+        assertThat(response.getCourseTitle()).isEqualTo("title course 3");
+    }
+
+    @Test
+    void verifyCertificate_resolvesTheMessagesOncePerLocale() throws Exception {
+        //given
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(certificateProvider.findByUuid(anyString())).thenReturn(Optional.empty());
+
+        //when
+        certificateService.verify("uuid1", "FirstName LastName", "title course 3", new MockHttpServletRequest());
+        CertificateVerificationResponseVM response = certificateService.verify("uuid2", "FirstName LastName", "title course 3", new MockHttpServletRequest());
+
+        //then
+        assertThat(response.getResponse()).isEqualTo("message.certificate.verification.response.notfound");
+        assertThat(response.getOwnerFullName()).isNull();
+        verify(messageSource, times(8)).getMessage(anyString(), any(), any(Locale.class));
+    }
+
+}
@@ -2,21 +2,14 @@ package tech.zerofiltre.blog.domain.course.features.enrollment;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
-import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.LessonProvider;
-import tech.zerofiltre.blog.domain.course.model.CompletedLesson;
-import tech.zerofiltre.blog.domain.course.model.Enrollment;
-import tech.zerofiltre.blog.domain.course.model.Lesson;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
 import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.doubles.*;
 
-import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,9 +27,7 @@ class CompleteLessonTest {
         //given
         EnrollmentProvider enrollmentProvider = new NotEnrolledEnrollmentProvider();
         LessonProvider lessonProvider = new FoundLessonProviderSpy();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider, chapterProvider, courseProvider);
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
 
         //when
         //then
@@ -48,11 +39,9 @@ class CompleteLessonTest {
     @Test
     void completeLesson_ThrowsResourceNotFoundException_IfLessonNotFound() {
         //given
-        EnrollmentProvider enrollmentProvider = new NotEnrolledEnrollmentProvider();
+        EnrollmentProvider enrollmentProvider = new EnrollmentProviderSpy();
         LessonProvider lessonProvider = new NotFoundLessonProviderSpy();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider, chapterProvider, courseProvider);
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
 
         //when
         //then
@@ -62,179 +51,161 @@ class CompleteLessonTest {
     }
 
     @Test
-    void completeLesson_returns_existingEnrollment_ifLessonAlreadyCompleted() throws ZerofiltreException {
+    void completeLesson_returns_existingProgress_ifLessonAlreadyCompleted() throws ZerofiltreException {
         //given
         AlreadyCompletedLessonEnrollmentProvider enrollmentProvider = new AlreadyCompletedLessonEnrollmentProvider();
         FoundLessonProviderSpy lessonProvider = new FoundLessonProviderSpy();
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
-        Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider, chapterProvider, courseProvider);
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
 
         //when
-        Enrollment enrollment = completeLesson.execute(1, 3, 1, true);
+        EnrollmentProgress progress = completeLesson.execute(1, 3, 1, true);
 
 
         //then
-        assertThat(enrollment.getId()).isEqualTo(224);
-        assertThat(chapterProvider.ofCourseIdCalled).isTrue();
-        assertThat(courseProvider.enrollCalledCount).isTrue();
+        assertThat(progress.getEnrollmentId()).isEqualTo(224);
+        assertThat(progress.getCompletedCount()).isEqualTo(1);
     }
 
     @Test
-    void completeLesson_builds_and_adds_toCompletedLessons_Properly() throws ZerofiltreException {
+    void completeLesson_marksTheLesson_inTheProgress_andSavesIt() throws ZerofiltreException {
         //given
         EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
         FoundLessonProviderSpy lessonProvider = new FoundLessonProviderSpy();
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider, chapterProvider, courseProvider);
-        LocalDateTime beforeCompletion = LocalDateTime.now();
+        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider);
 
         //when
-        Enrollment enrollment = completeLesson.execute(1, 3, 1, true);
+        EnrollmentProgress progress = completeLesson.execute(1, 3, 1, true);
 
         //then
-        List<CompletedLesson> completedLessons = enrollment.getCompletedLessons();
-        assertThat(completedLessons).isNotEmpty();
         assertThat(lessonProvider.calledLessonId).isEqualTo(3);
-        assertThat(chapterProvider.calledChapterId).isEqualTo(lessonProvider.lessonOfId(3).get().getChapterId());
-
-        completedLessons.forEach(completed -> {
-            assertThat(completed.getLessonId()).isEqualTo(1);
-            assertThat(completed.getEnrollmentId()).isEqualTo(enrollment.getId());
-            assertThat(completed.getCompletedAt()).isNotNull();
-            assertThat(completed.getCompletedAt()).isAfterOrEqualTo(beforeCompletion);
-        });
-        assertThat(enrollmentProviderSpy.saveCalled).isTrue();
+        assertThat(progress.hasCompletedLesson(lessonProvider.positionOf(3).get())).isTrue();
+        assertThat(progress.getCompletedCount()).isEqualTo(1);
+        assertThat(progress.isCompleted()).isFalse();
+        assertThat(enrollmentProviderSpy.saveProgressCalled).isTrue();
     }
 
     @Test
-    void unCompleteLesson_removesLesson_fromCompletedLessons() throws ZerofiltreException {
+    @DisplayName("CompleteLesson throws ForbiddenActionException when the lesson " +
+            "does not belong to the considered course, meaning the lesson is not part of the enrollment")
+    void completeLesson_throws_ForbiddenActionException_when_lesson_NotPart_of_Enrollment() {
         //given
         EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
         LessonProvider lessonProvider = new FoundLessonProviderSpy();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider, chapterProvider, courseProvider);
+        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider);
 
         //when
-        Enrollment enrollment = completeLesson.execute(1, 3, 1, true);
-        List<CompletedLesson> completedLessons = enrollment.getCompletedLessons();
-        assertThat(completedLessons).isNotEmpty();
-
-
-        enrollment = completeLesson.execute(1, 3, 1, false);
-        completedLessons = enrollment.getCompletedLessons();
-        assertThat(completedLessons).isEmpty();
-
         //then
-        assertThat(enrollmentProviderSpy.saveCalled).isTrue();
+        assertThatExceptionOfType(ForbiddenActionException.class)
+                .isThrownBy(() -> completeLesson.execute(2, 1, 1, true));
+        assertThat(enrollmentProviderSpy.saveProgressCalled).isFalse();
+
     }
 
     @Test
-    @DisplayName("CompleteLesson throws ForbiddenActionException when chapter " +
-            "related to the lesson is not found, meaning the lesson is not part of the enrollment")
-    void completeLesson_throws_ForbiddenActionException_when_chapterNotFound() {
+    void completed_enrollment_is_true_when_I_add_a_completed_lesson_and_all_lessons_are_completed() throws ZerofiltreException {
         //given
-        EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
-        LessonProvider lessonProvider = new FoundLessonProviderSpy();
-        ChapterProvider chapterProvider = new ChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider, chapterProvider, courseProvider);
+        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
+        FoundLessonProviderSpy lessonProvider = new FoundLessonProviderSpy();
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
+
+        EnrollmentProgress existing = progressOfCourseWithLessons(1);
+        when(enrollmentProvider.progressOf(anyLong(), anyLong())).thenReturn(Optional.of(existing));
+        when(enrollmentProvider.saveProgress(any(), anyLong(), anyBoolean(), anyInt())).thenReturn(true);
 
         //when
-        //then
-        assertThatExceptionOfType(ForbiddenActionException.class)
-                .isThrownBy(() -> completeLesson.execute(1, 1, 1, true));
+        EnrollmentProgress progress = completeLesson.execute(1, 3, 1, true);
 
+        //then
+        assertThat(progress.isCompleted()).isTrue();
+        assertThat(progress.getCompletedCount()).isEqualTo(1);
+        verify(enrollmentProvider, times(1)).saveProgress(existing, 3, true, 0);
     }
 
     @Test
-    @DisplayName("CompleteLesson throws ForbiddenActionException when the found chapter " +
-            "does not belong to the considered course, meaning the lesson is not part of the enrollment")
-    void completeLesson_throws_ForbiddenActionException_when_lesson_NotPart_of_Enrollment() {
+    void completed_enrollment_is_false_when_I_add_a_completed_lesson_and_one_lesson_is_not_completed() throws ZerofiltreException {
         //given
-        EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
-        LessonProvider lessonProvider = new FoundLessonProviderSpy();
-        ChapterProvider chapterProvider = new FoundChapterWithUnknownCourseProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider, chapterProvider, courseProvider);
+        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
+        FoundLessonProviderSpy lessonProvider = new FoundLessonProviderSpy();
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
+
+        when(enrollmentProvider.progressOf(anyLong(), anyLong())).thenReturn(Optional.of(progressOfCourseWithLessons(2)));
+        when(enrollmentProvider.saveProgress(any(), anyLong(), anyBoolean(), anyInt())).thenReturn(true);
 
         //when
-        //then
-        assertThatExceptionOfType(ForbiddenActionException.class)
-                .isThrownBy(() -> completeLesson.execute(1, 1, 1, true));
+        EnrollmentProgress progress = completeLesson.execute(1, 3, 1, true);
 
+        //then
+        assertThat(progress.isCompleted()).isFalse();
+        assertThat(progress.getCompletedCount()).isEqualTo(1);
     }
 
     @Test
-    void completed_enrollment_is_true_when_I_add_a_completed_lesson_and_all_lessons_are_completed() throws ZerofiltreException {
+    void completed_enrollment_is_false_when_I_add_a_not_completed_lesson() throws ZerofiltreException {
         //given
-        EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
-        LessonProvider lessonProvider = mock(LessonProvider.class);
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider, chapterProvider, courseProvider);
-
-        Lesson lesson = new Lesson.LessonBuilder()
-                .id(3L)
-                .build();
+        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
+        FoundLessonProviderSpy lessonProvider = new FoundLessonProviderSpy();
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
 
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.of(lesson));
-        when(lessonProvider.listNotCompletedLessons(anyLong())).thenReturn(Collections.singletonList(lesson.getId()));
+        EnrollmentProgress existing = progressOfCourseWithLessons(1);
+        existing.markLesson(lessonProvider.positionOf(3).get(), true);
+        existing.setProgressVersion(1);
+        assertThat(existing.isCompleted()).isTrue();
+        when(enrollmentProvider.progressOf(anyLong(), anyLong())).thenReturn(Optional.of(existing));
+        when(enrollmentProvider.saveProgress(any(), anyLong(), anyBoolean(), anyInt())).thenReturn(true);
 
-        Enrollment enrollment = completeLesson.execute(1, lesson.getId(), 1, true);
+        //when
+        EnrollmentProgress progress = completeLesson.execute(1, 3, 1, false);
 
         //then
-        assertThat(enrollment.isCompleted()).isTrue();
-        verify(lessonProvider, times(1)).listNotCompletedLessons(anyLong());
-   }
+        assertThat(progress.isCompleted()).isFalse();
+        assertThat(progress.getCompletedCount()).isZero();
+        verify(enrollmentProvider, times(1)).saveProgress(existing, 3, false, 1);
+    }
 
     @Test
-    void completed_enrollment_is_false_when_I_add_a_completed_lesson_and_one_lesson_is_not_completed() throws ZerofiltreException {
+    void completeLesson_reloadsTheProgress_andRetries_whenItChangedConcurrently() throws ZerofiltreException {
         //given
-        EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
-        LessonProvider lessonProvider = mock(LessonProvider.class);
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider, chapterProvider, courseProvider);
-
-        Lesson lesson = new Lesson.LessonBuilder()
-                .id(3L)
-                .build();
+        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
+        FoundLessonProviderSpy lessonProvider = new FoundLessonProviderSpy();
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
 
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.of(lesson));
-        when(lessonProvider.listNotCompletedLessons(anyLong())).thenReturn(Collections.singletonList(1L));
+        when(enrollmentProvider.progressOf(anyLong(), anyLong()))
+                .thenReturn(Optional.of(progressOfCourseWithLessons(1)))
+                .thenReturn(Optional.of(progressOfCourseWithLessons(1)));
+        when(enrollmentProvider.saveProgress(any(), anyLong(), anyBoolean(), anyInt())).thenReturn(false).thenReturn(true);
 
         //when
-        Enrollment enrollment = completeLesson.execute(1, lesson.getId(), 1, true);
+        EnrollmentProgress progress = completeLesson.execute(1, 3, 1, true);
 
         //then
-        assertThat(enrollment.isCompleted()).isFalse();
-        verify(lessonProvider, times(1)).listNotCompletedLessons(anyLong());
+        assertThat(progress.isCompleted()).isTrue();
+        verify(enrollmentProvider, times(2)).progressOf(anyLong(), anyLong());
+        verify(enrollmentProvider, times(2)).saveProgress(any(), eq(3L), eq(true), anyInt());
     }
 
     @Test
-    void completed_enrollment_is_false_when_I_add_a_not_completed_lesson() throws ZerofiltreException {
+    void completeLesson_throwsZerofiltreException_whenTheProgressKeepsChanging() {
         //given
-        EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
-        LessonProvider lessonProvider = mock(LessonProvider.class);
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        completeLesson = new CompleteLesson(enrollmentProviderSpy, lessonProvider, chapterProvider, courseProvider);
-
-        Lesson lesson = new Lesson.LessonBuilder()
-                .id(3L)
-                .build();
+        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
+        FoundLessonProviderSpy lessonProvider = new FoundLessonProviderSpy();
+        completeLesson = new CompleteLesson(enrollmentProvider, lessonProvider);
 
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.of(lesson));
+        when(enrollmentProvider.progressOf(anyLong(), anyLong())).thenAnswer(invocation -> Optional.of(progressOfCourseWithLessons(1)));
+        when(enrollmentProvider.saveProgress(any(), anyLong(), anyBoolean(), anyInt())).thenReturn(false);
 
         //when
-        Enrollment enrollment = completeLesson.execute(1, lesson.getId(), 1, false);
-
         //then
-        assertThat(enrollment.isCompleted()).isFalse();
-        verify(lessonProvider, times(0)).listNotCompletedLessons(anyLong());
+        assertThatExceptionOfType(ZerofiltreException.class)
+                .isThrownBy(() -> completeLesson.execute(1, 3, 1, true));
+        verify(enrollmentProvider, times(CompleteLesson.MAX_ATTEMPTS)).saveProgress(any(), anyLong(), anyBoolean(), anyInt());
+    }
+
+    private EnrollmentProgress progressOfCourseWithLessons(int lessonsCount) {
+        EnrollmentProgress progress = new EnrollmentProgress();
+        progress.setEnrollmentId(5);
+        progress.setCourseId(1);
+        progress.setLessonsCount(lessonsCount);
+        return progress;
     }
 
-}
\ No newline at end of file
+}
@@ -74,8 +74,8 @@ class EnrollIT {
     @BeforeEach
     void init() throws ZerofiltreException {
         doNothing().when(sandboxProvider).destroy(any(), any());
-        enroll = new Enroll(enrollmentProvider, dbCourseProvider, dbUserProvider, chapterProvider, null, dbPurchaseProvider, dbCompanyProvider, dbCompanyCourseProvider, dbCompanyUserProvider, null);
-        suspend = new Suspend(enrollmentProvider, chapterProvider, dbPurchaseProvider, sandboxProvider, dbCourseProvider);
+        enroll = new Enroll(enrollmentProvider, dbCourseProvider, dbUserProvider, null, dbPurchaseProvider, dbCompanyProvider, dbCompanyCourseProvider, dbCompanyUserProvider, null);
+        suspend = new Suspend(enrollmentProvider, dbPurchaseProvider, sandboxProvider);
     }
 
     @Test
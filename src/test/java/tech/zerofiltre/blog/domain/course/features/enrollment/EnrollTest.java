@@ -19,7 +19,6 @@ import tech.zerofiltre.blog.domain.company.features.CompanyService;
 import tech.zerofiltre.blog.domain.company.features.CompanyUserService;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyCourse;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyUser;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.*;
@@ -82,16 +81,9 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
-        // Build user's previous enrollment
-        Course parentCourse = new Course();
-        parentCourse.setStatus(Status.PUBLISHED);
-        parentCourse.setMentored(true);
-        parentCourse.setId(20);
-
         // find users enrollments
         User user = ZerofiltreUtilsTest.createMockUser(false);
         user.setId(12);
@@ -106,43 +98,12 @@ class EnrollTest {
         when(courseProvider.getEnrolledCount(anyLong())).thenReturn(0);
         when(enrollmentProvider.enrollmentOf(12, 24, true)).thenReturn(Optional.empty());
 
-        Chapter chapter = new Chapter.ChapterBuilder()
-                .id(30)
-                .courseId(parentCourse.getId())
-                .build();
-
-        Lesson lesson = new Lesson.LessonBuilder()
-                .id(40)
-                .chapterId(chapter.getId())
-                .build();
-        chapter.setLessons(Collections.singletonList(lesson));
-
-        Resource resource = new Resource.ResourceBuilder()
-                .id(54)
-                .type("course")
-                .url("https://path/cours/24-name-of-course")
-                .lessonId(lesson.getId())
-                .build();
-        lesson.setResources(Collections.singletonList(resource));
-
-        Enrollment enrollment = new Enrollment();
-        enrollment.setId(1L);
-        enrollment.setUser(user);
-        enrollment.setCourse(relatedCourse);
-        enrollment.setActive(true);
-        List<Enrollment> enrollmentList = Collections.singletonList(enrollment);
-        Page<Enrollment> enrollmentPage = new Page<>();
-        enrollmentPage.setContent(enrollmentList);
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any()))
-                .thenReturn(enrollmentPage);
-
-        when(chapterProvider.ofCourseId(anyLong()))
-                .thenReturn(Collections.singletonList(chapter));
+        when(enrollmentProvider.hasAnEnrollmentGrantingAccessTo(12, 24)).thenReturn(true);
 
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
         //act
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
         Enrollment result = enroll.execute(user.getId(), relatedCourse.getId(), 0, false);
 
@@ -170,14 +131,13 @@ class EnrollTest {
 
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
 
 
         User user = ZerofiltreUtilsTest.createMockUser(false);
         user.setPlan(User.Plan.PRO);
         when(userProvider.userOfId(anyLong())).thenReturn(Optional.of(user));
 
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any())).thenReturn(new Page<>());
         when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.empty());
 
         //assert
@@ -191,7 +151,6 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
@@ -206,13 +165,12 @@ class EnrollTest {
         when(userProvider.userOfId(anyLong())).thenReturn(Optional.of(user));
 
 
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any())).thenReturn(new Page<>());
         when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.of(new Purchase()));
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -229,7 +187,6 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
@@ -241,13 +198,12 @@ class EnrollTest {
         course.setMentored(true);
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any())).thenReturn(new Page<>());
         when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.of(new Purchase()));
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -264,7 +220,6 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = new FoundAdminUserProviderSpy();
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
@@ -276,7 +231,7 @@ class EnrollTest {
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -296,7 +251,7 @@ class EnrollTest {
         UserProvider userProvider = new NotFoundUserProviderSpy();
 
         //act
-        enroll = new Enroll(null, null, userProvider, null, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(null, null, userProvider, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
 
         //assert
         Assertions.assertThatExceptionOfType(ResourceNotFoundException.class)
@@ -310,7 +265,6 @@ class EnrollTest {
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         CourseProvider courseProvider = mock(CourseProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
@@ -323,7 +277,7 @@ class EnrollTest {
         course.setStatus(Status.PUBLISHED);
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -340,7 +294,6 @@ class EnrollTest {
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         CourseProvider courseProvider = mock(CourseProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
@@ -352,15 +305,14 @@ class EnrollTest {
         course.setStatus(Status.PUBLISHED);
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any())).thenReturn(new Page<>());
         when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.of(new Purchase()));
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
-        when(chapterProvider.ofCourseId(anyLong())).thenReturn(new ArrayList<>());
+        when(courseProvider.getLessonsCount(anyLong())).thenReturn(0);
         when(courseProvider.getEnrolledCount(anyLong())).thenReturn(0);
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -377,7 +329,6 @@ class EnrollTest {
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         CourseProvider courseProvider = mock(CourseProvider.class);
         UserProvider userProvider = new FoundAdminUserProviderSpy();
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
@@ -387,10 +338,10 @@ class EnrollTest {
         course.setStatus(Status.PUBLISHED);
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        when(chapterProvider.ofCourseId(anyLong())).thenReturn(new ArrayList<>());
+        when(courseProvider.getLessonsCount(anyLong())).thenReturn(0);
         when(courseProvider.getEnrolledCount(anyLong())).thenReturn(0);
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -407,7 +358,6 @@ class EnrollTest {
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         CourseProvider courseProvider = mock(CourseProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
@@ -420,15 +370,14 @@ class EnrollTest {
         course.setMentored(true);
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any())).thenReturn(new Page<>());
         when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.of(new Purchase()));
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
-        when(chapterProvider.ofCourseId(anyLong())).thenReturn(new ArrayList<>());
+        when(courseProvider.getLessonsCount(anyLong())).thenReturn(0);
         when(courseProvider.getEnrolledCount(anyLong())).thenReturn(0);
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -445,7 +394,6 @@ class EnrollTest {
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         CourseProvider courseProvider = mock(CourseProvider.class);
         UserProvider userProvider = new FoundAdminUserProviderSpy();
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
@@ -456,10 +404,10 @@ class EnrollTest {
         course.setMentored(true);
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        when(chapterProvider.ofCourseId(anyLong())).thenReturn(new ArrayList<>());
+        when(courseProvider.getLessonsCount(anyLong())).thenReturn(0);
         when(courseProvider.getEnrolledCount(anyLong())).thenReturn(0);
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -476,7 +424,6 @@ class EnrollTest {
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         CourseProvider courseProvider = mock(CourseProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
         when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.of(new Purchase()));
@@ -492,11 +439,10 @@ class EnrollTest {
         course.setMentored(true);
         when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
 
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any())).thenReturn(new Page<>());
-        when(chapterProvider.ofCourseId(anyLong())).thenReturn(new ArrayList<>());
+        when(courseProvider.getLessonsCount(anyLong())).thenReturn(0);
         when(courseProvider.getEnrolledCount(anyLong())).thenReturn(0);
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -513,7 +459,7 @@ class EnrollTest {
         UserProvider userProvider = new FoundAdminUserProviderSpy();
         CourseProvider courseProvider = new NotFoundCourseProviderSpy();
 
-        enroll = new Enroll(null, courseProvider, userProvider, null, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(null, courseProvider, userProvider, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
 
         //assert
         Assertions.assertThatExceptionOfType(ResourceNotFoundException.class)
@@ -528,7 +474,7 @@ class EnrollTest {
         UserProvider userProvider = new FoundAdminUserProviderSpy();
         CourseProvider courseProvider = new Found_Draft_WithKnownAuthor_CourseProvider_Spy();
 
-        enroll = new Enroll(null, courseProvider, userProvider, null, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(null, courseProvider, userProvider, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
 
         //assert
         Assertions.assertThatExceptionOfType(ForbiddenActionException.class)
@@ -545,8 +491,7 @@ class EnrollTest {
         NotFoundEnrollmentProviderDummy enrollmentProviderDummy = new NotFoundEnrollmentProviderDummy();
         Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
         UserProvider userProvider = new FoundAdminUserProviderSpy();
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
-        enroll = new Enroll(enrollmentProviderDummy, courseProvider, userProvider, chapterProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProviderDummy, courseProvider, userProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         LocalDateTime beforeEnroll = LocalDateTime.now();
@@ -562,7 +507,6 @@ class EnrollTest {
         assertThat(courseProvider.enrollCalledCount).isTrue();
 
         assertThat(course.getLessonsCount()).isEqualTo(2);
-        assertThat(chapterProvider.ofCourseIdCalled).isTrue();
 
 
         assertThat(courseProvider.enrollCalledCount).isTrue();
@@ -590,8 +534,7 @@ class EnrollTest {
         FoundCancelledOnlyEnrollmentProviderSpy enrollmentProvider = new FoundCancelledOnlyEnrollmentProviderSpy();
         Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
         UserProvider userProvider = new FoundAdminUserProviderSpy();
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         LocalDateTime beforeEnroll = LocalDateTime.now();
@@ -607,7 +550,6 @@ class EnrollTest {
         assertThat(courseProvider.enrollCalledCount).isTrue();
 
         assertThat(course.getLessonsCount()).isEqualTo(2);
-        assertThat(chapterProvider.ofCourseIdCalled).isTrue();
 
         assertThat(enrollment.getSuspendedAt()).isNull();
         assertThat(enrollment.isActive()).isTrue();
@@ -626,7 +568,7 @@ class EnrollTest {
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), eq(true))).thenReturn(Optional.of(new Enrollment()));
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, null, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -645,11 +587,10 @@ class EnrollTest {
         NotFoundEnrollmentProviderDummy enrollmentProviderDummy = new NotFoundEnrollmentProviderDummy();
         Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
         UserProvider userProvider = new FoundAdminUserProviderSpy();
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
 
         sandboxProvider = mock(SandboxProvider.class);
 
-        enroll = new Enroll(enrollmentProviderDummy, courseProvider, userProvider, chapterProvider, sandboxProvider, null, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProviderDummy, courseProvider, userProvider, sandboxProvider, null, companyProvider, companyCourseProvider, companyUserProvider, null);
 
         //act
         enroll.execute(1, 1, 0, false);
@@ -665,7 +606,6 @@ class EnrollTest {
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = new FoundNonAdminUserProviderSpy();
         CourseProvider courseProvider = mock(CourseProvider.class);
-        FoundChapterProviderSpy chapterProvider = new FoundChapterProviderSpy();
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
@@ -677,7 +617,6 @@ class EnrollTest {
         Enrollment enrollment = new Enrollment();
         enrollment.setCourse(mockCourse);
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty()).thenReturn(Optional.of(enrollment));
-        when(enrollmentProvider.of(anyInt(), anyInt(), anyLong(), any(), any())).thenReturn(new Page<>());
         when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.of(new Purchase()));
 
         when(enrollmentProvider.save(any())).thenReturn(enrollment);
@@ -685,7 +624,7 @@ class EnrollTest {
         sandboxProvider = mock(SandboxProvider.class);
         when(sandboxProvider.initialize(any(), anyString())).thenReturn(new Sandbox());
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         //act
@@ -697,6 +636,41 @@ class EnrollTest {
 
     }
 
+    @Test
+    void enrolls_evenIfTheSandboxRequestCannotBeRecorded() throws ZerofiltreException {
+        //arrange
+        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
+        UserProvider userProvider = new FoundNonAdminUserProviderSpy();
+        CourseProvider courseProvider = mock(CourseProvider.class);
+
+        when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
+
+        User author = ZerofiltreUtilsTest.createMockUser(false);
+        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(true, Status.PUBLISHED, author, Collections.emptyList(), new ArrayList<>());
+        mockCourse.setSandboxType(Sandbox.Type.K8S);
+        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setCourse(mockCourse);
+        when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty()).thenReturn(Optional.of(enrollment));
+        when(purchaseProvider.purchaseOf(anyLong(), anyLong())).thenReturn(Optional.of(new Purchase()));
+
+        when(enrollmentProvider.save(any())).thenReturn(enrollment);
+
+        sandboxProvider = mock(SandboxProvider.class);
+        when(sandboxProvider.initialize(any(), anyString())).thenThrow(new IllegalStateException("database unavailable"));
+
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, sandboxProvider, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        ReflectionTestUtils.setField(enroll, "companyService", companyService);
+
+        //act
+        Enrollment result = enroll.execute(1, 1, 0, false);
+
+        //assert
+        assertThat(result).isEqualTo(enrollment);
+        verify(sandboxProvider, times(1)).initialize(any(), anyString());
+    }
+
     @Test
     @DisplayName("When a company user enrolls in a company course, the enrollment is created")
     void shouldCreateEnrollment_whenEnrollCompanyUserToCompanyCourse() throws ZerofiltreException {
@@ -704,7 +678,6 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         long companyId = 9L;
         // Build user's previous enrollment
@@ -749,8 +722,8 @@ class EnrollTest {
         Page<Enrollment> enrollmentPage = new Page<>();
         enrollmentPage.setContent(enrollmentList);
 
-        when(chapterProvider.ofCourseId(anyLong()))
-                .thenReturn(Collections.singletonList(chapter));
+        when(courseProvider.getLessonsCount(anyLong()))
+                .thenReturn(chapter.getLessons().size());
 
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
@@ -761,7 +734,7 @@ class EnrollTest {
         when(companyUserProvider.findByCompanyIdAndUserId(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.of(linkCompanyUser));
 
         //act
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         Enrollment result = enroll.execute(user.getId(), course.getId(), companyId, false);
 
         //assert
@@ -781,7 +754,6 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         User user = ZerofiltreUtilsTest.createMockUser(false);
         user.setId(12);
@@ -796,7 +768,7 @@ class EnrollTest {
         when(companyCourseService.getLinkCompanyCourseIdIfCourseIsActive(anyLong(), anyLong())).thenThrow(ResourceNotFoundException.class);
 
         //act and assert
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyCourseService", companyCourseService);
 
         Assertions.assertThatExceptionOfType(ResourceNotFoundException.class)
@@ -810,7 +782,6 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         User user = ZerofiltreUtilsTest.createMockUser(false);
         user.setId(12);
@@ -826,7 +797,7 @@ class EnrollTest {
         when(companyUserService.getLinkCompanyUserIdIfUserIsActive(anyLong(), anyLong())).thenThrow(ResourceNotFoundException.class);
 
         //act and assert
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyCourseService", companyCourseService);
         ReflectionTestUtils.setField(enroll, "companyUserService", companyUserService);
 
@@ -841,7 +812,6 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(enrollmentProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
@@ -888,8 +858,8 @@ class EnrollTest {
         Page<Enrollment> enrollmentPage = new Page<>();
         enrollmentPage.setContent(enrollmentList);
 
-        when(chapterProvider.ofCourseId(anyLong()))
-                .thenReturn(Collections.singletonList(chapter));
+        when(courseProvider.getLessonsCount(anyLong()))
+                .thenReturn(chapter.getLessons().size());
 
         LinkCompanyCourse linkCompanyCourse = new LinkCompanyCourse(12, companyId, course.getId(), false, true, LocalDateTime.now(), null);
         when(companyCourseService.getLinkCompanyCourseIdIfCourseIsActive(anyLong(), anyLong())).thenReturn(linkCompanyCourse.getId());
@@ -900,7 +870,7 @@ class EnrollTest {
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(List.of(companyId));
 
         //act
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
         ReflectionTestUtils.setField(enroll, "companyCourseService", companyCourseService);
         ReflectionTestUtils.setField(enroll, "companyUserService", companyUserService);
@@ -928,9 +898,8 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
 
         Course course = new Course();
         course.setStatus(Status.PUBLISHED);
@@ -951,7 +920,7 @@ class EnrollTest {
         when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
         when(enrollmentProvider.save(any())).thenReturn(enrollment);
         when(courseProvider.getEnrolledCount(anyLong())).thenReturn(1);
-        when(chapterProvider.ofCourseId(anyLong())).thenReturn(new ArrayList<>());
+        when(courseProvider.getLessonsCount(anyLong())).thenReturn(0);
 
         //act
         Enrollment result = enroll.execute(user.getId(), course.getId(), 0, true);
@@ -970,11 +939,10 @@ class EnrollTest {
         CourseProvider courseProvider = mock(CourseProvider.class);
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
         UserProvider userProvider = mock(UserProvider.class);
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
 
         when(companyService.findAllCompanyIdByUserIdAndCourseId(anyLong(), anyLong())).thenReturn(new ArrayList<>());
 
-        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, chapterProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
+        enroll = new Enroll(enrollmentProvider, courseProvider, userProvider, null, purchaseProvider, companyProvider, companyCourseProvider, companyUserProvider, null);
         ReflectionTestUtils.setField(enroll, "companyService", companyService);
 
         Course course = new Course();
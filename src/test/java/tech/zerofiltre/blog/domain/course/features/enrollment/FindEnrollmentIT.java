@@ -3,9 +3,9 @@ package tech.zerofiltre.blog.domain.course.features.enrollment;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
@@ -26,6 +26,9 @@ import static tech.zerofiltre.blog.domain.article.model.Status.PUBLISHED;
 @DataJpaTest
 class FindEnrollmentIT {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private FindEnrollment findEnrollment;
 
     @Autowired
@@ -37,9 +40,6 @@ class FindEnrollmentIT {
     @Autowired
     private CourseJPARepository courseJPARepository;
 
-    @Autowired
-    private ChapterJPARepository chapterJPARepository;
-
     @Test
     void findEnrollment_returns_properPage_forInActiveEnrollments() throws ZerofiltreException {
         //given
@@ -162,11 +162,10 @@ class FindEnrollmentIT {
     }
 
     private User init2Enrollments(boolean withThe2ndOneInactive, boolean withThe2ndOneCompleted) throws ZerofiltreException {
-        EnrollmentProvider enrollmentProvider = new DBEnrollmentProvider(enrollmentJPARepository);
-        UserProvider userProvider = new DBUserProvider(userJPARepository);
-        CourseProvider courseProvider = new DBCourseProvider(courseJPARepository, userJPARepository);
-        ChapterProvider chapterProvider = new DBChapterProvider(chapterJPARepository);
-        findEnrollment = new FindEnrollment(enrollmentProvider, courseProvider, chapterProvider);
+        EnrollmentProvider enrollmentProvider = new DBEnrollmentProvider(enrollmentJPARepository, courseJPARepository);
+        UserProvider userProvider = new DBUserProvider(userJPARepository, eventPublisher);
+        CourseProvider courseProvider = new DBCourseProvider(courseJPARepository, eventPublisher);
+        findEnrollment = new FindEnrollment(enrollmentProvider);
 
 
         User author = ZerofiltreUtilsTest.createMockUser(false);
@@ -6,8 +6,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
-import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
@@ -15,8 +13,6 @@ import tech.zerofiltre.blog.domain.error.ForbiddenActionException;
 import tech.zerofiltre.blog.domain.error.ResourceNotFoundException;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.doubles.EnrollmentProviderSpy;
-import tech.zerofiltre.blog.doubles.FoundChapterProviderSpy;
-import tech.zerofiltre.blog.doubles.Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons;
 import tech.zerofiltre.blog.doubles.NotFoundEnrollmentProviderDummy;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -32,9 +28,7 @@ class FindEnrollmentTest {
     void findEnrollment_returns_theProperPage() {
         //given
         EnrollmentProviderSpy enrollmentProviderSpy = new EnrollmentProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProviderSpy, courseProvider, chapterProvider);
+        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProviderSpy);
         //when
         FinderRequest request = new FinderRequest(0, 3, DRAFT, new User());
         Page<Course> courses = findEnrollment.of(request);
@@ -61,9 +55,7 @@ class FindEnrollmentTest {
     void findEnrollment_calls_EnrollmentProvider_withTheInactiveParam() {
         //given
         EnrollmentProviderSpy enrollmentProvider = new EnrollmentProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider, courseProvider, chapterProvider);
+        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider);
         //when
         FinderRequest request = new FinderRequest(0, 3, DRAFT, new User());
         request.setFilter(INACTIVE);
@@ -79,9 +71,7 @@ class FindEnrollmentTest {
     void findEnrollment_calls_EnrollmentProvider_withTheCompletedParam() {
         //given
         EnrollmentProviderSpy enrollmentProvider = new EnrollmentProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider, courseProvider, chapterProvider);
+        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider);
         //when
         FinderRequest request = new FinderRequest(0, 3, DRAFT, new User());
         request.setFilter(COMPLETED);
@@ -97,9 +87,7 @@ class FindEnrollmentTest {
     void findAEnrollmentForUser_returns_theProperOne() throws ResourceNotFoundException, ForbiddenActionException {
         //given
         EnrollmentProviderSpy enrollmentProvider = new EnrollmentProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider, courseProvider, chapterProvider);
+        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider);
         //when
         Enrollment enrollment = findEnrollment.of(1, 1, 1, false);
         //then
@@ -110,7 +98,7 @@ class FindEnrollmentTest {
     @DisplayName("When performing a search for an enrollment as a non-admin user for another user, a forbidden action exception is returned.")
     void searchEnrollment_AsNonAdmin_ForAnotherUser_ShouldReturn_ForbiddenException() {
         //given
-        FindEnrollment findEnrollment = new FindEnrollment(null, null, null);
+        FindEnrollment findEnrollment = new FindEnrollment(null);
 
         //then
         assertThatExceptionOfType(ForbiddenActionException.class)
@@ -123,7 +111,7 @@ class FindEnrollmentTest {
     void searchUserEnrollment_InCourse_ShouldThrow_ResourceNotFoundException() {
         //given
         EnrollmentProvider enrollmentProvider = new NotFoundEnrollmentProviderDummy();
-        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider, null, null);
+        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider);
 
         //then
         assertThatExceptionOfType(ResourceNotFoundException.class)
@@ -136,9 +124,7 @@ class FindEnrollmentTest {
     void searchAsAdmin_ForUserEnrollment_InCourse_ShouldReturnEnrollment() throws ResourceNotFoundException, ForbiddenActionException {
         //given
         EnrollmentProviderSpy enrollmentProvider = new EnrollmentProviderSpy();
-        CourseProvider courseProvider = new Found_Published_WithKnownAuthor_CourseProvider_Spy_And_2Lessons();
-        ChapterProvider chapterProvider = new FoundChapterProviderSpy();
-        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider, courseProvider, chapterProvider);
+        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider);
 
         //when
         Enrollment enrollment = findEnrollment.of(1, 1, 0, true);
@@ -152,7 +138,7 @@ class FindEnrollmentTest {
     void findAnEnrollment_throwsResourceNotFoundException() {
         //given
         EnrollmentProvider enrollmentProvider = new NotFoundEnrollmentProviderDummy();
-        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider, null, null);
+        FindEnrollment findEnrollment = new FindEnrollment(enrollmentProvider);
 
         //then
         assertThatExceptionOfType(ResourceNotFoundException.class)
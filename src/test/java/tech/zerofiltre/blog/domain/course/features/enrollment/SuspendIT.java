@@ -80,9 +80,9 @@ class SuspendIT {
     @BeforeEach
     void init() throws ZerofiltreException {
         doNothing().when(sandboxProvider).destroy(any(), any());
-        suspend = new Suspend(enrollmentProvider, chapterProvider, purchaseProvider, sandboxProvider, dbCourseProvider);
-        enroll = new Enroll(enrollmentProvider, dbCourseProvider, dbUserProvider, chapterProvider, sandboxProvider, null, companyProvider, companyCourseProvider, companyUserProvider, null);
-        findEnrollment = new FindEnrollment(enrollmentProvider, dbCourseProvider, chapterProvider);
+        suspend = new Suspend(enrollmentProvider, purchaseProvider, sandboxProvider);
+        enroll = new Enroll(enrollmentProvider, dbCourseProvider, dbUserProvider, sandboxProvider, null, companyProvider, companyCourseProvider, companyUserProvider, null);
+        findEnrollment = new FindEnrollment(enrollmentProvider);
     }
 
     @Test
@@ -177,6 +177,47 @@ class SuspendIT {
 
     }
 
+    @Test
+    void suspendAllKeepsTheCompletedEnrollmentsAndTheirPurchases() throws ZerofiltreException {
+        User user = ZerofiltreUtilsTest.createMockUser(false);
+        User author = ZerofiltreUtilsTest.createMockUser(false);
+        user = dbUserProvider.save(user);
+
+        author.setEmail("test@mail.com");
+        author.setPseudoName("test@mail.com");
+        author = dbUserProvider.save(author);
+
+        Course completedCourse = ZerofiltreUtilsTest.createMockCourse(true, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList(), true);
+        completedCourse = dbCourseProvider.save(completedCourse);
+
+        Course ongoingCourse = ZerofiltreUtilsTest.createMockCourse(true, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList(), true);
+        ongoingCourse = dbCourseProvider.save(ongoingCourse);
+
+        Enrollment completedEnrollment = new Enrollment();
+        completedEnrollment.setUser(user);
+        completedEnrollment.setCourse(completedCourse);
+        completedEnrollment.setCompleted(true);
+        enrollmentProvider.save(completedEnrollment);
+
+        Enrollment ongoingEnrollment = new Enrollment();
+        ongoingEnrollment.setUser(user);
+        ongoingEnrollment.setCourse(ongoingCourse);
+        enrollmentProvider.save(ongoingEnrollment);
+
+        purchaseProvider.save(new Purchase(user, completedCourse));
+        purchaseProvider.save(new Purchase(user, ongoingCourse));
+
+        //when
+        suspend.all(user.getId(), false);
+
+        //then
+        assertThat(enrollmentProvider.enrollmentOf(user.getId(), completedCourse.getId(), true)).isPresent();
+        assertThat(purchaseProvider.purchaseOf(user.getId(), completedCourse.getId())).isPresent();
+
+        assertThat(enrollmentProvider.enrollmentOf(user.getId(), ongoingCourse.getId(), true)).isEmpty();
+        assertThat(purchaseProvider.purchaseOf(user.getId(), ongoingCourse.getId())).isEmpty();
+    }
+
     @Test
     void suspendAllDeletesPurchaseProperly() throws ZerofiltreException {
         User user = ZerofiltreUtilsTest.createMockUser(false);
@@ -340,21 +340,12 @@ class LessonTest {
         user.setId(999);
         when(userProvider.userOfId(anyLong())).thenReturn(Optional.of(user));
 
-        CourseProvider courseProvider = mock(CourseProvider.class);
-        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(false, Status.DRAFT, new User(), Collections.emptyList(), Collections.emptyList());
-        mockCourse.setId(18);
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
-
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(anyLong())).thenReturn(Optional.ofNullable(Chapter.builder().id(10).courseId(18).build()));
-
         LessonProvider lessonProvider = mock(LessonProvider.class);
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build()));
+        Lesson found = Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build();
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.DRAFT, 0, null, false)));
 
         Lesson lesson = Lesson.builder()
                 .userProvider(userProvider)
-                .chapterProvider(chapterProvider)
-                .courseProvider(courseProvider)
                 .lessonProvider(lessonProvider)
                 .build();
 
@@ -366,50 +357,32 @@ class LessonTest {
     }
 
     @Test
-    void get_AsUser_Throws_ResourceNotFound_if_chapter_not_found_for_not_connected_user() {
+    void get_AsUser_Throws_ResourceNotFound_if_user_not_found() {
         //given
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(10)).thenReturn(Optional.empty());
+        UserProvider userProvider = mock(UserProvider.class);
+        when(userProvider.userOfId(anyLong())).thenReturn(Optional.empty());
 
-        LessonProvider lessonProvider = mock(LessonProvider.class);
-        Lesson built = Lesson.builder()
-                .chapterId(10)
+        Lesson lesson = Lesson.builder()
+                .id(1)
+                .userProvider(userProvider)
+                .lessonProvider(new FoundLessonProviderSpy())
                 .build();
 
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(built));
-
-        Optional<Lesson> lessonOptional = Optional.ofNullable(
-                Lesson.builder()
-                        .lessonProvider(lessonProvider)
-                        .chapterProvider(chapterProvider)
-                        .build()
-        );
-
         //when
         //then
         org.assertj.core.api.Assertions.assertThatExceptionOfType(ResourceNotFoundException.class)
-                .isThrownBy(() -> lessonOptional.get().getAsUser(0))
-                .withMessageContaining("The chapter with id: " + 10 + DOES_NOT_EXIST);
+                .isThrownBy(() -> lesson.getAsUser(999));
     }
 
 
     @Test
     void get_AsUser_throws_ForbiddenActionException_if_not_connected_and_course_not_published() {
         //given
-        CourseProvider courseProvider = mock(CourseProvider.class);
-        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(false, Status.DRAFT, new User(), Collections.emptyList(), Collections.emptyList());
-        mockCourse.setId(18);
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
-
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(anyLong())).thenReturn(Optional.ofNullable(Chapter.builder().id(10).courseId(18).build()));
-
         LessonProvider lessonProvider = mock(LessonProvider.class);
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build()));
+        Lesson found = Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build();
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.DRAFT, 0, null, false)));
 
         Lesson lesson = Lesson.builder()
-                .chapterProvider(chapterProvider)
-                .courseProvider(courseProvider)
                 .lessonProvider(lessonProvider)
                 .build();
 
@@ -460,31 +433,22 @@ class LessonTest {
     }
 
     @Test
-    void get_AsUser_NonFreeLesson_returns_partOfContent_exceptVideo_ifNotPartOfEnrollment() throws ResourceNotFoundException, ForbiddenActionException {
+    void get_AsUser_resolves_the_access_at_once_without_loading_chapter_nor_course_nor_enrollment() throws ResourceNotFoundException, ForbiddenActionException {
         //given
-        UserProvider userProvider = mock(UserProvider.class);
         User user = new User();
         user.setId(999);
-        when(userProvider.userOfId(anyLong())).thenReturn(Optional.of(user));
-
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(anyLong())).thenReturn(Optional.ofNullable(Chapter.builder().id(10).courseId(18).build()));
 
         LessonProvider lessonProvider = mock(LessonProvider.class);
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT + CONTENT + CONTENT + CONTENT).video(VIDEO).free(false).build()));
+        Lesson found = Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build();
+        when(lessonProvider.accessOf(20, 999)).thenReturn(Optional.of(new LessonAccess(found, Status.PUBLISHED, 5, null, true)));
 
+        UserProvider userProvider = mock(UserProvider.class);
+        ChapterProvider chapterProvider = mock(ChapterProvider.class);
         CourseProvider courseProvider = mock(CourseProvider.class);
-        User author = ZerofiltreUtilsTest.createMockUser(false);
-        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList());
-        mockCourse.setId(18);
-
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
-
-
         EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
-        when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
 
         Lesson lesson = Lesson.builder()
+                .id(20)
                 .userProvider(userProvider)
                 .chapterProvider(chapterProvider)
                 .lessonProvider(lessonProvider)
@@ -492,6 +456,33 @@ class LessonTest {
                 .courseProvider(courseProvider)
                 .build();
 
+        //when
+        Lesson result = lesson.getAsUser(user);
+
+        //then
+        org.assertj.core.api.Assertions.assertThat(result.getContent()).isEqualTo(CONTENT);
+        org.assertj.core.api.Assertions.assertThat(result.getVideo()).isEqualTo(VIDEO);
+        verifyNoInteractions(userProvider, chapterProvider, courseProvider, enrollmentProvider);
+    }
+
+    @Test
+    void get_AsUser_NonFreeLesson_returns_partOfContent_exceptVideo_ifNotPartOfEnrollment() throws ResourceNotFoundException, ForbiddenActionException {
+        //given
+        UserProvider userProvider = mock(UserProvider.class);
+        User user = new User();
+        user.setId(999);
+        when(userProvider.userOfId(anyLong())).thenReturn(Optional.of(user));
+
+        LessonProvider lessonProvider = mock(LessonProvider.class);
+        Lesson found = Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT + CONTENT + CONTENT + CONTENT).video(VIDEO).free(false).build();
+        User author = ZerofiltreUtilsTest.createMockUser(false);
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.PUBLISHED, author.getId(), null, false)));
+
+        Lesson lesson = Lesson.builder()
+                .userProvider(userProvider)
+                .lessonProvider(lessonProvider)
+                .build();
+
         //when
         Lesson result = lesson.getAsUser(999);
 
@@ -500,34 +491,18 @@ class LessonTest {
         org.assertj.core.api.Assertions.assertThat(result.getType()).isEqualTo("video");
         org.assertj.core.api.Assertions.assertThat(result.getContent()).isEqualTo(CONTENT + DOTS);
         org.assertj.core.api.Assertions.assertThat(result.getVideo()).isEqualTo(VIDEO_NOT_AVAILABLE_FOR_FREE);
-        verify(enrollmentProvider).enrollmentOf(anyLong(), anyLong(), anyBoolean());
+        verify(lessonProvider).accessOf(anyLong(), eq(999L));
     }
 
     @Test
     void get_AsUser_NonFreeLesson_returns_partOfContent_exceptVideo_ifNotConnected() throws ResourceNotFoundException, ForbiddenActionException {
         //given
-
-        UserProvider userProvider = mock(UserProvider.class);
-        when(userProvider.userOfId(anyLong())).thenReturn(Optional.empty());
-
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(anyLong())).thenReturn(Optional.ofNullable(Chapter.builder().id(10).courseId(18).build()));
-
         LessonProvider lessonProvider = mock(LessonProvider.class);
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT + CONTENT + CONTENT + CONTENT).video(VIDEO).free(false).build()));
-
-        CourseProvider courseProvider = mock(CourseProvider.class);
-        User author = ZerofiltreUtilsTest.createMockUser(false);
-        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList());
-        mockCourse.setId(18);
-
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
+        Lesson found = Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT + CONTENT + CONTENT + CONTENT).video(VIDEO).free(false).build();
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.PUBLISHED, 1, null, false)));
 
         Lesson lesson = Lesson.builder()
-                .userProvider(userProvider)
-                .chapterProvider(chapterProvider)
                 .lessonProvider(lessonProvider)
-                .courseProvider(courseProvider)
                 .build();
 
         //when
@@ -548,28 +523,13 @@ class LessonTest {
         user.setId(999);
         when(userProvider.userOfId(anyLong())).thenReturn(Optional.of(user));
 
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(anyLong())).thenReturn(Optional.ofNullable(Chapter.builder().id(10).courseId(18).build()));
-
         LessonProvider lessonProvider = mock(LessonProvider.class);
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(Lesson.builder().id(20).chapterId(10).free(true).title("Lesson 1").content(CONTENT).video(VIDEO).build()));
-
-        CourseProvider courseProvider = mock(CourseProvider.class);
-        User author = ZerofiltreUtilsTest.createMockUser(false);
-        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList());
-        mockCourse.setId(18);
-
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
-
-        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
-        when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
+        Lesson found = Lesson.builder().id(20).chapterId(10).free(true).title("Lesson 1").content(CONTENT).video(VIDEO).build();
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.PUBLISHED, 1, null, false)));
 
         Lesson lesson = Lesson.builder()
                 .userProvider(userProvider)
-                .chapterProvider(chapterProvider)
                 .lessonProvider(lessonProvider)
-                .enrollmentProvider(enrollmentProvider)
-                .courseProvider(courseProvider)
                 .build();
 
         //when
@@ -580,29 +540,16 @@ class LessonTest {
         org.assertj.core.api.Assertions.assertThat(result.getType()).isEqualTo("video");
         org.assertj.core.api.Assertions.assertThat(result.getContent()).isEqualTo(CONTENT);
         org.assertj.core.api.Assertions.assertThat(result.getVideo()).isEqualTo(VIDEO);
-        verify(enrollmentProvider).enrollmentOf(anyLong(), anyLong(), anyBoolean());
     }
     @Test
     void get_AsUser_freeLesson_returns_fullContent_evenNotConnected() throws ResourceNotFoundException, ForbiddenActionException {
         //given
-
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(anyLong())).thenReturn(Optional.ofNullable(Chapter.builder().id(10).courseId(18).build()));
-
         LessonProvider lessonProvider = mock(LessonProvider.class);
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(Lesson.builder().id(20).chapterId(10).free(true).title("Lesson 1").content(CONTENT).video(VIDEO).build()));
-
-        CourseProvider courseProvider = mock(CourseProvider.class);
-        User author = ZerofiltreUtilsTest.createMockUser(false);
-        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList());
-        mockCourse.setId(18);
-
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
+        Lesson found = Lesson.builder().id(20).chapterId(10).free(true).title("Lesson 1").content(CONTENT).video(VIDEO).build();
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.PUBLISHED, 1, null, false)));
 
         Lesson lesson = Lesson.builder()
-                .chapterProvider(chapterProvider)
                 .lessonProvider(lessonProvider)
-                .courseProvider(courseProvider)
                 .build();
 
         //when
@@ -625,28 +572,13 @@ class LessonTest {
         UserProvider userProvider = mock(UserProvider.class);
         when(userProvider.userOfId(85)).thenReturn(Optional.of(currentUser));
 
-        ChapterProvider chapterProvider = mock(ChapterProvider.class);
-        when(chapterProvider.chapterOfId(anyLong())).thenReturn(Optional.ofNullable(Chapter.builder().id(10).courseId(18).build()));
-
         LessonProvider lessonProvider = mock(LessonProvider.class);
-        when(lessonProvider.lessonOfId(anyLong())).thenReturn(Optional.ofNullable(Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build()));
-
-        CourseProvider courseProvider = mock(CourseProvider.class);
-        User author = ZerofiltreUtilsTest.createMockUser(false);
-        Course mockCourse = ZerofiltreUtilsTest.createMockCourse(false, Status.DRAFT, author, Collections.emptyList(), Collections.emptyList());
-        mockCourse.setId(18);
-
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(mockCourse));
-
-        EnrollmentProvider enrollmentProvider = mock(EnrollmentProvider.class);
-        when(enrollmentProvider.enrollmentOf(anyLong(), anyLong(), anyBoolean())).thenReturn(Optional.empty());
+        Lesson found = Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build();
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.DRAFT, 1, null, false)));
 
         Lesson lesson = Lesson.builder()
                 .userProvider(userProvider)
-                .chapterProvider(chapterProvider)
                 .lessonProvider(lessonProvider)
-                .enrollmentProvider(enrollmentProvider)
-                .courseProvider(courseProvider)
                 .build();
 
         //when
@@ -657,7 +589,34 @@ class LessonTest {
         org.assertj.core.api.Assertions.assertThat(result.getType()).isEqualTo("video");
         org.assertj.core.api.Assertions.assertThat(result.getContent()).isEqualTo(CONTENT);
         org.assertj.core.api.Assertions.assertThat(result.getVideo()).isEqualTo(VIDEO);
-        verify(enrollmentProvider).enrollmentOf(anyLong(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    void get_AsUser_checksTheCompanyUser_ofACompanyOwnedCourse() throws ResourceNotFoundException, ForbiddenActionException {
+        //given
+        User user = new User();
+        user.setId(999);
+
+        LessonProvider lessonProvider = mock(LessonProvider.class);
+        Lesson found = Lesson.builder().id(20).chapterId(10).title("Lesson 1").content(CONTENT).video(VIDEO).build();
+        when(lessonProvider.accessOf(anyLong(), anyLong())).thenReturn(Optional.of(new LessonAccess(found, Status.PUBLISHED, 1, 12L, false)));
+
+        DataChecker checker = mock(DataChecker.class);
+        CourseProvider courseProvider = mock(CourseProvider.class);
+
+        Lesson lesson = Lesson.builder()
+                .lessonProvider(lessonProvider)
+                .courseProvider(courseProvider)
+                .checker(checker)
+                .build();
+
+        //when
+        Lesson result = lesson.getAsUser(user);
+
+        //then
+        org.assertj.core.api.Assertions.assertThat(result.getContent()).isEqualTo(CONTENT);
+        verify(checker).checkIfAdminOrCompanyUser(user, 12L);
+        verifyNoInteractions(courseProvider);
     }
 
     @Test
@@ -1003,16 +962,13 @@ class LessonTest {
     @DisplayName("When a user who is not logged in wants to access a lesson that is part of a published company-owned course, a forbidden action exception is thrown.")
     void shouldThrownException_whenUserNotLogged_wantsAccessLessonCompanyOwnedCourse() {
         //GIVEN
-        CourseProvider courseProvider = mock(CourseProvider.class);
-        Course course = ZerofiltreUtilsTest.createMockCourse(true, Status.PUBLISHED, new User(), Collections.emptyList(), Collections.emptyList());
-        when(courseProvider.courseOfId(anyLong())).thenReturn(Optional.of(course));
-        when(courseProvider.idOfCompanyOwningCourse(anyLong())).thenReturn(Optional.of(12L));
+        LessonProvider lessonProvider = mock(LessonProvider.class);
+        Lesson found = Lesson.builder().id(1).chapterId(10).title("Lesson 1").content(CONTENT).free(true).build();
+        when(lessonProvider.accessOf(1, 0)).thenReturn(Optional.of(new LessonAccess(found, Status.PUBLISHED, 1, 12L, false)));
 
         Lesson lesson = Lesson.builder()
                 .id(1)
-                .lessonProvider(new FoundLessonProviderSpy())
-                .chapterProvider(new FoundChapterProviderSpy())
-                .courseProvider(courseProvider)
+                .lessonProvider(lessonProvider)
                 .title("Lesson 1")
                 .build();
 
@@ -1022,8 +978,7 @@ class LessonTest {
                 .withMessage("You are not allowed to do this action on this course");
 
         //THEN
-        verify(courseProvider).courseOfId(anyLong());
-        verify(courseProvider).idOfCompanyOwningCourse(anyLong());
+        verify(lessonProvider).accessOf(1, 0);
     }
 
-}
\ No newline at end of file
+}
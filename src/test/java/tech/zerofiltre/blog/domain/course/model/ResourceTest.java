@@ -0,0 +1,22 @@
+package tech.zerofiltre.blog.domain.course.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceTest {
+
+    @Test
+    void grantedCourseId_isTheIdOfTheLinkedCourse() {
+        Resource resource = Resource.builder().type("course").url("https://zerofiltre.tech/cours/24-name-of-course").build();
+
+        assertThat(resource.grantedCourseId()).isEqualTo(24);
+    }
+
+    @Test
+    void grantedCourseId_isZero_forTheOtherResources() {
+        assertThat(Resource.builder().type("link").url("https://zerofiltre.tech/cours/24").build().grantedCourseId()).isZero();
+        assertThat(Resource.builder().type("course").url("https://zerofiltre.tech/articles/24").build().grantedCourseId()).isZero();
+        assertThat(Resource.builder().type("course").build().grantedCourseId()).isZero();
+    }
+}
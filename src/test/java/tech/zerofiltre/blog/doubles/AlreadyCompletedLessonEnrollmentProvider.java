@@ -6,9 +6,12 @@ import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.CompletedLesson;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
+import tech.zerofiltre.blog.domain.course.model.SuspendedEnrollment;
 import tech.zerofiltre.blog.domain.course.model.Lesson;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +34,8 @@ public class AlreadyCompletedLessonEnrollmentProvider implements EnrollmentProvi
         CompletedLesson completedLesson = new CompletedLesson();
         completedLesson.setLessonId(lesson.getId());
         enrollment1.getCompletedLessons().add(completedLesson);
+        enrollment1.getCompletedLessonsBitmap().set(lesson.getProgressIndex());
+        enrollment1.setCompletedCount(1);
         return Optional.of(enrollment1);
     }
 
@@ -61,6 +66,32 @@ public class AlreadyCompletedLessonEnrollmentProvider implements EnrollmentProvi
     @Override
     public boolean isCompleted(long userId, long courseId) { return false; }
 
+    @Override
+    public Optional<EnrollmentProgress> progressOf(long userId, long courseId) {
+        EnrollmentProgress progress = new EnrollmentProgress();
+        progress.setEnrollmentId(224);
+        progress.setCourseId(courseId);
+        progress.getCompletedLessonsBitmap().set(0);
+        progress.setCompletedCount(1);
+        progress.setLessonsCount(2);
+        return Optional.of(progress);
+    }
+
+    @Override
+    public boolean saveProgress(EnrollmentProgress progress, long lessonId, boolean lessonCompleted, int readProgressVersion) { return true; }
+
+    @Override
+    public boolean hasAnEnrollmentGrantingAccessTo(long userId, long courseId) { return false; }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAll(long userId, boolean forLife) { return Collections.emptyList(); }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyCourseId(long companyCourseId) { return Collections.emptyList(); }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyUserId(long companyUserId) { return Collections.emptyList(); }
+
     @Override
     public void setCertificatePath(String path, long id, long courseId) {
         //no need to implement
@@ -3,13 +3,18 @@ package tech.zerofiltre.blog.doubles;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery;
 import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.infra.providers.database.course.LessonJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.course.model.LessonAccessJPA;
 import tech.zerofiltre.blog.infra.providers.database.course.model.LessonJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.LessonPositionJPA;
 import tech.zerofiltre.blog.infra.providers.database.course.model.LessonWithCourseIdJPA;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -166,5 +171,35 @@ public class DummyLessonJPARepository implements LessonJPARepository {
     }
 
     @Override
-    public List<Long> findAllLessonIdNotCompletedByCourseIdAndEnrollmentId(long enrollmentId) { return List.of(); }
+    public Slice<LessonWithCourseIdJPA> findIndexableByStatus(Status status, Pageable pageable) {
+        return new SliceImpl<>(List.of());
+    }
+
+    @Override
+    public List<LessonWithCourseIdJPA> findIndexableByIds(Collection<Long> lessonIds, Status status) {
+        return List.of();
+    }
+
+    @Override
+    public List<LessonWithCourseIdJPA> findIndexableByCourseIds(Collection<Long> courseIds, Status status) {
+        return List.of();
+    }
+
+    @Override
+    public Optional<LessonAccessJPA> findAccessOf(long lessonId, long userId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Long> findCourseIdById(long lessonId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<LessonPositionJPA> findPositionOf(long lessonId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public int nextProgressIndex(long chapterId) { return 0; }
 }
@@ -6,6 +6,8 @@ import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
+import tech.zerofiltre.blog.domain.course.model.SuspendedEnrollment;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
 
@@ -18,6 +20,7 @@ public class EnrollmentProviderSpy implements EnrollmentProvider {
     public boolean saveCalled = false;
     public boolean ofCalled = false;
     public boolean enrollmentOfCalled = false;
+    public boolean saveProgressCalled = false;
     public FinderRequest.Filter ofFilter = null;
 
     @Override
@@ -34,6 +37,41 @@ public class EnrollmentProviderSpy implements EnrollmentProvider {
         return false;
     }
 
+    @Override
+    public Optional<EnrollmentProgress> progressOf(long userId, long courseId) {
+        EnrollmentProgress progress = new EnrollmentProgress();
+        progress.setEnrollmentId(ID);
+        progress.setCourseId(courseId);
+        progress.setLessonsCount(2);
+        return Optional.of(progress);
+    }
+
+    @Override
+    public boolean saveProgress(EnrollmentProgress progress, long lessonId, boolean lessonCompleted, int readProgressVersion) {
+        saveProgressCalled = true;
+        return true;
+    }
+
+    @Override
+    public boolean hasAnEnrollmentGrantingAccessTo(long userId, long courseId) {
+        return false;
+    }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAll(long userId, boolean forLife) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyCourseId(long companyCourseId) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyUserId(long companyUserId) {
+        return Collections.emptyList();
+    }
+
     @Override
     public void setCertificatePath(String path, long id, long courseId) {
         //no need to implement
@@ -53,6 +91,10 @@ public class EnrollmentProviderSpy implements EnrollmentProvider {
                 Collections.emptyList(), Collections.emptyList());
         Course mockCourse1 = ZerofiltreUtilsTest.createMockCourse(false, Status.DRAFT, mockUser,
                 Collections.emptyList(), Collections.emptyList());
+        for (Course mockCourse : List.of(mockCourse1, mockCourse2)) {
+            mockCourse.setEnrolledCount(1);
+            mockCourse.setLessonsCount(2);
+        }
 
         Enrollment enrollment = new Enrollment();
         enrollment.setId(1);
@@ -6,6 +6,8 @@ import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
+import tech.zerofiltre.blog.domain.course.model.SuspendedEnrollment;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
 
@@ -31,6 +33,24 @@ public class FoundCancelledOnlyEnrollmentProviderSpy implements EnrollmentProvid
     @Override
     public boolean isCompleted(long userId, long courseId) { return false; }
 
+    @Override
+    public Optional<EnrollmentProgress> progressOf(long userId, long courseId) { return Optional.empty(); }
+
+    @Override
+    public boolean saveProgress(EnrollmentProgress progress, long lessonId, boolean lessonCompleted, int readProgressVersion) { return true; }
+
+    @Override
+    public boolean hasAnEnrollmentGrantingAccessTo(long userId, long courseId) { return false; }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAll(long userId, boolean forLife) { return Collections.emptyList(); }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyCourseId(long companyCourseId) { return Collections.emptyList(); }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyUserId(long companyUserId) { return Collections.emptyList(); }
+
     @Override
     public void setCertificatePath(String path, long id, long courseId) {
         //no need to implement
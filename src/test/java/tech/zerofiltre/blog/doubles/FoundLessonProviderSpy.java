@@ -1,9 +1,11 @@
 package tech.zerofiltre.blog.doubles;
 
+import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.course.LessonProvider;
 import tech.zerofiltre.blog.domain.course.model.Lesson;
+import tech.zerofiltre.blog.domain.course.model.LessonAccess;
+import tech.zerofiltre.blog.domain.course.model.LessonPosition;
 
-import java.util.List;
 import java.util.Optional;
 
 public class FoundLessonProviderSpy implements LessonProvider {
@@ -20,6 +22,17 @@ public class FoundLessonProviderSpy implements LessonProvider {
                 .chapterId(1).build());
     }
 
+    @Override
+    public Optional<LessonAccess> accessOf(long lessonId, long userId) {
+        return lessonOfId(lessonId).map(lesson -> new LessonAccess(lesson, Status.DRAFT, 0, null, false));
+    }
+
+    @Override
+    public Optional<LessonPosition> positionOf(long lessonId) {
+        calledLessonId = lessonId;
+        return Optional.of(new LessonPosition(1, 0));
+    }
+
     @Override
     public Lesson save(Lesson lesson) {
         return lesson;
@@ -29,7 +42,4 @@ public class FoundLessonProviderSpy implements LessonProvider {
     public void delete(Lesson lesson) {
         deleteCalled = true;
     }
-
-    @Override
-    public List<Long> listNotCompletedLessons(long enrollmentId) { return List.of(); }
 }
@@ -26,13 +26,13 @@ public class FoundNonAdminUserProviderSpy implements UserProvider {
     }
 
     @Override
-    public List<UserForBroadcast> allUsersForBroadcast() {
+    public List<UserForBroadcast> usersForBroadcast(long afterId, int limit) {
         return List.of();
     }
 
     @Override
-    public List<User> users() {
-        return null;
+    public List<UserForBroadcast> nonActiveUsers(long afterId, int limit) {
+        return List.of();
     }
 
     @Override
@@ -45,11 +45,6 @@ public class FoundNonAdminUserProviderSpy implements UserProvider {
         return Optional.empty();
     }
 
-    @Override
-    public List<User> nonActiveUsers() {
-        return null;
-    }
-
     @Override
     public void deleteUser(User user) {
 
@@ -4,8 +4,11 @@ import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.model.Enrollment;
+import tech.zerofiltre.blog.domain.course.model.EnrollmentProgress;
+import tech.zerofiltre.blog.domain.course.model.SuspendedEnrollment;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,6 +58,24 @@ public class NotEnrolledEnrollmentProvider implements EnrollmentProvider {
     @Override
     public boolean isCompleted(long userId, long courseId) { return false; }
 
+    @Override
+    public Optional<EnrollmentProgress> progressOf(long userId, long courseId) { return Optional.empty(); }
+
+    @Override
+    public boolean saveProgress(EnrollmentProgress progress, long lessonId, boolean lessonCompleted, int readProgressVersion) { return true; }
+
+    @Override
+    public boolean hasAnEnrollmentGrantingAccessTo(long userId, long courseId) { return false; }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAll(long userId, boolean forLife) { return Collections.emptyList(); }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyCourseId(long companyCourseId) { return Collections.emptyList(); }
+
+    @Override
+    public List<SuspendedEnrollment> suspendAllByCompanyUserId(long companyUserId) { return Collections.emptyList(); }
+
     @Override
     public void setCertificatePath(String path, long id, long courseId) {
         //no need to implement
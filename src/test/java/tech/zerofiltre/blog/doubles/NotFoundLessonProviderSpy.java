@@ -12,6 +12,16 @@ public class NotFoundLessonProviderSpy implements LessonProvider {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<LessonAccess> accessOf(long lessonId, long userId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<LessonPosition> positionOf(long lessonId) {
+        return Optional.empty();
+    }
+
     @Override
     public Lesson save(Lesson lesson) {
         return lesson;
@@ -21,7 +31,4 @@ public class NotFoundLessonProviderSpy implements LessonProvider {
     public void delete(Lesson lesson) {
 
     }
-
-    @Override
-    public List<Long> listNotCompletedLessons(long enrollmentId) { return List.of(); }
 }
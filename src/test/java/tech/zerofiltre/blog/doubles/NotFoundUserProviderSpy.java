@@ -17,11 +17,6 @@ public class NotFoundUserProviderSpy implements UserProvider {
         return Optional.empty();
     }
 
-    @Override
-    public List<User> users() {
-        return null;
-    }
-
     @Override
     public User save(User user) {
         return null;
@@ -32,11 +27,6 @@ public class NotFoundUserProviderSpy implements UserProvider {
         return Optional.empty();
     }
 
-    @Override
-    public List<User> nonActiveUsers() {
-        return null;
-    }
-
     @Override
     public void deleteUser(User user) {
 
@@ -48,7 +38,12 @@ public class NotFoundUserProviderSpy implements UserProvider {
     }
 
     @Override
-    public List<UserForBroadcast> allUsersForBroadcast() {
+    public List<UserForBroadcast> usersForBroadcast(long afterId, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public List<UserForBroadcast> nonActiveUsers(long afterId, int limit) {
         return List.of();
     }
 
@@ -0,0 +1,27 @@
+package tech.zerofiltre.blog.infra;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InfraConfigurationTest {
+
+    @Test
+    void redisCacheManagerBuilderCustomizer_setsTheTtlOfEachCache_fromTheProperties() {
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setCacheTtls(Map.of("articles-list", "1d", "connected-user", "5m"));
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(mock(RedisCacheWriter.class));
+
+        new InfraConfiguration().redisCacheManagerBuilderCustomizer(infraProperties).customize(builder);
+
+        assertThat(builder.getCacheConfigurationFor("articles-list")).hasValueSatisfying(config -> assertThat(config.getTtl()).isEqualTo(Duration.ofDays(1)));
+        assertThat(builder.getCacheConfigurationFor("connected-user")).hasValueSatisfying(config -> assertThat(config.getTtl()).isEqualTo(Duration.ofMinutes(5)));
+        assertThat(builder.getCacheConfigurationFor("so-user")).isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import tech.zerofiltre.blog.domain.user.UserProvider;
+import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.providers.database.user.UserChangedEvent;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectedUserCacheTest {
+
+    public static final long USER_ID = 12;
+
+    @Mock
+    UserProvider userProvider;
+
+    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    ConnectedUserCache connectedUserCache;
+
+    @BeforeEach
+    void init() {
+        connectedUserCache = new ConnectedUserCache(userProvider, cacheManager);
+    }
+
+    @Test
+    void userOfId_loadsTheUserOnce_untilItChanges() {
+        when(userProvider.userOfId(USER_ID)).thenReturn(Optional.of(userWithPlan(User.Plan.BASIC)));
+
+        connectedUserCache.userOfId(USER_ID);
+        Optional<User> result = connectedUserCache.userOfId(USER_ID);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getPlan()).isEqualTo(User.Plan.BASIC);
+        verify(userProvider, times(1)).userOfId(USER_ID);
+    }
+
+    @Test
+    void userOfId_reloadsTheUser_onceItChanged() {
+        when(userProvider.userOfId(USER_ID))
+                .thenReturn(Optional.of(userWithPlan(User.Plan.BASIC)))
+                .thenReturn(Optional.of(userWithPlan(User.Plan.PRO)));
+        connectedUserCache.userOfId(USER_ID);
+
+        connectedUserCache.onUserChanged(new UserChangedEvent(this, USER_ID));
+        Optional<User> result = connectedUserCache.userOfId(USER_ID);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getPlan()).isEqualTo(User.Plan.PRO);
+    }
+
+    @Test
+    void userOfId_doesNotServeAUserLoadedBeforeAChange_andCachedAfterIt() {
+        when(userProvider.userOfId(USER_ID))
+                .thenAnswer(invocation -> {
+                    connectedUserCache.invalidate(USER_ID);
+                    return Optional.of(userWithPlan(User.Plan.BASIC));
+                })
+                .thenReturn(Optional.of(userWithPlan(User.Plan.PRO)));
+        connectedUserCache.userOfId(USER_ID);
+
+        Optional<User> result = connectedUserCache.userOfId(USER_ID);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getPlan()).isEqualTo(User.Plan.PRO);
+    }
+
+    @Test
+    void userOfId_doesNotServeAUserLoadedBeforeAChange_onceTheVersionExpired() {
+        when(userProvider.userOfId(USER_ID))
+                .thenAnswer(invocation -> {
+                    connectedUserCache.invalidate(USER_ID);
+                    return Optional.of(userWithPlan(User.Plan.BASIC));
+                })
+                .thenReturn(Optional.of(userWithPlan(User.Plan.PRO)));
+        connectedUserCache.userOfId(USER_ID);
+        cacheManager.getCache(ConnectedUserCache.CONNECTED_USER).evict(ConnectedUserCache.VERSION_KEY_PREFIX + USER_ID);
+
+        Optional<User> result = connectedUserCache.userOfId(USER_ID);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getPlan()).isEqualTo(User.Plan.PRO);
+    }
+
+    @Test
+    void userOfId_doesNotCacheAnUnknownUser() {
+        when(userProvider.userOfId(USER_ID)).thenReturn(Optional.empty());
+
+        connectedUserCache.userOfId(USER_ID);
+        connectedUserCache.userOfId(USER_ID);
+
+        verify(userProvider, times(2)).userOfId(USER_ID);
+    }
+
+    private User userWithPlan(User.Plan plan) {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setPlan(plan);
+        return user;
+    }
+}
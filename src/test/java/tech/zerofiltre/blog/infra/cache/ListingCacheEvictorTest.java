@@ -0,0 +1,106 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import tech.zerofiltre.blog.domain.FinderRequest;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.ContentType;
+import tech.zerofiltre.blog.infra.providers.database.ListingChangedEvent;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.zerofiltre.blog.domain.article.model.Status.DRAFT;
+import static tech.zerofiltre.blog.domain.article.model.Status.PUBLISHED;
+import static tech.zerofiltre.blog.infra.cache.ListingCacheKeys.ARTICLES_LIST;
+import static tech.zerofiltre.blog.infra.cache.ListingCacheKeys.COURSES_LIST;
+
+class ListingCacheEvictorTest {
+
+    ConcurrentMapCacheManager cacheManager;
+    ListingCacheEvictor evictor;
+    Cache articles;
+
+    @BeforeEach
+    void init() {
+        cacheManager = new ConcurrentMapCacheManager();
+        evictor = new ListingCacheEvictor(cacheManager);
+        articles = cacheManager.getCache(ARTICLES_LIST);
+    }
+
+    @Test
+    void savingADraft_onlyEvictsTheDraftListings_ofAllAuthorsAndOfItsAuthor() {
+        String authorDrafts = cache(ListingCacheKeys.of(DRAFT, 7, null, null, 0, 10));
+        String allDrafts = cache(ListingCacheKeys.of(DRAFT, 0, null, null, 0, 10));
+        String otherAuthorDrafts = cache(ListingCacheKeys.of(DRAFT, 8, null, null, 0, 10));
+        String published = cache(ListingCacheKeys.of(PUBLISHED, 0, null, null, 0, 10));
+        String popular = cache(ListingCacheKeys.of(PUBLISHED, 0, null, FinderRequest.Filter.POPULAR, 1, 10));
+
+        evictor.onListingChanged(new ListingChangedEvent(this, ContentType.ARTICLE, Set.of(DRAFT), Set.of(7L), Collections.emptySet()));
+
+        assertThat(articles.get(authorDrafts)).isNull();
+        assertThat(articles.get(allDrafts)).isNull();
+        assertThat(articles.get(otherAuthorDrafts)).isNotNull();
+        assertThat(articles.get(published)).isNotNull();
+        assertThat(articles.get(popular)).isNotNull();
+    }
+
+    @Test
+    void changingATag_evictsThatTagListings_andTheUntaggedOnes_only() {
+        String java = cache(ListingCacheKeys.of(PUBLISHED, 0, "Java", null, 2, 10));
+        String python = cache(ListingCacheKeys.of(PUBLISHED, 0, "python", null, 0, 10));
+        String untagged = cache(ListingCacheKeys.of(PUBLISHED, 0, null, FinderRequest.Filter.MOST_VIEWED, 0, 10));
+
+        evictor.onListingChanged(new ListingChangedEvent(this, ContentType.ARTICLE, Set.of(PUBLISHED), Set.of(7L), Set.of("java")));
+
+        assertThat(articles.get(java)).isNull();
+        assertThat(articles.get(untagged)).isNull();
+        assertThat(articles.get(python)).isNotNull();
+    }
+
+    @Test
+    void aReaction_onlyEvictsTheListingsRankedByReactionsOrViews_andLeavesTheDefaultListingCached() {
+        String defaultListing = cache(ListingCacheKeys.of(PUBLISHED, 0, null, null, 0, 10));
+        String java = cache(ListingCacheKeys.of(PUBLISHED, 0, "java", null, 0, 10));
+        String popular = cache(ListingCacheKeys.of(PUBLISHED, 0, null, FinderRequest.Filter.POPULAR, 0, 10));
+        String mostViewed = cache(ListingCacheKeys.of(PUBLISHED, 0, null, FinderRequest.Filter.MOST_VIEWED, 1, 10));
+        String authorPopular = cache(ListingCacheKeys.of(PUBLISHED, 7, null, FinderRequest.Filter.POPULAR, 0, 10));
+
+        evictor.onListingChanged(new ListingChangedEvent(this, ContentType.ARTICLE, Set.of(PUBLISHED), Set.of(7L), Set.of("java"), true));
+
+        assertThat(articles.get(defaultListing)).isNotNull();
+        assertThat(articles.get(java)).isNotNull();
+        assertThat(articles.get(popular)).isNull();
+        assertThat(articles.get(mostViewed)).isNull();
+        assertThat(articles.get(authorPopular)).isNull();
+    }
+
+    @Test
+    void articleChanges_leaveTheCoursesListUntouched() {
+        String key = ListingCacheKeys.of(PUBLISHED, 0, null, null, 0, 10);
+        cacheManager.getCache(COURSES_LIST).put(key, "courses");
+
+        evictor.onListingChanged(new ListingChangedEvent(this, ContentType.ARTICLE, Set.of(PUBLISHED), Set.of(7L), Collections.emptySet()));
+
+        assertThat(cacheManager.getCache(COURSES_LIST).get(key)).isNotNull();
+    }
+
+    @Test
+    void keys_areSafeForKeyPatterns() {
+        assertThat(ListingCacheKeys.of(PUBLISHED, 3, "C: *nix", FinderRequest.Filter.POPULAR, 1, 12))
+                .isEqualTo("PUBLISHED:3:c%3A%20%2Anix:POPULAR:1:12");
+    }
+
+    @Test
+    void keys_ofTagsDifferingByAReservedCharacter_doNotCollide() {
+        assertThat(Set.of(ListingCacheKeys.segment("a b"), ListingCacheKeys.segment("a_b"), ListingCacheKeys.segment("a*b"),
+                ListingCacheKeys.segment("a%20b"))).hasSize(4);
+    }
+
+    private String cache(String key) {
+        articles.put(key, "page");
+        return key;
+    }
+}
@@ -0,0 +1,156 @@
+package tech.zerofiltre.blog.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import tech.zerofiltre.blog.domain.Page;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    @Mock
+    CacheInvalidationPublisher invalidationPublisher;
+
+    ConcurrentMapCacheManager remoteCacheManager;
+    TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void init() {
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager,
+                Map.of("articles-list", "maximumWeight=10,expireAfterWrite=1m"), invalidationPublisher);
+    }
+
+    @Test
+    void getCache_returnsTheRemoteCache_whenThereIsNoNearCacheSpec() {
+        Cache cache = cacheManager.getCache("github-user");
+
+        assertThat(cache).isSameAs(remoteCacheManager.getCache("github-user"));
+    }
+
+    @Test
+    void get_servesFromTheNearCache_onceTheValueWasReadRemotely() {
+        Cache cache = cacheManager.getCache("articles-list");
+        remoteCacheManager.getCache("articles-list").put("page-0", "articles");
+
+        assertThat(cache.get("page-0").get()).isEqualTo("articles");
+        remoteCacheManager.getCache("articles-list").evict("page-0");
+
+        assertThat(cache.get("page-0").get()).isEqualTo("articles");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void get_servesACopy_thatTheCallerCanChange_withoutChangingTheNearCachedValue() {
+        Cache cache = cacheManager.getCache("articles-list");
+        cache.put("page-0", pageOf(List.of("a", "b")));
+
+        Page<String> page = cache.get("page-0", Page.class);
+        page.getContent().set(0, "changed");
+        page.setNumberOfElements(0);
+
+        Page<String> nextRead = cache.get("page-0", Page.class);
+        assertThat(nextRead).isNotSameAs(page);
+        assertThat(nextRead.getContent()).containsExactly("a", "b");
+        assertThat(nextRead.getNumberOfElements()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void put_keepsACopy_thatTheCallerCanNotChangeAfterwards() {
+        Cache cache = cacheManager.getCache("articles-list");
+        Page<String> page = pageOf(new ArrayList<>(List.of("a", "b")));
+        cache.put("page-0", page);
+
+        page.getContent().add("c");
+        page.setNumberOfElements(3);
+
+        Page<String> read = cache.get("page-0", Page.class);
+        assertThat(read.getContent()).containsExactly("a", "b");
+        assertThat(read.getNumberOfElements()).isEqualTo(2);
+    }
+
+    @Test
+    void clear_emptiesBothLevels_andBroadcastsTheInvalidation() {
+        Cache cache = cacheManager.getCache("articles-list");
+        cache.put("page-0", "articles");
+
+        cache.clear();
+
+        assertThat(cache.get("page-0")).isNull();
+        assertThat(remoteCacheManager.getCache("articles-list").get("page-0")).isNull();
+        verify(invalidationPublisher).publishClear("articles-list");
+    }
+
+    @Test
+    void evict_broadcastsTheEvictedKey() {
+        Cache cache = cacheManager.getCache("articles-list");
+        cache.put("page-0", "articles");
+
+        cache.evict("page-0");
+
+        assertThat(cache.get("page-0")).isNull();
+        verify(invalidationPublisher).publishEviction("articles-list", "page-0");
+    }
+
+    @Test
+    void evictMatching_dropsTheMatchingKeysOfBothLevels_andBroadcastsThePattern() {
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("articles-list");
+        cache.put("DRAFT:1::::0:10", "drafts");
+        cache.put("PUBLISHED:0::::0:10", "published");
+
+        cache.evictMatching("DRAFT:1::*");
+
+        assertThat(cache.get("DRAFT:1::::0:10")).isNull();
+        assertThat(remoteCacheManager.getCache("articles-list").get("DRAFT:1::::0:10")).isNull();
+        assertThat(cache.get("PUBLISHED:0::::0:10").get()).isEqualTo("published");
+        verify(invalidationPublisher).publishPatternEviction("articles-list", "DRAFT:1::*");
+    }
+
+    @Test
+    void invalidateLocally_dropsTheNearCopy_only() {
+        Cache cache = cacheManager.getCache("articles-list");
+        cache.put("page-0", "articles");
+        remoteCacheManager.getCache("articles-list").put("page-0", "updated articles");
+
+        cacheManager.invalidateLocally(new CacheInvalidation("other-instance", "articles-list", null, null));
+
+        assertThat(cache.get("page-0").get()).isEqualTo("updated articles");
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    @Test
+    void nearCache_isBoundedByTheNumberOfElementsOfTheCachedPages() {
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("articles-list");
+
+        for (int pageNumber = 0; pageNumber < 5; pageNumber++) {
+            cache.put("page-" + pageNumber, pageOf(List.of("a", "b", "c", "d")));
+        }
+
+        assertThat(cache.nearCacheSize()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void weight_isOne_forEmptyPagesAndPlainValues() {
+        assertThat(TwoLevelCacheManager.weight(pageOf(Collections.emptyList()))).isOne();
+        assertThat(TwoLevelCacheManager.weight("value")).isOne();
+        assertThat(TwoLevelCacheManager.weight(pageOf(List.of("a", "b")))).isEqualTo(2);
+    }
+
+    private static Page<String> pageOf(List<String> content) {
+        return new Page<>(content.size(), 0, content.size(), content.size(), 1, new ArrayList<>(content), false, false);
+    }
+}
@@ -25,6 +25,7 @@ import tech.zerofiltre.blog.domain.user.JwtTokenProvider;
 import tech.zerofiltre.blog.domain.user.UserNotificationProvider;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.cache.ConnectedUserCache;
 import tech.zerofiltre.blog.infra.entrypoints.rest.SecurityContextManager;
 import tech.zerofiltre.blog.infra.entrypoints.rest.article.model.PublishOrSaveArticleVM;
 import tech.zerofiltre.blog.infra.entrypoints.rest.config.PasswordEncoderConfiguration;
@@ -52,7 +53,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = ArticleController.class)
 @Import({Jackson2ObjectMapperBuilder.class, DBUserDetailsService.class, JwtAuthenticationTokenProperties.class,
         LoginFirstAuthenticationEntryPoint.class, RoleRequiredAccessDeniedHandler.class, PasswordEncoderConfiguration.class,
-        InfraProperties.class, SecurityContextManager.class, StackOverflowAuthenticationTokenProperties.class,
+        InfraProperties.class, SecurityContextManager.class, ConnectedUserCache.class, StackOverflowAuthenticationTokenProperties.class,
         APIClientConfiguration.class, GithubAuthenticationTokenProperties.class, Slf4jLoggerProvider.class, DBArticleViewProvider.class})
 class ArticleControllerIT {
 
@@ -16,6 +16,7 @@ import tech.zerofiltre.blog.domain.article.model.Tag;
 import tech.zerofiltre.blog.domain.metrics.*;
 import tech.zerofiltre.blog.domain.user.*;
 import tech.zerofiltre.blog.infra.*;
+import tech.zerofiltre.blog.infra.cache.*;
 import tech.zerofiltre.blog.infra.entrypoints.rest.*;
 import tech.zerofiltre.blog.infra.entrypoints.rest.article.model.*;
 import tech.zerofiltre.blog.infra.entrypoints.rest.config.*;
@@ -34,7 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = TagController.class)
 @Import({Jackson2ObjectMapperBuilder.class, DBUserDetailsService.class, JwtAuthenticationTokenProperties.class,
         LoginFirstAuthenticationEntryPoint.class, RoleRequiredAccessDeniedHandler.class, PasswordEncoderConfiguration.class,
-        InfraProperties.class, SecurityContextManager.class, StackOverflowAuthenticationTokenProperties.class,
+        InfraProperties.class, SecurityContextManager.class, ConnectedUserCache.class, StackOverflowAuthenticationTokenProperties.class,
         APIClientConfiguration.class, GithubAuthenticationTokenProperties.class})
 class TagControllerIT {
 
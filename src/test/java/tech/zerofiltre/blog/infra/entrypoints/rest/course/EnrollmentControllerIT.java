@@ -0,0 +1,187 @@
+package tech.zerofiltre.blog.infra.entrypoints.rest.course;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import tech.zerofiltre.blog.domain.company.CompanyCourseProvider;
+import tech.zerofiltre.blog.domain.company.CompanyProvider;
+import tech.zerofiltre.blog.domain.company.CompanyUserProvider;
+import tech.zerofiltre.blog.domain.course.*;
+import tech.zerofiltre.blog.domain.course.model.Certificate;
+import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.logging.LoggerProvider;
+import tech.zerofiltre.blog.domain.metrics.MetricsProvider;
+import tech.zerofiltre.blog.domain.purchase.PurchaseProvider;
+import tech.zerofiltre.blog.domain.sandbox.SandboxProvider;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
+import tech.zerofiltre.blog.domain.user.JwtTokenProvider;
+import tech.zerofiltre.blog.domain.user.UserProvider;
+import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.cache.ConnectedUserCache;
+import tech.zerofiltre.blog.infra.entrypoints.rest.SecurityContextManager;
+import tech.zerofiltre.blog.infra.entrypoints.rest.config.PasswordEncoderConfiguration;
+import tech.zerofiltre.blog.infra.providers.api.config.APIClientConfiguration;
+import tech.zerofiltre.blog.infra.providers.api.github.GithubLoginProvider;
+import tech.zerofiltre.blog.infra.providers.api.so.StackOverflowLoginProvider;
+import tech.zerofiltre.blog.infra.providers.database.user.DBVerificationTokenProvider;
+import tech.zerofiltre.blog.infra.providers.logging.Slf4jLoggerProvider;
+import tech.zerofiltre.blog.infra.security.config.DBUserDetailsService;
+import tech.zerofiltre.blog.infra.security.config.LoginFirstAuthenticationEntryPoint;
+import tech.zerofiltre.blog.infra.security.config.RoleRequiredAccessDeniedHandler;
+import tech.zerofiltre.blog.infra.security.model.GithubAuthenticationTokenProperties;
+import tech.zerofiltre.blog.infra.security.model.JwtAuthenticationTokenProperties;
+import tech.zerofiltre.blog.infra.security.model.StackOverflowAuthenticationTokenProperties;
+import tech.zerofiltre.blog.util.DataChecker;
+import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = EnrollmentController.class)
+@Import({Jackson2ObjectMapperBuilder.class, DBUserDetailsService.class, JwtAuthenticationTokenProperties.class,
+        LoginFirstAuthenticationEntryPoint.class, RoleRequiredAccessDeniedHandler.class, PasswordEncoderConfiguration.class,
+        InfraProperties.class, SecurityContextManager.class, ConnectedUserCache.class, StackOverflowAuthenticationTokenProperties.class,
+        APIClientConfiguration.class, GithubAuthenticationTokenProperties.class, Slf4jLoggerProvider.class})
+class EnrollmentControllerIT {
+
+    public static final String ETAG = "\"hash\"";
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    EnrollmentProvider enrollmentProvider;
+
+    @MockBean
+    CourseProvider courseProvider;
+
+    @MockBean
+    UserProvider userProvider;
+
+    @MockBean
+    LessonProvider lessonProvider;
+
+    @MockBean
+    ChapterProvider chapterProvider;
+
+    @MockBean
+    SandboxProvider sandboxProvider;
+
+    @MockBean
+    PurchaseProvider purchaseProvider;
+
+    @MockBean
+    CertificateProvider certificateProvider;
+
+    @MockBean
+    CompanyProvider companyProvider;
+
+    @MockBean
+    CompanyCourseProvider companyCourseProvider;
+
+    @MockBean
+    CompanyUserProvider companyUserProvider;
+
+    @MockBean
+    DataChecker dataChecker;
+
+    @MockBean
+    StackOverflowLoginProvider stackOverflowLoginProvider;
+
+    @MockBean
+    GithubLoginProvider githubLoginProvider;
+
+    @MockBean
+    DBVerificationTokenProvider verificationTokenProvider;
+
+    @MockBean
+    LoggerProvider loggerProvider;
+
+    @MockBean
+    JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    MetricsProvider metricsProvider;
+
+    Certificate certificate = new Certificate("certificates/John_Java.pdf", "Java", "John", null, null, "hash");
+
+    AtomicBoolean released = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws IOException, ZerofiltreException {
+        User user = ZerofiltreUtilsTest.createMockUser(false);
+        when(userProvider.userOfId(anyLong())).thenReturn(Optional.of(user));
+        when(userProvider.userOfEmail(any())).thenReturn(Optional.of(user));
+        when(enrollmentProvider.isCompleted(anyLong(), anyLong())).thenReturn(true);
+        when(certificateProvider.describe(any(), anyLong())).thenReturn(certificate);
+        Path file = Files.write(directory.resolve("certificate.pdf"), new byte[]{1, 2, 3, 4, 5});
+        when(certificateProvider.file(certificate)).thenReturn(Optional.of(new StoredFile(file, () -> released.set(true))));
+    }
+
+    @Test
+    @WithMockUser
+    void giveCertificate_streamsTheStoredFile_withItsETag() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/enrollment/certificate").param("courseId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().bytes(new byte[]{1, 2, 3, 4, 5}));
+
+        verify(certificateProvider, never()).generate(any(), anyLong());
+        assertThat(released).isTrue();
+    }
+
+    @Test
+    @WithMockUser
+    void giveCertificate_returns304_withoutReadingIt_whenTheETagMatches() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/enrollment/certificate").param("courseId", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified());
+
+        verify(certificateProvider, never()).file(any());
+        verify(certificateProvider, never()).generate(any(), anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    void giveCertificate_returnsTheRangeRequested() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/enrollment/certificate").param("courseId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=1-2"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1-2/5"))
+                .andExpect(content().bytes(new byte[]{2, 3}));
+    }
+
+    @Test
+    @WithMockUser
+    void giveCertificate_generatesIt_whenItIsNotStored() throws Exception {
+        when(certificateProvider.file(certificate)).thenReturn(Optional.empty());
+        when(certificateProvider.generate(any(), anyLong())).thenReturn(new Certificate("certificates/John_Java.pdf", "Java", "John", new byte[]{7}, "uuid", "hash"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/enrollment/certificate").param("courseId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().bytes(new byte[]{7}));
+    }
+}
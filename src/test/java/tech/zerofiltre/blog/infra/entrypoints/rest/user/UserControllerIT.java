@@ -36,6 +36,7 @@ import tech.zerofiltre.blog.domain.user.model.JwtToken;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.domain.user.model.VerificationToken;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.cache.ConnectedUserCache;
 import tech.zerofiltre.blog.infra.entrypoints.rest.SecurityContextManager;
 import tech.zerofiltre.blog.infra.entrypoints.rest.config.PasswordEncoderConfiguration;
 import tech.zerofiltre.blog.infra.entrypoints.rest.user.model.RegisterUserVM;
@@ -73,7 +74,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = UserController.class)
 @Import({Jackson2ObjectMapperBuilder.class, DBUserDetailsService.class, JwtAuthenticationTokenProperties.class,
         LoginFirstAuthenticationEntryPoint.class, RoleRequiredAccessDeniedHandler.class, PasswordEncoderConfiguration.class,
-        InfraProperties.class, SecurityContextManager.class, BasicPasswordVerifierProvider.class, StackOverflowAuthenticationTokenProperties.class,
+        InfraProperties.class, SecurityContextManager.class, ConnectedUserCache.class, BasicPasswordVerifierProvider.class, StackOverflowAuthenticationTokenProperties.class,
         AppPublisherNotificationProvider.class, APIClientConfiguration.class, Slf4jLoggerProvider.class, GithubAuthenticationTokenProperties.class,
         DBTagProvider.class, DBChapterProvider.class, DBArticleViewProvider.class, DBCourseProvider.class, DBCompanyCourseProvider.class})
 class UserControllerIT {
@@ -166,7 +167,7 @@ class UserControllerIT {
         when(confirmUserRegistration.execute(any())).thenReturn(new User());
         VerificationToken t = new VerificationToken(new User(), TOKEN, expiryDate);
         when(verificationTokenProvider.ofToken(any())).thenReturn(Optional.of(t));
-        when(verificationTokenProvider.generate(any())).thenReturn(t);
+        when(verificationTokenProvider.generate(any(User.class))).thenReturn(t);
         when(verificationTokenProvider.generate(any(), anyLong())).thenReturn(t);
         JwtToken jwtToken = new JwtToken(TOKEN, 864252546);
         when(jwtTokenProvider.generate(any())).thenReturn(jwtToken);
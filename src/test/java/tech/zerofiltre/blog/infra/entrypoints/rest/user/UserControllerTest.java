@@ -164,7 +164,7 @@ class UserControllerTest {
         userVM.setFullName(FIRST_NAME);
         when(request.getLocale()).thenReturn(Locale.FRANCE);
         VerificationToken t = new VerificationToken(new User(), TOKEN, expiryDate);
-        when(verificationTokenProvider.generate(any())).thenReturn(t);
+        when(verificationTokenProvider.generate(any(User.class))).thenReturn(t);
         when(verificationTokenProvider.generate(any(), anyLong())).thenReturn(t);
         when(jwtTokenProvider.generate(any())).thenReturn(new JwtToken(TOKEN, 784587));
         when(userProvider.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
@@ -181,7 +181,7 @@ class UserControllerTest {
         assertThat(user.getFullName()).isEqualTo(FIRST_NAME);
         assertThat(user.getLanguage()).isEqualTo(Locale.FRANCE.getLanguage());
         verify(userNotificationProvider, times(1)).notify(any());
-        verify(verificationTokenProvider, times(1)).generate(any());
+        verify(verificationTokenProvider, times(1)).generate(any(User.class));
         verify(jwtTokenProvider, times(1)).generate(any());
     }
 
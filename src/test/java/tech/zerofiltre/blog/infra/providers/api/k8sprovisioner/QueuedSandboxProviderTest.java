@@ -0,0 +1,41 @@
+package tech.zerofiltre.blog.infra.providers.api.k8sprovisioner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.SandboxRequestQueue;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Operation;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueuedSandboxProviderTest {
+
+    public static final String EMAIL = "learner@zerofiltre.tech";
+
+    @Mock
+    SandboxRequestQueue queue;
+
+    @InjectMocks
+    QueuedSandboxProvider sandboxProvider;
+
+    @Test
+    void initialize_enqueuesACreation() {
+        sandboxProvider.initialize("Learner", EMAIL);
+
+        verify(queue).enqueue(Operation.CREATE, "Learner", EMAIL);
+    }
+
+    @Test
+    void destroy_enqueuesAgain_whenARequestOfTheSameUserWasQueuedConcurrently() {
+        doThrow(new DataIntegrityViolationException("uk_sandbox_request_pending_email")).doNothing()
+                .when(queue).enqueue(Operation.DESTROY, "Learner", EMAIL);
+
+        sandboxProvider.destroy("Learner", EMAIL);
+
+        verify(queue, times(2)).enqueue(Operation.DESTROY, "Learner", EMAIL);
+    }
+}
@@ -0,0 +1,149 @@
+package tech.zerofiltre.blog.infra.providers.api.k8sprovisioner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.sandbox.model.Sandbox;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.SandboxRequestQueue;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Operation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SandboxProvisioningWorkerTest {
+
+    public static final String EMAIL = "learner@zerofiltre.tech";
+    public static final int WORKERS = 2;
+    public static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    SandboxRequestQueue queue;
+
+    @Mock
+    K8sSandboxProvider k8sSandboxProvider;
+
+    SimpleMeterRegistry meterRegistry;
+    List<Runnable> submittedTasks;
+    SandboxProvisioningWorker worker;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        submittedTasks = new ArrayList<>();
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setSandboxProvisioningWorkers(WORKERS);
+        infraProperties.setSandboxProvisioningMaxAttempts(MAX_ATTEMPTS);
+        infraProperties.setSandboxProvisioningRetryBaseDelayMs(1000);
+        infraProperties.setSandboxProvisioningRetryMaxDelayMs(3000);
+        infraProperties.setSandboxProvisioningClaimTimeoutMs(60000);
+        worker = new SandboxProvisioningWorker(queue, k8sSandboxProvider, meterRegistry, infraProperties, submittedTasks::add);
+        worker.registerGauges();
+    }
+
+    @Test
+    void poll_claimsNoMoreRequestsThanIdleWorkers() {
+        when(queue.claimDue(eq(WORKERS), any())).thenReturn(List.of(request(1, Operation.CREATE), request(2, Operation.CREATE)));
+
+        worker.poll();
+        worker.poll();
+
+        assertThat(submittedTasks).hasSize(2);
+        verify(queue, times(1)).claimDue(anyInt(), any());
+        assertThat(meterRegistry.get(SandboxProvisioningWorker.IN_FLIGHT_GAUGE).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void process_createsTheSandbox_completesTheRequest_andSendsTheCredentials() throws ZerofiltreException {
+        SandboxRequestJPA request = request(1, Operation.CREATE);
+        Sandbox sandbox = new Sandbox();
+        when(k8sSandboxProvider.provision("Learner", EMAIL)).thenReturn(sandbox);
+        when(queue.complete(request)).thenReturn(true);
+
+        worker.process(request);
+
+        verify(queue).complete(request);
+        verify(k8sSandboxProvider).notifyUser(EMAIL, sandbox);
+        assertThat(meterRegistry.get(SandboxProvisioningWorker.LATENCY_TIMER).tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void process_doesNotSendTheCredentialsAgain_whenTheRequestWasClaimedAgainMeanwhile() throws ZerofiltreException {
+        SandboxRequestJPA request = request(1, Operation.CREATE);
+        when(queue.complete(request)).thenReturn(false);
+
+        worker.process(request);
+
+        verify(k8sSandboxProvider).provision("Learner", EMAIL);
+        verify(k8sSandboxProvider, never()).notifyUser(anyString(), any());
+    }
+
+    @Test
+    void process_destroysTheSandbox() throws ZerofiltreException {
+        SandboxRequestJPA request = request(1, Operation.DESTROY);
+
+        worker.process(request);
+
+        verify(k8sSandboxProvider).destroy("Learner", EMAIL);
+        verify(queue).complete(request);
+    }
+
+    @Test
+    void process_retriesAFailedRequest_later() throws ZerofiltreException {
+        when(k8sSandboxProvider.provision(anyString(), anyString())).thenThrow(new ZerofiltreException("provisioner unavailable"));
+        LocalDateTime before = LocalDateTime.now();
+
+        worker.process(request(1, Operation.CREATE));
+
+        verify(queue).retry(eq(1L), eq(1), argThat(nextAttempt -> !nextAttempt.isBefore(before.plusSeconds(1))), eq("provisioner unavailable"));
+        verify(queue, never()).complete(any());
+    }
+
+    @Test
+    void process_givesUp_afterTheLastAttempt() throws ZerofiltreException {
+        when(k8sSandboxProvider.provision(anyString(), anyString())).thenThrow(new ZerofiltreException("provisioner unavailable"));
+        SandboxRequestJPA request = request(1, Operation.CREATE);
+        request.setAttempts(MAX_ATTEMPTS - 1);
+
+        worker.process(request);
+
+        verify(queue).fail(1, MAX_ATTEMPTS, "provisioner unavailable");
+        verify(queue, never()).retry(anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    void process_truncatesTheErrorToItsColumnLength() throws ZerofiltreException {
+        when(k8sSandboxProvider.provision(anyString(), anyString())).thenThrow(new ZerofiltreException("x".repeat(5000)));
+
+        worker.process(request(1, Operation.CREATE));
+
+        verify(queue).retry(eq(1L), eq(1), any(), argThat(error -> error.length() == 1000));
+    }
+
+    @Test
+    void retryDelay_doublesAtEachAttempt_upToTheMaximum() {
+        assertThat(worker.retryDelayMs(1)).isEqualTo(1000);
+        assertThat(worker.retryDelayMs(2)).isEqualTo(2000);
+        assertThat(worker.retryDelayMs(3)).isEqualTo(3000);
+        assertThat(worker.retryDelayMs(40)).isEqualTo(3000);
+    }
+
+    private SandboxRequestJPA request(long id, Operation operation) {
+        SandboxRequestJPA request = new SandboxRequestJPA(operation, "Learner", EMAIL, LocalDateTime.now());
+        request.setId(id);
+        return request;
+    }
+}
@@ -0,0 +1,264 @@
+package tech.zerofiltre.blog.infra.providers.api.ovh;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
+import tech.zerofiltre.blog.infra.providers.api.ovh.model.OVHDownload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DiskCachedStorageProviderTest {
+
+    public static final String PATH = "certificates/John_Doe_Java.pdf";
+    public static final long REVALIDATE_AFTER_MS = 1000;
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    OVHStorageProvider remote;
+
+    @Mock
+    Clock clock;
+
+    DiskCachedStorageProvider storageProvider;
+
+    @BeforeEach
+    void init() throws IOException {
+        storageProvider = new DiskCachedStorageProvider(remote, directory.resolve("cache"), 10, REVALIDATE_AFTER_MS, clock);
+        storageProvider.init();
+    }
+
+    @Test
+    void get_downloadsTheObjectOnce_thenReadsItFromTheDisk() {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.download(eq(PATH), isNull(), any())).thenAnswer(invocation -> downloaded(invocation.getArgument(2), new byte[]{1, 2}, "etag1"));
+
+        //ACT
+        Optional<byte[]> first = storageProvider.get(PATH);
+        Optional<byte[]> second = storageProvider.get(PATH);
+
+        //ASSERT
+        assertThat(first).contains(new byte[]{1, 2});
+        assertThat(second).contains(new byte[]{1, 2});
+        verify(remote, times(1)).download(any(), any(), any());
+    }
+
+    @Test
+    void get_revalidatesAStaleCopy_withItsETag_withoutDownloadingItAgain() {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.download(eq(PATH), isNull(), any())).thenAnswer(invocation -> downloaded(invocation.getArgument(2), new byte[]{1, 2}, "etag1"));
+        when(remote.download(eq(PATH), eq("etag1"), any())).thenReturn(new OVHDownload(OVHDownload.Status.NOT_MODIFIED, "etag1"));
+        storageProvider.get(PATH);
+        when(clock.millis()).thenReturn(REVALIDATE_AFTER_MS);
+
+        //ACT
+        Optional<byte[]> revalidated = storageProvider.get(PATH);
+        Optional<byte[]> cached = storageProvider.get(PATH);
+
+        //ASSERT
+        assertThat(revalidated).contains(new byte[]{1, 2});
+        assertThat(cached).contains(new byte[]{1, 2});
+        verify(remote, times(1)).download(eq(PATH), eq("etag1"), any());
+    }
+
+    @Test
+    void get_servesTheStaleCopy_whenTheStorageCanNotBeReached() {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.download(eq(PATH), isNull(), any())).thenAnswer(invocation -> downloaded(invocation.getArgument(2), new byte[]{1, 2}, "etag1"));
+        when(remote.download(eq(PATH), eq("etag1"), any())).thenThrow(new ResourceAccessException("timeout"));
+        storageProvider.get(PATH);
+        when(clock.millis()).thenReturn(REVALIDATE_AFTER_MS);
+
+        //ACT
+        Optional<byte[]> result = storageProvider.get(PATH);
+
+        //ASSERT
+        assertThat(result).contains(new byte[]{1, 2});
+    }
+
+    @Test
+    void get_returnsEmpty_andCachesNothing_whenTheObjectDoesNotExist() {
+        //ARRANGE
+        when(remote.download(eq(PATH), isNull(), any())).thenReturn(new OVHDownload(OVHDownload.Status.NOT_FOUND, null));
+
+        //ACT
+        Optional<byte[]> result = storageProvider.get(PATH);
+
+        //ASSERT
+        assertThat(result).isEmpty();
+        assertThat(storageProvider.sizeBytes()).isZero();
+    }
+
+    @Test
+    void file_givesTheCachedCopy_withoutDownloadingItAgain() throws ZerofiltreException, IOException {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.upload(any(), eq(PATH))).thenReturn("etag1");
+        storageProvider.store(new byte[]{1, 2, 3}, PATH);
+
+        //ACT
+        Optional<StoredFile> file = storageProvider.file(PATH);
+
+        //ASSERT
+        assertThat(file).isPresent();
+        assertThat(Files.readAllBytes(file.get().getPath())).containsExactly(1, 2, 3);
+        verify(remote, never()).download(any(), any(), any());
+    }
+
+    @Test
+    void file_downloadsTheObject_whenItsCopyWasDeleted() throws ZerofiltreException, IOException {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.upload(any(), eq(PATH))).thenReturn("etag1");
+        when(remote.download(eq(PATH), isNull(), any())).thenAnswer(invocation -> downloaded(invocation.getArgument(2), new byte[]{1, 2}, "etag2"));
+        storageProvider.store(new byte[]{1, 2, 3}, PATH);
+        Files.delete(storageProvider.file(PATH).orElseThrow().getPath());
+
+        //ACT
+        Optional<StoredFile> file = storageProvider.file(PATH);
+
+        //ASSERT
+        assertThat(file).isPresent();
+        assertThat(Files.readAllBytes(file.get().getPath())).containsExactly(1, 2);
+    }
+
+    @Test
+    void file_isKeptOnTheDisk_untilItIsClosed_whenItsCopyIsEvicted() throws ZerofiltreException, IOException {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.upload(any(), anyString())).thenReturn("etag");
+        storageProvider.store(new byte[]{1, 2, 3, 4, 5, 6}, PATH);
+        StoredFile file = storageProvider.file(PATH).orElseThrow();
+
+        //ACT
+        storageProvider.store(new byte[6], "other");
+
+        //ASSERT
+        assertThat(storageProvider.sizeBytes()).isEqualTo(6);
+        assertThat(Files.readAllBytes(file.getPath())).containsExactly(1, 2, 3, 4, 5, 6);
+        file.close();
+        assertThat(file.getPath()).doesNotExist();
+    }
+
+    @Test
+    void init_deletesTheCopiesOfAPreviousRun_only() throws IOException {
+        //ARRANGE
+        Path cacheDirectory = directory.resolve("cache").resolve(DiskCachedStorageProvider.SUBDIRECTORY);
+        Path copy = Files.write(cacheDirectory.resolve("0123456789abcdef0123456789abcdef-1"), new byte[]{1});
+        Path other = Files.write(cacheDirectory.resolve("notes.txt"), new byte[]{1});
+
+        //ACT
+        storageProvider.init();
+
+        //ASSERT
+        assertThat(copy).doesNotExist();
+        assertThat(other).exists();
+    }
+
+    @Test
+    void init_refusesADirectoryItDidNotCreate() throws IOException {
+        //ARRANGE
+        Path foreign = directory.resolve("foreign");
+        Path file = Files.write(Files.createDirectories(foreign.resolve(DiskCachedStorageProvider.SUBDIRECTORY)).resolve("0123456789abcdef0123456789abcdef-1"), new byte[]{1});
+        DiskCachedStorageProvider foreignStorageProvider = new DiskCachedStorageProvider(remote, foreign, 10, REVALIDATE_AFTER_MS, clock);
+
+        //ACT & ASSERT
+        assertThatThrownBy(foreignStorageProvider::init).isInstanceOf(IllegalStateException.class);
+        assertThat(file).exists();
+    }
+
+    @Test
+    void exists_answersFromTheCachedCopy_orAsksTheStorage_withoutDownloading() throws ZerofiltreException {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.upload(any(), eq(PATH))).thenReturn("etag1");
+        when(remote.exists("other")).thenReturn(true);
+        storageProvider.store(new byte[]{1, 2, 3}, PATH);
+
+        //ACT
+        boolean cached = storageProvider.exists(PATH);
+        boolean stored = storageProvider.exists("other");
+
+        //ASSERT
+        assertThat(cached).isTrue();
+        assertThat(stored).isTrue();
+        verify(remote, never()).exists(PATH);
+        verify(remote, never()).download(any(), any(), any());
+    }
+
+    @Test
+    void store_uploadsTheObject_andKeepsItsCopy() throws ZerofiltreException {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.upload(any(), eq(PATH))).thenReturn("etag1");
+
+        //ACT
+        storageProvider.store(new byte[]{1, 2, 3}, PATH);
+        Optional<byte[]> result = storageProvider.get(PATH);
+
+        //ASSERT
+        assertThat(result).contains(new byte[]{1, 2, 3});
+        verify(remote, never()).download(any(), any(), any());
+    }
+
+    @Test
+    void theLeastRecentlyUsedCopies_areEvicted_beyondTheSizeCap() throws ZerofiltreException {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.upload(any(), anyString())).thenReturn("etag");
+        storageProvider.store(new byte[4], "first");
+        storageProvider.store(new byte[4], "second");
+        storageProvider.get("first");
+
+        //ACT
+        storageProvider.store(new byte[4], "third");
+
+        //ASSERT
+        assertThat(storageProvider.sizeBytes()).isEqualTo(8);
+        when(remote.download(eq("second"), isNull(), any())).thenReturn(new OVHDownload(OVHDownload.Status.NOT_FOUND, null));
+        storageProvider.get("first");
+        storageProvider.get("second");
+        verify(remote, never()).download(eq("first"), any(), any());
+        verify(remote, times(1)).download(eq("second"), any(), any());
+    }
+
+    @Test
+    void delete_deletesTheObject_andItsCopy() throws ZerofiltreException {
+        //ARRANGE
+        when(clock.millis()).thenReturn(0L);
+        when(remote.upload(any(), eq(PATH))).thenReturn("etag1");
+        storageProvider.store(new byte[]{1, 2, 3}, PATH);
+
+        //ACT
+        storageProvider.delete(PATH);
+
+        //ASSERT
+        verify(remote, times(1)).delete(PATH);
+        assertThat(storageProvider.sizeBytes()).isZero();
+    }
+
+    private OVHDownload downloaded(Path target, byte[] content, String etag) throws IOException {
+        Files.write(target, content);
+        return new OVHDownload(OVHDownload.Status.DOWNLOADED, etag);
+    }
+}
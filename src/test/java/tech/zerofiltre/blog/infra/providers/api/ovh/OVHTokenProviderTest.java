@@ -26,7 +26,7 @@ import java.time.format.DateTimeFormatter;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -131,6 +131,7 @@ class OVHTokenProviderTest {
         notExpiredToken.setExpiresAt(ZonedDateTime.now().plusDays(2).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
 
         ReflectionTestUtils.setField(ovhTokenProvider, "token", notExpiredToken);
+        ReflectionTestUtils.setField(ovhTokenProvider, "refreshAt", ZonedDateTime.now().plusDays(2).minus(OVHTokenProvider.REFRESH_MARGIN).toInstant());
 
         //WHEN
         OVHToken response = ovhTokenProvider.getToken();
@@ -155,4 +156,32 @@ class OVHTokenProviderTest {
         assertThatExceptionOfType(ZerofiltreException.class)
                 .isThrownBy(() -> ovhTokenProvider.getToken());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("When the token has been refreshed, it is reused until shortly before it expires.")
+    void ShouldRequestTheTokenOnce_whenGetTokenIsCalledAgain_beforeItExpires() throws ZerofiltreException {
+        //GIVEN
+        String tokenBody = "{\n" +
+                "    \"token\": {\n" +
+                "        \"expires_at\": \"" + ZonedDateTime.now().plusHours(1).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) + "\"\n" +
+                "    }\n" +
+                "}";
+
+        MultiValueMap<String, String> values = new LinkedMultiValueMap<>();
+        values.add("x-subject-token", "accesstokenAAABBB000111");
+        ResponseEntity<String> responseRestTemplate = new ResponseEntity<>(tokenBody, new HttpHeaders(values), HttpStatus.OK);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class))).thenReturn(responseRestTemplate);
+        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
+            RetryCallback<OVHToken, Exception> callback = invocation.getArgument(0);
+            return callback.doWithRetry(null);
+        });
+
+        //WHEN
+        OVHToken first = ovhTokenProvider.getToken();
+        OVHToken second = ovhTokenProvider.getToken();
+
+        //THEN
+        assertThat(second).isSameAs(first);
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class));
+    }
+}
@@ -13,8 +13,6 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
-import tech.zerofiltre.blog.domain.course.ChapterProvider;
-import tech.zerofiltre.blog.domain.course.CourseProvider;
 import tech.zerofiltre.blog.domain.course.EnrollmentProvider;
 import tech.zerofiltre.blog.domain.course.features.enrollment.Suspend;
 import tech.zerofiltre.blog.domain.course.model.Course;
@@ -45,9 +43,6 @@ class SubscriptionEventHandlerTest {
     @Mock
     PurchaseProvider purchaseProvider;
 
-    @Mock
-    ChapterProvider chapterProvider;
-
     @Mock
     EnrollmentProvider enrollmentProvider;
 
@@ -66,9 +61,6 @@ class SubscriptionEventHandlerTest {
     @Mock
     UserProvider userProvider;
 
-    @Mock
-    CourseProvider courseProvider;
-
     @Mock
     StripeCommons stripeCommons;
 
@@ -79,7 +71,7 @@ class SubscriptionEventHandlerTest {
 
     @BeforeEach
     void init() {
-        eventHandler = new SubscriptionEventHandler(enrollmentProvider, chapterProvider, purchaseProvider, userProvider, stripeCommons, infraProperties, null, courseProvider);
+        eventHandler = new SubscriptionEventHandler(enrollmentProvider, purchaseProvider, userProvider, stripeCommons, infraProperties, null);
         ReflectionTestUtils.setField(eventHandler, "suspend", suspend);
     }
 
@@ -11,9 +11,11 @@ import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.infra.InfraProperties;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -50,4 +52,19 @@ class PDFCertificateEngineTest {
         verify(templateEngine, times(1)).process(anyString(), any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void rendersSeveralCertificates_withTheFontResolverOfTheThread() throws IOException, ZerofiltreException, WriterException, NoSuchAlgorithmException {
+        //Arrange
+        when(templateEngine.process(anyString(), any())).thenReturn("<html><body><p style=\"font-family: Arial\">content</p></body></html>");
+        when(infraProperties.getEnv()).thenReturn("dev");
+
+        //Act
+        byte[] first = certificateEngine.process(Locale.FRANCE, "name", "title", "fileName", "uuid1");
+        byte[] second = certificateEngine.process(Locale.FRANCE, "name", "title", "fileName", "uuid2");
+
+        //Assert
+        assertThat(new String(first, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        assertThat(new String(second, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    }
+
+}
@@ -7,15 +7,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tech.zerofiltre.blog.domain.course.CourseProvider;
+import tech.zerofiltre.blog.domain.course.model.Certificate;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.storage.StorageProvider;
+import tech.zerofiltre.blog.domain.storage.model.StoredFile;
+import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.InfraProperties;
 import tech.zerofiltre.blog.infra.providers.database.course.CertificateJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.course.model.CertificateJPA;
+import tech.zerofiltre.blog.util.ZerofiltreUtils;
 import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -40,7 +52,7 @@ class PDFCertificateProviderTest {
 
     @BeforeEach
     void init() {
-        certificateProvider = new PDFCertificateProvider(storageProvider, courseProvider, pdfCertificateEngine, certificateJPARepository);
+        certificateProvider = new PDFCertificateProvider(storageProvider, courseProvider, pdfCertificateEngine, certificateJPARepository, infraProperties(), Runnable::run, PDFCertificateProvider.newVerificationCache(100, 60000, 1000));
     }
 
     @Test
@@ -75,4 +87,152 @@ class PDFCertificateProviderTest {
         verify(storageProvider, times(1)).store(any(), anyString());
     }
 
-}
\ No newline at end of file
+    @Test
+    void prepare_rendersInTheBackground_andHandsTheCertificateOver_thenReportsItReady() throws Exception {
+
+        //given
+        List<Runnable> submittedRenderings = new ArrayList<>();
+        certificateProvider = new PDFCertificateProvider(storageProvider, courseProvider, pdfCertificateEngine, certificateJPARepository, infraProperties(), submittedRenderings::add, PDFCertificateProvider.newVerificationCache(100, 60000, 1000));
+        when(storageProvider.exists(any())).thenReturn(false);
+        when(courseProvider.getTitle(anyLong())).thenReturn("title");
+        when(pdfCertificateEngine.process(any(), anyString(), anyString(), anyString(), anyString())).thenReturn(new byte[]{1, 2});
+        List<Certificate> generated = new ArrayList<>();
+        User user = ZerofiltreUtilsTest.createMockUser(false);
+
+        //when
+        boolean readyWhenRequested = certificateProvider.prepare(user, 3, generated::add);
+        boolean readyWhileRendering = certificateProvider.prepare(user, 3, generated::add);
+        submittedRenderings.forEach(Runnable::run);
+
+        //then
+        assertThat(readyWhenRequested).isFalse();
+        assertThat(readyWhileRendering).isFalse();
+        assertThat(submittedRenderings).hasSize(1);
+        assertThat(generated).hasSize(1);
+        assertThat(generated.get(0).getUuid()).isNotNull();
+        assertThat(generated.get(0).getHash()).isNotNull();
+        assertThat(certificateProvider.renderingsCount()).isZero();
+        verify(storageProvider, times(1)).store(any(), anyString());
+    }
+
+    @Test
+    void prepare_reportsAStoredCertificateReady_withoutDownloadingIt() throws ZerofiltreException {
+        //given
+        when(storageProvider.exists(any())).thenReturn(true);
+        when(courseProvider.getTitle(anyLong())).thenReturn("title");
+        User user = ZerofiltreUtilsTest.createMockUser(false);
+
+        //when
+        boolean ready = certificateProvider.prepare(user, 3, certificate -> {
+        });
+
+        //then
+        assertThat(ready).isTrue();
+        verify(storageProvider, never()).get(any());
+        verifyNoInteractions(pdfCertificateEngine);
+    }
+
+    @Test
+    void generate_failsFast_whenTheRenderingPoolIsFull() {
+
+        //given
+        certificateProvider = new PDFCertificateProvider(storageProvider, courseProvider, pdfCertificateEngine, certificateJPARepository, infraProperties(), command -> {
+            throw new RejectedExecutionException("full");
+        }, PDFCertificateProvider.newVerificationCache(100, 60000, 1000));
+        when(storageProvider.get(any())).thenReturn(Optional.empty());
+        when(courseProvider.getTitle(anyLong())).thenReturn("title");
+
+        //when
+        //then
+        assertThatExceptionOfType(ZerofiltreException.class)
+                .isThrownBy(() -> certificateProvider.generate(ZerofiltreUtilsTest.createMockUser(false), 3))
+                .withRootCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(certificateProvider.renderingsCount()).isZero();
+    }
+
+    @Test
+    void describe_givesTheHash_withoutRenderingNorReadingTheCertificate() throws ZerofiltreException, NoSuchAlgorithmException {
+        //given
+        User user = ZerofiltreUtilsTest.createMockUser(false);
+        when(courseProvider.getTitle(3)).thenReturn("title");
+
+        //when
+        Certificate certificate = certificateProvider.describe(user, 3);
+
+        //then
+        assertThat(certificate.getHash()).isEqualTo(ZerofiltreUtils.generateHash(user.getFullName(), "title"));
+        assertThat(certificate.getContent()).isNull();
+        verifyNoInteractions(storageProvider, pdfCertificateEngine);
+    }
+
+    @Test
+    void file_givesTheStoredFile() {
+        //given
+        StoredFile file = new StoredFile(Paths.get("certificate.pdf"), () -> {
+        });
+        when(storageProvider.file("certificates/path.pdf")).thenReturn(Optional.of(file));
+
+        //when
+        Optional<StoredFile> result = certificateProvider.file(new Certificate("certificates/path.pdf", "title", "name", null, null, null));
+
+        //then
+        assertThat(result).contains(file);
+    }
+
+    @Test
+    void findByUuid_readsTheCertificateOnce() throws ZerofiltreException {
+        //given
+        CertificateJPA certificateJPA = new CertificateJPA();
+        certificateJPA.setUuid("uuid");
+        certificateJPA.setHash("hash");
+        when(certificateJPARepository.findByUuid("uuid")).thenReturn(Optional.of(certificateJPA));
+
+        //when
+        certificateProvider.findByUuid("uuid");
+        Optional<Certificate> result = certificateProvider.findByUuid("uuid");
+
+        //then
+        assertThat(result).isPresent();
+        assertThat(result.get().getHash()).isEqualTo("hash");
+        verify(certificateJPARepository, times(1)).findByUuid("uuid");
+    }
+
+    @Test
+    void findByUuid_keepsAnUnknownUuid_untilItsShorterExpiry() throws ZerofiltreException, InterruptedException {
+        //given
+        certificateProvider = new PDFCertificateProvider(storageProvider, courseProvider, pdfCertificateEngine, certificateJPARepository, infraProperties(), Runnable::run,
+                PDFCertificateProvider.newVerificationCache(100, 60000, 50));
+        when(certificateJPARepository.findByUuid("unknown")).thenReturn(Optional.empty());
+
+        //when
+        certificateProvider.findByUuid("unknown");
+        Optional<Certificate> cached = certificateProvider.findByUuid("unknown");
+        Thread.sleep(100);
+        certificateProvider.findByUuid("unknown");
+
+        //then
+        assertThat(cached).isEmpty();
+        verify(certificateJPARepository, times(2)).findByUuid("unknown");
+    }
+
+    @Test
+    void delete_forgetsTheCertificateLookedUp() throws ZerofiltreException {
+        //given
+        CertificateJPA certificateJPA = new CertificateJPA();
+        certificateJPA.setUuid("uuid");
+        when(certificateJPARepository.findByUuid("uuid")).thenReturn(Optional.of(certificateJPA), Optional.empty());
+        Certificate certificate = certificateProvider.findByUuid("uuid").orElseThrow();
+
+        //when
+        certificateProvider.delete(certificate);
+
+        //then
+        assertThat(certificateProvider.findByUuid("uuid")).isEmpty();
+    }
+
+    private static InfraProperties infraProperties() {
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setCertificateRenderTimeoutMs(1000);
+        return infraProperties;
+    }
+}
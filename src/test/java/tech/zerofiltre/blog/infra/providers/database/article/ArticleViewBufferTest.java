@@ -0,0 +1,78 @@
+package tech.zerofiltre.blog.infra.providers.database.article;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.zerofiltre.blog.infra.InfraProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleViewBufferTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    ArticleViewBuffer buffer;
+
+    @BeforeEach
+    void init() {
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setArticleViewsBufferCapacity(100);
+        buffer = new ArticleViewBuffer(jdbcTemplate, infraProperties);
+    }
+
+    @Test
+    void flush_writesTheCounts_andForgetsTheArticlesNotViewedSinceThePreviousFlush() {
+        buffer.record(1, null, LocalDateTime.now());
+        buffer.record(1, 2L, LocalDateTime.now());
+        buffer.record(3, null, LocalDateTime.now());
+
+        buffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(eq(ArticleViewBuffer.INCREMENT_VIEWS_COUNT), argThat((List<Object[]> batch) -> batch.size() == 2));
+        assertThat(buffer.pendingArticlesCount()).isEqualTo(2);
+        assertThat(buffer.pendingViewsCount(1)).isZero();
+
+        buffer.record(3, null, LocalDateTime.now());
+        buffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(eq(ArticleViewBuffer.INCREMENT_VIEWS_COUNT),
+                argThat((List<Object[]> batch) -> batch.size() == 1 && (long) batch.get(0)[1] == 3));
+        assertThat(buffer.pendingArticlesCount()).isOne();
+        assertThat(buffer.pendingViewsCount(3)).isZero();
+    }
+
+    @Test
+    void flush_keepsTheCounts_whenTheyCannotBeWritten() {
+        when(jdbcTemplate.batchUpdate(eq(ArticleViewBuffer.INCREMENT_VIEWS_COUNT), anyList())).thenThrow(new DataAccessResourceFailureException("database unavailable"));
+        buffer.record(1, null, LocalDateTime.now());
+        buffer.record(1, null, LocalDateTime.now());
+
+        buffer.flush();
+
+        assertThat(buffer.pendingViewsCount(1)).isEqualTo(2);
+    }
+
+    @Test
+    void flush_retriesTheViews_thatCouldNotBeInserted_upToTheMaximumAttempts() {
+        when(jdbcTemplate.batchUpdate(eq(ArticleViewBuffer.INSERT_VIEW), anyList())).thenThrow(new DataAccessResourceFailureException("database unavailable"));
+        buffer.record(1, 2L, LocalDateTime.now());
+
+        for (int flush = 0; flush < ArticleViewBuffer.MAX_FLUSH_ATTEMPTS + 1; flush++) {
+            buffer.flush();
+        }
+
+        verify(jdbcTemplate, times(ArticleViewBuffer.MAX_FLUSH_ATTEMPTS)).batchUpdate(eq(ArticleViewBuffer.INSERT_VIEW), anyList());
+    }
+}
@@ -5,12 +5,14 @@ import org.mapstruct.factory.*;
 import org.springframework.beans.factory.annotation.*;
 import org.springframework.boot.test.autoconfigure.orm.jpa.*;
 import org.springframework.context.annotation.*;
+import org.springframework.test.context.event.*;
 import tech.zerofiltre.blog.domain.*;
 import tech.zerofiltre.blog.domain.article.*;
 import tech.zerofiltre.blog.domain.article.model.Tag;
 import tech.zerofiltre.blog.domain.article.model.*;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.model.*;
+import tech.zerofiltre.blog.infra.providers.database.*;
 import tech.zerofiltre.blog.infra.providers.database.article.mapper.*;
 import tech.zerofiltre.blog.infra.providers.database.article.model.*;
 import tech.zerofiltre.blog.infra.providers.database.user.*;
@@ -25,6 +27,7 @@ import java.util.stream.*;
 import static org.assertj.core.api.AssertionsForClassTypes.*;
 
 @DataJpaTest
+@RecordApplicationEvents
 @Import({DBArticleProvider.class, DBTagProvider.class, DBUserProvider.class})
 class DBArticleProviderIT {
 
@@ -46,6 +49,9 @@ class DBArticleProviderIT {
     @Autowired
     private UserProvider userProvider;
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @BeforeEach
     void setUp() {
     }
@@ -332,6 +338,56 @@ class DBArticleProviderIT {
 
     }
 
+    @Test
+    void save_publishesTheListingScope_beforeAndAfterTheChange() {
+        //ARRANGE
+        User user = userProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        List<Tag> tags = ZerofiltreUtilsTest.createMockTags(false).stream().map(tagProvider::save).collect(Collectors.toList());
+
+        Article article = ZerofiltreUtilsTest.createMockArticle(user, tags, Collections.emptyList());
+        article.setStatus(Status.PUBLISHED);
+        article = articleProvider.save(article);
+        article.setStatus(Status.DRAFT);
+        article.setTags(Collections.emptyList());
+
+        //ACT
+        articleProvider.save(article);
+
+        //ASSERT
+        List<ListingChangedEvent> events = applicationEvents.stream(ListingChangedEvent.class).collect(Collectors.toList());
+        ListingChangedEvent last = events.get(events.size() - 1);
+        assertThat(last.getContentType()).isEqualTo(ContentChangedEvent.ContentType.ARTICLE);
+        assertThat(last.getStatuses()).isEqualTo(Set.of(Status.PUBLISHED, Status.DRAFT));
+        assertThat(last.getAuthorIds()).isEqualTo(Set.of(user.getId()));
+        assertThat(last.getTags()).isEqualTo(tags.stream().map(Tag::getName).collect(Collectors.toSet()));
+        assertThat(last.isRankingOnly()).isFalse();
+    }
+
+    @Test
+    void save_publishesARankingOnlyChange_whenOnlyAReactionIsAdded() {
+        //ARRANGE
+        User user = userProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        Article article = ZerofiltreUtilsTest.createMockArticle(user, Collections.emptyList(), Collections.emptyList());
+        article.setStatus(Status.PUBLISHED);
+        long articleId = articleProvider.save(article).getId();
+
+        article = articleProvider.articleOfId(articleId).orElseThrow();
+        Reaction reaction = new Reaction();
+        reaction.setAction(Reaction.Action.FIRE);
+        reaction.setAuthorId(user.getId());
+        reaction.setArticleId(articleId);
+        article.getReactions().add(reaction);
+
+        //ACT
+        articleProvider.save(article);
+
+        //ASSERT
+        List<ListingChangedEvent> events = applicationEvents.stream(ListingChangedEvent.class).collect(Collectors.toList());
+        ListingChangedEvent last = events.get(events.size() - 1);
+        assertThat(last.isRankingOnly()).isTrue();
+        assertThat(last.getStatuses()).isEqualTo(Set.of(Status.PUBLISHED));
+    }
+
     @Test
     void articlesOf_returnsSelectedTag_InDescendingOrder() {
         //ARRANGE
@@ -568,6 +624,10 @@ class DBArticleProviderIT {
         assertThat(articlesPublishedByUserA).isEqualTo(2);
         assertThat(articlesPublishedByUserB).isNotNull();
         assertThat(articlesPublishedByUserB).isEqualTo(1);
+
+        Map<Long, Integer> articlesPublishedPerUser = articleProvider.countPublishedArticlesByDatesPerUser(listDates.get(0), listDates.get(1),
+                List.of(userA.getId(), userB.getId()));
+        assertThat(articlesPublishedPerUser).isEqualTo(Map.of(userA.getId(), 2, userB.getId(), 1));
     }
 
     @Test
@@ -24,7 +24,7 @@ class DBArticleProviderTest {
 
         Mockito.when(articleJPARepository.countPublishedArticlesByDatesAndUser(any(), any(), anyLong())).thenReturn(1);
 
-        DBArticleProvider dbArticleProvider = new DBArticleProvider(articleJPARepository);
+        DBArticleProvider dbArticleProvider = new DBArticleProvider(articleJPARepository, null);
         dbArticleProvider.countPublishedArticlesByDatesAndUser(LocalDateTime.parse("2024-05-01T00:00:00"), LocalDateTime.parse("2024-06-01T00:00:00"), 0);
 
         Mockito.verify(articleJPARepository, Mockito.times(1)).countPublishedArticlesByDatesAndUser(any(), any(), anyLong());
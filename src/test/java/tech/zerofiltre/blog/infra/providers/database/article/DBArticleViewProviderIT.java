@@ -12,16 +12,18 @@ import tech.zerofiltre.blog.domain.article.model.Article;
 import tech.zerofiltre.blog.domain.article.model.ArticleView;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.InfraProperties;
 import tech.zerofiltre.blog.infra.providers.database.user.DBUserProvider;
 import tech.zerofiltre.blog.util.ZerofiltreUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DataJpaTest
-@Import({DBArticleViewProvider.class, DBArticleProvider.class, DBUserProvider.class})
+@Import({DBArticleViewProvider.class, ArticleViewBuffer.class, DBArticleProvider.class, DBUserProvider.class, InfraProperties.class})
 class DBArticleViewProviderIT {
 
     @Autowired
@@ -106,5 +108,9 @@ class DBArticleViewProviderIT {
         assertThat(articlesReadByUserA).isEqualTo(1);
         assertThat(articlesReadByUserC).isNotNull();
         assertThat(articlesReadByUserC).isEqualTo(3);
+
+        Map<Long, Integer> articlesReadPerUser = articleViewProvider.countArticlesReadByDatesPerUser(listDates.get(0), listDates.get(1),
+                List.of(userA.getId(), userB.getId(), userC.getId()));
+        assertThat(articlesReadPerUser).isEqualTo(Map.of(userA.getId(), 1, userC.getId(), 3));
     }
 }
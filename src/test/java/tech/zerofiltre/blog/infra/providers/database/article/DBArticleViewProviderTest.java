@@ -18,13 +18,16 @@ class DBArticleViewProviderTest {
     @Mock
     ArticleViewJPARepository articleViewJPARepository;
 
+    @Mock
+    ArticleViewBuffer articleViewBuffer;
+
     @Test
     @DisplayName("Given start date, end date valid and user id 0 - When countArticlesReadByDatesAndUser - Then call countViewedIdByDatesAndViewerId")
     void givenStartDateIsValidAndEndDateIsValidAndUserIdIsZero_whenCountArticlesReadByDatesAndUser_ThenCall_countViewedIdByDatesAndViewerId() {
 
         Mockito.when(articleViewJPARepository.countViewedIdByDatesAndViewerId(any(), any(), anyLong())).thenReturn(1);
 
-        DBArticleViewProvider dbArticleViewProvider = new DBArticleViewProvider(articleViewJPARepository);
+        DBArticleViewProvider dbArticleViewProvider = new DBArticleViewProvider(articleViewJPARepository, articleViewBuffer);
         dbArticleViewProvider.countArticlesReadByDatesAndUser(LocalDateTime.parse("2024-05-01T00:00:00"), LocalDateTime.parse("2024-06-01T00:00:00"), 0);
 
         Mockito.verify(articleViewJPARepository, Mockito.times(1)).countViewedIdByDatesAndViewerId(any(), any(), anyLong());
@@ -0,0 +1,75 @@
+package tech.zerofiltre.blog.infra.providers.database.broadcast;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.broadcast.model.BroadcastRunJPA;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(BroadcastRuns.class)
+class BroadcastRunsIT {
+
+    public static final String RUN = "monthly-stats:2026-09";
+
+    @Autowired
+    BroadcastRuns broadcastRuns;
+
+    @Autowired
+    BroadcastRunJPARepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void open_createsTheRunOnce() {
+        broadcastRuns.open(RUN);
+        broadcastRuns.open(RUN);
+
+        assertThat(repository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void claim_claimsARunOnlyOnce_untilTheClaimIsStale() {
+        broadcastRuns.open(RUN);
+
+        Optional<BroadcastRunJPA> first = broadcastRuns.claim(RUN, LocalDateTime.now().minusMinutes(15));
+        Optional<BroadcastRunJPA> second = broadcastRuns.claim(RUN, LocalDateTime.now().minusMinutes(15));
+        Optional<BroadcastRunJPA> takenOver = broadcastRuns.claim(RUN, LocalDateTime.now().plusMinutes(1));
+
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+        assertThat(takenOver).isPresent();
+    }
+
+    @Test
+    void claim_resumesFromTheLastCheckpoint_andNeverClaimsAFinishedRun() {
+        broadcastRuns.open(RUN);
+        broadcastRuns.claim(RUN, LocalDateTime.now().minusMinutes(15));
+        broadcastRuns.checkpoint(RUN, 42, 7);
+
+        Optional<BroadcastRunJPA> resumed = broadcastRuns.claim(RUN, LocalDateTime.now().plusMinutes(1));
+        broadcastRuns.finish(RUN);
+
+        assertThat(resumed).isPresent();
+        assertThat(resumed.get().getLastUserId()).isEqualTo(42);
+        assertThat(resumed.get().getSentCount()).isEqualTo(7);
+        assertThat(broadcastRuns.claim(RUN, LocalDateTime.now().plusMinutes(1))).isEmpty();
+    }
+
+    @Test
+    void claim_doesNotClaimAnUnknownRun() {
+        assertThat(broadcastRuns.claim(RUN, LocalDateTime.now().plusMinutes(1))).isEmpty();
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.company.model.Company;
@@ -27,6 +28,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
 class DBCompanyCourseProviderIT {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     DBCompanyCourseProvider dbCompanyCourseProvider;
 
     DBCompanyProvider dbCompanyProvider;
@@ -51,8 +55,8 @@ class DBCompanyCourseProviderIT {
     void init() {
         dbCompanyCourseProvider = new DBCompanyCourseProvider(companyCourseJPARepository);
         dbCompanyProvider = new DBCompanyProvider(companyJPARepository);
-        dbCourseProvider = new DBCourseProvider(courseJPARepository, userJPARepository);
-        dbUserProvider = new DBUserProvider(userJPARepository);
+        dbCourseProvider = new DBCourseProvider(courseJPARepository, eventPublisher);
+        dbUserProvider = new DBUserProvider(userJPARepository, eventPublisher);
     }
 
     @Test
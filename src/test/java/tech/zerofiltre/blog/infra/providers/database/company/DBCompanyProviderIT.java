@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.company.model.Company;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyCourse;
@@ -26,6 +27,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
 class DBCompanyProviderIT {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     DBCompanyProvider dbCompanyProvider;
     DBCompanyUserProvider dbCompanyUserProvider;
     DBCompanyCourseProvider dbCompanyCourseProvider;
@@ -55,8 +59,8 @@ class DBCompanyProviderIT {
         dbCompanyUserProvider = new DBCompanyUserProvider(companyUserJPARepository);
         dbCompanyCourseProvider = new DBCompanyCourseProvider(companyCourseJPARepository);
 
-        dbUserProvider = new DBUserProvider(userJPARepository);
-        dbCourseProvider = new DBCourseProvider(courseJPARepository, userJPARepository);
+        dbUserProvider = new DBUserProvider(userJPARepository, eventPublisher);
+        dbCourseProvider = new DBCourseProvider(courseJPARepository, eventPublisher);
     }
 
     @Test
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.company.model.Company;
 import tech.zerofiltre.blog.domain.company.model.LinkCompanyUser;
@@ -37,11 +38,14 @@ class DBCompanyUserProviderIT {
     @Autowired
     UserJPARepository userJPARepository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     void init() {
         dbCompanyUserProvider = new DBCompanyUserProvider(companyUserJPARepository);
         dbCompanyProvider = new DBCompanyProvider(companyJPARepository);
-        dbUserProvider = new DBUserProvider(userJPARepository);
+        dbUserProvider = new DBUserProvider(userJPARepository, eventPublisher);
     }
 
     @Test
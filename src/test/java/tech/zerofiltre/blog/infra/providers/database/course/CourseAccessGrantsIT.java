@@ -0,0 +1,107 @@
+package tech.zerofiltre.blog.infra.providers.database.course;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import tech.zerofiltre.blog.domain.article.model.Status;
+import tech.zerofiltre.blog.domain.course.model.*;
+import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.providers.database.user.DBUserProvider;
+import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({DBChapterProvider.class, DBCourseProvider.class, DBUserProvider.class, DBEnrollmentProvider.class, DBLessonProvider.class,
+        DBResourceProvider.class, CourseAccessGrants.class})
+class CourseAccessGrantsIT {
+
+    @Autowired
+    DBUserProvider dbUserProvider;
+
+    @Autowired
+    DBCourseProvider dbCourseProvider;
+
+    @Autowired
+    DBChapterProvider dbChapterProvider;
+
+    @Autowired
+    DBLessonProvider dbLessonProvider;
+
+    @Autowired
+    DBResourceProvider dbResourceProvider;
+
+    @Autowired
+    DBEnrollmentProvider dbEnrollmentProvider;
+
+    @Autowired
+    CourseAccessGrantJPARepository grantRepository;
+
+    @Autowired
+    CourseAccessGrants courseAccessGrants;
+
+    User learner;
+    Course grantingCourse;
+    Lesson lesson;
+
+    @BeforeEach
+    void setUp() throws ZerofiltreException {
+        learner = dbUserProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        grantingCourse = dbCourseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, learner, Collections.emptyList(), Collections.emptyList()));
+        Chapter chapter = dbChapterProvider.save(ZerofiltreUtilsTest.createMockChapter(false, dbChapterProvider, Collections.emptyList(), grantingCourse.getId()));
+        lesson = dbLessonProvider.save(Lesson.builder().title("title").chapterId(chapter.getId()).build());
+        dbEnrollmentProvider.save(ZerofiltreUtilsTest.createMockEnrollment(false, learner, grantingCourse));
+    }
+
+    @Test
+    void savingACourseResource_grantsAccessToTheLinkedCourse_untilItIsDeleted() {
+        Resource resource = dbResourceProvider.save(courseResource("https://zerofiltre.tech/cours/24-docker"));
+
+        assertThat(dbEnrollmentProvider.hasAnEnrollmentGrantingAccessTo(learner.getId(), 24)).isTrue();
+        assertThat(dbEnrollmentProvider.hasAnEnrollmentGrantingAccessTo(learner.getId(), 25)).isFalse();
+        assertThat(dbEnrollmentProvider.hasAnEnrollmentGrantingAccessTo(learner.getId() + 1, 24)).isFalse();
+
+        dbResourceProvider.delete(resource.getId());
+
+        assertThat(dbEnrollmentProvider.hasAnEnrollmentGrantingAccessTo(learner.getId(), 24)).isFalse();
+    }
+
+    @Test
+    void savingAResourceAgain_movesItsGrant() {
+        Resource resource = dbResourceProvider.save(courseResource("https://zerofiltre.tech/cours/24-docker"));
+
+        dbResourceProvider.save(Resource.builder().id(resource.getId()).type("course").url("https://zerofiltre.tech/cours/25-k8s").lessonId(lesson.getId()).build());
+
+        assertThat(grantRepository.findAll()).hasSize(1);
+        assertThat(dbEnrollmentProvider.hasAnEnrollmentGrantingAccessTo(learner.getId(), 24)).isFalse();
+        assertThat(dbEnrollmentProvider.hasAnEnrollmentGrantingAccessTo(learner.getId(), 25)).isTrue();
+    }
+
+    @Test
+    void otherResources_grantNothing() {
+        dbResourceProvider.save(Resource.builder().type("link").url("https://zerofiltre.tech/cours/24-docker").lessonId(lesson.getId()).build());
+
+        assertThat(grantRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void rebuild_recomputesTheGrantsFromTheResources() {
+        dbResourceProvider.save(courseResource("https://zerofiltre.tech/cours/24-docker"));
+        dbResourceProvider.save(courseResource("https://zerofiltre.tech/articles/12"));
+        grantRepository.deleteAll();
+
+        int rebuilt = courseAccessGrants.rebuild();
+
+        assertThat(rebuilt).isEqualTo(1);
+        assertThat(dbEnrollmentProvider.hasAnEnrollmentGrantingAccessTo(learner.getId(), 24)).isTrue();
+    }
+
+    private Resource courseResource(String url) {
+        return Resource.builder().type("course").url(url).name("related").lessonId(lesson.getId()).build();
+    }
+}
@@ -15,10 +15,13 @@ class DBChapterProviderIT {
     @Autowired
     ChapterJPARepository chapterJPARepository;
 
+    @Autowired
+    CourseJPARepository courseJPARepository;
+
     @BeforeEach
     void setUp() {
 
-        chapterProvider = new DBChapterProvider(chapterJPARepository);
+        chapterProvider = new DBChapterProvider(chapterJPARepository, courseJPARepository);
     }
 
 
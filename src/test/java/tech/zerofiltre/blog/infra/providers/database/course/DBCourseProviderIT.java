@@ -1,6 +1,8 @@
 package tech.zerofiltre.blog.infra.providers.database.course;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.FinderRequest;
 import tech.zerofiltre.blog.domain.Page;
 import tech.zerofiltre.blog.domain.article.model.Reaction;
@@ -55,6 +59,9 @@ import static tech.zerofiltre.blog.util.ZerofiltreUtilsTest.TEST_PROFILE_PICTURE
 @DataJpaTest
 class DBCourseProviderIT {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     DBCourseProvider courseProvider;
 
     DBUserProvider userProvider;
@@ -98,13 +105,16 @@ class DBCourseProviderIT {
     @Autowired
     private TagJPARepository tagJPARepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
 
     @BeforeEach
     void init() {
-        courseProvider = new DBCourseProvider(courseJPARepository, userJPARepository);
-        userProvider = new DBUserProvider(userJPARepository);
-        lessonProvider = new DBLessonProvider(lessonJPARepository, enrollmentJPARepository);
-        chapterProvider = new DBChapterProvider(chapterJPARepository);
+        courseProvider = new DBCourseProvider(courseJPARepository, eventPublisher);
+        userProvider = new DBUserProvider(userJPARepository, eventPublisher);
+        lessonProvider = new DBLessonProvider(lessonJPARepository, enrollmentJPARepository, courseJPARepository, eventPublisher);
+        chapterProvider = new DBChapterProvider(chapterJPARepository, courseJPARepository);
         companyCourseProvider = new DBCompanyCourseProvider(companyCourseJPARepository);
         companyCourseProvider = new DBCompanyCourseProvider(companyCourseJPARepository);
         dbCompanyProvider = new DBCompanyProvider(companyJPARepository);
@@ -179,6 +189,84 @@ class DBCourseProviderIT {
         assertThat(lessonsCount).isEqualTo(2);
     }
 
+    @Test
+    void courseOfId_returnsTheStoredCounters() throws ZerofiltreException {
+        //given
+        Course course = initCourseWith2Lessons();
+        initEnrollments(course, 2);
+
+        //when
+        Optional<Course> found = courseProvider.courseOfId(course.getId());
+
+        //then
+        assertThat(found).isPresent();
+        assertThat(found.get().getLessonsCount()).isEqualTo(2);
+        assertThat(found.get().getEnrolledCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deletingALesson_decrementsTheLessonsCount() throws ForbiddenActionException, ResourceNotFoundException {
+        //given
+        Course course = initCourseWith2Lessons();
+        Lesson lesson = lessonProvider.lessonOfId(lessonJPARepository.findAll().get(0).getId()).orElseThrow();
+
+        //when
+        lessonProvider.delete(lesson);
+
+        //then
+        assertThat(courseProvider.getLessonsCount(course.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void movingALessonToAnotherCourse_updatesTheLessonsCountsOfBothCourses() throws ForbiddenActionException, ResourceNotFoundException {
+        //given
+        Course course = initCourseWith2Lessons();
+        Course otherCourse = courseProvider.save(new Course());
+        Chapter otherChapter = chapterProvider.save(Chapter.builder().courseId(otherCourse.getId()).build());
+        Lesson lesson = lessonProvider.lessonOfId(lessonJPARepository.findAll().get(0).getId()).orElseThrow();
+
+        //when
+        lessonProvider.save(Lesson.builder()
+                .id(lesson.getId())
+                .title(lesson.getTitle())
+                .chapterId(otherChapter.getId())
+                .progressIndex(lesson.getProgressIndex())
+                .build());
+
+        //then
+        assertThat(courseProvider.getLessonsCount(course.getId())).isEqualTo(1);
+        assertThat(courseProvider.getLessonsCount(otherCourse.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void deletingAnEnrollment_decrementsTheEnrolledCount() throws ZerofiltreException {
+        //given
+        Course course = initCourse2Enrollments(false, false);
+        long userId = enrollmentJPARepository.findAll().get(0).getUser().getId();
+
+        //when
+        new DBEnrollmentProvider(enrollmentJPARepository, courseJPARepository).delete(userId, course.getId());
+
+        //then
+        assertThat(courseProvider.getEnrolledCount(course.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_repairsDriftedCounters() throws ZerofiltreException {
+        //given
+        Course course = initCourseWith2Lessons();
+        initEnrollments(course, 1);
+        courseJPARepository.addToEnrolledCount(course.getId(), 5);
+
+        //when
+        int repaired = new CourseCountersReconciler(courseJPARepository).reconcile();
+
+        //then
+        assertThat(repaired).isEqualTo(1);
+        assertThat(courseProvider.getEnrolledCount(course.getId())).isEqualTo(1);
+        assertThat(courseProvider.getLessonsCount(course.getId())).isEqualTo(2);
+    }
+
     public static Stream<Arguments> testDataProvider() {
         return Stream.of(
                 // -- tag is null and author is 0 --
@@ -278,6 +366,52 @@ class DBCourseProviderIT {
 
     }
 
+    @Test
+    void courseOf_loadsAuthorsAndReactions_inAFixedNumberOfStatements_whateverThePageSize() {
+        //given
+        User author = ZerofiltreUtilsTest.createMockUser(false);
+        author.setFullName("first");
+        author = userProvider.save(author);
+        reactionProvider = new DBReactionProvider(null, reactionRepository);
+        Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        //when
+        initPublishedCoursesWithReactions(author, 2);
+        long statementsForTwoCourses = countListingStatements(statistics, 2);
+        initPublishedCoursesWithReactions(author, 4);
+        long statementsForSixCourses = countListingStatements(statistics, 6);
+        statistics.setStatisticsEnabled(false);
+
+        //then
+        assertThat(statementsForSixCourses).isEqualTo(statementsForTwoCourses);
+    }
+
+    private void initPublishedCoursesWithReactions(User author, int count) {
+        for (int i = 0; i < count; i++) {
+            Course course = ZerofiltreUtilsTest.createMockCourse(false, PUBLISHED, author, Collections.emptyList(), Collections.emptyList());
+            course.setPublishedAt(LocalDateTime.now());
+            course = courseProvider.save(course);
+            for (Reaction reaction : ZerofiltreUtilsTest.createMockReactions(false, 0, course.getId(), author)) {
+                reactionProvider.save(reaction);
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private long countListingStatements(Statistics statistics, int expectedCourses) {
+        statistics.clear();
+        Page<Course> result = courseProvider.courseOf(0, 10, PUBLISHED, 0, null, null);
+        Assertions.assertThat(result.getContent()).hasSize(expectedCourses);
+        result.getContent().forEach(course -> {
+            assertThat(course.getAuthor().getFullName()).isEqualTo("first");
+            Assertions.assertThat(course.getReactions()).isNotEmpty();
+        });
+        testEntityManager.clear();
+        return statistics.getPrepareStatementCount();
+    }
+
     @Test
     @DisplayName("When I'm looking for new courses from last month, I return the list")
     void shouldReturnList_whenSearchingNewCoursesFromLastMonth() {
@@ -386,9 +520,9 @@ class DBCourseProviderIT {
 
 
     private Course initCourse2Enrollments(boolean withThe2ndOneInactive, boolean withThe2ndOneCompleted) throws ZerofiltreException {
-        EnrollmentProvider enrollmentProvider = new DBEnrollmentProvider(enrollmentJPARepository);
-        UserProvider userProvider = new DBUserProvider(userJPARepository);
-        CourseProvider courseProvider = new DBCourseProvider(courseJPARepository, userJPARepository);
+        EnrollmentProvider enrollmentProvider = new DBEnrollmentProvider(enrollmentJPARepository, courseJPARepository);
+        UserProvider userProvider = new DBUserProvider(userJPARepository, eventPublisher);
+        CourseProvider courseProvider = new DBCourseProvider(courseJPARepository, eventPublisher);
 
 
         User author = ZerofiltreUtilsTest.createMockUser(false);
@@ -421,6 +555,17 @@ class DBCourseProviderIT {
         return course;
     }
 
+    private void initEnrollments(Course course, int count) throws ZerofiltreException {
+        EnrollmentProvider enrollmentProvider = new DBEnrollmentProvider(enrollmentJPARepository, courseJPARepository);
+        for (int i = 0; i < count; i++) {
+            User user = ZerofiltreUtilsTest.createMockUser(false);
+            user.setPseudoName("enrolled" + i);
+            user.setEmail("enrolled" + i + "@gmail.fr");
+            user = userProvider.save(user);
+            enrollmentProvider.save(ZerofiltreUtilsTest.createMockEnrollment(false, user, course));
+        }
+    }
+
     private Course initCourseWith2Lessons() throws ForbiddenActionException, ResourceNotFoundException {
         User author = ZerofiltreUtilsTest.createMockUser(false);
         author.setPseudoName("author");
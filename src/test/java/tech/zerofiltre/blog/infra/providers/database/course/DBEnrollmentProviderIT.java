@@ -11,6 +11,7 @@ import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.course.features.enrollment.CompleteLesson;
 import tech.zerofiltre.blog.domain.course.model.*;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.sandbox.model.Sandbox;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.infra.providers.database.course.mapper.EnrollmentJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.course.model.EnrollmentJPA;
@@ -47,7 +48,7 @@ class DBEnrollmentProviderIT {
 
     @BeforeEach
     void init() {
-        completeLesson = new CompleteLesson(dbEnrollmentProvider, lessonProvider, chapterProvider, courseProvider);
+        completeLesson = new CompleteLesson(dbEnrollmentProvider, lessonProvider);
     }
 
 
@@ -105,7 +106,7 @@ class DBEnrollmentProviderIT {
 
         enrollment = dbEnrollmentProvider.save(enrollment);
 
-        Chapter chapter = Chapter.builder().build();
+        Chapter chapter = Chapter.builder().courseId(course.getId()).build();
         chapter = chapterProvider.save(chapter);
 
         Lesson lesson = new Lesson.LessonBuilder()
@@ -214,9 +215,10 @@ class DBEnrollmentProviderIT {
 
         dbEnrollmentProvider.save(enrollment);
         completeLesson.execute(course.getId(), lesson1.getId(), user.getId(), true);
-        enrollment = completeLesson.execute(course.getId(), lesson2.getId(), user.getId(), true);
+        EnrollmentProgress progress = completeLesson.execute(course.getId(), lesson2.getId(), user.getId(), true);
 
-        assertThat(enrollment.isCompleted()).isTrue();
+        assertThat(progress.isCompleted()).isTrue();
+        assertThat(dbEnrollmentProvider.isCompleted(user.getId(), course.getId())).isTrue();
 
     }
 
@@ -446,4 +448,293 @@ class DBEnrollmentProviderIT {
         assertThat(response).isTrue();
     }
 
+    @Test
+    void suspendAll_suspendsTheActiveEnrollmentsOfTheUser_notGrantedByACompany() throws ZerofiltreException {
+        //GIVEN
+        User user = new User();
+        user.setFullName("Testeur Humain");
+        user.setEmail("testeur@humain.com");
+        user = userProvider.save(user);
+
+        Course course1 = ZerofiltreUtilsTest.createMockCourse(Sandbox.Type.K8S);
+        course1.setAuthor(user);
+        course1 = courseProvider.save(course1);
+
+        Course course2 = ZerofiltreUtilsTest.createMockCourse(Sandbox.Type.NONE);
+        course2.setAuthor(user);
+        course2 = courseProvider.save(course2);
+
+        Course course3 = ZerofiltreUtilsTest.createMockCourse(Sandbox.Type.NONE);
+        course3.setAuthor(user);
+        course3 = courseProvider.save(course3);
+
+        Enrollment suspendable = new Enrollment();
+        suspendable.setUser(user);
+        suspendable.setCourse(course1);
+        suspendable.setActive(true);
+        suspendable = dbEnrollmentProvider.save(suspendable);
+
+        Enrollment forLife = new Enrollment();
+        forLife.setUser(user);
+        forLife.setCourse(course2);
+        forLife.setActive(true);
+        forLife.setForLife(true);
+        dbEnrollmentProvider.save(forLife);
+
+        Enrollment grantedByACompany = new Enrollment();
+        grantedByACompany.setUser(user);
+        grantedByACompany.setCourse(course3);
+        grantedByACompany.setActive(true);
+        grantedByACompany.setCompanyCourseId(1);
+        dbEnrollmentProvider.save(grantedByACompany);
+
+        //WHEN
+        List<SuspendedEnrollment> response = dbEnrollmentProvider.suspendAll(user.getId(), false);
+
+        //THEN
+        assertThat(response.size()).isEqualTo(1);
+        SuspendedEnrollment suspended = response.get(0);
+        assertThat(suspended.getUserId()).isEqualTo(user.getId());
+        assertThat(suspended.getUserFullName()).isEqualTo("Testeur Humain");
+        assertThat(suspended.getUserEmail()).isEqualTo("testeur@humain.com");
+        assertThat(suspended.getCourseId()).isEqualTo(course1.getId());
+        assertThat(suspended.getCourseSandboxType()).isEqualTo(Sandbox.Type.K8S);
+
+        EnrollmentJPA suspendedJPA = enrollmentJPARepository.findById(suspendable.getId()).orElseThrow();
+        assertThat(suspendedJPA.isActive()).isFalse();
+        assertThat(suspendedJPA.getSuspendedAt()).isNotNull();
+        assertThat(dbEnrollmentProvider.enrollmentOf(user.getId(), course2.getId(), true)).isPresent();
+        assertThat(dbEnrollmentProvider.enrollmentOf(user.getId(), course3.getId(), true)).isPresent();
+    }
+
+    @Test
+    void suspendAllByCompanyCourseId_suspendsTheActiveEnrollmentsOfTheLink() throws ZerofiltreException {
+        //GIVEN
+        User user1 = new User();
+        user1.setFullName("Testeur Humain");
+        user1 = userProvider.save(user1);
+
+        User user2 = new User();
+        user2.setFullName("Testeur Humain");
+        user2 = userProvider.save(user2);
+
+        Course course = new Course();
+        course.setTitle("Cours sur les tests");
+        course.setStatus(Status.PUBLISHED);
+        course.setAuthor(user1);
+        course = courseProvider.save(course);
+
+        Enrollment enrollment1 = new Enrollment();
+        enrollment1.setUser(user1);
+        enrollment1.setCourse(course);
+        enrollment1.setActive(true);
+        enrollment1.setCompanyCourseId(1);
+        dbEnrollmentProvider.save(enrollment1);
+
+        Enrollment enrollment2 = new Enrollment();
+        enrollment2.setUser(user2);
+        enrollment2.setCourse(course);
+        enrollment2.setActive(true);
+        enrollment2.setCompanyCourseId(2);
+        dbEnrollmentProvider.save(enrollment2);
+
+        //WHEN
+        List<SuspendedEnrollment> response = dbEnrollmentProvider.suspendAllByCompanyCourseId(1);
+
+        //THEN
+        assertThat(response.size()).isEqualTo(1);
+        assertThat(response.get(0).getUserId()).isEqualTo(user1.getId());
+        assertThat(response.get(0).getCourseSandboxType()).isEqualTo(Sandbox.Type.NONE);
+        assertThat(dbEnrollmentProvider.findAll(1, true).size()).isZero();
+        assertThat(dbEnrollmentProvider.findAll(2, true).size()).isEqualTo(1);
+    }
+
+    @Test
+    void suspendAllByCompanyUserId_suspendsTheActiveEnrollmentsOfTheCompanyUser() throws ZerofiltreException {
+        //GIVEN
+        User user = new User();
+        user.setFullName("Testeur Humain");
+        user = userProvider.save(user);
+
+        Course course1 = ZerofiltreUtilsTest.createMockCourse(Sandbox.Type.NONE);
+        course1.setAuthor(user);
+        course1 = courseProvider.save(course1);
+
+        Course course2 = ZerofiltreUtilsTest.createMockCourse(Sandbox.Type.NONE);
+        course2.setAuthor(user);
+        course2 = courseProvider.save(course2);
+
+        Enrollment ofTheCompanyUser = new Enrollment();
+        ofTheCompanyUser.setUser(user);
+        ofTheCompanyUser.setCourse(course1);
+        ofTheCompanyUser.setActive(true);
+        ofTheCompanyUser.setCompanyUserId(1);
+        dbEnrollmentProvider.save(ofTheCompanyUser);
+
+        Enrollment ofAnotherCompanyUser = new Enrollment();
+        ofAnotherCompanyUser.setUser(user);
+        ofAnotherCompanyUser.setCourse(course2);
+        ofAnotherCompanyUser.setActive(true);
+        ofAnotherCompanyUser.setCompanyUserId(2);
+        dbEnrollmentProvider.save(ofAnotherCompanyUser);
+
+        //WHEN
+        List<SuspendedEnrollment> response = dbEnrollmentProvider.suspendAllByCompanyUserId(1);
+
+        //THEN
+        assertThat(response.size()).isEqualTo(1);
+        assertThat(response.get(0).getCourseId()).isEqualTo(course1.getId());
+        assertThat(dbEnrollmentProvider.enrollmentOf(user.getId(), course1.getId(), true)).isEmpty();
+        assertThat(dbEnrollmentProvider.enrollmentOf(user.getId(), course2.getId(), true)).isPresent();
+    }
+
+    @Test
+    void suspendAll_updatesOnlyTheActiveRows_andWritesTheSuspensionDate() throws ZerofiltreException {
+        //GIVEN
+        User user = new User();
+        user = userProvider.save(user);
+
+        Course course1 = ZerofiltreUtilsTest.createMockCourse(Sandbox.Type.NONE);
+        course1.setAuthor(user);
+        course1 = courseProvider.save(course1);
+
+        Course course2 = ZerofiltreUtilsTest.createMockCourse(Sandbox.Type.NONE);
+        course2.setAuthor(user);
+        course2 = courseProvider.save(course2);
+
+        Enrollment active = new Enrollment();
+        active.setUser(user);
+        active.setCourse(course1);
+        active.setActive(true);
+        active = dbEnrollmentProvider.save(active);
+
+        LocalDateTime previousSuspension = LocalDateTime.of(2026, 1, 1, 10, 0);
+        Enrollment alreadySuspended = new Enrollment();
+        alreadySuspended.setUser(user);
+        alreadySuspended.setCourse(course2);
+        alreadySuspended.setActive(false);
+        alreadySuspended.setSuspendedAt(previousSuspension);
+        alreadySuspended = dbEnrollmentProvider.save(alreadySuspended);
+
+        LocalDateTime suspendedAt = LocalDateTime.of(2026, 10, 18, 10, 0);
+
+        //WHEN
+        int updated = enrollmentJPARepository.suspendAll(List.of(active.getId(), alreadySuspended.getId()), suspendedAt);
+
+        //THEN
+        assertThat(updated).isEqualTo(1);
+        EnrollmentJPA activeJPA = enrollmentJPARepository.findById(active.getId()).orElseThrow();
+        assertThat(activeJPA.isActive()).isFalse();
+        assertThat(activeJPA.getSuspendedAt()).isEqualTo(suspendedAt);
+        EnrollmentJPA alreadySuspendedJPA = enrollmentJPARepository.findById(alreadySuspended.getId()).orElseThrow();
+        assertThat(alreadySuspendedJPA.isActive()).isFalse();
+        assertThat(alreadySuspendedJPA.getSuspendedAt()).isEqualTo(previousSuspension);
+    }
+
+    @Test
+    void saveProgress_savesTheProgress_andTheCompletedLesson_whenTheVersionIsTheOneRead() throws ZerofiltreException {
+        //given
+        User user = userProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        Course course = courseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, user, Collections.emptyList(), Collections.emptyList()));
+        Chapter chapter = chapterProvider.save(Chapter.builder().courseId(course.getId()).build());
+        LessonPosition lesson1 = positionOf(lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build()));
+        Lesson lesson2 = lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build());
+        LessonPosition position2 = positionOf(lesson2);
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(user);
+        enrollment.setCourse(course);
+        dbEnrollmentProvider.save(enrollment);
+
+        //when
+        EnrollmentProgress read = dbEnrollmentProvider.progressOf(user.getId(), course.getId()).orElseThrow();
+        read.markLesson(position2, true);
+        boolean saved = dbEnrollmentProvider.saveProgress(read, lesson2.getId(), true, read.getProgressVersion());
+
+        //then
+        assertThat(saved).isTrue();
+        EnrollmentProgress updated = dbEnrollmentProvider.progressOf(user.getId(), course.getId()).orElseThrow();
+        assertThat(updated.getProgressVersion()).isEqualTo(1);
+        assertThat(updated.getCompletedCount()).isEqualTo(1);
+        assertThat(updated.getLessonsCount()).isEqualTo(2);
+        assertThat(updated.hasCompletedLesson(lesson1)).isFalse();
+        assertThat(updated.hasCompletedLesson(position2)).isTrue();
+        Enrollment withCompletedLessons = dbEnrollmentProvider.enrollmentOf(user.getId(), course.getId(), true).orElseThrow();
+        assertThat(withCompletedLessons.getCompletedLessons().size()).isEqualTo(1);
+        assertThat(withCompletedLessons.getCompletedLessons().get(0).getLessonId()).isEqualTo(lesson2.getId());
+        assertThat(withCompletedLessons.getCompletedLessons().get(0).getCompletedAt()).isNotNull();
+
+        //when
+        updated.markLesson(position2, false);
+        saved = dbEnrollmentProvider.saveProgress(updated, lesson2.getId(), false, updated.getProgressVersion());
+
+        //then
+        assertThat(saved).isTrue();
+        EnrollmentProgress reverted = dbEnrollmentProvider.progressOf(user.getId(), course.getId()).orElseThrow();
+        assertThat(reverted.getCompletedCount()).isZero();
+        assertThat(reverted.hasCompletedLesson(position2)).isFalse();
+        assertThat(dbEnrollmentProvider.enrollmentOf(user.getId(), course.getId(), true).orElseThrow().getCompletedLessons().size()).isZero();
+    }
+
+    @Test
+    void saveProgress_savesNothing_whenTheProgressChangedSinceItWasRead_evenBackToTheSameCount() throws ZerofiltreException {
+        //given
+        User user = userProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        Course course = courseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, user, Collections.emptyList(), Collections.emptyList()));
+        Chapter chapter = chapterProvider.save(Chapter.builder().courseId(course.getId()).build());
+        Lesson lesson1 = lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build());
+        Lesson lesson2 = lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build());
+        LessonPosition position1 = positionOf(lesson1);
+        LessonPosition position2 = positionOf(lesson2);
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(user);
+        enrollment.setCourse(course);
+        dbEnrollmentProvider.save(enrollment);
+
+        EnrollmentProgress stale = dbEnrollmentProvider.progressOf(user.getId(), course.getId()).orElseThrow();
+
+        EnrollmentProgress first = dbEnrollmentProvider.progressOf(user.getId(), course.getId()).orElseThrow();
+        first.markLesson(position1, true);
+        dbEnrollmentProvider.saveProgress(first, lesson1.getId(), true, first.getProgressVersion());
+        first.markLesson(position2, true);
+        dbEnrollmentProvider.saveProgress(first, lesson2.getId(), true, first.getProgressVersion());
+        first.markLesson(position1, false);
+        dbEnrollmentProvider.saveProgress(first, lesson1.getId(), false, first.getProgressVersion());
+        first.markLesson(position2, false);
+        dbEnrollmentProvider.saveProgress(first, lesson2.getId(), false, first.getProgressVersion());
+
+        //when
+        stale.markLesson(position2, true);
+        boolean saved = dbEnrollmentProvider.saveProgress(stale, lesson2.getId(), true, stale.getProgressVersion());
+
+        //then
+        assertThat(saved).isFalse();
+        EnrollmentProgress updated = dbEnrollmentProvider.progressOf(user.getId(), course.getId()).orElseThrow();
+        assertThat(updated.getProgressVersion()).isEqualTo(4);
+        assertThat(updated.getCompletedCount()).isZero();
+        assertThat(updated.hasCompletedLesson(position2)).isFalse();
+        assertThat(dbEnrollmentProvider.enrollmentOf(user.getId(), course.getId(), true).orElseThrow().getCompletedLessons().size()).isZero();
+    }
+
+    @Test
+    void progressOf_isEmpty_whenTheEnrollmentIsNotActive() throws ZerofiltreException {
+        //given
+        User user = userProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        Course course = courseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, user, Collections.emptyList(), Collections.emptyList()));
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(user);
+        enrollment.setCourse(course);
+        enrollment.setActive(false);
+        dbEnrollmentProvider.save(enrollment);
+
+        //when
+        Optional<EnrollmentProgress> progress = dbEnrollmentProvider.progressOf(user.getId(), course.getId());
+
+        //then
+        assertThat(progress).isEmpty();
+    }
+
+    private LessonPosition positionOf(Lesson lesson) {
+        return lessonProvider.positionOf(lesson.getId()).orElseThrow();
+    }
+
 }
@@ -5,11 +5,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Import;
 import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.course.model.*;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.providers.database.company.CompanyCourseJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.company.model.LinkCompanyCourseJPA;
 import tech.zerofiltre.blog.infra.providers.database.user.DBUserProvider;
 import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
 
@@ -24,6 +27,9 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 @Import({DBChapterProvider.class, DBCourseProvider.class, DBUserProvider.class, DBEnrollmentProvider.class})
 class DBLessonProviderIT {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     DBLessonProvider lessonProvider;
 
     @Autowired
@@ -32,6 +38,9 @@ class DBLessonProviderIT {
     @Autowired
     EnrollmentJPARepository enrollmentJPARepository;
 
+    @Autowired
+    CourseJPARepository courseJPARepository;
+
     @Autowired
     DBUserProvider dbUserProvider;
 
@@ -44,9 +53,12 @@ class DBLessonProviderIT {
     @Autowired
     DBEnrollmentProvider dbEnrollmentProvider;
 
+    @Autowired
+    CompanyCourseJPARepository companyCourseJPARepository;
+
     @BeforeEach
     void setUp() {
-        lessonProvider = new DBLessonProvider(lessonJPARepository, enrollmentJPARepository);
+        lessonProvider = new DBLessonProvider(lessonJPARepository, enrollmentJPARepository, courseJPARepository, eventPublisher);
     }
 
     @Test
@@ -111,142 +123,120 @@ class DBLessonProviderIT {
     }
 
     @Test
-    void list_all_lessonId_notCompleted_by_enrollmentId_then_return_one_lessonId() throws ZerofiltreException {
+    void save_gives_new_lessons_the_next_progress_index_of_their_course_and_keeps_it() {
         //given
-        User author = ZerofiltreUtilsTest.createMockUser(false);
-        author = dbUserProvider.save(author);
-
-        Course course = ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList());
-        course = dbCourseProvider.save(course);
-
-        Enrollment enrollment = ZerofiltreUtilsTest.createMockEnrollment(false, author, course);
-        enrollment = dbEnrollmentProvider.save(enrollment);
-
-        Chapter chapter = ZerofiltreUtilsTest.createMockChapter(false, dbChapterProvider, Collections.emptyList(), course.getId());
-        chapter = dbChapterProvider.save(chapter);
-
-        Lesson lesson1 = Lesson.builder()
-                .chapterId(chapter.getId())
-                .build();
+        User author = dbUserProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        Course course = dbCourseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList()));
+        Chapter chapter1 = dbChapterProvider.save(ZerofiltreUtilsTest.createMockChapter(false, dbChapterProvider, Collections.emptyList(), course.getId()));
+        Chapter chapter2 = dbChapterProvider.save(Chapter.builder().courseId(course.getId()).build());
+        Course otherCourse = dbCourseProvider.save(new Course());
+        Chapter otherChapter = dbChapterProvider.save(Chapter.builder().courseId(otherCourse.getId()).build());
 
-        Lesson lesson2 = Lesson.builder()
-                .chapterId(chapter.getId())
-                .build();
-
-        lesson1 = lessonProvider.save(lesson1);
-        lesson2 = lessonProvider.save(lesson2);
-
-        assertThat(lessonProvider.lessonOfId(lesson1.getId())).isPresent();
-        assertThat(lessonProvider.lessonOfId(lesson2.getId())).isPresent();
-
-        CompletedLesson completedLesson1 = new CompletedLesson();
-        completedLesson1.setLessonId(lesson1.getId());
-        completedLesson1.setCompletedAt(LocalDateTime.now());
-        completedLesson1.setEnrollmentId(enrollment.getId());
-
-        enrollment.getCompletedLessons().add(completedLesson1);
-
-        enrollment = dbEnrollmentProvider.save(enrollment);
-
-        Course course2 = new Course();
-        course2 = dbCourseProvider.save(course2);
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCourse(course2);
-        dbEnrollmentProvider.save(enrollment2);
-
-
-        Chapter chapter2 = Chapter.builder()
-                .courseId(course2.getId())
-                .build();
-        chapter2 = dbChapterProvider.save(chapter2);
-
-        Lesson lesson3 = Lesson.builder()
+        //when
+        Lesson lesson1 = lessonProvider.save(Lesson.builder().chapterId(chapter1.getId()).build());
+        List<Lesson> lessons = lessonProvider.saveAll(List.of(
+                Lesson.builder().chapterId(chapter2.getId()).build(),
+                Lesson.builder().chapterId(chapter1.getId()).build()));
+        Lesson otherLesson = lessonProvider.save(Lesson.builder().chapterId(otherChapter.getId()).build());
+
+        Lesson moved = lessonProvider.save(Lesson.builder()
+                .id(lessons.get(1).getId())
+                .title("moved")
                 .chapterId(chapter2.getId())
-                .build();
+                .progressIndex(lessons.get(1).getProgressIndex())
+                .build());
 
-        lesson3 = lessonProvider.save(lesson3);
+        //then
+        assertThat(lesson1.getProgressIndex()).isZero();
+        assertThat(lessons.get(0).getProgressIndex()).isEqualTo(1);
+        assertThat(lessons.get(1).getProgressIndex()).isEqualTo(2);
+        assertThat(moved.getProgressIndex()).isEqualTo(2);
+        assertThat(otherLesson.getProgressIndex()).isZero();
+    }
 
-        assertThat(lessonProvider.lessonOfId(lesson3.getId())).isPresent();
+    @Test
+    void delete_lesson_clears_it_from_the_enrollments_progress() throws ZerofiltreException {
+        //given
+        User author = dbUserProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        Course course = dbCourseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList()));
+        Chapter chapter = dbChapterProvider.save(ZerofiltreUtilsTest.createMockChapter(false, dbChapterProvider, Collections.emptyList(), course.getId()));
+        Lesson lesson1 = lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build());
+        Lesson lesson2 = lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build());
+
+        LessonPosition position1 = lessonProvider.positionOf(lesson1.getId()).orElseThrow();
+        LessonPosition position2 = lessonProvider.positionOf(lesson2.getId()).orElseThrow();
+
+        dbEnrollmentProvider.save(ZerofiltreUtilsTest.createMockEnrollment(false, author, course));
+        EnrollmentProgress progress = dbEnrollmentProvider.progressOf(author.getId(), course.getId()).orElseThrow();
+        progress.markLesson(position1, true);
+        dbEnrollmentProvider.saveProgress(progress, lesson1.getId(), true, progress.getProgressVersion());
+        progress.markLesson(position2, true);
+        dbEnrollmentProvider.saveProgress(progress, lesson2.getId(), true, progress.getProgressVersion());
 
         //when
-        List<Long> response = lessonProvider.listNotCompletedLessons(enrollment.getId());
+        lessonProvider.delete(lesson2);
 
         //then
-        assertThat(response.size()).isOne();
-        assertThat(response.get(0)).isEqualTo(lesson2.getId());
+        EnrollmentProgress updated = dbEnrollmentProvider.progressOf(author.getId(), course.getId()).orElseThrow();
+        assertThat(updated.getProgressVersion()).isEqualTo(3);
+        assertThat(updated.getCompletedCount()).isEqualTo(1);
+        assertThat(updated.hasCompletedLesson(position1)).isTrue();
+        assertThat(updated.hasCompletedLesson(position2)).isFalse();
+        assertThat(dbEnrollmentProvider.enrollmentOf(author.getId(), course.getId(), true).orElseThrow().getCompletedLessons().size()).isOne();
     }
 
     @Test
-    void list_all_lessonId_notCompleted_by_enrollmentId_then_return_nothing() throws ZerofiltreException {
+    void positionOf_gives_the_course_and_the_progress_index_of_the_lesson() {
         //given
-        User author = ZerofiltreUtilsTest.createMockUser(false);
-        author = dbUserProvider.save(author);
-
-        Course course = ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList());
-        course = dbCourseProvider.save(course);
-
-        Chapter chapter = ZerofiltreUtilsTest.createMockChapter(false, dbChapterProvider, Collections.emptyList(), course.getId());
-        chapter = dbChapterProvider.save(chapter);
-
-        Lesson lesson1 = Lesson.builder()
-                .chapterId(chapter.getId())
-                .build();
-
-        Lesson lesson2 = Lesson.builder()
-                .chapterId(chapter.getId())
-                .build();
-
-        lesson1 = lessonProvider.save(lesson1);
-        lesson2 = lessonProvider.save(lesson2);
-
-        assertThat(lessonProvider.lessonOfId(lesson1.getId())).isPresent();
-        assertThat(lessonProvider.lessonOfId(lesson2.getId())).isPresent();
-
-        Enrollment enrollment = ZerofiltreUtilsTest.createMockEnrollment(false, author, course);
-        enrollment = dbEnrollmentProvider.save(enrollment);
-
-        CompletedLesson completedLesson1 = new CompletedLesson();
-        completedLesson1.setLessonId(lesson1.getId());
-        completedLesson1.setCompletedAt(LocalDateTime.now());
-        completedLesson1.setEnrollmentId(enrollment.getId());
-
-        enrollment.getCompletedLessons().add(completedLesson1);
-
-        CompletedLesson completedLesson2 = new CompletedLesson();
-        completedLesson2.setLessonId(lesson2.getId());
-        completedLesson2.setCompletedAt(LocalDateTime.now());
-        completedLesson2.setEnrollmentId(enrollment.getId());
-
-        enrollment.getCompletedLessons().add(completedLesson2);
-
-        enrollment = dbEnrollmentProvider.save(enrollment);
-
-        Course course2 = new Course();
-        course2 = dbCourseProvider.save(course2);
-
-        Enrollment enrollment2 = new Enrollment();
-        enrollment2.setCourse(course2);
-        dbEnrollmentProvider.save(enrollment2);
+        User author = dbUserProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        Course course = dbCourseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList()));
+        Chapter chapter = dbChapterProvider.save(ZerofiltreUtilsTest.createMockChapter(false, dbChapterProvider, Collections.emptyList(), course.getId()));
+        lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build());
+        Lesson lesson = lessonProvider.save(Lesson.builder().chapterId(chapter.getId()).build());
 
+        //when
+        LessonPosition position = lessonProvider.positionOf(lesson.getId()).orElseThrow();
 
-        Chapter chapter2 = Chapter.builder()
-                .courseId(course2.getId())
-                .build();
-        chapter2 = dbChapterProvider.save(chapter2);
+        //then
+        assertThat(position.getCourseId()).isEqualTo(course.getId());
+        assertThat(position.getProgressIndex()).isEqualTo(1);
+        assertThat(lessonProvider.positionOf(lesson.getId() + 1000)).isEmpty();
+    }
 
-        Lesson lesson3 = Lesson.builder()
-                .chapterId(chapter2.getId())
-                .build();
+    @Test
+    void accessOf_gives_the_lesson_with_its_course_status_author_owning_company_and_the_active_enrollment() throws ZerofiltreException {
+        //given
+        User author = dbUserProvider.save(ZerofiltreUtilsTest.createMockUser(false));
+        User learner = ZerofiltreUtilsTest.createMockUser(false);
+        learner.setEmail("learner@zerofiltre.tech");
+        learner.setPseudoName("learner");
+        learner = dbUserProvider.save(learner);
 
-        lesson3 = lessonProvider.save(lesson3);
+        Course course = dbCourseProvider.save(ZerofiltreUtilsTest.createMockCourse(false, Status.PUBLISHED, author, Collections.emptyList(), Collections.emptyList()));
+        Chapter chapter = dbChapterProvider.save(ZerofiltreUtilsTest.createMockChapter(false, dbChapterProvider, Collections.emptyList(), course.getId()));
+        Lesson lesson = lessonProvider.save(Lesson.builder().title("title").content("content").chapterId(chapter.getId()).build());
 
-        assertThat(lessonProvider.lessonOfId(lesson3.getId())).isPresent();
+        dbEnrollmentProvider.save(ZerofiltreUtilsTest.createMockEnrollment(false, learner, course));
+        companyCourseJPARepository.save(new LinkCompanyCourseJPA(12, course.getId(), true, true, LocalDateTime.now(), null));
 
         //when
-        List<Long> response = lessonProvider.listNotCompletedLessons(enrollment.getId());
+        Optional<LessonAccess> learnerAccess = lessonProvider.accessOf(lesson.getId(), learner.getId());
+        Optional<LessonAccess> authorAccess = lessonProvider.accessOf(lesson.getId(), author.getId());
 
         //then
-        assertThat(response.size()).isZero();
+        assertThat(learnerAccess).isPresent();
+        assertThat(learnerAccess.get().getLesson().getTitle()).isEqualTo("title");
+        assertThat(learnerAccess.get().getCourseStatus()).isEqualTo(Status.PUBLISHED);
+        assertThat(learnerAccess.get().getAuthorId()).isEqualTo(author.getId());
+        assertThat(learnerAccess.get().getOwningCompanyId()).isEqualTo(12L);
+        assertThat(learnerAccess.get().isEnrolled()).isTrue();
+        assertThat(authorAccess).isPresent();
+        assertThat(authorAccess.get().isEnrolled()).isFalse();
     }
+
+    @Test
+    void accessOf_is_empty_when_the_lesson_does_not_exist() {
+        assertThat(lessonProvider.accessOf(999, 1)).isEmpty();
+    }
+
 }
@@ -4,8 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.course.model.Section;
-import tech.zerofiltre.blog.infra.providers.database.user.UserJPARepository;
 import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
 
 import java.util.Optional;
@@ -15,20 +15,21 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 @DataJpaTest
 class DBSectionProviderIT {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private DBSectionProvider sectionProvider;
     private DBCourseProvider courseProvider;
     @Autowired
     private SectionJPARepository sectionJPARepository;
     @Autowired
     private CourseJPARepository courseJPARepository;
-    @Autowired
-    private UserJPARepository userJPARepository;
 
 
     @BeforeEach
     void init() {
         sectionProvider = new DBSectionProvider(sectionJPARepository);
-        courseProvider = new DBCourseProvider(courseJPARepository, userJPARepository);
+        courseProvider = new DBCourseProvider(courseJPARepository, eventPublisher);
     }
 
     @Test
@@ -0,0 +1,130 @@
+package tech.zerofiltre.blog.infra.providers.database.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(MailOutbox.class)
+class MailOutboxIT {
+
+    @Autowired
+    MailOutbox outbox;
+
+    @Autowired
+    MailOutboxJPARepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void enqueueOnce_queuesAnEmailOnce_perIdempotencyKey_inItsOwnTransaction() {
+        boolean first = outbox.enqueueOnce(mail("key"));
+        boolean second = outbox.enqueueOnce(mail("key"));
+
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(repository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void enqueue_queuesAnEmailOnce_perIdempotencyKey() {
+        boolean first = outbox.enqueue(mail("key"));
+        boolean second = outbox.enqueue(mail("key"));
+
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        List<MailOutboxJPA> mails = repository.findAll();
+        assertThat(mails).hasSize(1);
+        assertThat(mails.get(0).getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void claimDue_claimsAnEmailOnlyOnce() {
+        outbox.enqueue(mail("key"));
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(5);
+
+        List<MailOutboxJPA> first = outbox.claimDue(10, staleBefore);
+        List<MailOutboxJPA> second = outbox.claimDue(10, staleBefore);
+
+        assertThat(first).hasSize(1);
+        assertThat(first.get(0).getStatus()).isEqualTo(Status.SENDING);
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    void claimDue_takesOverAStaleClaim() {
+        outbox.enqueue(mail("key"));
+        outbox.claimDue(10, LocalDateTime.now().minusMinutes(5));
+
+        List<MailOutboxJPA> claimed = outbox.claimDue(10, LocalDateTime.now().plusMinutes(1));
+
+        assertThat(claimed).hasSize(1);
+    }
+
+    @Test
+    void retry_makesTheEmailDueAgain_atTheNextAttempt() {
+        outbox.enqueue(mail("key"));
+        MailOutboxJPA claimed = outbox.claimDue(10, LocalDateTime.now().minusMinutes(5)).get(0);
+
+        outbox.retry(claimed.getId(), 1, LocalDateTime.now().plusHours(1), "connection refused");
+
+        assertThat(outbox.claimDue(10, LocalDateTime.now().minusMinutes(5))).isEmpty();
+        MailOutboxJPA retried = repository.findById(claimed.getId()).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isEqualTo("connection refused");
+        assertThat(outbox.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void markDead_keepsTheEmail_outOfTheQueue() {
+        outbox.enqueue(mail("key"));
+        MailOutboxJPA claimed = outbox.claimDue(10, LocalDateTime.now().minusMinutes(5)).get(0);
+
+        outbox.markDead(claimed.getId(), 6, "mailbox unavailable");
+
+        assertThat(outbox.claimDue(10, LocalDateTime.now().plusMinutes(1))).isEmpty();
+        assertThat(repository.findById(claimed.getId()).orElseThrow().getStatus()).isEqualTo(Status.DEAD);
+        assertThat(outbox.pendingCount()).isZero();
+    }
+
+    @Test
+    void purgeSentBefore_deletesOnlyTheEmailsSentBeforeTheCutoff() {
+        outbox.enqueue(mail("sent"));
+        outbox.enqueue(mail("pending"));
+        MailOutboxJPA claimed = outbox.claimDue(1, LocalDateTime.now().minusMinutes(5)).get(0);
+        outbox.markSent(claimed.getId());
+
+        int purged = outbox.purgeSentBefore(LocalDateTime.now().plusMinutes(1));
+
+        assertThat(purged).isEqualTo(1);
+        List<MailOutboxJPA> mails = repository.findAll();
+        assertThat(mails).hasSize(1);
+        assertThat(mails.get(0).getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    private MailOutboxJPA mail(String idempotencyKey) {
+        MailOutboxJPA mail = new MailOutboxJPA();
+        mail.setIdempotencyKey(idempotencyKey);
+        mail.setRecipients("learner@zerofiltre.tech");
+        mail.setSubject("subject");
+        mail.setContent("content");
+        mail.setReplyTo("info@zerofiltre.tech");
+        return mail;
+    }
+}
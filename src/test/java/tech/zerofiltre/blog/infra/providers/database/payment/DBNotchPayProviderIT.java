@@ -0,0 +1,90 @@
+package tech.zerofiltre.blog.infra.providers.database.payment;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import tech.zerofiltre.blog.domain.payment.model.Payment;
+import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.infra.providers.database.user.DBUserProvider;
+import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({DBNotchPayProvider.class, DBUserProvider.class})
+class DBNotchPayProviderIT {
+
+    @Autowired
+    DBNotchPayProvider dbNotchPayProvider;
+
+    @Autowired
+    DBUserProvider userProvider;
+
+    @Test
+    void dueRenewals_givesTheCompletedPaymentsOfTheProUsers_renewingBetweenTheDates() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        User dueUser = user("due", User.Plan.PRO);
+        User renewedUser = user("renewed", User.Plan.PRO);
+        User basicUser = user("basic", User.Plan.BASIC);
+        User lapsedUser = user("lapsed", User.Plan.PRO);
+
+        Payment dueMonthly = save(dueUser, now.minusDays(27), Payment.MONTH, Payment.COMPLETED);
+        Payment dueYearly = save(dueUser, now.minusDays(367), Payment.YEAR, Payment.COMPLETED);
+        save(dueUser, now.minusDays(1), Payment.MONTH, Payment.INITIALIZED);
+        save(renewedUser, now.minusDays(40), Payment.MONTH, Payment.COMPLETED);
+        save(renewedUser, now.minusDays(100), Payment.YEAR, Payment.COMPLETED);
+        save(basicUser, now.minusDays(40), Payment.MONTH, Payment.COMPLETED);
+        save(lapsedUser, now.minusDays(100), Payment.MONTH, Payment.COMPLETED);
+        save(lapsedUser, now.minusDays(500), Payment.YEAR, Payment.COMPLETED);
+
+        //when
+        List<Payment> dueRenewals = dbNotchPayProvider.dueRenewals(now.minusDays(7), now.plusDays(5));
+
+        //then
+        assertThat(dueRenewals).extracting(Payment::getReference)
+                .containsExactlyInAnyOrder(dueMonthly.getReference(), dueYearly.getReference());
+        assertThat(dueRenewals).allSatisfy(payment -> assertThat(payment.getUser().getId()).isEqualTo(dueUser.getId()));
+    }
+
+    @Test
+    void overdueRenewals_givesTheCompletedPaymentsOfTheProUsers_renewedBeforeTheDate() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        User overdueUser = user("overdue", User.Plan.PRO);
+        User dueUser = user("due", User.Plan.PRO);
+
+        Payment overdueMonthly = save(overdueUser, now.minusDays(100), Payment.MONTH, Payment.COMPLETED);
+        save(dueUser, now.minusDays(100), Payment.MONTH, Payment.COMPLETED);
+        save(dueUser, now.minusDays(33), Payment.MONTH, Payment.COMPLETED);
+
+        //when
+        List<Payment> overdueRenewals = dbNotchPayProvider.overdueRenewals(now.minusDays(7));
+
+        //then
+        assertThat(overdueRenewals).extracting(Payment::getReference).containsExactly(overdueMonthly.getReference());
+    }
+
+    private User user(String name, User.Plan plan) {
+        User user = ZerofiltreUtilsTest.createMockUser(false);
+        user.setEmail(name + "@zerofiltre.tech");
+        user.setPseudoName(name);
+        user.setPlan(plan);
+        return userProvider.save(user);
+    }
+
+    private Payment save(User user, LocalDateTime at, String recurringInterval, String status) {
+        Payment payment = new Payment();
+        payment.setUser(user);
+        payment.setReference(UUID.randomUUID().toString());
+        payment.setAt(at);
+        payment.setRecurringInterval(recurringInterval);
+        payment.setStatus(status);
+        return dbNotchPayProvider.save(payment);
+    }
+}
@@ -0,0 +1,52 @@
+package tech.zerofiltre.blog.infra.providers.database.payment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(RenewalReminders.class)
+class RenewalRemindersIT {
+
+    public static final long USER_ID = 12;
+    public static final LocalDateTime RENEW_AT = LocalDateTime.of(2026, 10, 20, 10, 0);
+
+    @Autowired
+    RenewalReminders renewalReminders;
+
+    @Autowired
+    RenewalReminderJPARepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void record_recordsAReminderOnlyOnce() {
+        assertThat(renewalReminders.record(USER_ID, RENEW_AT, 3)).isTrue();
+        assertThat(renewalReminders.record(USER_ID, RENEW_AT, 3)).isFalse();
+
+        assertThat(renewalReminders.record(USER_ID, RENEW_AT, 2)).isTrue();
+        assertThat(renewalReminders.record(USER_ID, RENEW_AT.plusDays(30), 3)).isTrue();
+        assertThat(repository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void release_letsTheReminderBeRecordedAgain() {
+        renewalReminders.record(USER_ID, RENEW_AT, 3);
+
+        renewalReminders.release(USER_ID, RENEW_AT, 3);
+
+        assertThat(renewalReminders.record(USER_ID, RENEW_AT, 3)).isTrue();
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import tech.zerofiltre.blog.domain.article.model.Status;
 import tech.zerofiltre.blog.domain.course.model.Course;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
@@ -27,6 +28,9 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 @ExtendWith(MockitoExtension.class)
 class DBPurchaseProviderTest {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private PurchaseJPARepository purchaseRepository;
 
@@ -43,8 +47,8 @@ class DBPurchaseProviderTest {
 
     @BeforeEach
     public void setup() {
-        DBCourseProvider courseProvider = new DBCourseProvider(courseRepository, null);
-        DBUserProvider userProvider = new DBUserProvider(userRepository);
+        DBCourseProvider courseProvider = new DBCourseProvider(courseRepository, eventPublisher);
+        DBUserProvider userProvider = new DBUserProvider(userRepository, eventPublisher);
         dbPurchaseProvider = new DBPurchaseProvider(purchaseRepository);
 
         user = ZerofiltreUtilsTest.createMockUser(false);
@@ -0,0 +1,161 @@
+package tech.zerofiltre.blog.infra.providers.database.sandbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Operation;
+import tech.zerofiltre.blog.infra.providers.database.sandbox.model.SandboxRequestJPA.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SandboxRequestQueue.class)
+class SandboxRequestQueueIT {
+
+    public static final String EMAIL = "learner@zerofiltre.tech";
+    public static final String FULL_NAME = "Learner";
+
+    @Autowired
+    SandboxRequestQueue queue;
+
+    @Autowired
+    SandboxRequestJPARepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void enqueue_keepsASingleRequest_forRepeatedRequestsOfTheSameUser() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+
+        List<SandboxRequestJPA> requests = repository.findAll();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void enqueue_replacesThePendingRequest_whenTheUserIntentIsReversed() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        queue.enqueue(Operation.DESTROY, FULL_NAME, EMAIL);
+
+        List<SandboxRequestJPA> requests = repository.findAll();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getOperation()).isEqualTo(Operation.DESTROY);
+    }
+
+    @Test
+    void enqueue_dropsTheRequest_whenTheSameOperationIsRunning() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        queue.claimDue(10, LocalDateTime.now().minusMinutes(10));
+
+        queue.enqueue(Operation.DESTROY, FULL_NAME, EMAIL);
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+
+        List<SandboxRequestJPA> requests = repository.findAll();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void claimDue_claimsARequestOnce_andAgainOnlyWhenItsClaimIsStale() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+
+        List<SandboxRequestJPA> firstClaim = queue.claimDue(10, LocalDateTime.now().minusMinutes(10));
+        List<SandboxRequestJPA> secondClaim = queue.claimDue(10, LocalDateTime.now().minusMinutes(10));
+        List<SandboxRequestJPA> claimAfterTimeout = queue.claimDue(10, LocalDateTime.now().plusMinutes(1));
+
+        assertThat(firstClaim).hasSize(1);
+        assertThat(secondClaim).isEmpty();
+        assertThat(claimAfterTimeout).hasSize(1);
+    }
+
+    @Test
+    void complete_leavesTheRequest_toItsLatestClaim() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        SandboxRequestJPA staleClaim = queue.claimDue(10, LocalDateTime.now().minusMinutes(10)).get(0);
+        SandboxRequestJPA latestClaim = queue.claimDue(10, LocalDateTime.now().plusMinutes(1)).get(0);
+
+        assertThat(queue.complete(staleClaim)).isFalse();
+        assertThat(repository.count()).isEqualTo(1);
+
+        assertThat(queue.complete(latestClaim)).isTrue();
+        assertThat(repository.count()).isZero();
+        assertThat(queue.complete(staleClaim)).isFalse();
+    }
+
+    @Test
+    void claimDue_skipsRequests_waitingForTheirRetry() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        SandboxRequestJPA request = queue.claimDue(10, LocalDateTime.now().minusMinutes(10)).get(0);
+
+        queue.retry(request.getId(), 1, LocalDateTime.now().plusMinutes(5), "provisioner unavailable");
+
+        assertThat(queue.claimDue(10, LocalDateTime.now().minusMinutes(10))).isEmpty();
+        assertThat(queue.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void claimDue_skipsTheRequestsOfAUser_whileAnotherOfTheirRequestsIsRunning() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        SandboxRequestJPA running = queue.claimDue(10, LocalDateTime.now().minusMinutes(10)).get(0);
+        queue.enqueue(Operation.DESTROY, FULL_NAME, EMAIL);
+
+        assertThat(queue.claimDue(10, LocalDateTime.now().minusMinutes(10))).isEmpty();
+
+        queue.complete(running);
+        List<SandboxRequestJPA> claimed = queue.claimDue(10, LocalDateTime.now().minusMinutes(10));
+        assertThat(claimed).hasSize(1);
+        assertThat(claimed.get(0).getOperation()).isEqualTo(Operation.DESTROY);
+    }
+
+    @Test
+    void retry_dropsTheRequest_whenALaterRequestOfTheUserIsPending() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        SandboxRequestJPA running = queue.claimDue(10, LocalDateTime.now().minusMinutes(10)).get(0);
+        queue.enqueue(Operation.DESTROY, FULL_NAME, EMAIL);
+
+        queue.retry(running.getId(), 1, LocalDateTime.now(), "provisioner unavailable");
+
+        List<SandboxRequestJPA> requests = repository.findAll();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getOperation()).isEqualTo(Operation.DESTROY);
+        assertThat(requests.get(0).getPendingEmail()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    void aUserHasAtMostOnePendingRequest() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+
+        assertThatThrownBy(() -> repository.saveAndFlush(new SandboxRequestJPA(Operation.DESTROY, FULL_NAME, EMAIL, LocalDateTime.now())))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void complete_removesTheRequest_andFail_keepsIt() {
+        queue.enqueue(Operation.CREATE, FULL_NAME, EMAIL);
+        queue.enqueue(Operation.CREATE, FULL_NAME, "other@zerofiltre.tech");
+        List<SandboxRequestJPA> claimed = queue.claimDue(10, LocalDateTime.now().minusMinutes(10));
+
+        queue.complete(claimed.get(0));
+        queue.fail(claimed.get(1).getId(), 5, "provisioner unavailable");
+
+        List<SandboxRequestJPA> requests = repository.findAll();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getStatus()).isEqualTo(Status.FAILED);
+        assertThat(requests.get(0).getAttempts()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,87 @@
+package tech.zerofiltre.blog.infra.providers.database.task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import tech.zerofiltre.blog.infra.providers.database.task.model.DelayedTaskJPA;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(DelayedTaskStore.class)
+class DelayedTaskStoreIT {
+
+    public static final String TYPE = "checkout-reminder";
+    public static final String KEY = "12";
+
+    @Autowired
+    DelayedTaskStore store;
+
+    @Autowired
+    DelayedTaskJPARepository repository;
+
+    @Test
+    void schedule_movesTheExistingTask_ofTheSameTypeAndKey() {
+        LocalDateTime now = LocalDateTime.now();
+        store.schedule(TYPE, KEY, "{}", now.plusMinutes(5));
+
+        store.schedule(TYPE, KEY, "{\"language\":\"en\"}", now.plusMinutes(10));
+
+        List<DelayedTaskJPA> tasks = repository.findAll();
+        assertThat(tasks).hasSize(1);
+        assertThat(tasks.get(0).getDueAt()).isEqualTo(now.plusMinutes(10));
+        assertThat(tasks.get(0).getPayload()).isEqualTo("{\"language\":\"en\"}");
+    }
+
+    @Test
+    void cancel_removesTheTask() {
+        store.schedule(TYPE, KEY, "{}", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(store.cancel(TYPE, KEY)).isTrue();
+        assertThat(store.cancel(TYPE, KEY)).isFalse();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void claim_succeedsOnce_andOnlyForDueTasks() {
+        LocalDateTime now = LocalDateTime.now();
+        long dueId = store.schedule(TYPE, KEY, "{}", now.minusSeconds(1)).getId();
+        long laterId = store.schedule(TYPE, "13", "{}", now.plusMinutes(5)).getId();
+
+        Optional<DelayedTaskJPA> claimed = store.claim(dueId, now, now.minusMinutes(5));
+
+        assertThat(claimed).isPresent();
+        assertThat(claimed.get().getAttempts()).isOne();
+        assertThat(store.claim(dueId, now, now.minusMinutes(5))).isEmpty();
+        assertThat(store.claim(laterId, now, now.minusMinutes(5))).isEmpty();
+    }
+
+    @Test
+    void complete_keepsTheTask_whenItWasScheduledAgainWhileRunning() {
+        LocalDateTime now = LocalDateTime.now();
+        long id = store.schedule(TYPE, KEY, "{}", now.minusSeconds(1)).getId();
+        DelayedTaskJPA claimed = store.claim(id, now, now.minusMinutes(5)).orElseThrow();
+
+        store.schedule(TYPE, KEY, "{}", now.plusMinutes(5));
+        store.complete(claimed);
+
+        assertThat(repository.count()).isOne();
+    }
+
+    @Test
+    void retry_releasesTheClaim_andMovesTheTask() {
+        LocalDateTime now = LocalDateTime.now();
+        long id = store.schedule(TYPE, KEY, "{}", now.minusSeconds(1)).getId();
+        DelayedTaskJPA claimed = store.claim(id, now, now.minusMinutes(5)).orElseThrow();
+
+        store.retry(claimed, now.plusMinutes(5));
+
+        assertThat(store.dueBefore(now.plusMinutes(1), now.minusMinutes(5), 10)).isEmpty();
+        assertThat(store.dueBefore(now.plusMinutes(6), now.minusMinutes(5), 10)).hasSize(1);
+    }
+}
@@ -5,19 +5,28 @@ import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
 import tech.zerofiltre.blog.domain.user.model.SocialLink;
 import tech.zerofiltre.blog.domain.user.model.User;
+import tech.zerofiltre.blog.domain.user.model.VerificationToken;
 import tech.zerofiltre.blog.infra.providers.database.user.mapper.UserJPAMapper;
 import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
 import tech.zerofiltre.blog.infra.providers.database.user.model.UserJPA;
 import tech.zerofiltre.blog.util.ZerofiltreUtilsTest;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DataJpaTest
+@RecordApplicationEvents
 class DBUserProviderIT {
 
     public static final String TOKEN = "token";
@@ -29,14 +38,37 @@ class DBUserProviderIT {
     UserJPARepository userJPARepository;
     @Autowired
     VerificationTokenJPARepository verificationTokenJPARepository;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ApplicationEvents applicationEvents;
 
     DBVerificationTokenProvider tokenProvider;
     UserJPAMapper mapper = Mappers.getMapper(UserJPAMapper.class);
 
     @BeforeEach
     void init() {
-        provider = new DBUserProvider(userJPARepository);
-        tokenProvider = new DBVerificationTokenProvider(verificationTokenJPARepository);
+        provider = new DBUserProvider(userJPARepository, eventPublisher);
+        tokenProvider = new DBVerificationTokenProvider(verificationTokenJPARepository, jdbcTemplate);
+        ReflectionTestUtils.setField(tokenProvider, "expiration", 604800);
+        ReflectionTestUtils.setField(tokenProvider, "reuseMinValidity", 86400);
+    }
+
+    @Test
+    void saveAndDelete_publishTheChangedUserId() {
+        //ARRANGE
+        User user = provider.save(ZerofiltreUtilsTest.createMockUser(false));
+
+        //ACT
+        provider.deleteUser(user);
+
+        //ASSERT
+        List<Long> changedUserIds = applicationEvents.stream(UserChangedEvent.class)
+                .map(UserChangedEvent::getUserId)
+                .collect(Collectors.toList());
+        assertThat(changedUserIds).isEqualTo(List.of(user.getId(), user.getId()));
     }
 
     @Test
@@ -118,7 +150,7 @@ class DBUserProviderIT {
         userJPARepository.save(mapper.toJPA(user3));
 
         //WHEN
-        List<UserForBroadcast> allEmails = provider.allUsersForBroadcast();
+        List<UserForBroadcast> allEmails = provider.streamUsersForBroadcast(1).collect(Collectors.toList());
 
         //THEN
         assertThat(allEmails.size()).isEqualTo(2);
@@ -134,4 +166,67 @@ class DBUserProviderIT {
         assertThat(allEmails.get(1).getFullName()).isEqualTo(user3.getFullName());
     }
 
-}
\ No newline at end of file
+    @Test
+    void usersForBroadcast_pagesTheSubscribedUsers_inTheOrderOfTheirIds() {
+        //GIVEN
+        List<Long> subscribedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setEmail("u" + i + "@a.a");
+            user.setSubscribedToBroadcast(i != 2);
+            long id = userJPARepository.save(mapper.toJPA(user)).getId();
+            if (i != 2) subscribedIds.add(id);
+        }
+
+        //WHEN
+        List<UserForBroadcast> firstPage = provider.usersForBroadcast(0, 3);
+        List<UserForBroadcast> secondPage = provider.usersForBroadcast(firstPage.get(firstPage.size() - 1).getId(), 3);
+
+        //THEN
+        assertThat(firstPage.stream().map(UserForBroadcast::getId).collect(Collectors.toList())).isEqualTo(subscribedIds.subList(0, 3));
+        assertThat(secondPage.stream().map(UserForBroadcast::getId).collect(Collectors.toList())).isEqualTo(subscribedIds.subList(3, 4));
+    }
+
+    @Test
+    void streamNonActiveUsers_readsTheNonActiveUsersPageByPage_inTheOrderOfTheirIds() {
+        //GIVEN
+        List<Long> nonActiveIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setEmail("n" + i + "@a.a");
+            user.setActive(i == 2);
+            long id = userJPARepository.save(mapper.toJPA(user)).getId();
+            if (i != 2) nonActiveIds.add(id);
+        }
+
+        //WHEN
+        List<Long> streamedIds = provider.streamNonActiveUsers(3).map(UserForBroadcast::getId).collect(Collectors.toList());
+
+        //THEN
+        assertThat(streamedIds).isEqualTo(nonActiveIds);
+    }
+
+    @Test
+    void generateTokens_savesTheNewTokens_andReusesThemOnTheNextRun() {
+        //GIVEN
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setEmail("t" + i + "@a.a");
+            user.setId(userJPARepository.save(mapper.toJPA(user)).getId());
+            users.add(user);
+        }
+
+        //WHEN
+        List<VerificationToken> firstRun = tokenProvider.generate(users);
+        List<VerificationToken> secondRun = tokenProvider.generate(users);
+
+        //THEN
+        assertThat(verificationTokenJPARepository.count()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(secondRun.get(i).getToken()).isEqualTo(firstRun.get(i).getToken());
+            assertThat(verificationTokenJPARepository.findByToken(firstRun.get(i).getToken()).get().getUser().getId()).isEqualTo(users.get(i).getId());
+        }
+    }
+
+}
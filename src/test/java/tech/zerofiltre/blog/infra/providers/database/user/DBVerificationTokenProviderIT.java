@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.*;
 import org.springframework.beans.factory.annotation.*;
 import org.springframework.boot.test.mock.mockito.*;
 import org.springframework.context.annotation.*;
+import org.springframework.jdbc.core.*;
 import org.springframework.test.context.*;
 import org.springframework.test.context.junit.jupiter.*;
 import tech.zerofiltre.blog.domain.user.model.*;
@@ -28,6 +29,9 @@ class DBVerificationTokenProviderIT {
     @MockBean
     VerificationTokenJPARepository repository;
 
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         when(repository.findByUser(any())).thenReturn(Optional.empty());
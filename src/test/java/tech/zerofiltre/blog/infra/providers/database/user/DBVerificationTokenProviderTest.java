@@ -4,6 +4,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.*;
 import org.mockito.*;
 import org.springframework.boot.test.mock.mockito.*;
+import org.springframework.jdbc.core.*;
 import org.springframework.test.context.junit.jupiter.*;
 import org.springframework.test.util.*;
 import tech.zerofiltre.blog.domain.user.model.*;
@@ -13,6 +14,7 @@ import java.time.*;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
@@ -24,12 +26,16 @@ class DBVerificationTokenProviderTest {
     @MockBean
     VerificationTokenJPARepository repository;
 
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
     User user = new User();
 
     @BeforeEach
     void init() {
-        provider = new DBVerificationTokenProvider(repository);
+        provider = new DBVerificationTokenProvider(repository, jdbcTemplate);
         ReflectionTestUtils.setField(provider,"expiration",604800);
+        ReflectionTestUtils.setField(provider,"reuseMinValidity",86400);
     }
 
     @Test
@@ -105,4 +111,48 @@ class DBVerificationTokenProviderTest {
         assertThat(expiryDate).isBeforeOrEqualTo(afterSavePlus7d);
         assertThat(expiryDate).isAfterOrEqualTo(beforeSavePlus7d);
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateTokens_reusesTheValidTokens_andSavesTheOthersInOneBatchPerStatement() {
+        //ARRANGE
+        User withValidToken = userOfId(1);
+        User withExpiredToken = userOfId(2);
+        User withoutToken = userOfId(3);
+        VerificationTokenJPA validToken = tokenOf(withValidToken, 11, TOKEN, LocalDateTime.now().plusDays(3));
+        VerificationTokenJPA expiredToken = tokenOf(withExpiredToken, 12, "EXPIRED", LocalDateTime.now().minusHours(1));
+        when(repository.findByUserIds(List.of(1L, 2L, 3L))).thenReturn(List.of(validToken, expiredToken));
+
+        //ACT
+        List<VerificationToken> tokens = provider.generate(List.of(withValidToken, withExpiredToken, withoutToken));
+
+        //ASSERT
+        assertThat(tokens).extracting(token -> token.getUser().getId()).containsExactly(1L, 2L, 3L);
+        assertThat(tokens.get(0).getToken()).isEqualTo(TOKEN);
+        assertThat(tokens.get(1).getToken()).isNotEqualTo("EXPIRED");
+        assertThat(tokens.get(1).getExpiryDate()).isAfter(LocalDateTime.now().plusDays(6));
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(DBVerificationTokenProvider.INSERT_TOKEN), inserts.capture());
+        verify(jdbcTemplate).batchUpdate(eq(DBVerificationTokenProvider.UPDATE_TOKEN), updates.capture());
+        assertThat(inserts.getValue()).hasSize(1);
+        assertThat(inserts.getValue().get(0)[1]).isEqualTo(3L);
+        assertThat(updates.getValue()).hasSize(1);
+        assertThat(updates.getValue().get(0)[2]).isEqualTo(12L);
+        verify(repository, never()).save(any());
+    }
+
+    private User userOfId(long id) {
+        User result = new User();
+        result.setId(id);
+        return result;
+    }
+
+    private VerificationTokenJPA tokenOf(User owner, long id, String token, LocalDateTime expiryDate) {
+        UserJPA userJPA = new UserJPA();
+        userJPA.setId(owner.getId());
+        VerificationTokenJPA verificationToken = new VerificationTokenJPA(token, userJPA, expiryDate);
+        verificationToken.setId(id);
+        return verificationToken;
+    }
+}
@@ -0,0 +1,72 @@
+package tech.zerofiltre.blog.infra.providers.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.zerofiltre.blog.domain.metrics.model.CounterSpecs;
+import tech.zerofiltre.blog.infra.InfraProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.zerofiltre.blog.domain.metrics.model.CounterSpecs.ZEROFILTRE_ARTICLE_VIEWS;
+
+class SimpleMetricsProviderTest {
+
+    public static final int MAX_SERIES = 2;
+
+    SimpleMeterRegistry meterRegistry;
+    SimpleMetricsProvider metricsProvider;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setMetricsMaxSeriesPerCounter(MAX_SERIES);
+        metricsProvider = new SimpleMetricsProvider(meterRegistry, infraProperties);
+    }
+
+    @Test
+    void incrementCounter_reusesTheCounterOfTheSameTags() {
+        //when
+        metricsProvider.incrementCounter(specs("status", "PUBLISHED"));
+        metricsProvider.incrementCounter(specs("status", "PUBLISHED"));
+
+        //then
+        assertThat(meterRegistry.get(ZEROFILTRE_ARTICLE_VIEWS).tag("status", "PUBLISHED").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ZEROFILTRE_ARTICLE_VIEWS).counters()).hasSize(1);
+    }
+
+    @Test
+    void incrementCounter_collapsesTheTagValues_beyondTheMaxSeries() {
+        //when
+        metricsProvider.incrementCounter(specs("status", "PUBLISHED"));
+        metricsProvider.incrementCounter(specs("status", "DRAFT"));
+        metricsProvider.incrementCounter(specs("status", "IN_REVIEW"));
+        metricsProvider.incrementCounter(specs("status", "ARCHIVED"));
+        metricsProvider.incrementCounter(specs("status", "PUBLISHED"));
+
+        //then
+        assertThat(meterRegistry.get(ZEROFILTRE_ARTICLE_VIEWS).counters()).hasSize(MAX_SERIES + 1);
+        assertThat(meterRegistry.get(ZEROFILTRE_ARTICLE_VIEWS).tag("status", SimpleMetricsProvider.OTHER_VALUE).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ZEROFILTRE_ARTICLE_VIEWS).tag("status", "PUBLISHED").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void incrementCounter_countsWithoutTags() {
+        //given
+        CounterSpecs specs = new CounterSpecs();
+        specs.setName(ZEROFILTRE_ARTICLE_VIEWS);
+
+        //when
+        metricsProvider.incrementCounter(specs);
+
+        //then
+        assertThat(meterRegistry.get(ZEROFILTRE_ARTICLE_VIEWS).counter().count()).isEqualTo(1);
+    }
+
+    private CounterSpecs specs(String... tags) {
+        CounterSpecs specs = new CounterSpecs();
+        specs.setName(ZEROFILTRE_ARTICLE_VIEWS);
+        specs.setTags(tags);
+        return specs;
+    }
+}
@@ -1,26 +1,34 @@
 package tech.zerofiltre.blog.infra.providers.notification.user;
 
-import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
+import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.infra.InfraProperties;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.CheckoutStartedEvent;
+import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
+import tech.zerofiltre.blog.infra.scheduling.DelayedTask;
+import tech.zerofiltre.blog.infra.scheduling.DelayedTaskScheduler;
 
+import java.time.Duration;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.zerofiltre.blog.infra.providers.notification.user.CheckoutStartedEventListener.CHECKOUT_REMINDER;
 
 @ExtendWith(MockitoExtension.class)
 class CheckoutStartedEventListenerTest {
@@ -31,6 +39,10 @@ class CheckoutStartedEventListenerTest {
     ZerofiltreEmailSender mailSender;
     @Mock
     ITemplateEngine emailTemplateEngine;
+    @Mock
+    DelayedTaskScheduler scheduler;
+    @Mock
+    UserProvider userProvider;
 
     @Mock
     InfraProperties infraProperties;
@@ -42,9 +54,8 @@ class CheckoutStartedEventListenerTest {
     void setUp() {
 
         lenient().when(infraProperties.getCheckoutReminderDelayMs()).thenReturn(86400000L);
-        lenient().when(infraProperties.getCheckoutReminderCheckFrequencyMs()).thenReturn(3600000L);
 
-        eventListener = new CheckoutStartedEventListener(messageSource, mailSender, emailTemplateEngine, infraProperties);
+        eventListener = new CheckoutStartedEventListener(messageSource, mailSender, emailTemplateEngine, scheduler, userProvider, infraProperties);
 
         lenient().when(emailTemplateEngine.process(anyString(), any(Context.class))).thenReturn("<a href=zerofiltre.tech>Home</a>");
         lenient().when(messageSource.getMessage(any(), any(), any())).thenReturn("message");
@@ -53,9 +64,10 @@ class CheckoutStartedEventListenerTest {
     }
 
     @Test
-    void onCheckout_addEvent_ForFutureNotification() {
+    void onCheckout_schedulesTheReminder_ofTheUser() {
         //ARRANGE
         User user = new User();
+        user.setId(12);
         user.setFullName("tester");
         CheckoutStartedEvent event = new CheckoutStartedEvent(
                 user,
@@ -66,71 +78,56 @@ class CheckoutStartedEventListenerTest {
         eventListener.onApplicationEvent(event);
 
         //ASSERT
-        Assertions.assertThat(eventListener.getEvents().size()).isOne();
+        verify(scheduler).schedule(CHECKOUT_REMINDER, "12", Duration.ofDays(1), Map.of("language", "fr-FR", "appUrl", "appUrl"));
     }
 
     @Test
-    void doNotHandleEvent_ifItIs_NotYet_TheTime() {
+    void handle_remindsTheUser_ofTheTask() {
         //ARRANGE
         User user = new User();
+        user.setId(12);
         user.setFullName("tester");
-        CheckoutStartedEvent event = new CheckoutStartedEvent(
-                user,
-                Locale.FRANCE,
-                "appUrl");
-
-        long _5HoursAgo = System.currentTimeMillis() - 5 * 3600 * 1000;
-        ReflectionTestUtils.setField(event, "timestamp", _5HoursAgo);
+        user.setEmail("test.user@zerofiltre.tech");
+        when(userProvider.userOfId(12)).thenReturn(Optional.of(user));
 
         //ACT
-        eventListener.onApplicationEvent(event);
-        eventListener.handleEventIfNeeded();
+        eventListener.handle(new DelayedTask(CHECKOUT_REMINDER, "12", Map.of("language", "fr-FR", "appUrl", "appUrl"), 1));
 
         //ASSERT
-        verify(mailSender, Mockito.times(0)).send(any(), anyBoolean());
-
+        ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
+        verify(mailSender).send(captor.capture(), anyBoolean());
+        assertThat(captor.getValue().getRecipients()).containsExactly("test.user@zerofiltre.tech");
     }
 
     @Test
-    @Disabled("Random Failure")
-    void handleEvent_ifIts_Time() {
+    void handle_remindsTheUser_onItsPaymentEmail_whenItsEmailIsInvalid() {
         //ARRANGE
         User user = new User();
+        user.setId(12);
         user.setFullName("tester");
-        user.setEmail("test.user@zerofiltre.tech");
-        CheckoutStartedEvent event = new CheckoutStartedEvent(
-                user,
-                Locale.FRANCE,
-                "appUrl");
+        user.setEmail("tester");
+        user.setPaymentEmail("test.user@zerofiltre.tech");
+        when(userProvider.userOfId(12)).thenReturn(Optional.of(user));
 
-        CheckoutStartedEvent secondEvent = new CheckoutStartedEvent(
-                user,
-                Locale.FRANCE,
-                "appUrl");
-
-        CheckoutStartedEvent thirdEvent = new CheckoutStartedEvent(
-                user,
-                Locale.FRANCE,
-                "appUrl");
+        //ACT
+        eventListener.handle(new DelayedTask(CHECKOUT_REMINDER, "12", Map.of("language", "fr-FR", "appUrl", "appUrl"), 1));
 
-        long _25HoursAgo = System.currentTimeMillis() - 25 * 3600 * 1000;
-        long _5HoursAgo = System.currentTimeMillis() - 5 * 3600 * 1000;
+        //ASSERT
+        ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
+        verify(mailSender).send(captor.capture(), anyBoolean());
+        assertThat(captor.getValue().getRecipients()).containsExactly("test.user@zerofiltre.tech");
+    }
 
-        ReflectionTestUtils.setField(event, "timestamp", _25HoursAgo);
-        ReflectionTestUtils.setField(secondEvent, "timestamp", _25HoursAgo);
-        ReflectionTestUtils.setField(thirdEvent, "timestamp", _5HoursAgo);
+    @Test
+    void handle_doesNotRemind_aDeletedUser() {
+        //ARRANGE
+        when(userProvider.userOfId(12)).thenReturn(Optional.empty());
 
         //ACT
-        eventListener.onApplicationEvent(event);
-        eventListener.onApplicationEvent(secondEvent);
-        eventListener.onApplicationEvent(thirdEvent);
-        eventListener.handleEventIfNeeded();
+        eventListener.handle(new DelayedTask(CHECKOUT_REMINDER, "12", Map.of(), 1));
 
         //ASSERT
-        verify(mailSender, Mockito.times(2)).send(any(), anyBoolean());
-        Assertions.assertThat(eventListener.getEvents().size()).isOne();
-
-
+        verify(mailSender, Mockito.times(0)).send(any(), anyBoolean());
     }
 
-}
\ No newline at end of file
+}
@@ -16,12 +16,14 @@ import tech.zerofiltre.blog.domain.user.VerificationTokenProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.domain.user.model.VerificationToken;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -61,10 +63,15 @@ class ConfirmRegistrationReminderTest {
                 messageSource,
                 tokenProvider,
                 infraProperties,
-                emailTemplateEngine
+                emailTemplateEngine,
+                Runnable::run
         );
         when(infraProperties.getEnv()).thenReturn("dev");
-        when(tokenProvider.generate(any())).thenReturn(new VerificationToken(new User(), "TOKEN", expiryDate));
+        when(infraProperties.getReminderBatchSize()).thenReturn(2);
+        when(tokenProvider.generate(anyList())).thenAnswer(invocationOnMock -> {
+            List<User> users = invocationOnMock.getArgument(0);
+            return users.stream().map(user -> new VerificationToken(user, "TOKEN" + user.getId(), expiryDate)).collect(Collectors.toList());
+        });
         when(emailTemplateEngine.process(any(String.class),any(IContext.class))).thenReturn("<a href=zerofiltre.tech>Home</a>");
     }
 
@@ -97,24 +104,24 @@ class ConfirmRegistrationReminderTest {
 
     private void testRemindConfirmRegistration(String frontAppURL) {
         //ARRANGE
-        User user = new User();
+        UserForBroadcast user = new UserForBroadcast();
         user.setEmail(EMAIL_1);
         user.setLanguage("FR");
         user.setFullName("firstname1");
 
-        User user1 = new User();
+        UserForBroadcast user1 = new UserForBroadcast();
         user1.setEmail(EMAIL_2);
         user1.setLanguage("DE");
         user1.setFullName("firstname2");
 
-        User user2 = new User();
+        UserForBroadcast user2 = new UserForBroadcast();
         user2.setEmail(EMAIL_3);
         user2.setLanguage("EN");
         user2.setFullName("firstname3");
 
-        List<User> users = Arrays.asList(user, user1, user2);
+        List<UserForBroadcast> users = Arrays.asList(user, user1, user2);
 
-        when(userProvider.nonActiveUsers()).thenReturn(users);
+        when(userProvider.streamNonActiveUsers(anyInt())).thenReturn(users.stream());
         when(messageSource.getMessage(eq("message.registration.subject.remind"), any(), any())).thenReturn(SUBJECT);
         when(messageSource.getMessage(eq("message.registration.success.remind.content"), any(), any())).thenReturn(CONTENT);
         when(messageSource.getMessage(eq("message.greetings"), any(), any())).thenReturn("greetings");
@@ -150,20 +157,20 @@ class ConfirmRegistrationReminderTest {
     @Test
     void remindConfirmRegistration_mustNotSendEmails_onInvalidEmails() {
         //ARRANGE
-        User user = new User();
+        UserForBroadcast user = new UserForBroadcast();
         user.setEmail(EMAIL_1);
 
 
-        User user1 = new User();
+        UserForBroadcast user1 = new UserForBroadcast();
         user1.setEmail(EMAIL_2);
 
 
-        User user2 = new User();
+        UserForBroadcast user2 = new UserForBroadcast();
         user2.setEmail(INVALID_EMAIL);
 
-        List<User> users = Arrays.asList(user, user1, user2);
+        List<UserForBroadcast> users = Arrays.asList(user, user1, user2);
 
-        when(userProvider.nonActiveUsers()).thenReturn(users);
+        when(userProvider.streamNonActiveUsers(anyInt())).thenReturn(users.stream());
         when(messageSource.getMessage(eq("message.registration.subject.remind"), any(), any())).thenReturn(SUBJECT);
         when(messageSource.getMessage(eq("message.registration.success.remind.content"), any(), any())).thenReturn(CONTENT);
         when(messageSource.getMessage(eq("message.greetings"), any(), any())).thenReturn("greetings");
@@ -185,5 +192,33 @@ class ConfirmRegistrationReminderTest {
 
     }
 
+    @Test
+    void remindConfirmRegistration_generatesTheTokensBatchByBatch_andLinksEachUserToItsToken() {
+        //ARRANGE
+        List<UserForBroadcast> users = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            users.add(new UserForBroadcast(i, "email" + i + "@gmail.com", null, "fr", "firstname" + i));
+        }
+        when(userProvider.streamNonActiveUsers(anyInt())).thenReturn(users.stream());
+        when(messageSource.getMessage(eq("message.registration.subject.remind"), any(), any())).thenReturn(SUBJECT);
+        ArgumentCaptor<IContext> contextCaptor = ArgumentCaptor.forClass(IContext.class);
+
+        //ACT
+        confirmRegistrationReminder.remindConfirmRegistration();
+
+        //ASSERT
+        ArgumentCaptor<List<User>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(tokenProvider, times(2)).generate(batchCaptor.capture());
+        assertThat(batchCaptor.getAllValues().get(0).size()).isEqualTo(2);
+        assertThat(batchCaptor.getAllValues().get(1).size()).isEqualTo(1);
+        verify(tokenProvider, never()).generate(any(User.class));
+
+        verify(emailTemplateEngine, times(3)).process(any(String.class), contextCaptor.capture());
+        assertThat((String) contextCaptor.getAllValues().get(2).getVariable("validationLink")).endsWith("TOKEN3");
+
+        ArgumentCaptor<Email> emailCaptor = ArgumentCaptor.forClass(Email.class);
+        verify(zerofiltreEmailSender, times(3)).send(emailCaptor.capture(), anyBoolean());
+        assertThat(emailCaptor.getAllValues().get(2).getRecipients().get(0)).isEqualTo("email3@gmail.com");
+    }
 
-}
\ No newline at end of file
+}
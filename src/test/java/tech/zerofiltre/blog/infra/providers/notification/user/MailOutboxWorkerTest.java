@@ -0,0 +1,165 @@
+package tech.zerofiltre.blog.infra.providers.notification.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.mail.MailOutbox;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA;
+
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxWorkerTest {
+
+    public static final String REPLY_TO = "info@zerofiltre.tech";
+    public static final int WORKERS = 2;
+    public static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    MailOutbox outbox;
+
+    @Mock
+    SmtpTransportPool transportPool;
+
+    SimpleMeterRegistry meterRegistry;
+    List<Runnable> submittedTasks;
+    MailOutboxWorker worker;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        submittedTasks = new ArrayList<>();
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setMailOutboxWorkers(WORKERS);
+        infraProperties.setMailOutboxMaxAttempts(MAX_ATTEMPTS);
+        infraProperties.setMailOutboxRetryBaseDelayMs(1000);
+        infraProperties.setMailOutboxRetryMaxDelayMs(3000);
+        infraProperties.setMailOutboxClaimTimeoutMs(60000);
+        infraProperties.setMailOutboxSentRetentionDays(7);
+        worker = new MailOutboxWorker(outbox, transportPool, meterRegistry, infraProperties, submittedTasks::add);
+        worker.registerGauges();
+    }
+
+    @Test
+    void poll_claimsNoMoreEmailsThanIdleWorkers() {
+        when(outbox.claimDue(eq(WORKERS), any())).thenReturn(List.of(mail(1, 0), mail(2, 0)));
+
+        worker.poll();
+        worker.poll();
+
+        assertThat(submittedTasks).hasSize(2);
+        verify(outbox, times(1)).claimDue(anyInt(), any());
+        assertThat(meterRegistry.get(MailOutboxWorker.IN_FLIGHT_GAUGE).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void process_sendsTheEmail_andMarksItSent() throws MessagingException {
+        when(transportPool.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+
+        worker.process(mail(1, 0));
+
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(transportPool).send(captor.capture());
+        MimeMessage message = captor.getValue();
+        assertThat(message.getSubject()).isEqualTo("subject");
+        assertThat(message.getAllRecipients()).hasSize(6);
+        assertThat(((InternetAddress) message.getFrom()[0]).getAddress()).isEqualTo(REPLY_TO);
+        assertThat(((InternetAddress) message.getReplyTo()[0]).getAddress()).isEqualTo(REPLY_TO);
+        verify(outbox).markSent(1);
+        assertThat(meterRegistry.get(MailOutboxWorker.LATENCY_TIMER).tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void process_doesNotRetryASentEmail_whenItCannotBeMarkedSent_andMarksItAtTheNextPoll() throws MessagingException {
+        when(transportPool.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        doThrow(new IllegalStateException("database unavailable")).doNothing().when(outbox).markSent(1);
+
+        worker.process(mail(1, 0));
+
+        verify(transportPool, times(1)).send(any());
+        verify(outbox, never()).retry(anyLong(), anyInt(), any(), any());
+        verify(outbox, never()).markDead(anyLong(), anyInt(), any());
+
+        worker.poll();
+        worker.poll();
+
+        verify(outbox, times(2)).markSent(1);
+    }
+
+    @Test
+    void process_retriesAFailedEmail_later() throws MessagingException {
+        when(transportPool.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        doThrow(new SendFailedException("connection refused")).when(transportPool).send(any());
+
+        worker.process(mail(1, 1));
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outbox).retry(eq(1L), eq(2), nextAttempt.capture(), eq("connection refused"));
+        assertThat(nextAttempt.getValue()).isAfter(LocalDateTime.now().plusSeconds(1));
+        verify(outbox, never()).markSent(anyLong());
+    }
+
+    @Test
+    void process_movesTheEmailToTheDeadLetters_afterTheLastAttempt() throws MessagingException {
+        when(transportPool.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        doThrow(new SendFailedException("connection refused")).when(transportPool).send(any());
+
+        worker.process(mail(1, MAX_ATTEMPTS - 1));
+
+        verify(outbox).markDead(1, MAX_ATTEMPTS, "connection refused");
+        verify(outbox, never()).retry(anyLong(), anyInt(), any(), anyString());
+    }
+
+    @Test
+    void process_movesTheEmailToTheDeadLetters_whenAnAddressIsMalformed() throws MessagingException {
+        when(transportPool.createMimeMessage()).thenReturn(new MimeMessage(Session.getInstance(new Properties())));
+        MailOutboxJPA mail = mail(1, 0);
+        mail.setRecipients("<unterminated@zerofiltre.tech");
+
+        worker.process(mail);
+
+        verify(transportPool, never()).send(any());
+        verify(outbox).markDead(eq(1L), eq(1), anyString());
+    }
+
+    @Test
+    void retryDelayMs_growsExponentially_upToTheMaximum() {
+        assertThat(worker.retryDelayMs(1)).isEqualTo(1000);
+        assertThat(worker.retryDelayMs(2)).isEqualTo(2000);
+        assertThat(worker.retryDelayMs(3)).isEqualTo(3000);
+        assertThat(worker.retryDelayMs(30)).isEqualTo(3000);
+    }
+
+    private MailOutboxJPA mail(long id, int attempts) {
+        MailOutboxJPA mail = new MailOutboxJPA();
+        mail.setId(id);
+        mail.setAttempts(attempts);
+        mail.setRecipients("address@zerofiltre.tech,another_address@zerofiltre.tech");
+        mail.setCcs("cc1@zerofiltre.tech,cc2@zerofiltre.tech");
+        mail.setBccs("bcc1@zerofiltre.tech,bcc2@zerofiltre.tech");
+        mail.setSubject("subject");
+        mail.setContent("content");
+        mail.setReplyTo(REPLY_TO);
+        mail.setCreatedAt(LocalDateTime.now());
+        return mail;
+    }
+}
@@ -5,15 +5,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import tech.zerofiltre.blog.domain.course.features.enrollment.Suspend;
 import tech.zerofiltre.blog.domain.error.ZerofiltreException;
+import tech.zerofiltre.blog.domain.payment.PaymentException;
+import tech.zerofiltre.blog.domain.payment.model.ChargeRequest;
 import tech.zerofiltre.blog.domain.payment.model.Payment;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.domain.user.model.User;
 import tech.zerofiltre.blog.infra.providers.api.notchpay.NotchPayProvider;
+import tech.zerofiltre.blog.infra.providers.database.payment.RenewalReminders;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,39 +36,28 @@ class MobilePaymentReminderTest {
     NotchPayProvider notchPayProvider;
     @Mock
     Suspend suspend;
+    @Mock
+    RenewalReminders renewalReminders;
 
-    @InjectMocks
     MobilePaymentReminder paymentReminder;
 
     User user;
 
     @BeforeEach
     void initialize() {
+        paymentReminder = new MobilePaymentReminder(userProvider, emailSender, notchPayProvider, suspend, renewalReminders, Runnable::run);
+
         user = new User();
         user.setId(1L);
         user.setPaymentEmail("test@test.com");
         user.setPlan(User.Plan.PRO);
-
-
     }
 
     @Test
-    @DisplayName("User stays pro if there is a non expired payment")
-    void userStaysPro_ifHasAValidPayment() throws ZerofiltreException {
+    @DisplayName("Nothing is sent when no subscription is due to renew")
+    void nothingSent_ifNoDueRenewal() throws ZerofiltreException {
         //Given
-        LocalDateTime now = LocalDateTime.now();
-
-        Payment expiredMonthlyPayment = new Payment();
-        expiredMonthlyPayment.setAt(now.minusDays(60));
-        expiredMonthlyPayment.setRecurringInterval(Payment.MONTH);
-        expiredMonthlyPayment.setUser(user);
-
-        Payment validPayment = new Payment();
-        validPayment.setAt(now);
-        validPayment.setRecurringInterval(Payment.MONTH);
-        validPayment.setUser(user);
-
-        when(notchPayProvider.payments()).thenReturn(List.of(expiredMonthlyPayment, validPayment));
+        when(notchPayProvider.dueRenewals(any(), any())).thenReturn(List.of());
 
         //when
         paymentReminder.sendStats();
@@ -73,7 +65,7 @@ class MobilePaymentReminderTest {
         //then
         verify(notchPayProvider, never()).createSession(any(), any(), any());
         verify(userProvider, never()).save(any());
-
+        verify(emailSender, never()).send(any(), anyBoolean());
     }
 
     @Test
@@ -81,86 +73,130 @@ class MobilePaymentReminderTest {
     void userGetsBasic_ifHasNoValidPayment() throws ZerofiltreException {
         //Given
         LocalDateTime now = LocalDateTime.now();
+        Payment expiredMonthlyPayment = payment(now.minusDays(60), Payment.MONTH);
+        Payment expiredYearlyPayment = payment(now.minusDays(730), Payment.YEAR);
 
-        Payment expiredMonthlyPayment = new Payment();
-        expiredMonthlyPayment.setAt(now.minusDays(60));
-        expiredMonthlyPayment.setRecurringInterval(Payment.MONTH);
-        expiredMonthlyPayment.setUser(user);
-
-        Payment expiredYearlyPayment = new Payment();
-        expiredYearlyPayment.setAt(now.minusDays(730));
-        expiredYearlyPayment.setRecurringInterval(Payment.YEAR);
-        expiredYearlyPayment.setUser(user);
-
-        when(notchPayProvider.payments()).thenReturn(List.of(expiredMonthlyPayment, expiredYearlyPayment));
+        when(notchPayProvider.dueRenewals(any(), any())).thenReturn(List.of(expiredMonthlyPayment, expiredYearlyPayment));
+        when(renewalReminders.record(anyLong(), any(), anyLong())).thenReturn(true);
 
         //when
         paymentReminder.sendStats();
 
         //then
         verify(notchPayProvider, times(1)).createSession(any(), any(), any());
+        verify(renewalReminders).record(user.getId(), expiredMonthlyPayment.renewalDate(), 0);
         ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
         verify(userProvider, times(1)).save(captor.capture());
         assertThat(captor.getValue().getPlan()).isEqualTo(User.Plan.BASIC);
         assertThat(captor.getValue().getId()).isEqualTo(user.getId());
-
+        verify(suspend).all(user.getId(), false);
     }
 
     @Test
-    @DisplayName("User gets notified for all almost expired payments")
-    void userGetsNotified_forAllAlmostExpiredPayments() throws ZerofiltreException {
+    @DisplayName("User gets notified once, of the payment renewing the latest")
+    void userGetsNotifiedOnce_ofTheLatestRenewal() throws ZerofiltreException {
         //Given
         LocalDateTime now = LocalDateTime.now();
+        Payment almostExpiredMonthlyPayment = payment(now.minusDays(26), Payment.MONTH);
+        Payment almostExpiredYearlyPayment = payment(now.minusDays(363), Payment.YEAR);
 
-        Payment almostExpiredMonthlyPayment = new Payment();
-        almostExpiredMonthlyPayment.setAt(now.minusDays(26));
-        almostExpiredMonthlyPayment.setRecurringInterval(Payment.MONTH);
-        almostExpiredMonthlyPayment.setUser(user);
-
-        Payment almostExpiredYearlyPayment = new Payment();
-        almostExpiredYearlyPayment.setAt(now.minusDays(363));
-        almostExpiredYearlyPayment.setRecurringInterval(Payment.YEAR);
-        almostExpiredYearlyPayment.setUser(user);
-
-        when(notchPayProvider.payments()).thenReturn(List.of(almostExpiredMonthlyPayment, almostExpiredYearlyPayment));
+        when(notchPayProvider.dueRenewals(any(), any())).thenReturn(List.of(almostExpiredYearlyPayment, almostExpiredMonthlyPayment));
+        when(renewalReminders.record(anyLong(), any(), anyLong())).thenReturn(true);
 
         //when
         paymentReminder.sendStats();
 
         //then
-        verify(notchPayProvider, times(2)).createSession(any(), any(), any());
+        ArgumentCaptor<ChargeRequest> captor = ArgumentCaptor.forClass(ChargeRequest.class);
+        verify(notchPayProvider, times(1)).createSession(any(), any(), captor.capture());
+        assertThat(captor.getValue().getRecurringInterval()).isEqualTo(Payment.MONTH);
+        verify(renewalReminders).record(user.getId(), almostExpiredMonthlyPayment.renewalDate(), 3);
+        verify(notchPayProvider).delete(Payment.INITIALIZED, user.getId());
         verify(userProvider, never()).save(any());
-        verify(emailSender, times(2)).send(any(), anyBoolean());
-
+        verify(emailSender, times(1)).send(any(), anyBoolean());
     }
 
     @Test
-    @DisplayName("User does not get notified if has a valid payment")
-    void userNotNotified_IfHasAValidPayment() throws ZerofiltreException {
+    @DisplayName("User does not get notified again of a reminder already sent")
+    void userNotNotified_ifTheReminderWasAlreadySent() throws ZerofiltreException {
         //Given
-        LocalDateTime now = LocalDateTime.now();
+        User otherUser = new User();
+        otherUser.setId(2L);
+        otherUser.setPlan(User.Plan.PRO);
+        Payment otherPayment = payment(LocalDateTime.now().minusDays(27), Payment.MONTH);
+        otherPayment.setUser(otherUser);
 
-        Payment almostExpiredMonthlyPayment = new Payment();
-        almostExpiredMonthlyPayment.setAt(now.minusDays(20));
-        almostExpiredMonthlyPayment.setRecurringInterval(Payment.MONTH);
-        almostExpiredMonthlyPayment.setUser(user);
+        when(notchPayProvider.dueRenewals(any(), any())).thenReturn(List.of(payment(LocalDateTime.now().minusDays(26), Payment.MONTH), otherPayment));
+        when(renewalReminders.record(eq(user.getId()), any(), anyLong())).thenReturn(false);
+        when(renewalReminders.record(eq(otherUser.getId()), any(), anyLong())).thenThrow(new DataIntegrityViolationException("recorded"));
 
-        Payment expiredYearlyPayment = new Payment();
-        expiredYearlyPayment.setAt(now.minusDays(730));
-        expiredYearlyPayment.setRecurringInterval(Payment.YEAR);
-        expiredYearlyPayment.setUser(user);
+        //when
+        paymentReminder.sendStats();
 
-        when(notchPayProvider.payments()).thenReturn(List.of(almostExpiredMonthlyPayment, expiredYearlyPayment));
+        //then
+        verify(notchPayProvider, never()).createSession(any(), any(), any());
+        verify(emailSender, never()).send(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("The reminder is released for the next run when the payment session can not be created")
+    void reminderReleased_ifThePaymentSessionFails() throws ZerofiltreException {
+        //Given
+        Payment payment = payment(LocalDateTime.now().minusDays(26), Payment.MONTH);
+        when(notchPayProvider.dueRenewals(any(), any())).thenReturn(List.of(payment));
+        when(renewalReminders.record(anyLong(), any(), anyLong())).thenReturn(true);
+        when(notchPayProvider.createSession(any(), any(), any())).thenThrow(new PaymentException("unavailable"));
 
         //when
         paymentReminder.sendStats();
 
         //then
-        verify(notchPayProvider, never()).createSession(any(), any(), any());
-        verify(userProvider, never()).save(any());
+        verify(renewalReminders).release(user.getId(), payment.renewalDate(), 3);
         verify(emailSender, never()).send(any(), anyBoolean());
+    }
 
+    @Test
+    @DisplayName("A reminder failing is released, and the next reminders are still sent")
+    void nextRemindersSent_ifAReminderFails() throws ZerofiltreException {
+        //Given
+        User otherUser = new User();
+        otherUser.setId(2L);
+        otherUser.setPaymentEmail("other@test.com");
+        otherUser.setPlan(User.Plan.PRO);
+        Payment payment = payment(LocalDateTime.now().minusDays(40), Payment.MONTH);
+        Payment otherPayment = payment(LocalDateTime.now().minusDays(26), Payment.MONTH);
+        otherPayment.setUser(otherUser);
+
+        when(notchPayProvider.dueRenewals(any(), any())).thenReturn(List.of(payment, otherPayment));
+        when(renewalReminders.record(anyLong(), any(), anyLong())).thenReturn(true);
+        when(userProvider.save(any())).thenThrow(new IllegalStateException("database unavailable"));
 
+        //when
+        paymentReminder.sendStats();
+
+        //then
+        verify(renewalReminders).release(user.getId(), payment.renewalDate(), 0);
+        verify(renewalReminders, never()).release(eq(otherUser.getId()), any(), anyLong());
+        verify(emailSender, times(2)).send(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("The PRO users overdue for longer than the reminder runs look back are downgraded by the reconciliation")
+    void overdueUserGetsBasic_onReconciliation() throws ZerofiltreException {
+        //Given
+        Payment overduePayment = payment(LocalDateTime.now().minusDays(90), Payment.MONTH);
+        when(notchPayProvider.overdueRenewals(any())).thenReturn(List.of(overduePayment));
+        when(renewalReminders.record(anyLong(), any(), anyLong())).thenReturn(true);
+
+        //when
+        paymentReminder.downgradeOverdue();
+
+        //then
+        verify(notchPayProvider).overdueRenewals(argThat(date -> date.isBefore(LocalDateTime.now().minusDays(MobilePaymentReminder.OVERDUE_DAYS - 1))));
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(userProvider).save(captor.capture());
+        assertThat(captor.getValue().getPlan()).isEqualTo(User.Plan.BASIC);
+        verify(suspend).all(user.getId(), false);
     }
 
     @Test
@@ -180,13 +216,20 @@ class MobilePaymentReminderTest {
         doNothing().when(spy).notifyUser(any(User.class), anyString(), anyString());
 
         //when
-        spy.notify(payment, 0);
+        spy.notify(payment, 0, "https://pay.notchpay.co/link");
 
         //then
-        verify(notchPayProvider).createSession(any(), any(), any());
         verify(userProvider).save(any());
         verify(suspend).all(20, false);
         verify(spy).notifyUser(any(User.class), anyString(), anyString());
     }
 
-}
\ No newline at end of file
+    private Payment payment(LocalDateTime at, String recurringInterval) {
+        Payment payment = new Payment();
+        payment.setAt(at);
+        payment.setRecurringInterval(recurringInterval);
+        payment.setUser(user);
+        return payment;
+    }
+
+}
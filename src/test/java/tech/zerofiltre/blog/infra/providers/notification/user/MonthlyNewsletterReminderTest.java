@@ -19,8 +19,8 @@ import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -33,6 +33,7 @@ class MonthlyNewsletterReminderTest {
     public static final String EMAIL_BLIND_COPY1 = "blindcopy1@email.com";
     public static final String EMAIL_BLIND_COPY2 = "blindcopy2@email.com";
     public static final String PAYMENT_EMAIL_BLIND_COPY = "paymentEmailblindcopy2@email.com";
+    public static final String CONTACT_EMAIL = "info@zerofiltre.tech";
 
     @Mock
     ZerofiltreEmailSender zerofiltreEmailSender;
@@ -65,16 +66,17 @@ class MonthlyNewsletterReminderTest {
     @Test
     void mustSendNewsletter_WithProperData() {
         //ARRANGE
-        UserForBroadcast userEmail1 = new UserForBroadcast(0, EMAIL_BLIND_COPY1, null, "fr", null);
-        UserForBroadcast userEmail2 = new UserForBroadcast(0, EMAIL_BLIND_COPY2, null, "", null);
-        UserForBroadcast userEmail3 = new UserForBroadcast(0, null, PAYMENT_EMAIL_BLIND_COPY, null, null);
-        UserForBroadcast userEmail4 = new UserForBroadcast(0, null, null, null, null);
+        UserForBroadcast userEmail1 = new UserForBroadcast(1, EMAIL_BLIND_COPY1, null, "fr", null);
+        UserForBroadcast userEmail2 = new UserForBroadcast(2, EMAIL_BLIND_COPY2, null, "", null);
+        UserForBroadcast userEmail3 = new UserForBroadcast(3, null, PAYMENT_EMAIL_BLIND_COPY, null, null);
+        UserForBroadcast userEmail4 = new UserForBroadcast(4, null, null, null, null);
 
         when(templateEngine.process(anyString(), any())).thenReturn(CONTENT);
         when(infraProperties.getEnv()).thenReturn("dev");
+        when(infraProperties.getContactEmail()).thenReturn(CONTACT_EMAIL);
         when(articleProvider.newArticlesFromLastMonth()).thenReturn(List.of(new Article()));
         when(courseProvider.newCoursesFromLastMonth()).thenReturn(List.of(new Course()));
-        when(userProvider.allUsersForBroadcast()).thenReturn(Arrays.asList(userEmail1, userEmail2, userEmail3, userEmail4));
+        when(userProvider.streamUsersForBroadcast(anyInt())).thenReturn(Stream.of(userEmail1, userEmail2, userEmail3, userEmail4));
         when(messages.getMessage(eq("remind_newsletter_message"), any(), any())).thenReturn(SUBJECT);
 
         //ACT
@@ -82,24 +84,39 @@ class MonthlyNewsletterReminderTest {
 
         //ASSERT
         ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
-        verify(zerofiltreEmailSender, times(3)).send(captor.capture(), eq(true));
-        List<Email> emails = captor.getAllValues();
-        assertThat(emails.size()).isEqualTo(3);
+        verify(zerofiltreEmailSender, times(1)).send(captor.capture(), eq(true), startsWith(MonthlyNewsletterReminder.NEWSLETTER_PREFIX));
+        Email email = captor.getValue();
+
+        assertThat(email.getRecipients()).containsExactly(CONTACT_EMAIL);
+        assertThat(email.getBccs()).containsExactly(EMAIL_BLIND_COPY1, EMAIL_BLIND_COPY2, PAYMENT_EMAIL_BLIND_COPY);
+        assertThat(email.getSubject()).isEqualTo(SUBJECT);
+        assertThat(email.getContent()).isEqualTo(CONTENT);
+        assertThat(email.getCcs()).isEmpty();
+    }
 
-        assertThat(emails.get(0).getRecipients().get(0)).isEqualTo(userEmail1.getEmail());
-        assertThat(emails.get(0).getSubject()).isEqualTo(SUBJECT);
-        assertThat(emails.get(0).getBccs().size()).isEqualTo(0);
-        assertThat(emails.get(0).getCcs().size()).isEqualTo(0);
+    @Test
+    @DisplayName("The newsletter is rendered once per language and sent in BCC batches of the users speaking it")
+    void sendNewsletter_rendersOncePerLanguage_andSendsBccBatches() {
+        //ARRANGE
+        List<UserForBroadcast> users = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            users.add(new UserForBroadcast(i, "u" + i + "@email.com", null, i % 6 == 0 ? "en" : "fr", null));
+        }
+        when(templateEngine.process(anyString(), any())).thenReturn(CONTENT);
+        when(infraProperties.getEnv()).thenReturn("dev");
+        when(infraProperties.getContactEmail()).thenReturn(CONTACT_EMAIL);
+        when(articleProvider.newArticlesFromLastMonth()).thenReturn(List.of(new Article()));
+        when(userProvider.streamUsersForBroadcast(anyInt())).thenReturn(users.stream());
+        when(messages.getMessage(eq("remind_newsletter_message"), any(), any())).thenReturn(SUBJECT);
 
-        assertThat(emails.get(1).getRecipients().get(0)).isEqualTo(userEmail2.getEmail());
-        assertThat(emails.get(1).getSubject()).isEqualTo(SUBJECT);
-        assertThat(emails.get(1).getBccs().size()).isEqualTo(0);
-        assertThat(emails.get(1).getCcs().size()).isEqualTo(0);
+        //ACT
+        monthlyNewsletterReminder.sendNewsletter();
 
-        assertThat(emails.get(2).getRecipients().get(0)).isEqualTo(userEmail3.getPaymentEmail());
-        assertThat(emails.get(2).getSubject()).isEqualTo(SUBJECT);
-        assertThat(emails.get(2).getBccs().size()).isEqualTo(0);
-        assertThat(emails.get(2).getCcs().size()).isEqualTo(0);
+        //ASSERT
+        verify(templateEngine, times(2)).process(eq("newsletter.html"), any());
+        ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
+        verify(zerofiltreEmailSender, times(3)).send(captor.capture(), eq(true), anyString());
+        assertThat(captor.getAllValues()).extracting(email -> email.getBccs().size()).containsExactlyInAnyOrder(20, 5, 5);
     }
 
     @Test
@@ -123,7 +140,7 @@ class MonthlyNewsletterReminderTest {
 
         //ASSERT
         ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
-        verify(zerofiltreEmailSender, times(3)).send(captor.capture(), eq(true));
+        verify(zerofiltreEmailSender, times(3)).send(captor.capture(), eq(true), isNull());
         List<Email> emails = captor.getAllValues();
         assertThat(emails.size()).isEqualTo(3);
 
@@ -143,6 +160,29 @@ class MonthlyNewsletterReminderTest {
         assertThat(emails.get(2).getCcs().size()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("When I give an e-mail with a list of recipients, I send the newsletter only to the valid e-mail addresses")
+    void shouldSendNewsletter_onlyToTheValidRecipients_whenGivingEmailWithListOfRecipients() {
+        //ARRANGE
+        Email email = new Email();
+        email.setRecipients(List.of("not an email", EMAIL_BLIND_COPY1));
+
+        when(templateEngine.process(anyString(), any())).thenReturn(CONTENT);
+        when(infraProperties.getEnv()).thenReturn("dev");
+        when(articleProvider.newArticlesFromLastMonth()).thenReturn(List.of(new Article()));
+        when(messages.getMessage(eq("remind_newsletter_message"), any(), any())).thenReturn(SUBJECT);
+
+        //ACT
+        monthlyNewsletterReminder.setEmailTest(email);
+        monthlyNewsletterReminder.sendNewsletter();
+        monthlyNewsletterReminder.setEmailTest(null);
+
+        //ASSERT
+        ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
+        verify(zerofiltreEmailSender).send(captor.capture(), eq(true), isNull());
+        assertThat(captor.getValue().getRecipients()).containsExactly(EMAIL_BLIND_COPY1);
+    }
+
     @Test
     @DisplayName("When I give an e-mail with a list of recipients and at least one new article has been created in the last month, I send the newsletter")
     void shouldSendNewsletter_whenGivingEmailWithListOfRecipients_andNewArticleCreatedLastMonth() {
@@ -163,7 +203,7 @@ class MonthlyNewsletterReminderTest {
 
         //ASSERT
         ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
-        verify(zerofiltreEmailSender).send(captor.capture(), eq(true));
+        verify(zerofiltreEmailSender).send(captor.capture(), eq(true), isNull());
         List<Email> emails = captor.getAllValues();
         assertThat(emails.size()).isEqualTo(1);
 
@@ -193,7 +233,7 @@ class MonthlyNewsletterReminderTest {
 
         //ASSERT
         ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
-        verify(zerofiltreEmailSender).send(captor.capture(), eq(true));
+        verify(zerofiltreEmailSender).send(captor.capture(), eq(true), isNull());
         List<Email> emails = captor.getAllValues();
         assertThat(emails.size()).isEqualTo(1);
 
@@ -218,7 +258,7 @@ class MonthlyNewsletterReminderTest {
         //ASSERT
         verify(spy).findNewArticles();
         verify(spy).findNewCourses();
-        verify(zerofiltreEmailSender, never()).send(any(Email.class), anyBoolean());
+        verify(zerofiltreEmailSender, never()).send(any(Email.class), anyBoolean(), any());
     }
 
     @Test
@@ -8,18 +8,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
+import org.springframework.core.task.TaskRejectedException;
 import org.thymeleaf.ITemplateEngine;
 import tech.zerofiltre.blog.domain.article.ArticleProvider;
 import tech.zerofiltre.blog.domain.article.ArticleViewProvider;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.broadcast.BroadcastRuns;
+import tech.zerofiltre.blog.infra.providers.database.broadcast.model.BroadcastRunJPA;
 import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static tech.zerofiltre.blog.util.ZerofiltreUtils.getBeginningAndEndOfMonthDates;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +33,7 @@ class MonthlyStatsReminderTest {
 
     public static final String SUBJECT = "Subject";
     public static final String CONTENT = "content";
+    public static final int CHUNK_SIZE = 10;
 
     @Mock
     ZerofiltreEmailSender emailSender;
@@ -50,20 +56,25 @@ class MonthlyStatsReminderTest {
     @Mock
     ArticleViewProvider articleViewProvider;
 
+    @Mock
+    BroadcastRuns broadcastRuns;
+
     private MonthlyStatsReminder monthlyStatsReminder;
 
     @BeforeEach
     void setUp() {
-        when(templateEngine.process(anyString(), any())).thenReturn(CONTENT);
-        when(infraProperties.getEnv()).thenReturn("dev");
-
-        monthlyStatsReminder = new MonthlyStatsReminder(userProvider, emailSender, messages, infraProperties, templateEngine, articleViewProvider, articleProvider);
+        lenient().when(infraProperties.getStatsReminderChunkSize()).thenReturn(CHUNK_SIZE);
+        lenient().when(infraProperties.getStatsReminderClaimTimeoutMs()).thenReturn(60000L);
+        monthlyStatsReminder = new MonthlyStatsReminder(userProvider, emailSender, messages, infraProperties, templateEngine, articleViewProvider, articleProvider,
+                broadcastRuns, Runnable::run, Runnable::run, new RateGovernor(1000, 100));
     }
 
     @Test
     @DisplayName("When I want to send statistics to users who have subscribed to receive emails, then I send the emails")
     void shouldSendNewsletter_whenGivingEmailWithListOfRecipients() throws InterruptedException {
         //ARRANGE
+        when(templateEngine.process(anyString(), any())).thenReturn(CONTENT);
+        when(infraProperties.getEnv()).thenReturn("dev");
         UserForBroadcast user1 = new UserForBroadcast();
         user1.setId(1);
         user1.setEmail("u1@a.a");
@@ -97,20 +108,18 @@ class MonthlyStatsReminderTest {
         user5.setLanguage("en");
         user5.setFullName("user5");
 
-        when(userProvider.allUsersForBroadcast()).thenReturn(List.of(user1, user2, user3, user4, user5));
+        when(broadcastRuns.claim(anyString(), any())).thenReturn(Optional.of(new BroadcastRunJPA()));
+        when(userProvider.usersForBroadcast(0, CHUNK_SIZE)).thenReturn(List.of(user1, user2, user3, user4, user5));
         when(messages.getMessage(eq("message.stats.subject.remind"), any(), any())).thenReturn(SUBJECT);
-        when(articleViewProvider.countArticlesReadByDatesAndUser(any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(1).thenReturn(1).thenReturn(0).thenReturn(0);
-        when(articleProvider.countPublishedArticlesByDatesAndUser(any(LocalDateTime.class), any(LocalDateTime.class), anyLong())).thenReturn(1).thenReturn(0).thenReturn(1).thenReturn(0);
-
-        MonthlyStatsReminder spy = spy(monthlyStatsReminder);
-        doNothing().when(spy).sleep();
+        when(articleViewProvider.countArticlesReadByDatesPerUser(any(), any(), eq(List.of(1L, 2L, 3L, 4L, 5L)))).thenReturn(Map.of(1L, 1, 2L, 1, 5L, 1));
+        when(articleProvider.countPublishedArticlesByDatesPerUser(any(), any(), eq(List.of(1L, 2L, 3L, 4L, 5L)))).thenReturn(Map.of(1L, 1, 3L, 1));
 
         //ACT
-        spy.sendStats();
+        monthlyStatsReminder.sendStats();
 
         //ASSERT
         ArgumentCaptor<Email> captor = ArgumentCaptor.forClass(Email.class);
-        verify(emailSender, times(3)).send(captor.capture(), eq(true));
+        verify(emailSender, times(3)).send(captor.capture(), eq(true), anyString());
         List<Email> emails = captor.getAllValues();
         assertThat(emails).hasSize(3);
 
@@ -130,4 +139,101 @@ class MonthlyStatsReminderTest {
         assertThat(emails.get(2).getCcs()).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void resumeStats_resumesAfterTheLastCheckpointedUser_andCheckpointsEachChunk() throws InterruptedException {
+        //ARRANGE
+        BroadcastRunJPA run = new BroadcastRunJPA();
+        run.setLastUserId(2);
+        run.setSentCount(1);
+        when(broadcastRuns.claim(anyString(), any())).thenReturn(Optional.of(run));
+        when(userProvider.usersForBroadcast(2, CHUNK_SIZE)).thenReturn(List.of(userWithEmail(3), userWithEmail(4)));
+        when(userProvider.usersForBroadcast(4, CHUNK_SIZE)).thenReturn(List.of());
+        when(articleViewProvider.countArticlesReadByDatesPerUser(any(), any(), any())).thenReturn(Map.of(3L, 2, 4L, 1));
+        when(articleProvider.countPublishedArticlesByDatesPerUser(any(), any(), any())).thenReturn(Map.of());
+        when(templateEngine.process(anyString(), any())).thenReturn(CONTENT);
+        when(infraProperties.getEnv()).thenReturn("dev");
+
+        //ACT
+        monthlyStatsReminder.resumeStats();
+
+        //ASSERT
+        verify(userProvider, never()).usersForBroadcast(eq(0L), anyInt());
+        verify(emailSender, times(2)).send(any(), eq(true), anyString());
+        String runName = MonthlyStatsReminder.runName(getBeginningAndEndOfMonthDates());
+        verify(emailSender).send(any(), eq(true), eq(runName + ":3"));
+        verify(broadcastRuns).checkpoint(runName, 4, 3);
+        verify(broadcastRuns).finish(runName);
+    }
+
+    @Test
+    void resumeStats_skipsTheUsersWhoseEmailCannotBeRendered_andCompletesTheChunk() throws InterruptedException {
+        //ARRANGE
+        when(broadcastRuns.claim(anyString(), any())).thenReturn(Optional.of(new BroadcastRunJPA()));
+        when(userProvider.usersForBroadcast(0, CHUNK_SIZE)).thenReturn(List.of(userWithEmail(3), userWithEmail(4)));
+        when(userProvider.usersForBroadcast(4, CHUNK_SIZE)).thenReturn(List.of());
+        when(articleViewProvider.countArticlesReadByDatesPerUser(any(), any(), any())).thenReturn(Map.of(3L, 2, 4L, 1));
+        when(articleProvider.countPublishedArticlesByDatesPerUser(any(), any(), any())).thenReturn(Map.of());
+        when(templateEngine.process(anyString(), any())).thenThrow(new IllegalStateException("template error")).thenReturn(CONTENT);
+        when(infraProperties.getEnv()).thenReturn("dev");
+
+        //ACT
+        monthlyStatsReminder.resumeStats();
+
+        //ASSERT
+        String runName = MonthlyStatsReminder.runName(getBeginningAndEndOfMonthDates());
+        verify(emailSender, times(1)).send(any(), eq(true), anyString());
+        verify(emailSender).send(any(), eq(true), eq(runName + ":4"));
+        verify(broadcastRuns).checkpoint(runName, 4, 1);
+        verify(broadcastRuns).finish(runName);
+    }
+
+    @Test
+    void resumeStats_doesNothing_whenTheRunIsClaimedByAnotherInstance() throws InterruptedException {
+        //ARRANGE
+        when(broadcastRuns.claim(anyString(), any())).thenReturn(Optional.empty());
+
+        //ACT
+        monthlyStatsReminder.resumeStats();
+
+        //ASSERT
+        verifyNoInteractions(userProvider, emailSender);
+        verify(broadcastRuns, never()).finish(anyString());
+    }
+
+    @Test
+    void resumeStats_returnsAtOnce_whenTheBroadcastIsAlreadyRunningOnThisInstance() {
+        //ARRANGE
+        MonthlyStatsReminder busyReminder = new MonthlyStatsReminder(userProvider, emailSender, messages, infraProperties, templateEngine,
+                articleViewProvider, articleProvider, broadcastRuns, Runnable::run,
+                task -> {
+                    throw new TaskRejectedException("broadcast running");
+                },
+                new RateGovernor(1000, 100));
+
+        //ACT
+        busyReminder.resumeStats();
+
+        //ASSERT
+        verifyNoInteractions(broadcastRuns, userProvider, emailSender);
+    }
+
+    @Test
+    void resumeStats_doesNotThrow_whenTheBroadcastFails() {
+        //ARRANGE
+        when(broadcastRuns.claim(anyString(), any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        //ACT
+        monthlyStatsReminder.resumeStats();
+
+        //ASSERT
+        verifyNoInteractions(userProvider, emailSender);
+    }
+
+    private UserForBroadcast userWithEmail(long id) {
+        UserForBroadcast user = new UserForBroadcast();
+        user.setId(id);
+        user.setEmail("u" + id + "@a.a");
+        user.setLanguage("fr");
+        return user;
+    }
+}
@@ -0,0 +1,65 @@
+package tech.zerofiltre.blog.infra.providers.notification.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateGovernorTest {
+
+    long now;
+    List<Long> sleeps;
+
+    @BeforeEach
+    void init() {
+        now = 0;
+        sleeps = new ArrayList<>();
+    }
+
+    @Test
+    void acquire_letsTheBurstThrough_withoutWaiting() throws InterruptedException {
+        RateGovernor governor = new RateGovernor(2, 3, () -> now, this::sleep);
+
+        governor.acquire();
+        governor.acquire();
+        governor.acquire();
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    void acquire_waitsForTheNextToken_onceTheBucketIsEmpty() throws InterruptedException {
+        RateGovernor governor = new RateGovernor(2, 1, () -> now, this::sleep);
+
+        governor.acquire();
+        governor.acquire();
+        governor.acquire();
+
+        assertThat(sleeps).containsExactly(TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+
+    @Test
+    void acquire_doesNotWait_onceTheBucketIsRefilled() throws InterruptedException {
+        RateGovernor governor = new RateGovernor(2, 1, () -> now, this::sleep);
+
+        governor.acquire();
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        governor.acquire();
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    void rateMustBePositive() {
+        assertThatThrownBy(() -> new RateGovernor(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void sleep(long nanos) {
+        sleeps.add(nanos);
+    }
+}
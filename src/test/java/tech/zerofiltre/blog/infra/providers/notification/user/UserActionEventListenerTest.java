@@ -40,7 +40,7 @@ class UserActionEventListenerTest {
         when(infraProperties.getEnv()).thenReturn("dev");
         when(emailTemplateEngine.process(anyString(), any(Context.class))).thenReturn("<a href=zerofiltre.tech>Home</a>");
         when(messageSource.getMessage(any(), any(), any())).thenReturn("message");
-        doNothing().when(mailSender).send(any(), anyBoolean());
+        doNothing().when(mailSender).send(any(), anyBoolean(), anyString());
 
     }
 
@@ -60,7 +60,7 @@ class UserActionEventListenerTest {
         userActionEventListener.onApplicationEvent(event);
 
         //ASSERT
-        verify(mailSender, times(1)).send(any(), anyBoolean());
+        verify(mailSender, times(1)).send(any(), anyBoolean(), anyString());
     }
 
     @Test
@@ -79,7 +79,7 @@ class UserActionEventListenerTest {
         userActionEventListener.onApplicationEvent(event);
 
         //ASSERT
-        verify(mailSender, times(1)).send(any(), anyBoolean());
+        verify(mailSender, times(1)).send(any(), anyBoolean(), anyString());
     }
 
     @Test
@@ -99,6 +99,6 @@ class UserActionEventListenerTest {
         userActionEventListener.onApplicationEvent(event);
 
         //ASSERT
-        verify(mailSender, times(1)).send(any(), anyBoolean());
+        verify(mailSender, times(1)).send(any(), anyBoolean(), anyString());
     }
 }
\ No newline at end of file
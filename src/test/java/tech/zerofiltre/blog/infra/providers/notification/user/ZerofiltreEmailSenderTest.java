@@ -6,23 +6,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.thymeleaf.ITemplateEngine;
 import tech.zerofiltre.blog.domain.user.UserProvider;
 import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.mail.MailOutbox;
+import tech.zerofiltre.blog.infra.providers.database.mail.model.MailOutboxJPA;
 import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast;
 import tech.zerofiltre.blog.infra.providers.notification.user.model.Email;
 
-import javax.mail.MessagingException;
-import javax.mail.internet.InternetAddress;
-import javax.mail.internet.MimeMessage;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
@@ -39,7 +39,9 @@ class ZerofiltreEmailSenderTest {
     public static final String PAYMENT_EMAIL_BLIND_COPY = "paymentEmailblindcopy2@email.com";
     public static final String CERTIFIED_COPY1 = "blindcopy1@email.com";
     public static final String CERTIFIED_COPY2 = "blindcopy2@email.com";
-    JavaMailSender javaMailSender;
+    @MockBean
+    MailOutbox outbox;
+
     @MockBean
     InfraProperties infraProperties;
 
@@ -53,16 +55,15 @@ class ZerofiltreEmailSenderTest {
 
     @BeforeEach
     void setUp() {
-        javaMailSender = mock(JavaMailSenderImpl.class);
-        doNothing().when(javaMailSender).send(any(SimpleMailMessage.class));
-        when(javaMailSender.createMimeMessage()).thenCallRealMethod();
+        when(outbox.enqueue(any())).thenReturn(true);
+        when(outbox.enqueueOnce(any())).thenReturn(true);
         when(infraProperties.getContactEmail()).thenReturn(INFO_ZEROFILTRE_TECH);
         when(templateEngine.process(anyString(), any())).thenReturn(CONTENT);
-        zerofiltreEmailSender = new ZerofiltreEmailSender(javaMailSender, infraProperties, templateEngine, userProvider);
+        zerofiltreEmailSender = new ZerofiltreEmailSender(outbox, infraProperties, templateEngine, userProvider);
     }
 
     @Test
-    void mustSend_WithProperData() throws MessagingException {
+    void mustSend_WithProperData() {
         //ARRANGE
         Email email = new Email(Arrays.asList(ADDRESS, ANOTHER_ADDRESS), Arrays.asList(EMAIL_BLIND_COPY1, EMAIL_BLIND_COPY2), Arrays.asList(CERTIFIED_COPY1, CERTIFIED_COPY2),
                 CONTENT, SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
@@ -71,17 +72,20 @@ class ZerofiltreEmailSenderTest {
         zerofiltreEmailSender.send(email, true);
 
         //ASSERT
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(javaMailSender, times(1)).send(captor.capture());
-        MimeMessage mail = captor.getValue();
+        ArgumentCaptor<MailOutboxJPA> captor = ArgumentCaptor.forClass(MailOutboxJPA.class);
+        verify(outbox, times(1)).enqueue(captor.capture());
+        MailOutboxJPA mail = captor.getValue();
         assertThat(mail.getSubject()).isEqualTo(SUBJECT);
-        assertThat(mail.getAllRecipients().length).isEqualTo(6);
-        assertThat(((InternetAddress) mail.getReplyTo()[0]).getAddress()).isEqualTo(INFO_ZEROFILTRE_TECH);
+        assertThat(mail.getRecipients()).isEqualTo(ADDRESS + "," + ANOTHER_ADDRESS);
+        assertThat(mail.getBccs()).isEqualTo(EMAIL_BLIND_COPY1 + "," + EMAIL_BLIND_COPY2);
+        assertThat(mail.getCcs()).isEqualTo(CERTIFIED_COPY1 + "," + CERTIFIED_COPY2);
+        assertThat(mail.getContent()).isEqualTo(CONTENT);
+        assertThat(mail.getReplyTo()).isEqualTo(INFO_ZEROFILTRE_TECH);
 
     }
 
     @Test
-    void mustSend_WithDefault_replyTo() throws MessagingException {
+    void mustSend_WithDefault_replyTo() {
         //ARRANGE
         Email email = new Email(Arrays.asList(ADDRESS, ANOTHER_ADDRESS), Collections.emptyList(), Collections.emptyList(),
                 CONTENT, SUBJECT, null, Collections.emptyList(), Collections.emptyList());
@@ -90,15 +94,14 @@ class ZerofiltreEmailSenderTest {
         zerofiltreEmailSender.send(email, true);
 
         //ASSERT
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(javaMailSender, times(1)).send(captor.capture());
-        MimeMessage mail = captor.getValue();
-        assertThat(((InternetAddress) mail.getReplyTo()[0]).getAddress()).isEqualTo(INFO_ZEROFILTRE_TECH);
+        ArgumentCaptor<MailOutboxJPA> captor = ArgumentCaptor.forClass(MailOutboxJPA.class);
+        verify(outbox, times(1)).enqueue(captor.capture());
+        assertThat(captor.getValue().getReplyTo()).isEqualTo(INFO_ZEROFILTRE_TECH);
 
     }
 
     @Test
-    void mustSendToAllUsers_WithProperData() throws MessagingException {
+    void mustSendToAllUsers_WithProperData() {
         //ARRANGE
         Email email = new Email(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), CONTENT,
                 SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
@@ -106,24 +109,20 @@ class ZerofiltreEmailSenderTest {
         UserForBroadcast userEmail1 = new UserForBroadcast(0, EMAIL_BLIND_COPY1, null, null, null);
         UserForBroadcast userEmail2 = new UserForBroadcast(0, EMAIL_BLIND_COPY2, null, null, null);
         UserForBroadcast userEmail3 = new UserForBroadcast(0, null, PAYMENT_EMAIL_BLIND_COPY, null, null);
-        when(userProvider.allUsersForBroadcast()).thenReturn(Arrays.asList(userEmail1, userEmail2, userEmail3));
+        when(userProvider.streamUsersForBroadcast(anyInt())).thenReturn(Stream.of(userEmail1, userEmail2, userEmail3));
         when(infraProperties.getEnv()).thenReturn("dev");
 
         //ACT
         zerofiltreEmailSender.sendForAllUsers(email);
 
         //ASSERT
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(javaMailSender, times(1)).send(captor.capture());
-        MimeMessage mail = captor.getValue();
-        assertThat(((InternetAddress) mail.getFrom()[0]).getAddress()).isEqualTo(INFO_ZEROFILTRE_TECH);
+        ArgumentCaptor<MailOutboxJPA> captor = ArgumentCaptor.forClass(MailOutboxJPA.class);
+        verify(outbox, times(1)).enqueue(captor.capture());
+        MailOutboxJPA mail = captor.getValue();
         assertThat(mail.getSubject()).isEqualTo(SUBJECT);
-        assertThat(mail.getAllRecipients().length).isEqualTo(4);
-        assertThat(((InternetAddress) mail.getAllRecipients()[0]).getAddress()).isEqualTo(INFO_ZEROFILTRE_TECH);
-        assertThat(((InternetAddress) mail.getAllRecipients()[1]).getAddress()).isEqualTo(EMAIL_BLIND_COPY1);
-        assertThat(((InternetAddress) mail.getAllRecipients()[2]).getAddress()).isEqualTo(EMAIL_BLIND_COPY2);
-        assertThat(((InternetAddress) mail.getAllRecipients()[3]).getAddress()).isEqualTo(PAYMENT_EMAIL_BLIND_COPY);
-        assertThat(((InternetAddress) mail.getReplyTo()[0]).getAddress()).isEqualTo(INFO_ZEROFILTRE_TECH);
+        assertThat(mail.getRecipients()).isEqualTo(INFO_ZEROFILTRE_TECH);
+        assertThat(mail.getBccs()).isEqualTo(EMAIL_BLIND_COPY1 + "," + EMAIL_BLIND_COPY2 + "," + PAYMENT_EMAIL_BLIND_COPY);
+        assertThat(mail.getReplyTo()).isEqualTo(INFO_ZEROFILTRE_TECH);
     }
 
     @Test
@@ -139,34 +138,102 @@ class ZerofiltreEmailSenderTest {
             list.add(userEmail);
         }
 
-        when(userProvider.allUsersForBroadcast()).thenReturn(list);
+        when(userProvider.streamUsersForBroadcast(anyInt())).thenReturn(list.stream());
         when(infraProperties.getEnv()).thenReturn("dev");
 
         //ACT
         zerofiltreEmailSender.sendForAllUsers(email);
 
         //ASSERT
-        verify(javaMailSender, times(3)).send(any(MimeMessage.class));
+        verify(outbox, times(3)).enqueue(any());
+    }
+
+    @Test
+    void send_usesTheSameIdempotencyKey_forTheSameEventAndRecipients() {
+        //ARRANGE
+        Email email = new Email(List.of(ADDRESS), Collections.emptyList(), Collections.emptyList(),
+                CONTENT, SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
+        Email otherRecipientEmail = new Email(List.of(ANOTHER_ADDRESS), Collections.emptyList(), Collections.emptyList(),
+                CONTENT, SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
+
+        //ACT
+        zerofiltreEmailSender.send(email, true, "REGISTRATION_COMPLETE:token");
+        zerofiltreEmailSender.send(email, true, "REGISTRATION_COMPLETE:token");
+        zerofiltreEmailSender.send(otherRecipientEmail, true, "REGISTRATION_COMPLETE:token");
+
+        //ASSERT
+        ArgumentCaptor<MailOutboxJPA> captor = ArgumentCaptor.forClass(MailOutboxJPA.class);
+        verify(outbox, times(3)).enqueueOnce(captor.capture());
+        List<MailOutboxJPA> mails = captor.getAllValues();
+        assertThat(mails.get(0).getIdempotencyKey()).isEqualTo(mails.get(1).getIdempotencyKey());
+        assertThat(mails.get(2).getIdempotencyKey()).isNotEqualTo(mails.get(0).getIdempotencyKey());
+    }
+
+    @Test
+    void send_usesADistinctIdempotencyKey_forEachBccBatchOfTheSameEvent() {
+        //ARRANGE
+        Email firstBatch = new Email(List.of(INFO_ZEROFILTRE_TECH), List.of(EMAIL_BLIND_COPY1), Collections.emptyList(),
+                CONTENT, SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
+        Email secondBatch = new Email(List.of(INFO_ZEROFILTRE_TECH), List.of(EMAIL_BLIND_COPY2), Collections.emptyList(),
+                CONTENT, SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
+
+        //ACT
+        zerofiltreEmailSender.send(firstBatch, true, "newsletter:2026-09");
+        zerofiltreEmailSender.send(secondBatch, true, "newsletter:2026-09");
+
+        //ASSERT
+        ArgumentCaptor<MailOutboxJPA> captor = ArgumentCaptor.forClass(MailOutboxJPA.class);
+        verify(outbox, times(2)).enqueueOnce(captor.capture());
+        assertThat(captor.getAllValues().get(0).getIdempotencyKey()).isNotEqualTo(captor.getAllValues().get(1).getIdempotencyKey());
+    }
+
+    @Test
+    void send_skipsTheEmail_whenTheSameEventQueuedItConcurrently() {
+        //ARRANGE
+        Email email = new Email(List.of(ADDRESS), Collections.emptyList(), Collections.emptyList(),
+                CONTENT, SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
+        when(outbox.enqueueOnce(any())).thenThrow(new DataIntegrityViolationException("uk_mail_outbox_idempotency_key"));
+
+        //ACT
+        zerofiltreEmailSender.send(email, true, "REGISTRATION_COMPLETE:token");
+
+        //ASSERT
+        verify(outbox, times(1)).enqueueOnce(any());
+        verify(outbox, never()).enqueue(any());
+    }
+
+    @Test
+    void send_usesADistinctIdempotencyKey_forEachEmailWithoutKey() {
+        //ARRANGE
+        Email email = new Email(List.of(ADDRESS), Collections.emptyList(), Collections.emptyList(),
+                CONTENT, SUBJECT, REPLY_TO, Collections.emptyList(), Collections.emptyList());
+
+        //ACT
+        zerofiltreEmailSender.send(email, true);
+        zerofiltreEmailSender.send(email, true);
+
+        //ASSERT
+        ArgumentCaptor<MailOutboxJPA> captor = ArgumentCaptor.forClass(MailOutboxJPA.class);
+        verify(outbox, times(2)).enqueue(captor.capture());
+        assertThat(captor.getAllValues().get(0).getIdempotencyKey()).isNotEqualTo(captor.getAllValues().get(1).getIdempotencyKey());
     }
 
     @Test
-    @DisplayName("When I want the list of emails from all users, then I get the list of emails from all users.")
-    void shouldGetListEmailsFromAllUsers_whenListAllEmails() {
+    @DisplayName("When I want the emails of all users, then I get their valid emails, read page by page.")
+    void shouldGetValidEmailsOfAllUsers_whenBroadcastEmails() {
         //ARRANGE
         UserForBroadcast userEmail1 = new UserForBroadcast(0, EMAIL_BLIND_COPY1, null, null, null);
         UserForBroadcast userEmail2 = new UserForBroadcast(0, EMAIL_BLIND_COPY2, null, null, null);
         UserForBroadcast userEmail3 = new UserForBroadcast(0, null, PAYMENT_EMAIL_BLIND_COPY, null, null);
         UserForBroadcast userEmail4 = new UserForBroadcast(0, null, "bad.email_email.com", null, null);
-        when(userProvider.allUsersForBroadcast()).thenReturn(Arrays.asList(userEmail1, userEmail2, userEmail3, userEmail4));
+        when(userProvider.streamUsersForBroadcast(anyInt())).thenReturn(Stream.of(userEmail1, userEmail2, userEmail3, userEmail4));
 
         //ACT
-        Collection<List<String>> response = zerofiltreEmailSender.listAllEmails();
+        List<String> response = zerofiltreEmailSender.broadcastEmails().collect(Collectors.toList());
 
         //ASSERT
-        verify(userProvider).allUsersForBroadcast();
-        Collection<List<String>> collection = new ArrayList<>();
-        collection.add(List.of(EMAIL_BLIND_COPY1, EMAIL_BLIND_COPY2, PAYMENT_EMAIL_BLIND_COPY));
-        assertThat(response.containsAll(collection)).isTrue();
+        verify(userProvider).streamUsersForBroadcast(ZerofiltreEmailSender.USERS_PAGE_SIZE);
+        assertThat(response).containsExactly(EMAIL_BLIND_COPY1, EMAIL_BLIND_COPY2, PAYMENT_EMAIL_BLIND_COPY);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import tech.zerofiltre.blog.domain.article.model.Status;
+import tech.zerofiltre.blog.domain.search.model.SearchResult;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.article.ArticleJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.article.model.ArticleJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.ChapterJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.course.CourseJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.course.LessonJPARepository;
+import tech.zerofiltre.blog.infra.providers.database.course.model.ChapterJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.CourseJPA;
+import tech.zerofiltre.blog.infra.providers.database.course.model.LessonJPA;
+import tech.zerofiltre.blog.infra.providers.database.search.DBSearchProvider;
+import tech.zerofiltre.blog.infra.providers.database.search.mapper.SearchResultJpaMapper;
+import tech.zerofiltre.blog.infra.providers.database.user.UserJPARepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+class IndexedSearchProviderIT {
+
+    private final SearchResultJpaMapper mapper = new SearchResultJpaMapper();
+    private CourseJPA course;
+    private ArticleJPA article;
+    private ChapterJPA chapter;
+    private IndexedSearchProvider indexedSearchProvider;
+    private DBSearchProvider dbSearchProvider;
+    private InfraProperties infraProperties;
+
+    @Autowired
+    private ArticleJPARepository articleJPARepository;
+    @Autowired
+    private CourseJPARepository courseJPARepository;
+    @Autowired
+    private LessonJPARepository lessonJPARepository;
+    @Autowired
+    private ChapterJPARepository chapterJPARepository;
+    @Autowired
+    private UserJPARepository userJPARepository;
+
+    @BeforeEach
+    void setUp() {
+        infraProperties = new InfraProperties();
+        infraProperties.setSearchMaxResults(20);
+        infraProperties.setSearchIndexingPageSize(1);
+        dbSearchProvider = new DBSearchProvider(articleJPARepository, courseJPARepository, lessonJPARepository, userJPARepository, mapper);
+        indexedSearchProvider = new IndexedSearchProvider(articleJPARepository, courseJPARepository, lessonJPARepository, dbSearchProvider, mapper, infraProperties, Runnable::run);
+
+        article = new ArticleJPA();
+        article.setTitle("Spring Boot Guide");
+        article.setContent("Déployer une application");
+        article.setSummary("Summary of Boot Guide");
+        article.setStatus(Status.PUBLISHED);
+        articleJPARepository.save(article);
+
+        ArticleJPA draft = new ArticleJPA();
+        draft.setTitle("Spring draft");
+        draft.setStatus(Status.DRAFT);
+        articleJPARepository.save(draft);
+
+        course = new CourseJPA();
+        course.setTitle("Java Course");
+        course.setSubTitle("Introduction to Spring");
+        course.setSummary("Summary of Java Course");
+        course.setStatus(Status.PUBLISHED);
+        courseJPARepository.save(course);
+
+        CourseJPA otherCourse = new CourseJPA();
+        otherCourse.setTitle("Spring in depth");
+        otherCourse.setSubTitle("Spring, Spring Boot and Spring Data");
+        otherCourse.setStatus(Status.PUBLISHED);
+        courseJPARepository.save(otherCourse);
+
+        chapter = new ChapterJPA();
+        chapter.setCourse(course);
+        chapter = chapterJPARepository.save(chapter);
+
+        LessonJPA lesson = new LessonJPA();
+        lesson.setTitle("Data JPA Lesson");
+        lesson.setContent("Content about Spring Data JPA");
+        lesson.setChapter(chapter);
+        lessonJPARepository.save(lesson);
+    }
+
+    @Test
+    void search_returnsRankedPublishedItems_fromTheIndex() {
+        indexedSearchProvider.rebuildIndex();
+
+        SearchResult result = indexedSearchProvider.search("SPRING");
+
+        assertThat(result.getArticles()).hasSize(1);
+        assertThat(result.getArticles().get(0).getTitle()).isEqualTo("Spring Boot Guide");
+
+        assertThat(result.getCourses()).hasSize(2);
+        assertThat(result.getCourses().get(0).getTitle()).isEqualTo("Spring in depth");
+
+        assertThat(result.getLessons()).hasSize(1);
+        assertThat(result.getLessons().get(0).getCourseId()).isEqualTo(course.getId());
+    }
+
+    @Test
+    void search_matchesPrefixes_andFoldsAccents() {
+        indexedSearchProvider.rebuildIndex();
+
+        SearchResult result = indexedSearchProvider.search("deploy");
+
+        assertThat(result.getArticles()).hasSize(1);
+        assertThat(result.getCourses()).isNull();
+        assertThat(result.getLessons()).isNull();
+    }
+
+    @Test
+    void search_fallsBackToDatabase_whenIndexIsNotBuilt() {
+        SearchResult result = indexedSearchProvider.search("Spring");
+
+        assertThat(result.getArticles()).hasSize(1);
+        assertThat(result.getCourses()).hasSize(2);
+    }
+
+    @Test
+    void search_fallsBackToDatabase_whenTheQueryHasNoIndexedTerm() {
+        indexedSearchProvider.rebuildIndex();
+
+        SearchResult result = indexedSearchProvider.search("J");
+
+        assertThat(result.getCourses()).hasSize(1);
+        assertThat(result.getCourses().get(0).getTitle()).isEqualTo("Java Course");
+    }
+
+    @Test
+    void updates_applyOnlyChangedDocuments_toTheBuiltIndex() {
+        indexedSearchProvider.rebuildIndex();
+
+        article.setStatus(Status.DRAFT);
+        articleJPARepository.save(article);
+        LessonJPA newLesson = new LessonJPA();
+        newLesson.setTitle("Kubernetes operators");
+        newLesson.setChapter(chapter);
+        newLesson = lessonJPARepository.save(newLesson);
+
+        indexedSearchProvider.updateArticles(List.of(article.getId()), List.of());
+        indexedSearchProvider.updateLessons(List.of(newLesson.getId()), List.of());
+
+        assertThat(indexedSearchProvider.search("guide").getArticles()).isNull();
+        assertThat(indexedSearchProvider.search("kubernetes").getLessons()).hasSize(1);
+    }
+
+    @Test
+    void unpublishingACourse_removesItsLessons_fromTheIndex() {
+        indexedSearchProvider.rebuildIndex();
+
+        course.setStatus(Status.DRAFT);
+        courseJPARepository.save(course);
+        indexedSearchProvider.updateCourses(List.of(course.getId()), List.of());
+
+        SearchResult result = indexedSearchProvider.search("jpa");
+        assertThat(result.getLessons()).isNull();
+
+        course.setStatus(Status.PUBLISHED);
+        courseJPARepository.save(course);
+        indexedSearchProvider.updateCourses(List.of(course.getId()), List.of());
+
+        assertThat(indexedSearchProvider.search("jpa").getLessons()).hasSize(1);
+    }
+
+    @Test
+    void updatesReceivedDuringARebuild_areReplayedOnTheNewIndex() {
+        ArticleJPA lateArticle = new ArticleJPA();
+        lateArticle.setTitle("Kubernetes operators");
+        lateArticle.setStatus(Status.DRAFT);
+        articleJPARepository.save(lateArticle);
+
+        IndexedSearchProvider provider = new IndexedSearchProvider(articleJPARepository, courseJPARepository, lessonJPARepository, dbSearchProvider, mapper, infraProperties, Runnable::run) {
+            boolean published;
+
+            @Override
+            void indexCourse(SearchIndex target, CourseJPA courseJPA) {
+                if (!published) {
+                    published = true;
+                    lateArticle.setStatus(Status.PUBLISHED);
+                    articleJPARepository.save(lateArticle);
+                    updateArticles(List.of(lateArticle.getId()), List.of());
+                }
+                super.indexCourse(target, courseJPA);
+            }
+        };
+
+        provider.rebuildIndex();
+
+        assertThat(provider.search("kubernetes").getArticles()).hasSize(1);
+        assertThat(provider.search("spring").getCourses()).hasSize(2);
+    }
+
+    @Test
+    void search_keepsFallingBackToDatabase_whenTheInitialBuildFails() {
+        IndexedSearchProvider provider = new IndexedSearchProvider(articleJPARepository, courseJPARepository, lessonJPARepository, dbSearchProvider, mapper, infraProperties, Runnable::run) {
+            @Override
+            void indexCourse(SearchIndex target, CourseJPA courseJPA) {
+                throw new DataRetrievalFailureException("Connection lost");
+            }
+        };
+
+        provider.buildInitialIndex();
+
+        SearchResult result = provider.search("Spring");
+        assertThat(result.getArticles()).hasSize(1);
+        assertThat(result.getCourses()).hasSize(2);
+    }
+}
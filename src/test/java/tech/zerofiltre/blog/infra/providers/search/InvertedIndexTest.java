@@ -0,0 +1,114 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+    private InvertedIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex<>();
+        index("Déployer une application Spring Boot", 1);
+        index("Les bases de Kubernetes pour les développeurs", 2);
+        index("Spring Security et Spring Data", 3);
+    }
+
+    @Test
+    @DisplayName("Accents and case are folded on both indexed text and query")
+    void search_isAccentAndCaseInsensitive() {
+        assertThat(index.search(analyzer.analyze("DEPLOYER"), 10)).containsExactly("1");
+        assertThat(index.search(analyzer.analyze("développeurs"), 10)).containsExactly("2");
+    }
+
+    @Test
+    @DisplayName("A query term matches indexed terms it is a prefix of")
+    void search_matchesPrefixes() {
+        assertThat(index.search(analyzer.analyze("kube"), 10)).containsExactly("2");
+    }
+
+    @Test
+    @DisplayName("Documents with more occurrences of the query terms are ranked first")
+    void search_ranksByRelevance() {
+        assertThat(index.search(analyzer.analyze("spring"), 10)).containsExactly("3", "1");
+    }
+
+    @Test
+    @DisplayName("Results are limited to the requested number of documents")
+    void search_returnsTopK() {
+        assertThat(index.search(analyzer.analyze("spring"), 1)).containsExactly("3");
+    }
+
+    @Test
+    @DisplayName("Stop words alone do not match anything")
+    void search_ignoresStopWords() {
+        assertThat(index.search(analyzer.analyze("les de une"), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A query made only of stop words falls back to them, matched as prefixes")
+    void search_fallsBackToStopWords_whenTheQueryHasNothingElse() {
+        assertThat(analyzer.analyzeQuery("les de une")).isEqualTo(List.of("les", "de", "une"));
+        assertThat(analyzer.analyzeQuery("les bases")).isEqualTo(List.of("bases"));
+        assertThat(index.search(analyzer.analyzeQuery("de"), 10)).containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    @DisplayName("A query term expands to at most MAX_PREFIX_EXPANSIONS indexed terms")
+    void search_capsPrefixExpansions() {
+        index = new InvertedIndex<>();
+        for (int i = 0; i <= InvertedIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            index(String.format("terraform%03d", i), i);
+        }
+
+        assertThat(index.search(analyzer.analyze("terraform"), 100)).hasSize(InvertedIndex.MAX_PREFIX_EXPANSIONS);
+    }
+
+    @Test
+    @DisplayName("The prefix expansions kept are the indexed terms found in the most documents")
+    void search_keepsTheMostFrequentPrefixExpansions() {
+        index = new InvertedIndex<>();
+        for (int i = 0; i < InvertedIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            index(String.format("terraform%03d", i), i);
+        }
+        index("terraformer", 100);
+        index("terraformer", 101);
+
+        assertThat(index.search(analyzer.analyze("terraform"), 100))
+                .hasSize(InvertedIndex.MAX_PREFIX_EXPANSIONS + 1)
+                .contains("100", "101");
+    }
+
+    @Test
+    @DisplayName("Re-indexing or removing a document updates its postings")
+    void indexAndRemove_updateSearchResults() {
+        index("Introduction à Docker", 1);
+        assertThat(index.search(analyzer.analyze("deployer"), 10)).isEmpty();
+        assertThat(index.search(analyzer.analyze("docker"), 10)).containsExactly("1");
+
+        index.remove(1);
+        assertThat(index.search(analyzer.analyze("docker"), 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("French elisions are split from the word they precede")
+    void analyze_splitsElisions() {
+        assertThat(analyzer.analyze("L'équipe d'Élodie")).isEqualTo(List.of("equipe", "elodie"));
+    }
+
+    private void index(String text, long id) {
+        Map<String, Integer> terms = new HashMap<>();
+        analyzer.accumulate(terms, text, 1);
+        index.index(id, terms, String.valueOf(id));
+    }
+}
@@ -0,0 +1,100 @@
+package tech.zerofiltre.blog.infra.providers.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static tech.zerofiltre.blog.infra.providers.database.ContentChangedEvent.ContentType.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexUpdaterTest {
+
+    @Mock
+    IndexedSearchProvider searchProvider;
+
+    @Mock
+    SearchIndexChangesPublisher changesPublisher;
+
+    @Test
+    void flush_coalescesRepeatedChanges_ofTheSameDocument() {
+        SearchIndexUpdater updater = new SearchIndexUpdater(searchProvider, changesPublisher);
+
+        updater.onContentChanged(ContentChangedEvent.upsert(this, ARTICLE, 1));
+        updater.onContentChanged(ContentChangedEvent.upsert(this, ARTICLE, 1));
+        updater.onContentChanged(ContentChangedEvent.upsert(this, ARTICLE, 2));
+        updater.onContentChanged(ContentChangedEvent.delete(this, ARTICLE, 2));
+        assertThat(updater.pendingChangesCount()).isEqualTo(2);
+
+        updater.flush();
+
+        verify(searchProvider, times(1)).updateArticles(List.of(1L), List.of(2L));
+        verify(searchProvider, never()).updateCourses(any(), any());
+        verify(searchProvider, never()).updateLessons(any(), any());
+        assertThat(updater.pendingChangesCount()).isZero();
+    }
+
+    @Test
+    void flush_appliesEachContentType_inOneBatch() {
+        SearchIndexUpdater updater = new SearchIndexUpdater(searchProvider, changesPublisher);
+
+        updater.onContentChanged(ContentChangedEvent.upsert(this, COURSE, 3));
+        updater.onContentChanged(ContentChangedEvent.upsert(this, LESSON, 4));
+        updater.onContentChanged(ContentChangedEvent.delete(this, LESSON, 5));
+
+        updater.flush();
+        updater.flush();
+
+        verify(searchProvider, times(1)).updateCourses(List.of(3L), List.of());
+        verify(searchProvider, times(1)).updateLessons(List.of(4L), List.of(5L));
+        verify(searchProvider, never()).updateArticles(any(), any());
+    }
+
+    @Test
+    void flush_keepsGoing_whenOneBatchFails() {
+        SearchIndexUpdater updater = new SearchIndexUpdater(searchProvider, changesPublisher);
+        doThrow(new IllegalStateException("db down")).when(searchProvider).updateArticles(any(), any());
+
+        updater.onContentChanged(ContentChangedEvent.upsert(this, ARTICLE, 1));
+        updater.onContentChanged(ContentChangedEvent.upsert(this, LESSON, 4));
+
+        updater.flush();
+
+        verify(searchProvider, times(1)).updateLessons(List.of(4L), List.of());
+    }
+
+    @Test
+    void flush_broadcastsTheLocalBatches_toTheOtherInstances() {
+        SearchIndexUpdater updater = new SearchIndexUpdater(searchProvider, changesPublisher);
+
+        updater.onContentChanged(ContentChangedEvent.upsert(this, ARTICLE, 1));
+        updater.onContentChanged(ContentChangedEvent.delete(this, COURSE, 3));
+
+        updater.flush();
+
+        verify(changesPublisher, times(1)).publishChanges(ARTICLE, List.of(1L), List.of());
+        verify(changesPublisher, times(1)).publishChanges(COURSE, List.of(), List.of(3L));
+        verifyNoMoreInteractions(changesPublisher);
+    }
+
+    @Test
+    void flush_appliesTheRemoteChanges_withoutBroadcastingThemAgain() {
+        SearchIndexUpdater updater = new SearchIndexUpdater(searchProvider, changesPublisher);
+
+        updater.onRemoteChanges(new SearchIndexChanges("other-instance", ARTICLE, List.of(1L), List.of(2L)));
+        updater.onRemoteChanges(new SearchIndexChanges("other-instance", ARTICLE, List.of(2L), List.of()));
+        assertThat(updater.pendingChangesCount()).isEqualTo(2);
+
+        updater.flush();
+
+        verify(searchProvider, times(1)).updateArticles(List.of(1L, 2L), List.of());
+        verify(changesPublisher, never()).publishChanges(any(), any(), any());
+        assertThat(updater.pendingChangesCount()).isZero();
+    }
+}
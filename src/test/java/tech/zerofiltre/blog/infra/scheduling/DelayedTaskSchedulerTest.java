@@ -0,0 +1,122 @@
+package tech.zerofiltre.blog.infra.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import tech.zerofiltre.blog.infra.InfraProperties;
+import tech.zerofiltre.blog.infra.providers.database.task.DelayedTaskStore;
+import tech.zerofiltre.blog.infra.providers.database.task.model.DelayedTaskJPA;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DelayedTaskSchedulerTest {
+
+    public static final String TYPE = "checkout-reminder";
+    public static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    DelayedTaskStore store;
+
+    @Mock
+    ObjectProvider<DelayedTaskHandler> handlerProvider;
+
+    @Mock
+    DelayedTaskHandler handler;
+
+    DelayedTaskScheduler scheduler;
+
+    @BeforeEach
+    void init() {
+        InfraProperties infraProperties = new InfraProperties();
+        infraProperties.setDelayedTasksLookaheadMs(60000);
+        infraProperties.setDelayedTasksClaimTimeoutMs(300000);
+        infraProperties.setDelayedTasksRetryDelayMs(300000);
+        infraProperties.setDelayedTasksMaxAttempts(MAX_ATTEMPTS);
+        infraProperties.setDelayedTasksLoadLimit(100);
+        scheduler = new DelayedTaskScheduler(store, handlerProvider, infraProperties);
+        lenient().when(handler.type()).thenReturn(TYPE);
+        lenient().when(handlerProvider.orderedStream()).thenAnswer(invocation -> Stream.of(handler));
+    }
+
+    @Test
+    void schedule_holdsTheTaskInMemory_onlyWhenItIsDueWithinTheLookahead() {
+        when(store.schedule(eq(TYPE), anyString(), anyString(), any())).thenAnswer(invocation -> task(1, invocation.getArgument(3), 0));
+
+        scheduler.schedule(TYPE, "12", Duration.ofSeconds(30), Map.of());
+        scheduler.schedule(TYPE, "13", Duration.ofHours(24), Map.of());
+
+        assertThat(scheduler.queuedCount()).isOne();
+    }
+
+    @Test
+    void load_holdsEachDueTaskOnce() {
+        LocalDateTime dueAt = LocalDateTime.now().plusSeconds(30);
+        when(store.dueBefore(any(), any(), eq(100))).thenReturn(List.of(task(1, dueAt, 0), task(2, dueAt, 0)));
+
+        scheduler.load();
+        scheduler.load();
+
+        assertThat(scheduler.queuedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void dispatch_runsTheClaimedTask_andCompletesIt() throws Exception {
+        DelayedTaskJPA task = task(1, LocalDateTime.now(), 1);
+        task.setPayload("{\"language\":\"en\"}");
+        when(store.claim(eq(1L), any(), any())).thenReturn(Optional.of(task));
+
+        scheduler.dispatch(1);
+
+        ArgumentCaptor<DelayedTask> captor = ArgumentCaptor.forClass(DelayedTask.class);
+        verify(handler).handle(captor.capture());
+        assertThat(captor.getValue().getKey()).isEqualTo("12");
+        assertThat(captor.getValue().getPayload()).containsEntry("language", "en");
+        verify(store).complete(task);
+    }
+
+    @Test
+    void dispatch_doesNothing_whenTheTaskIsClaimedElsewhereOrCancelled() throws Exception {
+        when(store.claim(eq(1L), any(), any())).thenReturn(Optional.empty());
+
+        scheduler.dispatch(1);
+
+        verify(handler, never()).handle(any());
+        verify(store, never()).complete(any());
+    }
+
+    @Test
+    void dispatch_retriesAFailedTask_untilTheLastAttempt() throws Exception {
+        DelayedTaskJPA firstAttempt = task(1, LocalDateTime.now(), 1);
+        DelayedTaskJPA lastAttempt = task(1, LocalDateTime.now(), MAX_ATTEMPTS);
+        when(store.claim(eq(1L), any(), any())).thenReturn(Optional.of(firstAttempt), Optional.of(lastAttempt));
+        doThrow(new IllegalStateException("mail server unavailable")).when(handler).handle(any());
+
+        scheduler.dispatch(1);
+        scheduler.dispatch(1);
+
+        verify(store).retry(eq(firstAttempt), any());
+        verify(store).complete(lastAttempt);
+    }
+
+    private DelayedTaskJPA task(long id, LocalDateTime dueAt, int attempts) {
+        DelayedTaskJPA task = new DelayedTaskJPA(TYPE, "12", "{}", dueAt);
+        task.setId(id);
+        task.setAttempts(attempts);
+        task.setClaimedAt(LocalDateTime.now());
+        return task;
+    }
+}
@@ -20,6 +20,7 @@ import tech.zerofiltre.blog.infra.providers.database.user.model.UserForBroadcast
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -420,4 +421,25 @@ public class ZerofiltreUtilsTest {
         assertThat(responses).isEqualTo(expectedFileNamesList);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("streamByKeyset loads the pages lazily after the last key read, until a page is not full")
+    void streamByKeyset_loadsThePagesLazily() {
+        //ARRANGE
+        List<Long> requestedKeys = new ArrayList<>();
+        List<Long> rows = Arrays.asList(1L, 2L, 3L, 4L, 5L);
+
+        //ACT
+        List<Long> firstThree = new ArrayList<>();
+        ZerofiltreUtils.streamByKeyset((Long afterKey, Integer limit) -> {
+                    requestedKeys.add(afterKey);
+                    return rows.stream().filter(row -> row > afterKey).limit(limit).collect(Collectors.toList());
+                }, Long::longValue, 2)
+                .limit(3)
+                .forEach(firstThree::add);
+
+        //ASSERT
+        assertThat(firstThree).containsExactly(1L, 2L, 3L);
+        assertThat(requestedKeys).containsExactly(0L, 2L);
+    }
+
+}